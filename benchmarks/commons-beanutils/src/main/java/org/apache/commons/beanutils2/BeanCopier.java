@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils2;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * <p>Copies the properties of beans of a source class to beans of a target
+ * class, like {@link BeanUtilsBean#copyProperties(Object, Object)} does for
+ * standard JavaBeans.</p>
+ *
+ * <p>The properties to copy are determined once, when the copier is created:
+ * they are the properties having the same name, readable on the source class
+ * and writeable on the target class, except {@code class}. The converter of the
+ * type of each target property is looked up at the same time, so the copies
+ * neither introspect the classes nor look up converters. Converters registered
+ * afterwards are not used by an existing copier. As with
+ * {@code copyProperties()}, <b>null</b> values are copied without conversion.
+ * Properties whose accessors cannot be accessed through public methods are not
+ * copied.</p>
+ *
+ * <p>A copier is immutable and can be shared by threads, provided the
+ * converters it uses are thread-safe, which is the case of the standard
+ * converters.</p>
+ *
+ * @param <S> the type of the source beans
+ * @param <T> the type of the target beans
+ * @since 2.0
+ */
+public final class BeanCopier<S, T> {
+
+    /** The type of the method handles invoking getters. */
+    private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /** The type of the method handles invoking setters. */
+    private static final MethodType WRITE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * Creates a copier using the converters of the default {@code BeanUtilsBean}.
+     *
+     * @param <S> the type of the source beans
+     * @param <T> the type of the target beans
+     * @param sourceClass the class of the source beans
+     * @param targetClass the class of the target beans
+     * @return the copier
+     * @throws IllegalArgumentException if a class is <b>null</b>
+     */
+    public static <S, T> BeanCopier<S, T> create(final Class<S> sourceClass, final Class<T> targetClass) {
+        return create(sourceClass, targetClass, BeanUtilsBean.getInstance());
+    }
+
+    /**
+     * Creates a copier using the introspection data and the converters of a
+     * {@code BeanUtilsBean}.
+     *
+     * @param <S> the type of the source beans
+     * @param <T> the type of the target beans
+     * @param sourceClass the class of the source beans
+     * @param targetClass the class of the target beans
+     * @param beanUtils the {@code BeanUtilsBean} providing the properties and converters
+     * @return the copier
+     * @throws IllegalArgumentException if an argument is <b>null</b>
+     */
+    public static <S, T> BeanCopier<S, T> create(final Class<S> sourceClass, final Class<T> targetClass,
+            final BeanUtilsBean beanUtils) {
+        if (sourceClass == null) {
+            throw new IllegalArgumentException("No source class specified");
+        }
+        if (targetClass == null) {
+            throw new IllegalArgumentException("No target class specified");
+        }
+        if (beanUtils == null) {
+            throw new IllegalArgumentException("No BeanUtilsBean specified");
+        }
+        final PropertyUtilsBean propertyUtils = beanUtils.getPropertyUtils();
+        final ConvertUtilsBean convertUtils = beanUtils.getConvertUtils();
+        final Map<String, PropertyDescriptor> targets = new HashMap<>();
+        for (final PropertyDescriptor target : propertyUtils.getPropertyDescriptors(targetClass)) {
+            targets.putIfAbsent(target.getName(), target);
+        }
+        final List<PropertyCopy> copies = new ArrayList<>();
+        for (final PropertyDescriptor source : propertyUtils.getPropertyDescriptors(sourceClass)) {
+            final String name = source.getName();
+            if ("class".equals(name)) {
+                continue; // No point in trying to set an object's class
+            }
+            final PropertyDescriptor target = targets.get(name);
+            if (target == null || target.getPropertyType() == null) {
+                continue;
+            }
+            final Method readMethod = propertyUtils.getReadMethod(sourceClass, source);
+            final Method writeMethod = propertyUtils.getWriteMethod(targetClass, target);
+            if (readMethod == null || writeMethod == null) {
+                continue;
+            }
+            try {
+                copies.add(new PropertyCopy(name,
+                        MethodHandles.publicLookup().unreflect(readMethod).asType(READ_TYPE),
+                        MethodHandles.publicLookup().unreflect(writeMethod).asType(WRITE_TYPE),
+                        writeMethod.getParameterTypes()[0], convertUtils));
+            } catch (final IllegalAccessException e) {
+                // Not copied, see the class comment
+            }
+        }
+        return new BeanCopier<>(sourceClass, targetClass, copies.toArray(new PropertyCopy[0]));
+    }
+
+    /** The class of the source beans. */
+    private final Class<S> sourceClass;
+
+    /** The class of the target beans. */
+    private final Class<T> targetClass;
+
+    /** The copied properties. */
+    private final PropertyCopy[] copies;
+
+    private BeanCopier(final Class<S> sourceClass, final Class<T> targetClass, final PropertyCopy[] copies) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.copies = copies;
+    }
+
+    /**
+     * Copies the properties of a bean to another bean.
+     *
+     * @param source the bean whose properties are copied
+     * @param target the bean whose properties are set
+     * @throws IllegalAccessException if the caller does not have access to
+     *  a property accessor method
+     * @throws IllegalArgumentException if a bean is <b>null</b>, or if a value
+     *  cannot be assigned to its target property after conversion
+     * @throws InvocationTargetException if a property accessor method throws
+     *  an exception
+     */
+    public void copy(final S source, final T target)
+            throws IllegalAccessException, InvocationTargetException {
+        if (target == null) {
+            throw new IllegalArgumentException("No destination bean specified");
+        }
+        if (source == null) {
+            throw new IllegalArgumentException("No origin bean specified");
+        }
+        for (final PropertyCopy copy : copies) {
+            copy.copy(source, target);
+        }
+    }
+
+    /**
+     * Copies each bean of a list to a new target bean.
+     *
+     * @param sources the beans whose properties are copied
+     * @param targetFactory the factory of the target beans
+     * @return a new list of the target beans, in the order of the source beans
+     * @throws IllegalAccessException if the caller does not have access to
+     *  a property accessor method
+     * @throws IllegalArgumentException if a bean is <b>null</b>, or if a value
+     *  cannot be assigned to its target property after conversion
+     * @throws InvocationTargetException if a property accessor method throws
+     *  an exception
+     */
+    public List<T> copyAll(final List<? extends S> sources, final Supplier<? extends T> targetFactory)
+            throws IllegalAccessException, InvocationTargetException {
+        final List<T> targets = new ArrayList<>(sources.size());
+        for (final S source : sources) {
+            final T target = targetFactory.get();
+            copy(source, target);
+            targets.add(target);
+        }
+        return targets;
+    }
+
+    /**
+     * Copies each bean of a list to a new target bean, using the threads of
+     * the common fork join pool. The target factory must be thread-safe. This
+     * pays off for large lists only.
+     *
+     * @param sources the beans whose properties are copied
+     * @param targetFactory the factory of the target beans
+     * @return a new list of the target beans, in the order of the source beans
+     * @throws IllegalAccessException if the caller does not have access to
+     *  a property accessor method
+     * @throws IllegalArgumentException if a bean is <b>null</b>, or if a value
+     *  cannot be assigned to its target property after conversion
+     * @throws InvocationTargetException if a property accessor method throws
+     *  an exception
+     */
+    public List<T> copyAllParallel(final List<? extends S> sources, final Supplier<? extends T> targetFactory)
+            throws IllegalAccessException, InvocationTargetException {
+        // An array, as a linked list would be walked for each index
+        final Object[] beans = sources.toArray();
+        final Object[] targets = new Object[beans.length];
+        try {
+            IntStream.range(0, targets.length).parallel().forEach(i -> {
+                final T target = targetFactory.get();
+                try {
+                    @SuppressWarnings("unchecked")
+                    final S source = (S) beans[i];
+                    copy(source, target);
+                } catch (final IllegalAccessException | InvocationTargetException e) {
+                    throw new CopyException(e);
+                }
+                targets[i] = target;
+            });
+        } catch (final CopyException e) {
+            if (e.getCause() instanceof IllegalAccessException) {
+                throw (IllegalAccessException) e.getCause();
+            }
+            throw (InvocationTargetException) e.getCause();
+        }
+        @SuppressWarnings("unchecked")
+        final List<T> list = (List<T>) Arrays.asList(targets);
+        return new ArrayList<>(list);
+    }
+
+    /**
+     * Returns the names of the copied properties.
+     *
+     * @return a new array of the property names
+     */
+    public String[] getPropertyNames() {
+        final String[] names = new String[copies.length];
+        for (int i = 0; i < copies.length; i++) {
+            names[i] = copies[i].name;
+        }
+        return names;
+    }
+
+    /**
+     * Returns the class of the source beans.
+     *
+     * @return the source class
+     */
+    public Class<S> getSourceClass() {
+        return sourceClass;
+    }
+
+    /**
+     * Returns the class of the target beans.
+     *
+     * @return the target class
+     */
+    public Class<T> getTargetClass() {
+        return targetClass;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanCopier[" + sourceClass.getName() + " -> " + targetClass.getName() + ", properties="
+                + Arrays.toString(getPropertyNames()) + "]";
+    }
+
+    /**
+     * Carries the checked exceptions of a parallel copy out of the stream.
+     */
+    private static final class CopyException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        CopyException(final Exception cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * The copy of a property, with its accessors and converter.
+     */
+    private static final class PropertyCopy {
+
+        private final String name;
+
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        /** The type of the target property. */
+        private final Class<?> type;
+
+        /** The type of the values accepted by the setter, wrapper types for primitives. */
+        private final Class<?> valueType;
+
+        /** The converter to the type of the target property, or <b>null</b>. */
+        private final Converter converter;
+
+        PropertyCopy(final String name, final MethodHandle getter, final MethodHandle setter, final Class<?> type,
+                final ConvertUtilsBean convertUtils) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.type = type;
+            this.valueType = type.isPrimitive() ? MethodUtils.getPrimitiveWrapper(type) : type;
+            this.converter = convertUtils.lookup(type);
+        }
+
+        void copy(final Object source, final Object target) throws InvocationTargetException {
+            Object value;
+            try {
+                value = (Object) getter.invokeExact(source);
+            } catch (final Throwable t) {
+                throw new InvocationTargetException(t, "Cannot get " + name);
+            }
+            if (value != null && converter != null) {
+                value = converter.convert(type, value);
+            }
+            if (value == null ? type.isPrimitive() : !valueType.isInstance(value)) {
+                throw new IllegalArgumentException("Cannot set property '" + name + "' of type "
+                        + type.getName() + " to " + (value == null ? "null" : "a " + value.getClass().getName()));
+            }
+            try {
+                setter.invokeExact(target, value);
+            } catch (final Throwable t) {
+                throw new InvocationTargetException(t, "Cannot set " + name);
+            }
+        }
+    }
+}
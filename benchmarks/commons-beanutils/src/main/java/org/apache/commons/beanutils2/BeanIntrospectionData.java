@@ -45,6 +45,9 @@ class BeanIntrospectionData {
     /** An array with property descriptors for the managed bean class. */
     private final PropertyDescriptor[] descriptors;
 
+    /** A map with the property descriptors by property name. */
+    private final Map<String, PropertyDescriptor> descriptorsByName;
+
     /** A map for remembering the write method names for properties. */
     private final Map<String, String> writeMethodNames;
 
@@ -68,6 +71,10 @@ class BeanIntrospectionData {
     BeanIntrospectionData(final PropertyDescriptor[] descs, final Map<String, String> writeMethNames) {
         descriptors = descs;
         writeMethodNames = writeMethNames;
+        descriptorsByName = new HashMap<>();
+        for (final PropertyDescriptor pd : descs) {
+            descriptorsByName.putIfAbsent(pd.getName(), pd);
+        }
     }
 
     /**
@@ -87,12 +94,7 @@ class BeanIntrospectionData {
      * @return the {@code PropertyDescriptor} for this property or <b>null</b>
      */
     public PropertyDescriptor getDescriptor(final String name) {
-        for (final PropertyDescriptor pd : getDescriptors()) {
-            if (name.equals(pd.getName())) {
-                return pd;
-            }
-        }
-        return null;
+        return descriptorsByName.get(name);
     }
 
     /**
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * A cache of values computed for classes, which does not prevent the classes
+ * and their class loaders from being garbage collected.
+ * </p>
+ * <p>
+ * The values are stored in the classes themselves by a {@code ClassValue}, so
+ * a value may refer to its class, for instance through a {@code MethodHandle},
+ * without keeping it alive. Reads are lock-free, and a value is computed the
+ * first time it is requested for a class. Clearing the cache replaces the
+ * {@code ClassValue}, whose values are then dropped with it.
+ * </p>
+ * <p>
+ * A value stored in a class refers to the class loader of this library
+ * through its own class. The values of the classes loaded by this class
+ * loader or its parents, such as the classes of the JDK, which outlive this
+ * library anyway, are therefore stored in a map of the cache instead, so that
+ * the class loader of this library can still be garbage collected.
+ * </p>
+ *
+ * @param <V> the type of the cached values
+ * @since 2.0
+ */
+final class ClassCache<V> {
+
+    /** The class loader of this library and its parents, null standing for the bootstrap class loader. */
+    private static final ClassLoader[] LIBRARY_LOADERS = getLibraryLoaders();
+
+    /** The function computing the value of a class. */
+    private final Function<Class<?>, ? extends V> factory;
+
+    /** The values of the classes. */
+    private volatile ClassValue<V> values;
+
+    /** The values of the classes of {@link #LIBRARY_LOADERS}. */
+    private final Map<Class<?>, V> libraryValues = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new, empty cache.
+     *
+     * @param factory the function computing the value of a class, which must
+     *        not return <b>null</b>
+     */
+    ClassCache(final Function<Class<?>, ? extends V> factory) {
+        this.factory = factory;
+        this.values = newClassValue();
+    }
+
+    /**
+     * Removes the values of all the classes.
+     */
+    void clear() {
+        values = newClassValue();
+        libraryValues.clear();
+    }
+
+    /**
+     * Returns the value of a class, computing it if necessary.
+     *
+     * @param beanClass the class
+     * @return the value of the class
+     */
+    V get(final Class<?> beanClass) {
+        if (isLibraryClass(beanClass)) {
+            final V value = libraryValues.get(beanClass);
+            return value != null ? value : libraryValues.computeIfAbsent(beanClass, factory);
+        }
+        return values.get(beanClass);
+    }
+
+    private static ClassLoader[] getLibraryLoaders() {
+        final List<ClassLoader> loaders = new ArrayList<>();
+        try {
+            for (ClassLoader loader = ClassCache.class.getClassLoader(); loader != null; loader = loader.getParent()) {
+                loaders.add(loader);
+            }
+        } catch (final SecurityException e) {
+            // The remaining parents are treated as unrelated class loaders
+        }
+        loaders.add(null);
+        return loaders.toArray(new ClassLoader[0]);
+    }
+
+    /**
+     * Tests whether a class is loaded by the class loader of this library or
+     * one of its parents.
+     *
+     * @param type the class
+     * @return whether the class is a library class
+     */
+    private static boolean isLibraryClass(final Class<?> type) {
+        final ClassLoader loader = type.getClassLoader();
+        for (final ClassLoader libraryLoader : LIBRARY_LOADERS) {
+            if (loader == libraryLoader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ClassValue<V> newClassValue() {
+        return new ClassValue<V>() {
+            @Override
+            protected V computeValue(final Class<?> type) {
+                return factory.apply(type);
+            }
+        };
+    }
+}
@@ -17,14 +17,14 @@
 
 package org.apache.commons.beanutils2;
 
-import java.lang.ref.Reference;
-import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Collections;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -48,7 +48,29 @@ import org.apache.commons.logging.LogFactory;
 
 public class MethodUtils {
 
+    /**
+     * The lookups cached for a class.
+     */
+    private static final class Lookups {
+
+        /** The methods found, an empty result standing for a method which was not found. */
+        private final Map<MethodDescriptor, Optional<Method>> methods = new ConcurrentHashMap<>();
 
+        /** The number of methods cached as not found. */
+        private final AtomicInteger notFound = new AtomicInteger();
+
+        /**
+         * Removes the methods cached as not found.
+         */
+        void clearNotFound() {
+            for (final Map.Entry<MethodDescriptor, Optional<Method>> entry : methods.entrySet()) {
+                if (!entry.getValue().isPresent() && methods.remove(entry.getKey(), entry.getValue())) {
+                    notFound.decrementAndGet();
+                    cacheSize.decrementAndGet();
+                }
+            }
+        }
+    }
 
     /**
      * Only log warning about accessibility work around once.
@@ -71,7 +93,7 @@ public class MethodUtils {
      * configurable per webapp would mean having a map keyed by context classloader
      * which may introduce memory-leak problems.
      */
-    private static boolean CACHE_METHODS = true;
+    private static volatile boolean CACHE_METHODS = true;
 
     /** An empty class array */
     private static final Class<?>[] EMPTY_CLASS_PARAMETERS = new Class[0];
@@ -79,27 +101,40 @@ public class MethodUtils {
     private static final Object[] EMPTY_OBJECT_ARRAY = new Object[0];
 
     /**
-     * Stores a cache of MethodDescriptor -> Method in a WeakHashMap.
+     * Stores a cache of MethodDescriptor -> Method, an empty result standing
+     * for a method which was not found.
      * <p>
-     * The keys into this map only ever exist as temporary variables within
-     * methods of this class, and are never exposed to users of this class.
-     * This means that the WeakHashMap is used only as a mechanism for
-     * limiting the size of the cache, ie a way to tell the garbage collector
-     * that the contents of the cache can be completely garbage-collected
-     * whenever it needs the memory. Whether this is a good approach to
-     * this problem is doubtful; something like the commons-collections
-     * LRUMap may be more appropriate (though of course selecting an
-     * appropriate size is an issue).
+     * The cache is segmented by class loader: each lookup is stored with the
+     * class of its descriptor whose class loader is the deepest, see
+     * {@link #getCacheOwner(MethodDescriptor)}. Its entries are therefore
+     * garbage collected with this class loader, and the lookups involving the
+     * classes of a webapp do not keep them alive when this code is deployed
+     * via a shared classloader. Reads do not lock.
      * <p>
-     * This static variable is safe even when this code is deployed via a
-     * shared classloader because it is keyed via a MethodDescriptor object
-     * which has a Class as one of its members and that member is used in
-     * the MethodDescriptor.equals method. So two components that load the same
-     * class via different classloaders will generate non-equal MethodDescriptor
-     * objects and hence end up with different entries in the map.
+     * The methods not found are only kept up to {@link #MAX_NOT_FOUND_PER_CLASS}
+     * for each class, since callers may look up any number of method names.
+     * Those of the JDK and library classes would be kept for good otherwise.
      */
-    private static final Map<MethodDescriptor, Reference<Method>> cache = Collections
-            .synchronizedMap(new WeakHashMap<MethodDescriptor, Reference<Method>>());
+    private static final ClassCache<Lookups> cache = new ClassCache<>(type -> new Lookups());
+
+    /**
+     * The maximum number of methods cached as not found for a class. Once it
+     * is exceeded, the methods cached as not found for the class are removed.
+     */
+    private static final int MAX_NOT_FOUND_PER_CLASS = 256;
+
+    /**
+     * The number of lookups in the cache. It is approximate, as it is not
+     * decremented when the lookups are garbage collected with their class
+     * loader, nor exact when methods are cached while the cache is cleared.
+     */
+    private static final AtomicInteger cacheSize = new AtomicInteger();
+
+    /** The number of lookups answered by the cache. */
+    private static final LongAdder cacheHits = new LongAdder();
+
+    /** The number of lookups not answered by the cache. */
+    private static final LongAdder cacheMisses = new LongAdder();
 
 
 
@@ -119,14 +154,39 @@ public class MethodUtils {
     }
 
     /**
-     * Clear the method cache.
-     * @return the number of cached methods cleared
+     * Clear the method cache, and reset its hit and miss counts.
+     * @return the approximate number of cached methods cleared, including the
+     * methods cached as not found. It also counts the methods cached for the
+     * classes which were garbage collected since the cache was last cleared.
      * @since 1.8.0
      */
     public static synchronized int clearCache() {
-        final int size = cache.size();
         cache.clear();
-        return size;
+        cacheHits.reset();
+        cacheMisses.reset();
+        return cacheSize.getAndSet(0);
+    }
+
+    /**
+     * Returns the number of method lookups answered by the method cache,
+     * including the lookups of methods cached as not found, since the cache
+     * was last cleared.
+     * @return the number of cache hits
+     * @since 2.0
+     */
+    public static long getCacheHitCount() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Returns the number of method lookups which could not be answered by the
+     * method cache, since the cache was last cleared. The lookups are not
+     * counted when methods are not cached.
+     * @return the number of cache misses
+     * @since 2.0
+     */
+    public static long getCacheMissCount() {
+        return cacheMisses.sum();
     }
 
     /**
@@ -711,21 +771,22 @@ public class MethodUtils {
             final String methodName,
             final Class<?>[] parameterTypes) {
 
-        try {
-            final MethodDescriptor md = new MethodDescriptor(clazz, methodName, parameterTypes, true);
-            // Check the cache first
-            Method method = getCachedMethod(md);
-            if (method != null) {
-                return method;
-            }
+        final MethodDescriptor md = new MethodDescriptor(clazz, methodName, parameterTypes, true);
+        // Check the cache first
+        final Optional<Method> cached = getCachedMethod(md);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
 
-            method =  getAccessibleMethod
+        Method method = null;
+        try {
+            method = getAccessibleMethod
                     (clazz, clazz.getMethod(methodName, parameterTypes));
-            cacheMethod(md, method);
-            return method;
         } catch (final NoSuchMethodException e) {
-            return null;
+            // cached as not found
         }
+        cacheMethod(md, method);
+        return method;
     }
 
     /**
@@ -922,23 +983,24 @@ public class MethodUtils {
                                                 final Class<?> clazz,
                                                 final String methodName,
                                                 final Class<?>[] parameterTypes) {
+        final MethodDescriptor md = new MethodDescriptor(clazz, methodName, parameterTypes, false);
+
+        // Check the cache first
+        final Optional<Method> cached = getCachedMethod(md);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+
         // trace logging
         final Log log = LogFactory.getLog(MethodUtils.class);
         if (log.isTraceEnabled()) {
             log.trace("Matching name=" + methodName + " on " + clazz);
         }
-        final MethodDescriptor md = new MethodDescriptor(clazz, methodName, parameterTypes, false);
 
         // see if we can find the method directly
         // most of the time this works and it's much faster
         try {
-            // Check the cache first
-            Method method = getCachedMethod(md);
-            if (method != null) {
-                return method;
-            }
-
-            method = clazz.getMethod(methodName, parameterTypes);
+            final Method method = clazz.getMethod(methodName, parameterTypes);
             if (log.isTraceEnabled()) {
                 log.trace("Found straight match: " + method);
                 log.trace("isPublic:" + Modifier.isPublic(method.getModifiers()));
@@ -1006,12 +1068,11 @@ public class MethodUtils {
                 }
             }
         }
-        if ( bestMatch != null ){
-                 cacheMethod(md, bestMatch);
-        } else {
-        // didn't find a match
-               log.trace("No match found.");
+        if (bestMatch == null) {
+            // didn't find a match
+            log.trace("No match found.");
         }
+        cacheMethod(md, bestMatch);
 
         return bestMatch;
     }
@@ -1255,14 +1316,20 @@ public class MethodUtils {
      * Return the method from the cache, if present.
      *
      * @param md The method descriptor
-     * @return The cached method
+     * @return The cached method, empty if it was not found, or {@code null}
+     * if it is not cached
      */
-    private static Method getCachedMethod(final MethodDescriptor md) {
+    private static Optional<Method> getCachedMethod(final MethodDescriptor md) {
         if (CACHE_METHODS) {
-            final Reference<Method> methodRef = cache.get(md);
-            if (methodRef != null) {
-                return methodRef.get();
+            final Class<?> owner = getCacheOwner(md);
+            if (owner != null) {
+                final Optional<Method> method = cache.get(owner).methods.get(md);
+                if (method != null) {
+                    cacheHits.increment();
+                    return method;
+                }
             }
+            cacheMisses.increment();
         }
         return null;
     }
@@ -1271,16 +1338,72 @@ public class MethodUtils {
      * Add a method to the cache.
      *
      * @param md The method descriptor
-     * @param method The method to cache
+     * @param method The method to cache, or {@code null} if it was not found
      */
     private static void cacheMethod(final MethodDescriptor md, final Method method) {
         if (CACHE_METHODS) {
-            if (method != null) {
-                cache.put(md, new WeakReference<>(method));
+            final Class<?> owner = getCacheOwner(md);
+            if (owner == null) {
+                return;
+            }
+            final Lookups lookups = cache.get(owner);
+            if (lookups.methods.putIfAbsent(md, Optional.ofNullable(method)) == null) {
+                cacheSize.incrementAndGet();
+                if (method == null && lookups.notFound.incrementAndGet() > MAX_NOT_FOUND_PER_CLASS) {
+                    lookups.clearNotFound();
+                }
             }
         }
     }
 
+    /**
+     * Returns the class with which a lookup is cached: the class of the
+     * descriptor whose class loader is a child of the class loaders of the
+     * other classes. The cached lookup only refers to classes which can be
+     * loaded by this class loader, as does the method found.
+     *
+     * @param md The method descriptor
+     * @return The class, or {@code null} if the classes of the descriptor are
+     * loaded by unrelated class loaders, in which case the lookup is not cached
+     */
+    private static Class<?> getCacheOwner(final MethodDescriptor md) {
+        Class<?> owner = md.cls;
+        for (final Class<?> type : md.paramTypes) {
+            if (type != null && !isLoadedByParent(type, owner)) {
+                if (!isLoadedByParent(owner, type)) {
+                    return null;
+                }
+                owner = type;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * Tests whether a class is loaded by the class loader of another class or
+     * one of its parents.
+     *
+     * @param type The class
+     * @param child The other class
+     * @return whether the class is loaded by a parent class loader
+     */
+    private static boolean isLoadedByParent(final Class<?> type, final Class<?> child) {
+        final ClassLoader parent = type.getClassLoader();
+        if (parent == null) {
+            return true;
+        }
+        try {
+            for (ClassLoader loader = child.getClassLoader(); loader != null; loader = loader.getParent()) {
+                if (loader == parent) {
+                    return true;
+                }
+            }
+        } catch (final SecurityException e) {
+            // Unrelated
+        }
+        return false;
+    }
+
     /**
      * Represents the key to looking up a Method by reflection.
      */
@@ -1315,7 +1438,8 @@ public class MethodUtils {
             this.paramTypes = paramTypes;
             this.exact= exact;
 
-            this.hashCode = methodName.length();
+            this.hashCode = 31 * (31 * methodName.hashCode() + cls.hashCode())
+                    + java.util.Arrays.hashCode(paramTypes);
         }
         /**
          * Checks for equality.
@@ -1329,17 +1453,16 @@ public class MethodUtils {
             }
             final MethodDescriptor md = (MethodDescriptor)obj;
 
-            return exact == md.exact &&
+            return hashCode == md.hashCode && exact == md.exact &&
             methodName.equals(md.methodName) &&
             cls.equals(md.cls) &&
             java.util.Arrays.equals(paramTypes, md.paramTypes);
         }
         /**
-         * Returns the string length of method name. I.e. if the
-         * hashcodes are different, the objects are different. If the
-         * hashcodes are the same, need to use the equals method to
-         * determine equality.
-         * @return the string length of method name.
+         * Returns a hash code of the class, method name and parameter
+         * types, computed once as descriptors are only used as keys of
+         * the method cache.
+         * @return the hash code.
          */
         @Override
         public int hashCode() {
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.beanutils2.expression.Resolver;
+
+/**
+ * <p>
+ * A property expression parsed once by a {@link Resolver}, so that it can be
+ * evaluated by {@link PropertyUtilsBean} without parsing it again.
+ * </p>
+ * <p>
+ * The plan holds one step for each element of the nested expression: the
+ * element itself, its kind (simple, indexed or mapped) and the remaining
+ * expression starting with it, which is used in error messages. The plan does
+ * not refer to any bean class, as the classes of the nested beans are only
+ * known when the expression is evaluated.
+ * </p>
+ *
+ * @since 2.0
+ */
+final class PropertyAccessPlan {
+
+    /** The kind of a simple property step. */
+    static final int SIMPLE = 0;
+
+    /** The kind of an indexed property step. */
+    static final int INDEXED = 1;
+
+    /** The kind of a mapped property step. */
+    static final int MAPPED = 2;
+
+    /** The elements of the expression. */
+    private final String[] names;
+
+    /** The remaining expressions, starting with each element. */
+    private final String[] expressions;
+
+    /** The kinds of the elements. */
+    private final int[] kinds;
+
+    private PropertyAccessPlan(final String[] names, final String[] expressions, final int[] kinds) {
+        this.names = names;
+        this.expressions = expressions;
+        this.kinds = kinds;
+    }
+
+    /**
+     * Parses a property expression.
+     *
+     * @param resolver the resolver parsing the expression
+     * @param expression the property expression
+     * @return the plan of the expression
+     */
+    static PropertyAccessPlan compile(final Resolver resolver, String expression) {
+        final List<String> names = new ArrayList<>();
+        final List<String> expressions = new ArrayList<>();
+        while (resolver.hasNested(expression)) {
+            names.add(resolver.next(expression));
+            expressions.add(expression);
+            expression = resolver.remove(expression);
+        }
+        names.add(expression);
+        expressions.add(expression);
+
+        final int[] kinds = new int[names.size()];
+        for (int i = 0; i < kinds.length; i++) {
+            final String name = names.get(i);
+            if (resolver.isMapped(name)) {
+                kinds[i] = MAPPED;
+            } else if (resolver.isIndexed(name)) {
+                kinds[i] = INDEXED;
+            } else {
+                kinds[i] = SIMPLE;
+            }
+        }
+        return new PropertyAccessPlan(names.toArray(new String[0]),
+                expressions.toArray(new String[0]), kinds);
+    }
+
+    /**
+     * Returns the remaining expression starting with a step.
+     *
+     * @param step the index of the step
+     * @return the expression
+     */
+    String getExpression(final int step) {
+        return expressions[step];
+    }
+
+    /**
+     * Returns the kind of a step.
+     *
+     * @param step the index of the step
+     * @return {@link #SIMPLE}, {@link #INDEXED} or {@link #MAPPED}
+     */
+    int getKind(final int step) {
+        return kinds[step];
+    }
+
+    /**
+     * Returns the property name of a step, with its index or key if any.
+     *
+     * @param step the index of the step
+     * @return the element of the expression
+     */
+    String getName(final int step) {
+        return names[step];
+    }
+
+    /**
+     * Returns the number of steps, which is 1 for an expression without
+     * nested properties.
+     *
+     * @return the number of steps
+     */
+    int size() {
+        return names.length;
+    }
+}
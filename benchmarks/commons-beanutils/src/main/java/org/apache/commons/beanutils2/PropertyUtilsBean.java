@@ -21,6 +21,9 @@ import java.beans.IndexedPropertyDescriptor;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -108,12 +111,42 @@ public class PropertyUtilsBean {
      * The cache of PropertyDescriptor arrays for beans we have already
      * introspected, keyed by the java.lang.Class of this object.
      */
-    private WeakFastHashMap<Class<?>, BeanIntrospectionData> descriptorsCache = null;
-    private WeakFastHashMap<Class<?>, Map> mappedDescriptorsCache = null;
+    private final ClassCache<BeanIntrospectionData> descriptorsCache;
+    private final ClassCache<Map> mappedDescriptorsCache;
+
+    /**
+     * The method handles invoking the getters and setters of the simple
+     * properties of the classes, by property name.
+     */
+    private final ClassCache<Map<String, MethodHandle>> readHandlesCache;
+    private final ClassCache<Map<String, WriteHandle>> writeHandlesCache;
+
+    /** The parsed property expressions, by expression. */
+    private final Map<String, PropertyAccessPlan> accessPlans = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum number of parsed property expressions kept. Expressions
+     * often come from user input, so the cache must be bounded: it is
+     * cleared when full, and filled again by the expressions in use.
+     */
+    private static final int MAX_ACCESS_PLANS = 1024;
+
+    /** The type of the method handles invoking getters. */
+    private static final MethodType READ_HANDLE_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /** The type of the method handles invoking setters. */
+    private static final MethodType WRITE_HANDLE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
 
     /** An empty object array */
     private static final Object[] EMPTY_OBJECT_ARRAY = new Object[0];
 
+    /**
+     * Whether nested expressions may access simple properties through method
+     * handles, which is the case unless a subclass customizes the access to
+     * simple properties.
+     */
+    private final boolean handleAccess;
+
     /** Log instance */
     private final Log log = LogFactory.getLog(PropertyUtilsBean.class);
 
@@ -124,12 +157,16 @@ public class PropertyUtilsBean {
 
     /** Base constructor */
     public PropertyUtilsBean() {
-        descriptorsCache = new WeakFastHashMap<>();
-        descriptorsCache.setFast(true);
-        mappedDescriptorsCache = new WeakFastHashMap<>();
-        mappedDescriptorsCache.setFast(true);
+        descriptorsCache = new ClassCache<>(this::fetchIntrospectionData);
+        mappedDescriptorsCache = new ClassCache<>(beanClass -> new ConcurrentHashMap<Class<?>, Map>());
+        readHandlesCache = new ClassCache<>(beanClass -> new ConcurrentHashMap<>());
+        writeHandlesCache = new ClassCache<>(beanClass -> new ConcurrentHashMap<>());
         introspectors = new CopyOnWriteArrayList<>();
         resetBeanIntrospectors();
+        handleAccess = !isOverridden("getSimpleProperty", Object.class, String.class)
+                && !isOverridden("setSimpleProperty", Object.class, String.class, Object.class)
+                && !isOverridden("getPropertyDescriptor", Object.class, String.class)
+                && !isOverridden("getWriteMethod", Class.class, PropertyDescriptor.class);
     }
 
 
@@ -170,6 +207,7 @@ public class PropertyUtilsBean {
         } else {
             this.resolver = resolver;
         }
+        accessPlans.clear();
     }
 
     /**
@@ -222,6 +260,9 @@ public class PropertyUtilsBean {
 
         descriptorsCache.clear();
         mappedDescriptorsCache.clear();
+        readHandlesCache.clear();
+        writeHandlesCache.clear();
+        accessPlans.clear();
         Introspector.flushCaches();
 
     }
@@ -686,12 +727,14 @@ public class PropertyUtilsBean {
     }
 
     /**
-     * <p>Return the mapped property descriptors for this bean class.</p>
+     * <p>Return the mapped property descriptors for this bean class, which
+     * are added as they are looked up.</p>
      *
      * <p><strong>FIXME</strong> - Does not work with DynaBeans.</p>
      *
      * @param beanClass Bean class to be introspected
-     * @return the mapped property descriptors
+     * @return the mapped property descriptors, or <b>null</b> if the
+     *  class is <b>null</b>
      */
     Map<Class<?>, Map> getMappedPropertyDescriptors(final Class<?> beanClass) {
 
@@ -753,37 +796,19 @@ public class PropertyUtilsBean {
         }
 
         // Resolve nested references
-        while (resolver.hasNested(name)) {
-            final String next = resolver.next(name);
-            Object nestedBean = null;
-            if (bean instanceof Map) {
-                nestedBean = getPropertyOfMapBean((Map<?, ?>) bean, next);
-            } else if (resolver.isMapped(next)) {
-                nestedBean = getMappedProperty(bean, next);
-            } else if (resolver.isIndexed(next)) {
-                nestedBean = getIndexedProperty(bean, next);
-            } else {
-                nestedBean = getSimpleProperty(bean, next);
-            }
+        final PropertyAccessPlan plan = getAccessPlan(name);
+        final int last = plan.size() - 1;
+        for (int step = 0; step < last; step++) {
+            final Object nestedBean = getPlannedProperty(bean, plan, step);
             if (nestedBean == null) {
                 throw new NestedNullException
-                        ("Null property value for '" + name +
+                        ("Null property value for '" + plan.getExpression(step) +
                         "' on bean class '" + bean.getClass() + "'");
             }
             bean = nestedBean;
-            name = resolver.remove(name);
         }
 
-        if (bean instanceof Map) {
-            bean = getPropertyOfMapBean((Map<?, ?>) bean, name);
-        } else if (resolver.isMapped(name)) {
-            bean = getMappedProperty(bean, name);
-        } else if (resolver.isIndexed(name)) {
-            bean = getIndexedProperty(bean, name);
-        } else {
-            bean = getSimpleProperty(bean, name);
-        }
-        return bean;
+        return getPlannedProperty(bean, plan, last);
 
     }
 
@@ -930,12 +955,8 @@ public class PropertyUtilsBean {
             return result;
         }
 
-        Map mappedDescriptors =
+        final Map mappedDescriptors =
                 getMappedPropertyDescriptors(bean);
-        if (mappedDescriptors == null) {
-            mappedDescriptors = new ConcurrentHashMap<Class<?>, Map>();
-            mappedDescriptorsCache.put(bean.getClass(), mappedDescriptors);
-        }
         result = (PropertyDescriptor) mappedDescriptors.get(name);
         if (result == null) {
             // not found, try to create it
@@ -1818,35 +1839,27 @@ public class PropertyUtilsBean {
         }
 
         // Resolve nested references
-        while (resolver.hasNested(name)) {
-            final String next = resolver.next(name);
-            Object nestedBean = null;
-            if (bean instanceof Map) {
-                nestedBean = getPropertyOfMapBean((Map<?, ?>)bean, next);
-            } else if (resolver.isMapped(next)) {
-                nestedBean = getMappedProperty(bean, next);
-            } else if (resolver.isIndexed(next)) {
-                nestedBean = getIndexedProperty(bean, next);
-            } else {
-                nestedBean = getSimpleProperty(bean, next);
-            }
+        final PropertyAccessPlan plan = getAccessPlan(name);
+        final int last = plan.size() - 1;
+        for (int step = 0; step < last; step++) {
+            final Object nestedBean = getPlannedProperty(bean, plan, step);
             if (nestedBean == null) {
                 throw new NestedNullException
-                        ("Null property value for '" + name +
+                        ("Null property value for '" + plan.getExpression(step) +
                          "' on bean class '" + bean.getClass() + "'");
             }
             bean = nestedBean;
-            name = resolver.remove(name);
         }
 
+        name = plan.getName(last);
         if (bean instanceof Map) {
             setPropertyOfMapBean(toPropertyMap(bean), name, value);
-        } else if (resolver.isMapped(name)) {
+        } else if (plan.getKind(last) == PropertyAccessPlan.MAPPED) {
             setMappedProperty(bean, name, value);
-        } else if (resolver.isIndexed(name)) {
+        } else if (plan.getKind(last) == PropertyAccessPlan.INDEXED) {
             setIndexedProperty(bean, name, value);
         } else {
-            setSimpleProperty(bean, name, value);
+            setPlannedSimpleProperty(bean, name, value);
         }
 
     }
@@ -2115,13 +2128,7 @@ public class PropertyUtilsBean {
         }
 
         // Look up any cached information for this bean class
-        BeanIntrospectionData data = descriptorsCache.get(beanClass);
-        if (data == null) {
-            data = fetchIntrospectionData(beanClass);
-            descriptorsCache.put(beanClass, data);
-        }
-
-        return data;
+        return descriptorsCache.get(beanClass);
     }
 
     /**
@@ -2145,6 +2152,197 @@ public class PropertyUtilsBean {
         return new BeanIntrospectionData(ictx.getPropertyDescriptors());
     }
 
+    /**
+     * Returns the parsed form of a property expression, from the cache if
+     * possible.
+     *
+     * @param name the property expression
+     * @return the plan of the expression
+     */
+    private PropertyAccessPlan getAccessPlan(final String name) {
+        PropertyAccessPlan plan = accessPlans.get(name);
+        if (plan == null) {
+            plan = PropertyAccessPlan.compile(resolver, name);
+            if (accessPlans.size() >= MAX_ACCESS_PLANS) {
+                accessPlans.clear();
+            }
+            accessPlans.put(name, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the value of a step of a property expression, the bean being
+     * the value of the previous step.
+     *
+     * @param bean the bean whose property is to be extracted
+     * @param plan the plan of the expression
+     * @param step the index of the step
+     * @return the property value
+     */
+    private Object getPlannedProperty(final Object bean, final PropertyAccessPlan plan, final int step)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+        final String name = plan.getName(step);
+        if (bean instanceof Map) {
+            return getPropertyOfMapBean((Map<?, ?>) bean, name);
+        }
+        switch (plan.getKind(step)) {
+        case PropertyAccessPlan.MAPPED:
+            return getMappedProperty(bean, name);
+        case PropertyAccessPlan.INDEXED:
+            return getIndexedProperty(bean, name);
+        default:
+            if (handleAccess && !(bean instanceof DynaBean)) {
+                final MethodHandle handle = getReadHandle(bean.getClass(), name);
+                if (handle != null) {
+                    try {
+                        return (Object) handle.invokeExact(bean);
+                    } catch (final Throwable t) {
+                        throw new InvocationTargetException(t);
+                    }
+                }
+            }
+            return getSimpleProperty(bean, name);
+        }
+    }
+
+    /**
+     * Returns a method handle invoking the getter of a simple property,
+     * typed {@code (Object)Object}.
+     *
+     * @param beanClass the class of the bean
+     * @param name the name of the property
+     * @return the method handle, or <b>null</b> if the property has no
+     *  accessible getter, in which case {@link #getSimpleProperty} reports
+     *  the error
+     */
+    private MethodHandle getReadHandle(final Class<?> beanClass, final String name) {
+        final Map<String, MethodHandle> handles = readHandlesCache.get(beanClass);
+        MethodHandle handle = handles.get(name);
+        if (handle == null) {
+            final PropertyDescriptor descriptor = getIntrospectionData(beanClass).getDescriptor(name);
+            if (descriptor == null) {
+                return null;
+            }
+            final Method readMethod = getReadMethod(beanClass, descriptor);
+            if (readMethod == null) {
+                return null;
+            }
+            try {
+                handle = MethodHandles.publicLookup().unreflect(readMethod).asType(READ_HANDLE_TYPE);
+            } catch (final IllegalAccessException e) {
+                return null;
+            }
+            handles.put(name, handle);
+        }
+        return handle;
+    }
+
+    /**
+     * Returns a method handle invoking the setter of a simple property.
+     *
+     * @param beanClass the class of the bean
+     * @param name the name of the property
+     * @return the method handle, or <b>null</b> if the property has no
+     *  accessible setter, in which case {@link #setSimpleProperty} reports
+     *  the error
+     */
+    private WriteHandle getWriteHandle(final Class<?> beanClass, final String name) {
+        final Map<String, WriteHandle> handles = writeHandlesCache.get(beanClass);
+        WriteHandle handle = handles.get(name);
+        if (handle == null) {
+            final PropertyDescriptor descriptor = getIntrospectionData(beanClass).getDescriptor(name);
+            if (descriptor == null) {
+                return null;
+            }
+            final Method writeMethod = getWriteMethod(beanClass, descriptor);
+            if (writeMethod == null) {
+                return null;
+            }
+            try {
+                handle = new WriteHandle(MethodHandles.publicLookup().unreflect(writeMethod)
+                        .asType(WRITE_HANDLE_TYPE), writeMethod.getParameterTypes()[0]);
+            } catch (final IllegalAccessException e) {
+                return null;
+            }
+            handles.put(name, handle);
+        }
+        return handle;
+    }
+
+    /**
+     * Sets the value of the last step of a property expression when it is a
+     * simple property. The setter is invoked through its method handle when
+     * the value can be passed to it without conversion, which is checked
+     * first so that errors are reported by {@link #setSimpleProperty}.
+     *
+     * @param bean the bean whose property is to be modified
+     * @param name the name of the property
+     * @param value the value to which the property should be set
+     */
+    private void setPlannedSimpleProperty(final Object bean, final String name, final Object value)
+            throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException {
+        if (handleAccess && !(bean instanceof DynaBean) && !log.isTraceEnabled()) {
+            final WriteHandle handle = getWriteHandle(bean.getClass(), name);
+            if (handle != null && handle.accepts(value)) {
+                try {
+                    handle.handle.invokeExact(bean, value);
+                } catch (final Throwable t) {
+                    throw new InvocationTargetException(t);
+                }
+                return;
+            }
+        }
+        setSimpleProperty(bean, name, value);
+    }
+
+    /**
+     * Tests whether a subclass overrides a public method of this class.
+     *
+     * @param name the name of the method
+     * @param parameterTypes the parameter types of the method
+     * @return whether the method is overridden
+     */
+    private boolean isOverridden(final String name, final Class<?>... parameterTypes) {
+        try {
+            return getClass().getMethod(name, parameterTypes).getDeclaringClass() != PropertyUtilsBean.class;
+        } catch (final NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    /**
+     * A method handle invoking a setter, typed {@code (Object, Object)void},
+     * with the type of the property.
+     */
+    private static final class WriteHandle {
+
+        private final MethodHandle handle;
+
+        private final Class<?> type;
+
+        WriteHandle(final MethodHandle handle, final Class<?> type) {
+            this.handle = handle;
+            this.type = type;
+        }
+
+        /**
+         * Tests whether a value can be passed to the setter as is.
+         *
+         * @param value the value
+         * @return whether the value is an instance of the property type, or
+         *  of its wrapper type, or <b>null</b> for a non primitive type
+         */
+        boolean accepts(final Object value) {
+            if (type.isPrimitive()) {
+                return value != null && MethodUtils.getPrimitiveWrapper(type) == value.getClass();
+            }
+            return value == null || type.isInstance(value);
+        }
+    }
+
     /**
      * Converts an object to a list of objects. This method is used when dealing
      * with indexed properties. It assumes that indexed properties are stored as
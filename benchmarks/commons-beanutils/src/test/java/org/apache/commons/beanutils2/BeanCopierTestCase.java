@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils2;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for {@code BeanCopier}.
+ *
+ */
+public class BeanCopierTestCase extends TestCase {
+
+    /** A bean whose properties are strings. */
+    public static class StringBean {
+        private String count;
+        private String label;
+
+        public String getCount() {
+            return count;
+        }
+
+        public void setCount(final String count) {
+            this.count = count;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(final String label) {
+            this.label = label;
+        }
+    }
+
+    /** A bean with a primitive property. */
+    public static class IntBean {
+        private int count;
+        private String label;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(final int count) {
+            this.count = count;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(final String label) {
+            this.label = label;
+        }
+    }
+
+    /** A bean whose getter throws an exception. */
+    public static class FailingBean {
+        public String getLabel() {
+            throw new IllegalStateException("getLabel");
+        }
+    }
+
+    /**
+     * Creates a source bean.
+     *
+     * @param count the count property
+     * @param label the label property
+     * @return the bean
+     */
+    private static StringBean newStringBean(final String count, final String label) {
+        final StringBean bean = new StringBean();
+        bean.setCount(count);
+        bean.setLabel(label);
+        return bean;
+    }
+
+    /**
+     * Tests that the same properties as copyProperties() are copied between
+     * beans of the same class.
+     */
+    public void testCopySameClass() throws Exception {
+        final BenchBean source = new BenchBean();
+        source.setIntProperty(42);
+        source.setStringProperty("Copied");
+        source.setDoubleProperty(1.5);
+        final BenchBean expected = new BenchBean();
+        BeanUtils.copyProperties(expected, source);
+
+        final BenchBean target = new BenchBean();
+        BeanCopier.create(BenchBean.class, BenchBean.class).copy(source, target);
+        assertEquals("int", expected.getIntProperty(), target.getIntProperty());
+        assertEquals("String", expected.getStringProperty(), target.getStringProperty());
+        assertEquals("double", expected.getDoubleProperty(), target.getDoubleProperty(), 0);
+    }
+
+    /**
+     * Tests the properties selected when the copier is created.
+     */
+    public void testPropertyNames() {
+        final List<String> names = Arrays.asList(
+                BeanCopier.create(StringBean.class, IntBean.class).getPropertyNames());
+        assertEquals("Properties " + names, 2, names.size());
+        assertTrue("count", names.contains("count"));
+        assertTrue("label", names.contains("label"));
+        assertEquals("Not writeable", 0,
+                BeanCopier.create(IntBean.class, FailingBean.class).getPropertyNames().length);
+    }
+
+    /**
+     * Tests that values are converted to the types of the target properties.
+     */
+    public void testCopyConverts() throws Exception {
+        final IntBean intBean = new IntBean();
+        BeanCopier.create(StringBean.class, IntBean.class).copy(newStringBean("42", "label"), intBean);
+        assertEquals("int", 42, intBean.getCount());
+        assertEquals("String", "label", intBean.getLabel());
+
+        final StringBean stringBean = new StringBean();
+        BeanCopier.create(IntBean.class, StringBean.class).copy(intBean, stringBean);
+        assertEquals("count", "42", stringBean.getCount());
+        assertEquals("label", "label", stringBean.getLabel());
+    }
+
+    /**
+     * Tests that null values are copied without conversion.
+     */
+    public void testCopyNull() throws Exception {
+        final IntBean target = new IntBean();
+        target.setLabel("label");
+        final BeanCopier<StringBean, IntBean> copier = BeanCopier.create(StringBean.class, IntBean.class);
+        try {
+            copier.copy(newStringBean(null, null), target);
+            fail("Should have thrown IllegalArgumentException");
+        } catch (final IllegalArgumentException e) {
+            // Correct result for this test, null cannot be assigned to an int
+        }
+
+        final StringBean stringBean = newStringBean("1", "label");
+        BeanCopier.create(StringBean.class, StringBean.class).copy(newStringBean(null, null), stringBean);
+        assertNull("count", stringBean.getCount());
+        assertNull("label", stringBean.getLabel());
+    }
+
+    /**
+     * Tests that exceptions of the accessors are wrapped.
+     */
+    public void testCopyFailingGetter() throws Exception {
+        final BeanCopier<FailingBean, StringBean> copier = BeanCopier.create(FailingBean.class, StringBean.class);
+        try {
+            copier.copy(new FailingBean(), new StringBean());
+            fail("Should have thrown InvocationTargetException");
+        } catch (final InvocationTargetException e) {
+            assertTrue("Cause", e.getCause() instanceof IllegalStateException);
+        }
+        try {
+            copier.copyAllParallel(Arrays.asList(new FailingBean(), new FailingBean()), StringBean::new);
+            fail("Should have thrown InvocationTargetException");
+        } catch (final InvocationTargetException e) {
+            assertTrue("Cause", e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    /**
+     * Tests that null beans are rejected.
+     */
+    public void testCopyNullBeans() throws Exception {
+        final BeanCopier<StringBean, IntBean> copier = BeanCopier.create(StringBean.class, IntBean.class);
+        try {
+            copier.copy(null, new IntBean());
+            fail("Should have thrown IllegalArgumentException");
+        } catch (final IllegalArgumentException e) {
+            // Correct result for this test
+        }
+        try {
+            copier.copy(new StringBean(), null);
+            fail("Should have thrown IllegalArgumentException");
+        } catch (final IllegalArgumentException e) {
+            // Correct result for this test
+        }
+    }
+
+    /**
+     * Tests the copy of lists, sequentially and in parallel.
+     */
+    public void testCopyAll() throws Exception {
+        final List<StringBean> sources = new LinkedList<>();
+        for (int i = 0; i < 1000; i++) {
+            sources.add(newStringBean(Integer.toString(i), "label" + i));
+        }
+        final BeanCopier<StringBean, IntBean> copier = BeanCopier.create(StringBean.class, IntBean.class);
+        final List<IntBean> sequential = copier.copyAll(sources, IntBean::new);
+        final List<IntBean> parallel = copier.copyAllParallel(sources, IntBean::new);
+        assertEquals("Sequential size", sources.size(), sequential.size());
+        assertEquals("Parallel size", sources.size(), parallel.size());
+        for (int i = 0; i < sources.size(); i++) {
+            assertEquals("Sequential count", i, sequential.get(i).getCount());
+            assertEquals("Parallel count", i, parallel.get(i).getCount());
+            assertEquals("Parallel label", "label" + i, parallel.get(i).getLabel());
+        }
+    }
+}
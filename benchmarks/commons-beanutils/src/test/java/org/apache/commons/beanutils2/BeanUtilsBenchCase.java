@@ -191,6 +191,28 @@ public class BeanUtilsBenchCase extends TestCase {
 
     }
 
+    // Time BeanCopier.copy() from a bean
+    public void testBeanCopierBean() throws Exception {
+
+        long start;
+        long stop;
+        final BeanCopier<BenchBean, BenchBean> copier =
+            BeanCopier.create(BenchBean.class, BenchBean.class, bu);
+
+        // Bean->Bean
+        for (long i = 0; i < counter; i++) {
+            copier.copy(inBean, outBean);
+        }
+        start = System.currentTimeMillis();
+        for (long i = 0; i < counter; i++) {
+            copier.copy(inBean, outBean);
+        }
+        stop = System.currentTimeMillis();
+        System.err.println("BeanCopier.copy(bean,bean), count=" + counter +
+                           ", time=" + (stop - start));
+
+    }
+
     // Time copyProperties() from a DynaBean
     public void testCopyPropertiesDyna() throws Exception {
 
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils2;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the method lookups of {@link MethodUtils} answered by its method cache, from several threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1024M", "-Xmx1024M"})
+@Threads(4)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MethodUtilsBenchmark {
+
+    private static final Class<?>[] STRING_PARAMETER = {String.class};
+
+    private final TestBean bean = new TestBean();
+
+    /** Invokes a method whose parameter type matches the argument exactly. */
+    @Benchmark
+    public Object invokeMethod() throws Exception {
+        return MethodUtils.invokeMethod(bean, "setStringProperty", "value");
+    }
+
+    /** Invokes a method whose parameter types are superclasses of the arguments. */
+    @Benchmark
+    public Object invokeMethodAssignable() throws Exception {
+        return MethodUtils.invokeMethod(bean, "setMappedObjects", new Object[] {"key", "value"});
+    }
+
+    /** Looks up a method which does not exist. */
+    @Benchmark
+    public Object getMatchingAccessibleMethodMissing() {
+        return MethodUtils.getMatchingAccessibleMethod(TestBean.class, "setMissingProperty", STRING_PARAMETER);
+    }
+}
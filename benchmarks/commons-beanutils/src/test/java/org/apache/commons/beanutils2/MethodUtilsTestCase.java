@@ -606,6 +606,53 @@ public class MethodUtilsTestCase extends TestCase {
         assertEquals(0, MethodUtils.clearCache());
     }
 
+    /**
+     * Test the hit and miss counts of the method cache.
+     */
+    public void testCacheHitsAndMisses() throws Exception {
+        MethodUtils.clearCache(); // make sure it starts empty
+        final PublicSubBean bean = new PublicSubBean();
+        MethodUtils.invokeMethod(bean, "setFoo", "alpha");
+        assertEquals(0, MethodUtils.getCacheHitCount());
+        assertEquals(1, MethodUtils.getCacheMissCount());
+        MethodUtils.invokeMethod(bean, "setFoo", "beta");
+        assertEquals(1, MethodUtils.getCacheHitCount());
+        assertEquals(1, MethodUtils.getCacheMissCount());
+        assertEquals(1, MethodUtils.clearCache());
+        assertEquals(0, MethodUtils.getCacheHitCount());
+        assertEquals(0, MethodUtils.getCacheMissCount());
+    }
+
+    /**
+     * Test that the methods which are not found are cached.
+     */
+    public void testCacheMethodNotFound() throws Exception {
+        MethodUtils.clearCache(); // make sure it starts empty
+        final Class<?>[] types = {String.class};
+        assertNull(MethodUtils.getMatchingAccessibleMethod(PublicSubBean.class, "setMissing", types));
+        assertNull(MethodUtils.getMatchingAccessibleMethod(PublicSubBean.class, "setMissing", types));
+        assertNull(MethodUtils.getAccessibleMethod(PublicSubBean.class, "setMissing", types));
+        assertNull(MethodUtils.getAccessibleMethod(PublicSubBean.class, "setMissing", types));
+        assertEquals(2, MethodUtils.getCacheHitCount());
+        assertEquals(2, MethodUtils.getCacheMissCount());
+        assertEquals(2, MethodUtils.clearCache());
+    }
+
+    /**
+     * Test that the methods which are not found are only cached up to a bound.
+     */
+    public void testCacheMethodNotFoundIsBounded() throws Exception {
+        MethodUtils.clearCache(); // make sure it starts empty
+        final Class<?>[] types = {String.class};
+        for (int i = 0; i < 1000; i++) {
+            assertNull(MethodUtils.getAccessibleMethod(PublicSubBean.class, "setMissing" + i, types));
+        }
+        assertNotNull(MethodUtils.getAccessibleMethod(PublicSubBean.class, "setFoo", types));
+        // The methods not found are dropped once they exceed the bound of the class
+        final int size = MethodUtils.clearCache();
+        assertTrue("Cache size " + size, size > 0 && size <= 258);
+    }
+
     public void testNoCaching() throws Exception {
         // no caching
         MethodUtils.setCacheMethods(false);
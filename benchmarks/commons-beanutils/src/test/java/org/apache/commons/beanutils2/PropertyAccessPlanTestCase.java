@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.beanutils2;
+
+import org.apache.commons.beanutils2.expression.DefaultResolver;
+
+import junit.framework.TestCase;
+
+/**
+ * Test class for {@code PropertyAccessPlan}.
+ *
+ */
+public class PropertyAccessPlanTestCase extends TestCase {
+
+    /**
+     * Parses an expression with the default resolver.
+     *
+     * @param expression the expression
+     * @return the plan
+     */
+    private static PropertyAccessPlan compile(final String expression) {
+        return PropertyAccessPlan.compile(new DefaultResolver(), expression);
+    }
+
+    /**
+     * Tests a plan of a simple property.
+     */
+    public void testSimple() {
+        final PropertyAccessPlan plan = compile("stringProperty");
+        assertEquals("Wrong size", 1, plan.size());
+        assertEquals("Wrong name", "stringProperty", plan.getName(0));
+        assertEquals("Wrong expression", "stringProperty", plan.getExpression(0));
+        assertEquals("Wrong kind", PropertyAccessPlan.SIMPLE, plan.getKind(0));
+    }
+
+    /**
+     * Tests a plan of a nested expression mixing all the kinds of properties.
+     */
+    public void testNested() {
+        final PropertyAccessPlan plan = compile("nested.mappedProperty(key).intIndexed[2].stringProperty");
+        assertEquals("Wrong size", 4, plan.size());
+        assertEquals("Wrong name 0", "nested", plan.getName(0));
+        assertEquals("Wrong name 1", "mappedProperty(key)", plan.getName(1));
+        assertEquals("Wrong name 2", "intIndexed[2]", plan.getName(2));
+        assertEquals("Wrong name 3", "stringProperty", plan.getName(3));
+        assertEquals("Wrong kind 0", PropertyAccessPlan.SIMPLE, plan.getKind(0));
+        assertEquals("Wrong kind 1", PropertyAccessPlan.MAPPED, plan.getKind(1));
+        assertEquals("Wrong kind 2", PropertyAccessPlan.INDEXED, plan.getKind(2));
+        assertEquals("Wrong kind 3", PropertyAccessPlan.SIMPLE, plan.getKind(3));
+        assertEquals("Wrong expression 0", "nested.mappedProperty(key).intIndexed[2].stringProperty",
+                plan.getExpression(0));
+        assertEquals("Wrong expression 2", "intIndexed[2].stringProperty", plan.getExpression(2));
+        assertEquals("Wrong expression 3", "stringProperty", plan.getExpression(3));
+    }
+
+    /**
+     * Tests that a key containing dots is kept in a single mapped step.
+     */
+    public void testMappedKeyWithDots() {
+        final PropertyAccessPlan plan = compile("mappedProperty(a.b).value");
+        assertEquals("Wrong size", 2, plan.size());
+        assertEquals("Wrong name", "mappedProperty(a.b)", plan.getName(0));
+        assertEquals("Wrong kind", PropertyAccessPlan.MAPPED, plan.getKind(0));
+    }
+}
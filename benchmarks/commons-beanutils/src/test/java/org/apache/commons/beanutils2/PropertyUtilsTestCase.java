@@ -1627,9 +1627,66 @@ public class PropertyUtilsTestCase extends TestCase {
             fail("NestedNullException not thrown");
         } catch (final NestedNullException e) {
             // that's what we wanted!
+            assertTrue("Wrong message " + e.getMessage(),
+                    e.getMessage().startsWith("Null property value for 'simpleBeanProperty.indexedProperty[0]'"));
         }
     }
 
+    /**
+     * Test that the same nested expression can be evaluated repeatedly on
+     * beans of different classes.
+     */
+    public void testNestedPropertyOnDifferentClasses() throws Exception {
+        final Map<String, Object> map = new HashMap<>();
+        map.put("stringProperty", "Map Value");
+        final NestedTestBean nestedBean = new NestedTestBean("base");
+        nestedBean.init();
+        nestedBean.getSimpleBeanProperty().setTestString("Nested Value");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Bean value", bean.getStringProperty(),
+                    PropertyUtils.getNestedProperty(bean, "stringProperty"));
+            assertEquals("Map value", "Map Value",
+                    PropertyUtils.getNestedProperty(map, "stringProperty"));
+            assertEquals("Nested value", "Nested Value",
+                    PropertyUtils.getNestedProperty(nestedBean, "simpleBeanProperty.testString"));
+        }
+    }
+
+    /**
+     * Test that nested expressions use the simple property access of a
+     * subclass overriding it.
+     */
+    public void testNestedPropertyUsesOverriddenSimpleProperty() throws Exception {
+        final List<String> names = new ArrayList<>();
+        final PropertyUtilsBean pub = new PropertyUtilsBean() {
+            @Override
+            public Object getSimpleProperty(final Object bean, final String name)
+                    throws IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+                names.add(name);
+                return super.getSimpleProperty(bean, name);
+            }
+        };
+        assertEquals("Nested value", bean.getNested().getStringProperty(),
+                pub.getNestedProperty(bean, "nested.stringProperty"));
+        assertEquals("Simple properties", Arrays.asList("nested", "stringProperty"), names);
+    }
+
+    /**
+     * Test that setting a nested property to a value of a wrong type is
+     * still reported as an IllegalArgumentException.
+     */
+    public void testSetNestedWrongType() throws Exception {
+        try {
+            PropertyUtils.setNestedProperty(bean, "nested.intProperty", Long.valueOf(1));
+            fail("Should have thrown IllegalArgumentException");
+        } catch (final IllegalArgumentException e) {
+            // Correct result for this test
+        }
+        PropertyUtils.setNestedProperty(bean, "nested.stringProperty", null);
+        assertNull("Null value", bean.getNested().getStringProperty());
+    }
+
     /**
      * Test getNestedProperty on a write-only String property.
      */
@@ -18,6 +18,8 @@
 package org.apache.commons.codec.binary;
 
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 import org.apache.commons.codec.CodecPolicy;
@@ -112,7 +114,7 @@ public class Base64 extends BaseNCodec {
             -1,  0,  1,  2,  3,  4,  5,  6,  7,  8,  9, 10, 11, 12, 13, 14, // 40-4f A-O
             15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, -1, -1, -1, -1, 63, // 50-5f P-Z _
             -1, 26, 27, 28, 29, 30, 31, 32, 33, 34, 35, 36, 37, 38, 39, 40, // 60-6f a-o
-            41, 42, 43, 44, 45, 46, 47, 48, 49, 50, 51                      // 70-7a p-z
+            41, 42, 43, 44, 45, 46, 47, 48, 49, 50, 51, -1, -1, -1, -1, -1  // 70-7f p-z
     };
 
     /**
@@ -611,6 +613,91 @@ public class Base64 extends BaseNCodec {
 
     // Implementation of the Encoder Interface
 
+    /**
+     * Decodes the remaining bytes of a buffer of Base64 data into another buffer, without allocating memory.
+     *
+     * <p>
+     * The source holds the whole data, as {@link #decode(byte[])} expects it: characters outside of the Base64 alphabet
+     * are ignored, and decoding stops at the first pad character. The bytes are read from the source position to its
+     * limit, and written from the destination position. On success both positions are moved past the bytes read and
+     * written; if the destination is too small, or the data is rejected by the decoding policy, neither position is
+     * moved.
+     * </p>
+     *
+     * @param src the Base64 data
+     * @param dst the buffer receiving the decoded bytes
+     * @return the number of bytes written
+     * @throws BufferOverflowException if the destination has not enough remaining bytes
+     * @throws IllegalArgumentException if the data is invalid for the strict decoding policy
+     * @since 1.15
+     */
+    public int decode(final ByteBuffer src, final ByteBuffer dst) {
+        final int end = src.limit();
+        final int start = dst.position();
+        final int outEnd = dst.limit();
+        int in = src.position();
+        int out = start;
+        int bits = 0;
+        int modulus = 0;
+        while (in < end) {
+            if (modulus == 0 && end - in >= BYTES_PER_ENCODED_BLOCK && outEnd - out >= BYTES_PER_UNENCODED_BLOCK) {
+                final int block = decodeBlock(src.get(in), src.get(in + 1), src.get(in + 2), src.get(in + 3));
+                if (block >= 0) {
+                    dst.put(out, (byte) (block >> 16));
+                    dst.put(out + 1, (byte) (block >> 8));
+                    dst.put(out + 2, (byte) block);
+                    in += BYTES_PER_ENCODED_BLOCK;
+                    out += BYTES_PER_UNENCODED_BLOCK;
+                    continue;
+                }
+            }
+            final byte b = src.get(in++);
+            if (b == pad) {
+                break;
+            }
+            if (b >= 0 && DECODE_TABLE[b] >= 0) {
+                modulus = (modulus + 1) % BYTES_PER_ENCODED_BLOCK;
+                bits = (bits << BITS_PER_ENCODED_BYTE) + DECODE_TABLE[b];
+                if (modulus == 0) {
+                    if (outEnd - out < BYTES_PER_UNENCODED_BLOCK) {
+                        throw new BufferOverflowException();
+                    }
+                    dst.put(out++, (byte) (bits >> 16));
+                    dst.put(out++, (byte) (bits >> 8));
+                    dst.put(out++, (byte) bits);
+                }
+            }
+        }
+        // Same handling of the trailing characters as decode(byte[], int, int, Context)
+        switch (modulus) {
+            case 0 :
+                break;
+            case 1 :
+                validateTrailingCharacter();
+                break;
+            case 2 :
+                validateCharacter(MASK_4BITS, bits);
+                if (out == outEnd) {
+                    throw new BufferOverflowException();
+                }
+                dst.put(out++, (byte) (bits >> 4));
+                break;
+            case 3 :
+                validateCharacter(MASK_2BITS, bits);
+                if (outEnd - out < 2) {
+                    throw new BufferOverflowException();
+                }
+                dst.put(out++, (byte) (bits >> 10));
+                dst.put(out++, (byte) (bits >> 2));
+                break;
+            default:
+                throw new IllegalStateException("Impossible modulus " + modulus);
+        }
+        src.position(end);
+        dst.position(out);
+        return out - start;
+    }
+
     /**
      * <p>
      * Decodes all of the provided data, starting at inPos, for inAvail bytes. Should be called at least twice: once
@@ -644,7 +731,22 @@ public class Base64 extends BaseNCodec {
         if (inAvail < 0) {
             context.eof = true;
         }
-        for (int i = 0; i < inAvail; i++) {
+        int i = 0;
+        while (i < inAvail) {
+            if (context.modulus == 0 && inAvail - i >= BYTES_PER_ENCODED_BLOCK) {
+                // Whole blocks of alphabet characters are decoded together, with one buffer check
+                final int blocks = Math.min((inAvail - i) / BYTES_PER_ENCODED_BLOCK,
+                        getDefaultBufferSize() / BYTES_PER_UNENCODED_BLOCK);
+                final byte[] buffer = ensureBufferSize(blocks * BYTES_PER_UNENCODED_BLOCK, context);
+                final int decoded = decodeBlocks(in, inPos, blocks, buffer, context.pos);
+                if (decoded > 0) {
+                    inPos += decoded * BYTES_PER_ENCODED_BLOCK;
+                    i += decoded * BYTES_PER_ENCODED_BLOCK;
+                    context.pos += decoded * BYTES_PER_UNENCODED_BLOCK;
+                    continue;
+                }
+            }
+            i++;
             final byte[] buffer = ensureBufferSize(decodeSize, context);
             final byte b = in[inPos++];
             if (b == pad) {
@@ -680,12 +782,12 @@ public class Base64 extends BaseNCodec {
                     validateTrailingCharacter();
                     break;
                 case 2 : // 12 bits = 8 + 4
-                    validateCharacter(MASK_4BITS, context);
+                    validateCharacter(MASK_4BITS, context.ibitWorkArea);
                     context.ibitWorkArea = context.ibitWorkArea >> 4; // dump the extra 4 bits
                     buffer[context.pos++] = (byte) ((context.ibitWorkArea) & MASK_8BITS);
                     break;
                 case 3 : // 18 bits = 8 + 8 + 2
-                    validateCharacter(MASK_2BITS, context);
+                    validateCharacter(MASK_2BITS, context.ibitWorkArea);
                     context.ibitWorkArea = context.ibitWorkArea >> 2; // dump 2 bits
                     buffer[context.pos++] = (byte) ((context.ibitWorkArea >> 8) & MASK_8BITS);
                     buffer[context.pos++] = (byte) ((context.ibitWorkArea) & MASK_8BITS);
@@ -765,7 +867,28 @@ public class Base64 extends BaseNCodec {
                 context.pos += lineSeparator.length;
             }
         } else {
-            for (int i = 0; i < inAvail; i++) {
+            int i = 0;
+            while (i < inAvail) {
+                if (context.modulus == 0 && inAvail - i >= BYTES_PER_UNENCODED_BLOCK) {
+                    // Whole blocks up to the end of the line are encoded together, with one buffer check
+                    int blocks = Math.min((inAvail - i) / BYTES_PER_UNENCODED_BLOCK,
+                            getDefaultBufferSize() / BYTES_PER_ENCODED_BLOCK);
+                    if (lineLength > 0) {
+                        blocks = Math.min(blocks, (lineLength - context.currentLinePos) / BYTES_PER_ENCODED_BLOCK);
+                    }
+                    final byte[] buffer = ensureBufferSize(blocks * BYTES_PER_ENCODED_BLOCK + encodeSize, context);
+                    context.pos = encodeBlocks(in, inPos, blocks, buffer, context.pos);
+                    inPos += blocks * BYTES_PER_UNENCODED_BLOCK;
+                    i += blocks * BYTES_PER_UNENCODED_BLOCK;
+                    context.currentLinePos += blocks * BYTES_PER_ENCODED_BLOCK;
+                    if (lineLength > 0 && lineLength <= context.currentLinePos) {
+                        System.arraycopy(lineSeparator, 0, buffer, context.pos, lineSeparator.length);
+                        context.pos += lineSeparator.length;
+                        context.currentLinePos = 0;
+                    }
+                    continue;
+                }
+                i++;
                 final byte[] buffer = ensureBufferSize(encodeSize, context);
                 context.modulus = (context.modulus+1) % BYTES_PER_UNENCODED_BLOCK;
                 int b = in[inPos++];
@@ -789,6 +912,134 @@ public class Base64 extends BaseNCodec {
         }
     }
 
+    /**
+     * Decodes a block of 4 characters of the Base64 alphabet.
+     *
+     * @return the 24 decoded bits, or a negative value if a character is not in the alphabet
+     */
+    private static int decodeBlock(final byte b0, final byte b1, final byte b2, final byte b3) {
+        // A negative byte is outside of the table, and a -1 from the table makes the whole value negative
+        if ((b0 | b1 | b2 | b3) < 0) {
+            return -1;
+        }
+        return DECODE_TABLE[b0] << 18 | DECODE_TABLE[b1] << 12 | DECODE_TABLE[b2] << 6 | DECODE_TABLE[b3];
+    }
+
+    /**
+     * Decodes blocks of 4 characters of the Base64 alphabet, until a block holds another character.
+     *
+     * @return the number of blocks decoded
+     */
+    private static int decodeBlocks(final byte[] in, int inPos, final int blocks, final byte[] out, int outPos) {
+        for (int i = 0; i < blocks; i++) {
+            final int block = decodeBlock(in[inPos], in[inPos + 1], in[inPos + 2], in[inPos + 3]);
+            if (block < 0) {
+                return i;
+            }
+            out[outPos] = (byte) (block >> 16);
+            out[outPos + 1] = (byte) (block >> 8);
+            out[outPos + 2] = (byte) block;
+            inPos += BYTES_PER_ENCODED_BLOCK;
+            outPos += BYTES_PER_UNENCODED_BLOCK;
+        }
+        return blocks;
+    }
+
+    /**
+     * Encodes the remaining bytes of a buffer into another buffer, without allocating memory.
+     *
+     * <p>
+     * The source holds the whole data: the output is the same as {@link #encode(byte[])}, including the padding and
+     * the line separators. The bytes are read from the source position to its limit, and written from the destination
+     * position. On success both positions are moved past the bytes read and written; if the destination is too small,
+     * neither position is moved.
+     * </p>
+     *
+     * @param src the bytes to encode
+     * @param dst the buffer receiving the Base64 characters
+     * @return the number of bytes written
+     * @throws BufferOverflowException if the destination has fewer remaining bytes than the encoded length
+     * @since 1.15
+     */
+    public int encode(final ByteBuffer src, final ByteBuffer dst) {
+        final int length = src.remaining();
+        final int remainder = length % BYTES_PER_UNENCODED_BLOCK;
+        long encodedLength = (long) (length / BYTES_PER_UNENCODED_BLOCK) * BYTES_PER_ENCODED_BLOCK;
+        if (remainder != 0) {
+            // URL-SAFE skips the padding
+            encodedLength += isUrlSafe() ? remainder + 1 : BYTES_PER_ENCODED_BLOCK;
+        }
+        if (lineLength > 0) {
+            encodedLength += (encodedLength + lineLength - 1) / lineLength * lineSeparator.length;
+        }
+        if (encodedLength > dst.remaining()) {
+            throw new BufferOverflowException();
+        }
+
+        final byte[] table = encodeTable;
+        final int end = src.limit();
+        final int start = dst.position();
+        int in = src.position();
+        int out = start;
+        int linePos = 0;
+        for (; end - in >= BYTES_PER_UNENCODED_BLOCK; in += BYTES_PER_UNENCODED_BLOCK) {
+            final int bits = (src.get(in) & MASK_8BITS) << 16 | (src.get(in + 1) & MASK_8BITS) << 8
+                    | src.get(in + 2) & MASK_8BITS;
+            dst.put(out, table[bits >> 18]);
+            dst.put(out + 1, table[(bits >> 12) & MASK_6BITS]);
+            dst.put(out + 2, table[(bits >> 6) & MASK_6BITS]);
+            dst.put(out + 3, table[bits & MASK_6BITS]);
+            out += BYTES_PER_ENCODED_BLOCK;
+            linePos += BYTES_PER_ENCODED_BLOCK;
+            if (lineLength > 0 && lineLength <= linePos) {
+                out = putLineSeparator(dst, out);
+                linePos = 0;
+            }
+        }
+        if (remainder != 0) {
+            final int tailStart = out;
+            final int bits = remainder == 1 ? (src.get(in) & MASK_8BITS) << 4
+                    : (src.get(in) & MASK_8BITS) << 10 | (src.get(in + 1) & MASK_8BITS) << 2;
+            if (remainder == 2) {
+                dst.put(out++, table[(bits >> 12) & MASK_6BITS]);
+            }
+            dst.put(out++, table[(bits >> 6) & MASK_6BITS]);
+            dst.put(out++, table[bits & MASK_6BITS]);
+            if (!isUrlSafe()) {
+                while (out - tailStart < BYTES_PER_ENCODED_BLOCK) {
+                    dst.put(out++, pad);
+                }
+            }
+            linePos += out - tailStart;
+        }
+        if (lineLength > 0 && linePos > 0) {
+            out = putLineSeparator(dst, out);
+        }
+        src.position(end);
+        dst.position(out);
+        return out - start;
+    }
+
+    /**
+     * Encodes blocks of 3 bytes into 4 characters each.
+     *
+     * @return the position after the last character written
+     */
+    private int encodeBlocks(final byte[] in, int inPos, final int blocks, final byte[] out, int outPos) {
+        final byte[] table = encodeTable;
+        for (int i = 0; i < blocks; i++) {
+            final int bits = (in[inPos] & MASK_8BITS) << 16 | (in[inPos + 1] & MASK_8BITS) << 8
+                    | in[inPos + 2] & MASK_8BITS;
+            out[outPos] = table[bits >> 18];
+            out[outPos + 1] = table[(bits >> 12) & MASK_6BITS];
+            out[outPos + 2] = table[(bits >> 6) & MASK_6BITS];
+            out[outPos + 3] = table[bits & MASK_6BITS];
+            inPos += BYTES_PER_UNENCODED_BLOCK;
+            outPos += BYTES_PER_ENCODED_BLOCK;
+        }
+        return outPos;
+    }
+
     /**
      * Returns whether or not the {@code octet} is in the Base64 alphabet.
      *
@@ -811,6 +1062,18 @@ public class Base64 extends BaseNCodec {
         return this.encodeTable == URL_SAFE_ENCODE_TABLE;
     }
 
+    /**
+     * Writes the line separator at an index of a buffer.
+     *
+     * @return the index after the separator
+     */
+    private int putLineSeparator(final ByteBuffer dst, int out) {
+        for (final byte b : lineSeparator) {
+            dst.put(out++, b);
+        }
+        return out;
+    }
+
     /**
      * Validates whether decoding the final trailing character is possible in the context
      * of the set of possible base 64 values.
@@ -819,12 +1082,12 @@ public class Base64 extends BaseNCodec {
      * is used to test the final trailing base-64 digit is zero in the bits that will be discarded.
      *
      * @param emptyBitsMask The mask of the lower bits that should be empty
-     * @param context the context to be used
+     * @param bits the decoded bits
      *
      * @throws IllegalArgumentException if the bits being checked contain any non-zero value
      */
-    private void validateCharacter(final int emptyBitsMask, final Context context) {
-        if (isStrictDecoding() && (context.ibitWorkArea & emptyBitsMask) != 0) {
+    private void validateCharacter(final int emptyBitsMask, final int bits) {
+        if (isStrictDecoding() && (bits & emptyBitsMask) != 0) {
             throw new IllegalArgumentException(
                 "Strict decoding: Last encoded character (before the paddings if any) is a valid base 64 alphabet but not a possible encoding. " +
                 "Expected the discarded bits from the character to be zero.");
@@ -18,6 +18,7 @@
 package org.apache.commons.codec.binary;
 
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -73,17 +74,37 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
      * @throws DecoderException Thrown if an odd number or illegal of characters is supplied
      */
     public static byte[] decodeHex(final char[] data) throws DecoderException {
+        final byte[] out = new byte[data.length >> 1];
+        decodeHex(data, out, 0);
+        return out;
+    }
 
+    /**
+     * Converts an array of characters representing hexadecimal values into the bytes of those same values, written into
+     * an array supplied by the caller. An exception is thrown if the passed char array has an odd number of elements.
+     *
+     * @param data An array of characters containing hexadecimal digits
+     * @param out A byte array to contain the binary data decoded from the supplied char array.
+     * @param outOffset The position within {@code out} to start writing the decoded bytes.
+     * @return the number of bytes written to {@code out}.
+     * @throws DecoderException Thrown if an odd number of characters or illegal characters are supplied, or if the
+     *         output array is too small
+     * @since 1.15
+     */
+    public static int decodeHex(final char[] data, final byte[] out, final int outOffset) throws DecoderException {
         final int len = data.length;
 
         if ((len & 0x01) != 0) {
             throw new DecoderException("Odd number of characters.");
         }
 
-        final byte[] out = new byte[len >> 1];
+        final int outLen = len >> 1;
+        if (out.length - outOffset < outLen) {
+            throw new DecoderException("Output array is not large enough to accommodate decoded data.");
+        }
 
         // two characters form the hex value.
-        for (int i = 0, j = 0; j < len; i++) {
+        for (int i = outOffset, j = 0; j < len; i++) {
             int f = toDigit(data[j], j) << 4;
             j++;
             f = f | toDigit(data[j], j);
@@ -91,7 +112,7 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
             out[i] = (byte) (f & 0xFF);
         }
 
-        return out;
+        return outLen;
     }
 
     /**
@@ -148,12 +169,44 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
     protected static char[] encodeHex(final byte[] data, final char[] toDigits) {
         final int l = data.length;
         final char[] out = new char[l << 1];
+        encodeHex(data, 0, l, toDigits, out, 0);
+        return out;
+    }
+
+    /**
+     * Converts a range of an array of bytes into the characters representing the hexadecimal values of each byte in
+     * order, written into an array supplied by the caller. Two characters are written for each byte.
+     *
+     * @param data        a byte[] to convert to Hex characters
+     * @param dataOffset  the position in {@code data} to start encoding from
+     * @param dataLen     the number of bytes from {@code dataOffset} to encode
+     * @param toLowerCase {@code true} converts to lowercase, {@code false} to uppercase
+     * @param out         a char[] which will hold the resultant appropriate characters from the alphabet.
+     * @param outOffset   the position within {@code out} at which to start writing the encoded characters.
+     * @since 1.15
+     */
+    public static void encodeHex(final byte[] data, final int dataOffset, final int dataLen,
+            final boolean toLowerCase, final char[] out, final int outOffset) {
+        encodeHex(data, dataOffset, dataLen, toLowerCase ? DIGITS_LOWER : DIGITS_UPPER, out, outOffset);
+    }
+
+    /**
+     * Converts a range of an array of bytes into hexadecimal characters written into an array.
+     *
+     * @param data       a byte[] to convert to Hex characters
+     * @param dataOffset the position in {@code data} to start encoding from
+     * @param dataLen    the number of bytes from {@code dataOffset} to encode
+     * @param toDigits   the output alphabet (must contain at least 16 chars)
+     * @param out        a char[] which will hold the resultant appropriate characters from the alphabet.
+     * @param outOffset  the position within {@code out} at which to start writing the encoded characters.
+     */
+    private static void encodeHex(final byte[] data, final int dataOffset, final int dataLen, final char[] toDigits,
+            final char[] out, final int outOffset) {
         // two characters form the hex value.
-        for (int i = 0, j = 0; i < l; i++) {
+        for (int i = dataOffset, j = outOffset; i < dataOffset + dataLen; i++) {
             out[j++] = toDigits[(0xF0 & data[i]) >>> 4];
             out[j++] = toDigits[0x0F & data[i]];
         }
-        return out;
     }
 
     /**
@@ -204,7 +257,68 @@ public class Hex implements BinaryEncoder, BinaryDecoder {
      * @since 1.11
      */
     protected static char[] encodeHex(final ByteBuffer byteBuffer, final char[] toDigits) {
-        return encodeHex(toByteArray(byteBuffer), toDigits);
+        final char[] out = new char[byteBuffer.remaining() << 1];
+        encodeHex(byteBuffer, toDigits, out, 0, byteBuffer.remaining());
+        return out;
+    }
+
+    /**
+     * Converts bytes of a byte buffer into the characters representing their hexadecimal values, written into a char
+     * buffer, without allocating memory. Two characters are written for each byte.
+     *
+     * <p>As many bytes as fit in the char buffer are encoded: the smaller of {@link ByteBuffer#remaining()} and half of
+     * {@link CharBuffer#remaining()}. The positions of both buffers are moved past the bytes read and the characters
+     * written, so that the data can be streamed through a fixed size char buffer.</p>
+     *
+     * @param data        a byte buffer to convert to Hex characters
+     * @param out         the char buffer receiving the hexadecimal characters
+     * @param toLowerCase {@code true} converts to lowercase, {@code false} to uppercase
+     * @return the number of bytes encoded
+     * @throws java.nio.ReadOnlyBufferException if the char buffer is read-only
+     * @since 1.15
+     */
+    public static int encodeHex(final ByteBuffer data, final CharBuffer out, final boolean toLowerCase) {
+        final int length = Math.min(data.remaining(), out.remaining() >> 1);
+        if (out.hasArray()) {
+            encodeHex(data, toLowerCase ? DIGITS_LOWER : DIGITS_UPPER, out.array(),
+                    out.arrayOffset() + out.position(), length);
+            out.position(out.position() + (length << 1));
+        } else {
+            final char[] toDigits = toLowerCase ? DIGITS_LOWER : DIGITS_UPPER;
+            final int end = data.position() + length;
+            for (int i = data.position(); i < end; i++) {
+                final byte b = data.get(i);
+                out.put(toDigits[(0xF0 & b) >>> 4]);
+                out.put(toDigits[0x0F & b]);
+            }
+            data.position(end);
+        }
+        return length;
+    }
+
+    /**
+     * Converts bytes of a byte buffer into hexadecimal characters written into an array, and moves the buffer position
+     * past them.
+     *
+     * @param data      a byte buffer to convert to Hex characters
+     * @param toDigits  the output alphabet (must contain at least 16 chars)
+     * @param out       a char[] which will hold the resultant appropriate characters from the alphabet.
+     * @param outOffset the position within {@code out} at which to start writing the encoded characters.
+     * @param length    the number of bytes to encode
+     */
+    private static void encodeHex(final ByteBuffer data, final char[] toDigits, final char[] out, final int outOffset,
+            final int length) {
+        final int position = data.position();
+        if (data.hasArray()) {
+            encodeHex(data.array(), data.arrayOffset() + position, length, toDigits, out, outOffset);
+        } else {
+            for (int i = position, j = outOffset; i < position + length; i++) {
+                final byte b = data.get(i);
+                out[j++] = toDigits[(0xF0 & b) >>> 4];
+                out[j++] = toDigits[0x0F & b];
+            }
+        }
+        data.position(position + length);
     }
 
     /**
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.codec.digest;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * Operations to simplify common {@link java.util.zip.Checksum} tasks.
+ *
+ * <p>
+ * The checksums of the Java runtime are used when they are available: {@code java.util.zip.CRC32C} is provided from
+ * Java 9, and is computed with the CRC32 instructions of the processor where they exist.
+ * </p>
+ * <p>
+ * This class is immutable and thread-safe. The Checksum instances it creates are not.
+ * </p>
+ *
+ * @see PureJavaCrc32
+ * @see PureJavaCrc32C
+ * @since 1.15
+ */
+public final class ChecksumUtils {
+
+    /** The size of the chunks copied from a direct buffer to update a checksum without buffer support. */
+    private static final int CHUNK_SIZE = 4096;
+
+    /** Creates a {@code java.util.zip.CRC32C}, or null if the runtime does not provide it. */
+    private static final Constructor<? extends Checksum> CRC32C_CONSTRUCTOR;
+
+    /** The method updating a checksum of the runtime with a buffer, or null if the runtime does not provide it. */
+    private static final Method UPDATE_BUFFER;
+
+    static {
+        Constructor<? extends Checksum> constructor = null;
+        try {
+            constructor = Class.forName("java.util.zip.CRC32C").asSubclass(Checksum.class).getConstructor();
+        } catch (final ReflectiveOperationException e) {
+            // Before Java 9
+        }
+        CRC32C_CONSTRUCTOR = constructor;
+
+        // Checksum.update(ByteBuffer) is provided from Java 9, and CRC32.update(ByteBuffer) from Java 8
+        Method update = null;
+        for (final Class<?> type : new Class<?>[] {Checksum.class, java.util.zip.CRC32.class}) {
+            try {
+                update = type.getMethod("update", ByteBuffer.class);
+                break;
+            } catch (final NoSuchMethodException e) {
+                // Not provided by this runtime
+            }
+        }
+        UPDATE_BUFFER = update;
+    }
+
+    /** No instances. */
+    private ChecksumUtils() {
+    }
+
+    /**
+     * Returns a new CRC32C checksum: the {@code java.util.zip.CRC32C} of the runtime when available, else a
+     * {@link PureJavaCrc32C}.
+     *
+     * @return a new CRC32C checksum
+     */
+    public static Checksum newCrc32C() {
+        if (CRC32C_CONSTRUCTOR != null) {
+            try {
+                return CRC32C_CONSTRUCTOR.newInstance();
+            } catch (final ReflectiveOperationException e) {
+                // Fall back to the pure Java implementation
+            }
+        }
+        return new PureJavaCrc32C();
+    }
+
+    /**
+     * Updates the checksum with the remaining bytes of the buffer. The bytes are read from the buffer position to its
+     * limit, and the position is moved to the limit.
+     *
+     * <p>
+     * The checksums of this package and the checksums of the runtime which support buffers read a direct buffer in
+     * place. The content of a direct buffer is copied in chunks to update other checksums.
+     * </p>
+     *
+     * @param checksum the checksum to update
+     * @param buffer the bytes to add
+     */
+    public static void update(final Checksum checksum, final ByteBuffer buffer) {
+        if (checksum instanceof PureJavaCrc32C) {
+            ((PureJavaCrc32C) checksum).update(buffer);
+        } else if (checksum instanceof PureJavaCrc32) {
+            ((PureJavaCrc32) checksum).update(buffer);
+        } else if (checksum instanceof XXHash32) {
+            ((XXHash32) checksum).update(buffer);
+        } else if (buffer.hasArray()) {
+            checksum.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+        } else if (UPDATE_BUFFER != null && UPDATE_BUFFER.getDeclaringClass().isInstance(checksum)) {
+            try {
+                UPDATE_BUFFER.invoke(checksum, buffer);
+            } catch (final InvocationTargetException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            } catch (final IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        } else {
+            final byte[] chunk = new byte[Math.min(CHUNK_SIZE, buffer.remaining())];
+            while (buffer.hasRemaining()) {
+                final int length = Math.min(chunk.length, buffer.remaining());
+                buffer.get(chunk, 0, length);
+                checksum.update(chunk, 0, length);
+            }
+        }
+    }
+
+    /**
+     * Returns the slice-by-16 tables of a reflected CRC-32 polynomial, computed from its slice-by-8 tables.
+     *
+     * <p>
+     * Table {@code k} gives the CRC of a byte followed by {@code k} zero bytes, and starts at index {@code k * 256}.
+     * </p>
+     *
+     * @param sliceBy8 the 8 tables of 256 values
+     * @return the 16 tables of 256 values
+     */
+    static int[] sliceBy16Tables(final int[] sliceBy8) {
+        final int[] tables = new int[16 * 256];
+        System.arraycopy(sliceBy8, 0, tables, 0, 8 * 256);
+        for (int i = 8 * 256; i < tables.length; i++) {
+            final int previous = tables[i - 256];
+            tables[i] = (previous >>> 8) ^ tables[previous & 0xff];
+        }
+        return tables;
+    }
+
+    /**
+     * Updates a bit-flipped CRC with bytes of a buffer, 16 bytes at a time.
+     *
+     * @param crc the current CRC value, bit-flipped
+     * @param data the buffer, in little-endian byte order
+     * @param offset the index of the first byte
+     * @param end the index after the last byte
+     * @param tables the slice-by-16 tables of the polynomial
+     * @return the new CRC value, bit-flipped
+     */
+    static int updateSliceBy16(int crc, final ByteBuffer data, int offset, final int end, final int[] tables) {
+        for (; end - offset > 15; offset += 16) {
+            final long v0 = data.getLong(offset);
+            final long v1 = data.getLong(offset + 8);
+            final int a = (int) v0 ^ crc;
+            final int b = (int) (v0 >>> 32);
+            final int c = (int) v1;
+            final int d = (int) (v1 >>> 32);
+            crc = (tables[0xf00 + (a & 0xff)] ^ tables[0xe00 + ((a >>> 8) & 0xff)]
+                    ^ tables[0xd00 + ((a >>> 16) & 0xff)] ^ tables[0xc00 + (a >>> 24)])
+                ^ (tables[0xb00 + (b & 0xff)] ^ tables[0xa00 + ((b >>> 8) & 0xff)]
+                    ^ tables[0x900 + ((b >>> 16) & 0xff)] ^ tables[0x800 + (b >>> 24)])
+                ^ (tables[0x700 + (c & 0xff)] ^ tables[0x600 + ((c >>> 8) & 0xff)]
+                    ^ tables[0x500 + ((c >>> 16) & 0xff)] ^ tables[0x400 + (c >>> 24)])
+                ^ (tables[0x300 + (d & 0xff)] ^ tables[0x200 + ((d >>> 8) & 0xff)]
+                    ^ tables[0x100 + ((d >>> 16) & 0xff)] ^ tables[d >>> 24]);
+        }
+        for (; offset < end; offset++) {
+            crc = (crc >>> 8) ^ tables[(crc ^ data.get(offset)) & 0xff];
+        }
+        return crc;
+    }
+
+    /**
+     * Returns the table of x<sup>2<sup>n</sup></sup> modulo a reflected CRC-32 polynomial, for n from 0 to 31.
+     *
+     * @param polynomial the reflected polynomial
+     * @return the table
+     */
+    static int[] powersOfTwoTable(final int polynomial) {
+        final int[] table = new int[32];
+        // x^1
+        int p = 1 << 30;
+        table[0] = p;
+        for (int n = 1; n < table.length; n++) {
+            p = multiplyModulo(p, p, polynomial);
+            table[n] = p;
+        }
+        return table;
+    }
+
+    /**
+     * Combines the CRCs of two consecutive sequences of bytes into the CRC of the whole sequence, as zlib's
+     * {@code crc32_combine} does.
+     *
+     * @param crc1 the CRC of the first sequence
+     * @param crc2 the CRC of the second sequence
+     * @param length2 the length of the second sequence
+     * @param polynomial the reflected polynomial
+     * @param powersOfTwo the table of the polynomial returned by {@link #powersOfTwoTable(int)}
+     * @return the CRC of the two sequences
+     * @throws IllegalArgumentException if the length is negative
+     */
+    static long combine(final long crc1, final long crc2, long length2, final int polynomial,
+            final int[] powersOfTwo) {
+        if (length2 < 0) {
+            throw new IllegalArgumentException("Negative length: " + length2);
+        }
+        // Multiply crc1 by x^(8 * length2): the CRC of crc1 followed by length2 zero bytes
+        int p = 1 << 31;
+        // x^8 == x^(2^3)
+        int k = 3;
+        while (length2 != 0) {
+            if ((length2 & 1) != 0) {
+                p = multiplyModulo(powersOfTwo[k & 31], p, polynomial);
+            }
+            length2 >>>= 1;
+            k++;
+        }
+        return ((multiplyModulo(p, (int) crc1, polynomial) ^ (int) crc2)) & 0xffffffffL;
+    }
+
+    /**
+     * Multiplies two polynomials modulo a reflected CRC-32 polynomial.
+     *
+     * @param a the first polynomial, which must not be zero
+     * @param b the second polynomial
+     * @param polynomial the reflected polynomial
+     * @return the product
+     */
+    private static int multiplyModulo(final int a, int b, final int polynomial) {
+        int m = 1 << 31;
+        int p = 0;
+        for (;;) {
+            if ((a & m) != 0) {
+                p ^= b;
+                if ((a & (m - 1)) == 0) {
+                    break;
+                }
+            }
+            m >>>= 1;
+            b = (b & 1) != 0 ? (b >>> 1) ^ polynomial : b >>> 1;
+        }
+        return p;
+    }
+}
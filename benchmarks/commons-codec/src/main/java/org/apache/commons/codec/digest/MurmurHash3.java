@@ -17,6 +17,9 @@
 
 package org.apache.commons.codec.digest;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 import org.apache.commons.codec.binary.StringUtils;
 
 /**
@@ -427,6 +430,50 @@ public final class MurmurHash3 {
         return fmix32(hash);
     }
 
+    /**
+     * Generates 32-bit hash from the remaining bytes of the buffer with the given seed.
+     * The bytes are read from the buffer position to its limit; the position is not changed.
+     *
+     * <p>This produces the same result as {@link #hash32x86(byte[], int, int, int)} on the same bytes.
+     * A direct buffer is read in place, without copying its content to the heap.</p>
+     *
+     * @param data The input buffer
+     * @param seed The initial seed value
+     * @return The 32-bit hash
+     * @since 1.15
+     */
+    public static int hash32x86(final ByteBuffer data, final int seed) {
+        if (data.hasArray()) {
+            return hash32x86(data.array(), data.arrayOffset() + data.position(), data.remaining(), seed);
+        }
+        final ByteBuffer buffer = littleEndian(data);
+        final int offset = data.position();
+        final int length = data.remaining();
+        int hash = seed;
+        final int nblocks = length >> 2;
+
+        // body
+        for (int i = 0; i < nblocks; i++) {
+            hash = mix32(buffer.getInt(offset + (i << 2)), hash);
+        }
+
+        // tail
+        final int index = offset + (nblocks << 2);
+        final int tail = offset + length - index;
+        if (tail != 0) {
+            int k1 = (int) getLittleEndianTail(buffer, index, tail);
+
+            // mix functions
+            k1 *= C1_32;
+            k1 = Integer.rotateLeft(k1, R1_32);
+            k1 *= C2_32;
+            hash ^= k1;
+        }
+
+        hash ^= length;
+        return fmix32(hash);
+    }
+
     /**
      * Generates 64-bit hash from a long with a default seed.
      *
@@ -823,6 +870,88 @@ public final class MurmurHash3 {
         return hash128x64Internal(data, offset, length, seed & 0xffffffffL);
     }
 
+    /**
+     * Generates 128-bit hash from the remaining bytes of the buffer with the given seed.
+     * The bytes are read from the buffer position to its limit; the position is not changed.
+     *
+     * <p>This produces the same result as {@link #hash128x64(byte[], int, int, int)} on the same bytes.
+     * A direct buffer is read in place, without copying its content to the heap.</p>
+     *
+     * @param data The input buffer
+     * @param seed The initial seed value
+     * @return The 128-bit hash (2 longs)
+     * @since 1.15
+     */
+    public static long[] hash128x64(final ByteBuffer data, final int seed) {
+        if (data.hasArray()) {
+            return hash128x64(data.array(), data.arrayOffset() + data.position(), data.remaining(), seed);
+        }
+        final long[] hash = new long[2];
+        hash128x64Internal(littleEndian(data), data.position(), data.remaining(), seed & 0xffffffffL, hash, 0);
+        return hash;
+    }
+
+    /**
+     * Generates 128-bit hashes of many keys of the same length packed in the buffer, with the given seed.
+     * The keys are read from the buffer position; the position is not changed.
+     *
+     * <p>The hash of key {@code i} is written to {@code hashes[2 * i]} and {@code hashes[2 * i + 1]}, and is
+     * the same as the result of {@link #hash128x64(byte[], int, int, int)} on the bytes of the key. The number
+     * of keys hashed is the number of complete keys remaining in the buffer, limited by the size of the output
+     * array.</p>
+     *
+     * @param data The input buffer
+     * @param keyLength The length of each key
+     * @param seed The initial seed value
+     * @param hashes The output array for the hashes (2 longs per key)
+     * @return The number of keys hashed
+     * @throws IllegalArgumentException if the key length is not positive
+     * @since 1.15
+     */
+    public static int hash128x64(final ByteBuffer data, final int keyLength, final int seed, final long[] hashes) {
+        if (keyLength <= 0) {
+            throw new IllegalArgumentException("Key length must be positive: " + keyLength);
+        }
+        final int count = Math.min(data.remaining() / keyLength, hashes.length >> 1);
+        final ByteBuffer buffer = littleEndian(data);
+        final long unsignedSeed = seed & 0xffffffffL;
+        int offset = data.position();
+        for (int i = 0; i < count; i++) {
+            hash128x64Internal(buffer, offset, keyLength, unsignedSeed, hashes, i << 1);
+            offset += keyLength;
+        }
+        return count;
+    }
+
+    /**
+     * Generates 128-bit hashes of many {@code long} keys with the given seed.
+     *
+     * <p>The hash of {@code keys[i]} is written to {@code hashes[2 * i]} and {@code hashes[2 * i + 1]}, and is
+     * the same as the result of {@link #hash128x64(byte[], int, int, int)} on the 8 bytes of the key in
+     * little-endian order. No intermediate byte array is created.</p>
+     *
+     * @param keys The input keys
+     * @param seed The initial seed value
+     * @param hashes The output array for the hashes (2 longs per key)
+     * @throws IllegalArgumentException if the output array is smaller than twice the number of keys
+     * @since 1.15
+     */
+    public static void hash128x64(final long[] keys, final int seed, final long[] hashes) {
+        if (hashes.length < keys.length * 2L) {
+            throw new IllegalArgumentException("Output array too small for " + keys.length + " keys: "
+                    + hashes.length);
+        }
+        final long unsignedSeed = seed & 0xffffffffL;
+        for (int i = 0; i < keys.length; i++) {
+            // A single key of 8 bytes is the tail of the data
+            long k1 = keys[i];
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, R1);
+            k1 *= C2;
+            finalise128(unsignedSeed ^ k1, unsignedSeed, Long.SIZE / Byte.SIZE, hashes, i << 1);
+        }
+    }
+
     /**
      * Generates 128-bit hash from the byte array with the given offset, length and seed.
      *
@@ -927,6 +1056,95 @@ public final class MurmurHash3 {
         return new long[] { h1, h2 };
     }
 
+    /**
+     * Generates 128-bit hash from the little-endian buffer with the given offset, length and seed.
+     *
+     * @param data The input buffer, in little-endian byte order
+     * @param offset The index of the first byte
+     * @param length The number of bytes
+     * @param seed The initial seed value
+     * @param hash The output array
+     * @param hashIndex The index of the hash in the output array
+     */
+    private static void hash128x64Internal(final ByteBuffer data, final int offset, final int length,
+            final long seed, final long[] hash, final int hashIndex) {
+        long h1 = seed;
+        long h2 = seed;
+        final int nblocks = length >> 4;
+
+        // body
+        for (int i = 0; i < nblocks; i++) {
+            final int index = offset + (i << 4);
+            long k1 = data.getLong(index);
+            long k2 = data.getLong(index + 8);
+
+            // mix functions for k1
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, R1);
+            k1 *= C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, R2);
+            h1 += h2;
+            h1 = h1 * M + N1;
+
+            // mix functions for k2
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, R3);
+            k2 *= C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, R1);
+            h2 += h1;
+            h2 = h2 * M + N2;
+        }
+
+        // tail
+        final int index = offset + (nblocks << 4);
+        final int tail = offset + length - index;
+        if (tail > 8) {
+            long k2 = getLittleEndianTail(data, index + 8, tail - 8);
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, R3);
+            k2 *= C1;
+            h2 ^= k2;
+        }
+        if (tail > 0) {
+            long k1 = tail >= 8 ? data.getLong(index) : getLittleEndianTail(data, index, tail);
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, R1);
+            k1 *= C2;
+            h1 ^= k1;
+        }
+
+        finalise128(h1, h2, length, hash, hashIndex);
+    }
+
+    /**
+     * Performs the finalization of the 128-bit hash function {@code MurmurHash3_x64_128} once
+     * all the bytes have been mixed.
+     *
+     * @param h1 The first half of the running hash
+     * @param h2 The second half of the running hash
+     * @param length The total number of input bytes
+     * @param hash The output array
+     * @param hashIndex The index of the hash in the output array
+     */
+    private static void finalise128(long h1, long h2, final long length, final long[] hash, final int hashIndex) {
+        h1 ^= length;
+        h2 ^= length;
+
+        h1 += h2;
+        h2 += h1;
+
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+
+        h1 += h2;
+        h2 += h1;
+
+        hash[hashIndex] = h1;
+        hash[hashIndex + 1] = h2;
+    }
+
     /**
      * Gets the little-endian long from 8 bytes starting at the specified index.
      *
@@ -959,6 +1177,32 @@ public final class MurmurHash3 {
                ((data[index + 3] & 0xff) << 24);
     }
 
+    /**
+     * Gets a view of the buffer which reads little-endian values with absolute indices.
+     *
+     * @param data The buffer
+     * @return The little-endian view
+     */
+    private static ByteBuffer littleEndian(final ByteBuffer data) {
+        return data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Gets the little-endian value of up to 8 bytes starting at the specified index.
+     *
+     * @param data The data
+     * @param index The index
+     * @param length The number of bytes
+     * @return The little-endian value of the bytes, zero extended
+     */
+    private static long getLittleEndianTail(final ByteBuffer data, final int index, final int length) {
+        long result = 0;
+        for (int i = 0; i < length; i++) {
+            result |= ((long) data.get(index + i) & 0xff) << (i << 3);
+        }
+        return result;
+    }
+
     /**
      * Performs the intermediate mix step of the 32-bit hash function {@code MurmurHash3_x86_32}.
      *
@@ -1122,6 +1366,49 @@ public final class MurmurHash3 {
             }
         }
 
+        /**
+         * Adds the remaining bytes of the buffer to the current incremental hash. The bytes are read
+         * from the buffer position to its limit, and the position is moved to the limit.
+         *
+         * <p>A direct buffer is read in place, without copying its content to the heap.</p>
+         *
+         * @param data The input buffer
+         * @since 1.15
+         */
+        public final void add(final ByteBuffer data) {
+            final int length = data.remaining();
+            if (data.hasArray()) {
+                add(data.array(), data.arrayOffset() + data.position(), length);
+            } else if (length > 0) {
+                totalLen += length;
+                final ByteBuffer buffer = littleEndian(data);
+                int index = data.position();
+                final int end = data.limit();
+
+                // Combine unprocessed bytes with new bytes if they can fill a block of 4.
+                if (unprocessedLength > 0 && length >= BLOCK_SIZE - unprocessedLength) {
+                    int k = 0;
+                    for (int i = 0; i < BLOCK_SIZE; i++) {
+                        final byte b = i < unprocessedLength ? unprocessed[i] : buffer.get(index++);
+                        k |= (b & 0xff) << (i << 3);
+                    }
+                    hash = mix32(k, hash);
+                    unprocessedLength = 0;
+                }
+
+                // Main processing of blocks of 4 bytes
+                for (; end - index >= BLOCK_SIZE; index += BLOCK_SIZE) {
+                    hash = mix32(buffer.getInt(index), hash);
+                }
+
+                // Save left-over unprocessed bytes
+                while (index < end) {
+                    unprocessed[unprocessedLength++] = buffer.get(index++);
+                }
+            }
+            data.position(data.limit());
+        }
+
         /**
          * Generate the 32-bit hash value. Repeat calls to this method with no additional data
          * will generate the same hash value.
@@ -1182,6 +1469,202 @@ public final class MurmurHash3 {
         }
     }
 
+    /**
+     * Generates 128-bit hash from input bytes. Bytes can be added incrementally and the new
+     * hash computed.
+     *
+     * <p>This is an implementation of the 128-bit hash function {@code MurmurHash3_x64_128}
+     * from from Austin Applyby's original MurmurHash3 {@code c++} code in SMHasher. The result
+     * is the same as {@link MurmurHash3#hash128x64(byte[], int, int, int)} on all the bytes added
+     * since the start.</p>
+     *
+     * @since 1.15
+     */
+    public static class IncrementalHash128x64 {
+
+        /** The size of byte blocks that are processed together. */
+        private static final int BLOCK_SIZE = 16;
+
+        /** Up to 15 unprocessed bytes from input data. */
+        private final byte[] unprocessed = new byte[BLOCK_SIZE];
+
+        /** The number of unprocessed bytes in the tail data. */
+        private int unprocessedLength;
+
+        /** The total number of input bytes added since the start. */
+        private long totalLen;
+
+        /** The first half of the current running hash. */
+        private long h1;
+
+        /** The second half of the current running hash. */
+        private long h2;
+
+        /**
+         * Starts a new incremental hash.
+         *
+         * @param seed The initial seed value
+         */
+        public final void start(final int seed) {
+            // Reset
+            unprocessedLength = 0;
+            totalLen = 0;
+            // Use an unsigned 32-bit integer as the seed
+            h1 = h2 = seed & 0xffffffffL;
+        }
+
+        /**
+         * Adds the byte array to the current incremental hash.
+         *
+         * @param data The input byte array
+         * @param offset The offset of data
+         * @param length The length of array
+         */
+        public final void add(final byte[] data, final int offset, final int length) {
+            if (length <= 0) {
+                // Nothing to add
+                return;
+            }
+            totalLen += length;
+
+            // Check if the unprocessed bytes and new bytes can fill a block of 16.
+            // Make this overflow safe in the event that length is Integer.MAX_VALUE.
+            if (length < BLOCK_SIZE - unprocessedLength) {
+                // Not enough so add to the unprocessed bytes
+                System.arraycopy(data, offset, unprocessed, unprocessedLength, length);
+                unprocessedLength += length;
+                return;
+            }
+
+            // Combine unprocessed bytes with new bytes.
+            int newOffset = offset;
+            int newLength = length;
+            if (unprocessedLength > 0) {
+                final int consumed = BLOCK_SIZE - unprocessedLength;
+                System.arraycopy(data, offset, unprocessed, unprocessedLength, consumed);
+                mix(getLittleEndianLong(unprocessed, 0), getLittleEndianLong(unprocessed, 8));
+                newOffset += consumed;
+                newLength -= consumed;
+            }
+
+            // Main processing of blocks of 16 bytes
+            final int nblocks = newLength >> 4;
+            for (int i = 0; i < nblocks; i++) {
+                final int index = newOffset + (i << 4);
+                mix(getLittleEndianLong(data, index), getLittleEndianLong(data, index + 8));
+            }
+
+            // Save left-over unprocessed bytes
+            final int consumed = nblocks << 4;
+            unprocessedLength = newLength - consumed;
+            if (unprocessedLength != 0) {
+                System.arraycopy(data, newOffset + consumed, unprocessed, 0, unprocessedLength);
+            }
+        }
+
+        /**
+         * Adds the remaining bytes of the buffer to the current incremental hash. The bytes are read
+         * from the buffer position to its limit, and the position is moved to the limit.
+         *
+         * <p>A direct buffer is read in place, without copying its content to the heap.</p>
+         *
+         * @param data The input buffer
+         */
+        public final void add(final ByteBuffer data) {
+            final int length = data.remaining();
+            if (data.hasArray()) {
+                add(data.array(), data.arrayOffset() + data.position(), length);
+            } else if (length > 0) {
+                totalLen += length;
+                final ByteBuffer buffer = littleEndian(data);
+                int index = data.position();
+                final int end = data.limit();
+
+                // Combine unprocessed bytes with new bytes if they can fill a block of 16.
+                if (unprocessedLength > 0 && length >= BLOCK_SIZE - unprocessedLength) {
+                    final int consumed = BLOCK_SIZE - unprocessedLength;
+                    for (int i = 0; i < consumed; i++) {
+                        unprocessed[unprocessedLength + i] = buffer.get(index++);
+                    }
+                    mix(getLittleEndianLong(unprocessed, 0), getLittleEndianLong(unprocessed, 8));
+                    unprocessedLength = 0;
+                }
+
+                // Main processing of blocks of 16 bytes
+                for (; end - index >= BLOCK_SIZE; index += BLOCK_SIZE) {
+                    mix(buffer.getLong(index), buffer.getLong(index + 8));
+                }
+
+                // Save left-over unprocessed bytes
+                while (index < end) {
+                    unprocessed[unprocessedLength++] = buffer.get(index++);
+                }
+            }
+            data.position(data.limit());
+        }
+
+        /**
+         * Generate the 128-bit hash value. Repeat calls to this method with no additional data
+         * will generate the same hash value.
+         *
+         * @return The 128-bit hash (2 longs)
+         */
+        public final long[] end() {
+            // Allow calling end() again after adding no data to return the same result.
+            long r1 = h1;
+            long r2 = h2;
+            if (unprocessedLength > 8) {
+                long k2 = 0;
+                for (int i = 8; i < unprocessedLength; i++) {
+                    k2 |= ((long) unprocessed[i] & 0xff) << ((i - 8) << 3);
+                }
+                k2 *= C2;
+                k2 = Long.rotateLeft(k2, R3);
+                k2 *= C1;
+                r2 ^= k2;
+            }
+            if (unprocessedLength > 0) {
+                long k1 = 0;
+                for (int i = Math.min(unprocessedLength, 8) - 1; i >= 0; i--) {
+                    k1 = (k1 << 8) | (unprocessed[i] & 0xff);
+                }
+                k1 *= C1;
+                k1 = Long.rotateLeft(k1, R1);
+                k1 *= C2;
+                r1 ^= k1;
+            }
+            final long[] hash = new long[2];
+            finalise128(r1, r2, totalLen, hash, 0);
+            return hash;
+        }
+
+        /**
+         * Mixes a block of 16 bytes into the running hash.
+         *
+         * @param k1 The first 8 bytes of the block, as a little-endian long
+         * @param k2 The last 8 bytes of the block, as a little-endian long
+         */
+        private void mix(long k1, long k2) {
+            // mix functions for k1
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, R1);
+            k1 *= C2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, R2);
+            h1 += h2;
+            h1 = h1 * M + N1;
+
+            // mix functions for k2
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, R3);
+            k2 *= C1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, R1);
+            h2 += h1;
+            h2 = h2 * M + N2;
+        }
+    }
+
     /**
      * Generates 32-bit hash from input bytes. Bytes can be added incrementally and the new
      * hash computed.
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.codec.digest;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.zip.Checksum;
 
 /**
@@ -26,7 +28,9 @@ import java.util.zip.Checksum;
  * where many small pieces of data are checksummed in succession.
  *
  * The current version is ~10x to 1.8x as fast as Sun's native
- * java.util.zip.CRC32 in Java 1.6
+ * java.util.zip.CRC32 in Java 1.6. From Java 8 the built-in CRC32 is
+ * computed with the instructions of the processor where they exist,
+ * and is faster for large inputs.
  *
  * Copied from Hadoop 2.6.3.
  * The code agrees with the following file in the 2.6.3 tag:
@@ -68,8 +72,23 @@ public class PureJavaCrc32 implements Checksum {
   public void update(final byte[] b, final int offset, final int len) {
     int localCrc = crc;
 
-    final int remainder = len & 0x7;
     int i = offset;
+    for(final int end = offset + (len & ~0xf); i < end; i += 16) {
+      final int x = localCrc ^
+          ((((b[i  ] << 24) >>> 24) + ((b[i+1] << 24) >>> 16)) +
+          (((b[i+2] << 24) >>> 8 ) +  (b[i+3] << 24)));
+
+      localCrc = ((T16[((x << 24) >>> 24) + 0xf00] ^ T16[((x << 16) >>> 24) + 0xe00]) ^
+                 (T16[((x <<  8) >>> 24) + 0xd00] ^ T16[ (x        >>> 24) + 0xc00])) ^
+                 ((T16[((b[i+4] << 24) >>> 24) + 0xb00] ^ T16[((b[i+5] << 24) >>> 24) + 0xa00]) ^
+                 (T16[((b[i+6] << 24) >>> 24) + 0x900] ^ T16[((b[i+7] << 24) >>> 24) + 0x800])) ^
+                 ((T16[((b[i+8] << 24) >>> 24) + 0x700] ^ T16[((b[i+9] << 24) >>> 24) + 0x600]) ^
+                 (T16[((b[i+10] << 24) >>> 24) + 0x500] ^ T16[((b[i+11] << 24) >>> 24) + 0x400])) ^
+                 ((T16[((b[i+12] << 24) >>> 24) + 0x300] ^ T16[((b[i+13] << 24) >>> 24) + 0x200]) ^
+                 (T16[((b[i+14] << 24) >>> 24) + 0x100] ^ T16[((b[i+15] << 24) >>> 24)]));
+    }
+
+    final int remainder = len & 0x7;
     for(final int end = offset + len - remainder; i < end; i += 8) {
       final int x = localCrc ^
           ((((b[i  ] << 24) >>> 24) + ((b[i+1] << 24) >>> 16)) +
@@ -98,6 +117,50 @@ public class PureJavaCrc32 implements Checksum {
     crc = localCrc;
   }
 
+  /**
+   * Updates the checksum with the remaining bytes of the buffer. The bytes
+   * are read from the buffer position to its limit, and the position is
+   * moved to the limit. A direct buffer is read in place, without copying
+   * its content to the heap.
+   *
+   * @param b the buffer
+   * @since 1.15
+   */
+  public void update(final ByteBuffer b) {
+    if (b.hasArray()) {
+      update(b.array(), b.arrayOffset() + b.position(), b.remaining());
+      b.position(b.limit());
+      return;
+    }
+    final ByteBuffer data = b.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    crc = ChecksumUtils.updateSliceBy16(crc, data, b.position(), b.limit(), T16);
+    b.position(b.limit());
+  }
+
+  /**
+   * Combines the CRC32 checksums of two consecutive sequences of bytes into
+   * the checksum of the whole sequence, without reading the bytes again.
+   * This allows to compute the checksum of a large input in parts, possibly
+   * in parallel:
+   *
+   * <pre>
+   * long crc = PureJavaCrc32.combine(crcOfPart1, crcOfPart2, lengthOfPart2);
+   * </pre>
+   *
+   * <p>The checksums may come from any CRC32 implementation, like
+   * {@link java.util.zip.CRC32}.</p>
+   *
+   * @param crc1 the checksum of the first sequence
+   * @param crc2 the checksum of the second sequence
+   * @param len2 the length of the second sequence
+   * @return the checksum of the two sequences
+   * @throws IllegalArgumentException if the length is negative
+   * @since 1.15
+   */
+  public static long combine(final long crc1, final long crc2, final long len2) {
+    return ChecksumUtils.combine(crc1, crc2, len2, POLYNOMIAL, X2N);
+  }
+
   @Override
   final public void update(final int b) {
     crc = (crc >>> 8) ^ T[(((crc ^ b) << 24) >>> 24)];
@@ -629,4 +692,13 @@ public class PureJavaCrc32 implements Checksum {
     0x2C8E0FFF, 0xE0240F61, 0x6EAB0882, 0xA201081C,
     0xA8C40105, 0x646E019B, 0xEAE10678, 0x264B06E6
   };
+
+  /** The reflected CRC-32 polynomial. */
+  private static final int POLYNOMIAL = 0xEDB88320;
+
+  /** The slice-by-16 tables, which start with the tables of T. */
+  private static final int[] T16 = ChecksumUtils.sliceBy16Tables(T);
+
+  /** The powers of two of x, modulo the polynomial. */
+  private static final int[] X2N = ChecksumUtils.powersOfTwoTable(POLYNOMIAL);
 }
@@ -20,6 +20,8 @@
  */
 package org.apache.commons.codec.digest;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.zip.Checksum;
 
 /**
@@ -60,7 +62,28 @@ public class PureJavaCrc32C implements Checksum {
   public void update(final byte[] b, int off, int len) {
     int localCrc = crc;
 
-    while(len > 7) {
+    while(len > 15) {
+      final int c0 =(b[off+0] ^ localCrc) & 0xff;
+      final int c1 =(b[off+1] ^ (localCrc >>>= 8)) & 0xff;
+      final int c2 =(b[off+2] ^ (localCrc >>>= 8)) & 0xff;
+      final int c3 =(b[off+3] ^ (localCrc >>>= 8)) & 0xff;
+      localCrc = (T16[T16_15_start + c0] ^ T16[T16_14_start + c1]) ^
+                 (T16[T16_13_start + c2] ^ T16[T16_12_start + c3]);
+
+      localCrc ^= (T16[T16_11_start + (b[off+4] & 0xff)] ^ T16[T16_10_start + (b[off+5] & 0xff)]) ^
+                  (T16[T16_9_start + (b[off+6] & 0xff)] ^ T16[T16_8_start + (b[off+7] & 0xff)]);
+
+      localCrc ^= (T16[T8_7_start + (b[off+8] & 0xff)] ^ T16[T8_6_start + (b[off+9] & 0xff)]) ^
+                  (T16[T8_5_start + (b[off+10] & 0xff)] ^ T16[T8_4_start + (b[off+11] & 0xff)]);
+
+      localCrc ^= (T16[T8_3_start + (b[off+12] & 0xff)] ^ T16[T8_2_start + (b[off+13] & 0xff)]) ^
+                  (T16[T8_1_start + (b[off+14] & 0xff)] ^ T16[T8_0_start + (b[off+15] & 0xff)]);
+
+      off += 16;
+      len -= 16;
+    }
+
+    if(len > 7) {
       final int c0 =(b[off+0] ^ localCrc) & 0xff;
       final int c1 =(b[off+1] ^ (localCrc >>>= 8)) & 0xff;
       final int c2 =(b[off+2] ^ (localCrc >>>= 8)) & 0xff;
@@ -97,6 +120,50 @@ public class PureJavaCrc32C implements Checksum {
     crc = localCrc;
   }
 
+  /**
+   * Updates the checksum with the remaining bytes of the buffer. The bytes
+   * are read from the buffer position to its limit, and the position is
+   * moved to the limit. A direct buffer is read in place, without copying
+   * its content to the heap.
+   *
+   * @param b the buffer
+   * @since 1.15
+   */
+  public void update(final ByteBuffer b) {
+    if (b.hasArray()) {
+      update(b.array(), b.arrayOffset() + b.position(), b.remaining());
+      b.position(b.limit());
+      return;
+    }
+    final ByteBuffer data = b.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    crc = ChecksumUtils.updateSliceBy16(crc, data, b.position(), b.limit(), T16);
+    b.position(b.limit());
+  }
+
+  /**
+   * Combines the CRC32C checksums of two consecutive sequences of bytes into
+   * the checksum of the whole sequence, without reading the bytes again.
+   * This allows to compute the checksum of a large input in parts, possibly
+   * in parallel:
+   *
+   * <pre>
+   * long crc = PureJavaCrc32C.combine(crcOfPart1, crcOfPart2, lengthOfPart2);
+   * </pre>
+   *
+   * <p>The checksums may come from any CRC32C implementation, like
+   * {@code java.util.zip.CRC32C}.</p>
+   *
+   * @param crc1 the checksum of the first sequence
+   * @param crc2 the checksum of the second sequence
+   * @param len2 the length of the second sequence
+   * @return the checksum of the two sequences
+   * @throws IllegalArgumentException if the length is negative
+   * @since 1.15
+   */
+  public static long combine(final long crc1, final long crc2, final long len2) {
+    return ChecksumUtils.combine(crc1, crc2, len2, POLYNOMIAL, X2N);
+  }
+
   @Override
   final public void update(final int b) {
     crc = (crc >>> 8) ^ T[T8_0_start + ((crc ^ b) & 0xff)];
@@ -114,6 +181,17 @@ public class PureJavaCrc32C implements Checksum {
   private static final int T8_5_start = 5*256;
   private static final int T8_6_start = 6*256;
   private static final int T8_7_start = 7*256;
+  private static final int T16_8_start = 8*256;
+  private static final int T16_9_start = 9*256;
+  private static final int T16_10_start = 10*256;
+  private static final int T16_11_start = 11*256;
+  private static final int T16_12_start = 12*256;
+  private static final int T16_13_start = 13*256;
+  private static final int T16_14_start = 14*256;
+  private static final int T16_15_start = 15*256;
+
+  /** The reflected CRC32-C polynomial. */
+  private static final int POLYNOMIAL = 0x82F63B78;
 
   private static final int[] T = new int[] {
     /* T8_0 */
@@ -637,4 +715,10 @@ public class PureJavaCrc32C implements Checksum {
     0xE54C35A1, 0xAC704886, 0x7734CFEF, 0x3E08B2C8,
     0xC451B7CC, 0x8D6DCAEB, 0x56294D82, 0x1F1530A5
   };
+
+  /** The slice-by-16 tables, which start with the tables of T. */
+  private static final int[] T16 = ChecksumUtils.sliceBy16Tables(T);
+
+  /** The powers of two of x, modulo the polynomial. */
+  private static final int[] X2N = ChecksumUtils.powersOfTwoTable(POLYNOMIAL);
 }
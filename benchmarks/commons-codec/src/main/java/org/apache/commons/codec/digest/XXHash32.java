@@ -19,6 +19,8 @@ package org.apache.commons.codec.digest;
 
 import static java.lang.Integer.rotateLeft;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.zip.Checksum;
 
 /**
@@ -129,6 +131,53 @@ public class XXHash32 implements Checksum {
         }
     }
 
+    /**
+     * Updates the checksum with the remaining bytes of the buffer. The bytes are read from the buffer
+     * position to its limit, and the position is moved to the limit.
+     *
+     * <p>A direct buffer is read in place, without copying its content to the heap.</p>
+     *
+     * @param b the buffer
+     * @since 1.15
+     */
+    public void update(final ByteBuffer b) {
+        final int len = b.remaining();
+        if (b.hasArray()) {
+            update(b.array(), b.arrayOffset() + b.position(), len);
+        } else if (len > 0) {
+            totalLen += len;
+            final ByteBuffer data = b.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            int off = b.position();
+            final int end = b.limit();
+
+            // Process left-over bytes with new bytes
+            if (pos > 0) {
+                final int size = Math.min(BUF_SIZE - pos, len);
+                for (int i = 0; i < size; i++) {
+                    buffer[pos++] = data.get(off++);
+                }
+                if (pos < BUF_SIZE) {
+                    b.position(end);
+                    return;
+                }
+                process(buffer, 0);
+                pos = 0;
+            }
+
+            final int limit = end - BUF_SIZE;
+            while (off <= limit) {
+                process(data, off);
+                off += BUF_SIZE;
+            }
+
+            // Handle left-over bytes
+            while (off < end) {
+                buffer[pos++] = data.get(off++);
+            }
+        }
+        b.position(b.limit());
+    }
+
     @Override
     public long getValue() {
         int hash;
@@ -202,4 +251,24 @@ public class XXHash32 implements Checksum {
 
         stateUpdated = true;
     }
+
+    private void process(final ByteBuffer b, final int offset) {
+        // local shadows for performance
+        int s0 = state[0];
+        int s1 = state[1];
+        int s2 = state[2];
+        int s3 = state[3];
+
+        s0 = rotateLeft(s0 + b.getInt(offset) * PRIME2, ROTATE_BITS) * PRIME1;
+        s1 = rotateLeft(s1 + b.getInt(offset + 4) * PRIME2, ROTATE_BITS) * PRIME1;
+        s2 = rotateLeft(s2 + b.getInt(offset + 8) * PRIME2, ROTATE_BITS) * PRIME1;
+        s3 = rotateLeft(s3 + b.getInt(offset + 12) * PRIME2, ROTATE_BITS) * PRIME1;
+
+        state[0] = s0;
+        state[1] = s1;
+        state[2] = s2;
+        state[3] = s3;
+
+        stateUpdated = true;
+    }
 }
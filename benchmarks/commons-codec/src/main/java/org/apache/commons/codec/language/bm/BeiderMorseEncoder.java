@@ -136,7 +136,8 @@ public class BeiderMorseEncoder implements StringEncoder {
         this.engine = new PhoneticEngine(this.engine.getNameType(),
                                          this.engine.getRuleType(),
                                          concat,
-                                         this.engine.getMaxPhonemes());
+                                         this.engine.getMaxPhonemes(),
+                                         this.engine.getCacheSize());
     }
 
     /**
@@ -150,7 +151,8 @@ public class BeiderMorseEncoder implements StringEncoder {
         this.engine = new PhoneticEngine(nameType,
                                          this.engine.getRuleType(),
                                          this.engine.isConcat(),
-                                         this.engine.getMaxPhonemes());
+                                         this.engine.getMaxPhonemes(),
+                                         this.engine.getCacheSize());
     }
 
     /**
@@ -163,7 +165,8 @@ public class BeiderMorseEncoder implements StringEncoder {
         this.engine = new PhoneticEngine(this.engine.getNameType(),
                                          ruleType,
                                          this.engine.isConcat(),
-                                         this.engine.getMaxPhonemes());
+                                         this.engine.getMaxPhonemes(),
+                                         this.engine.getCacheSize());
     }
 
     /**
@@ -177,7 +180,23 @@ public class BeiderMorseEncoder implements StringEncoder {
         this.engine = new PhoneticEngine(this.engine.getNameType(),
                                          this.engine.getRuleType(),
                                          this.engine.isConcat(),
-                                         maxPhonemes);
+                                         maxPhonemes,
+                                         this.engine.getCacheSize());
+    }
+
+    /**
+     * Sets the number of recent encodings the engine remembers, so that repeated names and words are encoded once.
+     *
+     * @param cacheSize
+     *            the number of encodings to remember, 0 for none
+     * @since 1.15
+     */
+    public void setCacheSize(final int cacheSize) {
+        this.engine = new PhoneticEngine(this.engine.getNameType(),
+                                         this.engine.getRuleType(),
+                                         this.engine.isConcat(),
+                                         this.engine.getMaxPhonemes(),
+                                         cacheSize);
     }
 
 }
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
@@ -30,6 +31,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.codec.language.bm.Languages.LanguageSet;
 import org.apache.commons.codec.language.bm.Rule.Phoneme;
@@ -168,7 +173,7 @@ public class PhoneticEngine {
      * @since 1.6
      */
     private static final class RulesApplication {
-        private final Map<String, List<Rule>> finalRules;
+        private final Rule.Index finalRules;
         private final CharSequence input;
 
         private final PhonemeBuilder phonemeBuilder;
@@ -176,7 +181,7 @@ public class PhoneticEngine {
         private final int maxPhonemes;
         private boolean found;
 
-        public RulesApplication(final Map<String, List<Rule>> finalRules, final CharSequence input,
+        public RulesApplication(final Rule.Index finalRules, final CharSequence input,
                                 final PhonemeBuilder phonemeBuilder, final int i, final int maxPhonemes) {
             Objects.requireNonNull(finalRules, "finalRules");
             this.finalRules = finalRules;
@@ -204,16 +209,13 @@ public class PhoneticEngine {
         public RulesApplication invoke() {
             this.found = false;
             int patternLength = 1;
-            final List<Rule> rules = this.finalRules.get(input.subSequence(i, i+patternLength));
-            if (rules != null) {
-                for (final Rule rule : rules) {
-                    final String pattern = rule.getPattern();
-                    patternLength = pattern.length();
-                    if (rule.patternAndContextMatches(this.input, this.i)) {
-                        this.phonemeBuilder.apply(rule.getPhoneme(), maxPhonemes);
-                        this.found = true;
-                        break;
-                    }
+            for (final Rule rule : this.finalRules.get(input.charAt(i))) {
+                final String pattern = rule.getPattern();
+                patternLength = pattern.length();
+                if (rule.patternAndContextMatches(this.input, this.i)) {
+                    this.phonemeBuilder.apply(rule.getPhoneme(), maxPhonemes);
+                    this.found = true;
+                    break;
                 }
             }
 
@@ -230,6 +232,50 @@ public class PhoneticEngine {
         }
     }
 
+    /**
+     * A bounded map of the most recently used encodings, split into segments which are locked independently.
+     */
+    private static final class EncodingCache {
+        private static final int SEGMENTS = 16;
+
+        private final Map<String, String>[] segments;
+
+        @SuppressWarnings("unchecked")
+        EncodingCache(final int maxSize) {
+            final int segmentSize = (maxSize + SEGMENTS - 1) / SEGMENTS;
+            this.segments = new Map[SEGMENTS];
+            for (int i = 0; i < SEGMENTS; i++) {
+                segments[i] = new LinkedHashMap<String, String>(16, 0.75f, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                        return size() > segmentSize;
+                    }
+                };
+            }
+        }
+
+        String get(final String input) {
+            final Map<String, String> segment = segment(input);
+            synchronized (segment) {
+                return segment.get(input);
+            }
+        }
+
+        void put(final String input, final String encoding) {
+            final Map<String, String> segment = segment(input);
+            synchronized (segment) {
+                segment.put(input, encoding);
+            }
+        }
+
+        private Map<String, String> segment(final String input) {
+            final int hash = input.hashCode();
+            return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+        }
+    }
+
     private static final Map<NameType, Set<String>> NAME_PREFIXES = new EnumMap<>(NameType.class);
 
     static {
@@ -267,6 +313,9 @@ public class PhoneticEngine {
 
     private static final int DEFAULT_MAX_PHONEMES = 20;
 
+    /** The number of tasks per batch of {@link #encodeAll(List, ExecutorService)}. */
+    private static final int BATCH_CHUNKS = 4 * Runtime.getRuntime().availableProcessors();
+
     private final Lang lang;
 
     private final NameType nameType;
@@ -277,6 +326,11 @@ public class PhoneticEngine {
 
     private final int maxPhonemes;
 
+    private final int cacheSize;
+
+    /** The encodings of the recent inputs, or null if they are not cached. */
+    private final EncodingCache cache;
+
     /**
      * Generates a new, fully-configured phonetic engine.
      *
@@ -306,14 +360,45 @@ public class PhoneticEngine {
      */
     public PhoneticEngine(final NameType nameType, final RuleType ruleType, final boolean concat,
                           final int maxPhonemes) {
+        this(nameType, ruleType, concat, maxPhonemes, 0);
+    }
+
+    /**
+     * Generates a new, fully-configured phonetic engine, which remembers the encodings of the most recently
+     * encoded words.
+     * <p>
+     * The cache is shared by the threads using the engine. It holds about {@code cacheSize} entries, and the
+     * least recently used ones are discarded first. Words repeat a lot in large sets of names, and each of them
+     * is encoded once while it remains in the cache.
+     *
+     * @param nameType
+     *            the type of names it will use
+     * @param ruleType
+     *            the type of rules it will apply
+     * @param concat
+     *            if it will concatenate multiple encodings
+     * @param maxPhonemes
+     *            the maximum number of phonemes that will be handled
+     * @param cacheSize
+     *            the number of encodings to remember, 0 for none
+     * @throws IllegalArgumentException if the cache size is negative
+     * @since 1.15
+     */
+    public PhoneticEngine(final NameType nameType, final RuleType ruleType, final boolean concat,
+                          final int maxPhonemes, final int cacheSize) {
         if (ruleType == RuleType.RULES) {
             throw new IllegalArgumentException("ruleType must not be " + RuleType.RULES);
         }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize must not be negative: " + cacheSize);
+        }
         this.nameType = nameType;
         this.ruleType = ruleType;
         this.concat = concat;
         this.lang = Lang.instance(nameType);
         this.maxPhonemes = maxPhonemes;
+        this.cacheSize = cacheSize;
+        this.cache = cacheSize == 0 ? null : new EncodingCache(cacheSize);
     }
 
     /**
@@ -325,7 +410,7 @@ public class PhoneticEngine {
      * @return the resulting phonemes
      */
     private PhonemeBuilder applyFinalRules(final PhonemeBuilder phonemeBuilder,
-                                           final Map<String, List<Rule>> finalRules) {
+                                           final Rule.Index finalRules) {
         Objects.requireNonNull(finalRules, "finalRules");
         if (finalRules.isEmpty()) {
             return phonemeBuilder;
@@ -371,14 +456,76 @@ public class PhoneticEngine {
 
     /**
      * Encodes a string to its phonetic representation.
+     * <p>
+     * The words of a multi-word name are encoded by this method too, so the cache of the engine, if any, holds both
+     * the names and their words.
      *
      * @param input
      *            the String to encode
      * @return the encoding of the input
      */
     public String encode(final String input) {
-        final Languages.LanguageSet languageSet = this.lang.guessLanguages(input);
-        return encode(input, languageSet);
+        if (cache == null) {
+            return encode(input, this.lang.guessLanguages(input));
+        }
+        String encoding = cache.get(input);
+        if (encoding == null) {
+            encoding = encode(input, this.lang.guessLanguages(input));
+            cache.put(input, encoding);
+        }
+        return encoding;
+    }
+
+    /**
+     * Encodes strings to their phonetic representations in parallel, with the tasks run by an executor.
+     * <p>
+     * The inputs are split into one chunk per task, and this method waits for all the tasks to complete. If an input
+     * can not be encoded, the exception of the first chunk which failed is thrown.
+     *
+     * @param inputs
+     *            the Strings to encode
+     * @param executor
+     *            the executor running the tasks
+     * @return the encodings of the inputs, in the same order
+     * @throws InterruptedException if the current thread is interrupted while waiting for the tasks
+     * @since 1.15
+     */
+    public List<String> encodeAll(final List<String> inputs, final ExecutorService executor)
+            throws InterruptedException {
+        Objects.requireNonNull(executor, "executor");
+        final int size = inputs.size();
+        final int chunkSize = Math.max(1, (size + BATCH_CHUNKS - 1) / BATCH_CHUNKS);
+        final List<Callable<String[]>> tasks = new ArrayList<>();
+        for (int start = 0; start < size; start += chunkSize) {
+            final List<String> chunk = inputs.subList(start, Math.min(size, start + chunkSize));
+            tasks.add(new Callable<String[]>() {
+                @Override
+                public String[] call() {
+                    final String[] encodings = new String[chunk.size()];
+                    for (int i = 0; i < encodings.length; i++) {
+                        encodings[i] = encode(chunk.get(i));
+                    }
+                    return encodings;
+                }
+            });
+        }
+
+        final List<String> encodings = new ArrayList<>(size);
+        for (final Future<String[]> future : executor.invokeAll(tasks)) {
+            try {
+                encodings.addAll(Arrays.asList(future.get()));
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+        return encodings;
     }
 
     /**
@@ -392,11 +539,11 @@ public class PhoneticEngine {
      *         input
      */
     public String encode(String input, final Languages.LanguageSet languageSet) {
-        final Map<String, List<Rule>> rules = Rule.getInstanceMap(this.nameType, RuleType.RULES, languageSet);
+        final Rule.Index rules = Rule.getInstanceIndex(this.nameType, RuleType.RULES, languageSet);
         // rules common across many (all) languages
-        final Map<String, List<Rule>> finalRules1 = Rule.getInstanceMap(this.nameType, this.ruleType, "common");
+        final Rule.Index finalRules1 = Rule.getInstanceIndex(this.nameType, this.ruleType, "common");
         // rules that apply to a specific language that may be ambiguous or wrong if applied to other languages
-        final Map<String, List<Rule>> finalRules2 = Rule.getInstanceMap(this.nameType, this.ruleType, languageSet);
+        final Rule.Index finalRules2 = Rule.getInstanceIndex(this.nameType, this.ruleType, languageSet);
 
         // tidy the input
         // lower case is a locale-dependent operation
@@ -522,4 +669,14 @@ public class PhoneticEngine {
     public int getMaxPhonemes() {
         return this.maxPhonemes;
     }
+
+    /**
+     * Gets the number of encodings the engine remembers.
+     *
+     * @return the size of the cache, 0 if encodings are not cached
+     * @since 1.15
+     */
+    public int getCacheSize() {
+        return this.cacheSize;
+    }
 }
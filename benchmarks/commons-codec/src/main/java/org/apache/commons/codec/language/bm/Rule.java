@@ -192,9 +192,66 @@ public class Rule {
         boolean isMatch(CharSequence input);
     }
 
-    public static final RPattern ALL_STRINGS_RMATCHER = new RPattern() {
+    /**
+     * An RPattern which can also match a range of a sequence, without copying it.
+     */
+    private abstract static class RangePattern implements RPattern {
         @Override
         public boolean isMatch(final CharSequence input) {
+            return isMatch(input, 0, input.length());
+        }
+
+        /**
+         * Decides if the pattern matches the characters of the input from start (inclusive) to end (exclusive), as it
+         * would match {@code input.subSequence(start, end)}.
+         */
+        abstract boolean isMatch(CharSequence input, int start, int end);
+    }
+
+    /**
+     * Rules grouped by the first character of their pattern, with an array for ASCII characters.
+     */
+    static final class Index {
+        private static final Rule[] NO_RULES = {};
+
+        private final Rule[][] ascii = new Rule[128][];
+
+        private final Map<Character, Rule[]> others = new HashMap<>();
+
+        private final boolean empty;
+
+        Index(final Map<String, List<Rule>> rules) {
+            for (final Map.Entry<String, List<Rule>> entry : rules.entrySet()) {
+                final char first = entry.getKey().charAt(0);
+                final Rule[] array = entry.getValue().toArray(new Rule[entry.getValue().size()]);
+                if (first < ascii.length) {
+                    ascii[first] = array;
+                } else {
+                    others.put(Character.valueOf(first), array);
+                }
+            }
+            this.empty = rules.isEmpty();
+        }
+
+        /**
+         * Gets the rules whose pattern starts with a character, in the order of the rules resource.
+         *
+         * @param c the first character of the pattern
+         * @return the rules, which must not be modified
+         */
+        Rule[] get(final char c) {
+            final Rule[] rules = c < ascii.length ? ascii[c] : others.get(Character.valueOf(c));
+            return rules == null ? NO_RULES : rules;
+        }
+
+        boolean isEmpty() {
+            return empty;
+        }
+    }
+
+    public static final RPattern ALL_STRINGS_RMATCHER = new RangePattern() {
+        @Override
+        boolean isMatch(final CharSequence input, final int start, final int end) {
             return true;
         }
     };
@@ -208,6 +265,9 @@ public class Rule {
     private static final Map<NameType, Map<RuleType, Map<String, Map<String, List<Rule>>>>> RULES =
             new EnumMap<>(NameType.class);
 
+    /** The rules of {@link #RULES}, indexed for the phonetic engine. */
+    private static final Map<NameType, Map<RuleType, Map<String, Index>>> INDEXES = new EnumMap<>(NameType.class);
+
     static {
         for (final NameType s : NameType.values()) {
             final Map<RuleType, Map<String, Map<String, List<Rule>>>> rts =
@@ -234,6 +294,16 @@ public class Rule {
             }
 
             RULES.put(s, Collections.unmodifiableMap(rts));
+
+            final Map<RuleType, Map<String, Index>> indexes = new EnumMap<>(RuleType.class);
+            for (final Map.Entry<RuleType, Map<String, Map<String, List<Rule>>>> rt : rts.entrySet()) {
+                final Map<String, Index> is = new HashMap<>();
+                for (final Map.Entry<String, Map<String, List<Rule>>> l : rt.getValue().entrySet()) {
+                    is.put(l.getKey(), new Index(l.getValue()));
+                }
+                indexes.put(rt.getKey(), is);
+            }
+            INDEXES.put(s, indexes);
         }
     }
 
@@ -261,16 +331,9 @@ public class Rule {
         return new Scanner(Resources.getInputStream(resName), ResourceConstants.ENCODING);
     }
 
-    private static boolean endsWith(final CharSequence input, final CharSequence suffix) {
-        if (suffix.length() > input.length()) {
-            return false;
-        }
-        for (int i = input.length() - 1, j = suffix.length() - 1; j >= 0; i--, j--) {
-            if (input.charAt(i) != suffix.charAt(j)) {
-                return false;
-            }
-        }
-        return true;
+    private static boolean endsWith(final CharSequence input, final int start, final int end,
+                                    final CharSequence suffix) {
+        return suffix.length() <= end - start && regionMatches(input, end - suffix.length(), suffix);
     }
 
     /**
@@ -351,6 +414,28 @@ public class Rule {
         return rules;
     }
 
+    /**
+     * Gets the indexed rules for a combination of name type, rule type and languages, as
+     * {@link #getInstanceMap(NameType, RuleType, LanguageSet)} selects them.
+     */
+    static Index getInstanceIndex(final NameType nameType, final RuleType rt, final Languages.LanguageSet langs) {
+        return getInstanceIndex(nameType, rt, langs.isSingleton() ? langs.getAny() : Languages.ANY);
+    }
+
+    /**
+     * Gets the indexed rules for a combination of name type, rule type and a single language.
+     */
+    static Index getInstanceIndex(final NameType nameType, final RuleType rt, final String lang) {
+        final Index index = INDEXES.get(nameType).get(rt).get(lang);
+
+        if (index == null) {
+            throw new IllegalArgumentException(String.format("No rules found for %s, %s, %s.",
+                                               nameType.getName(), rt.getName(), lang));
+        }
+
+        return index;
+    }
+
     private static Phoneme parsePhoneme(final String ph) {
         final int open = ph.indexOf("[");
         if (open >= 0) {
@@ -483,7 +568,7 @@ public class Rule {
      *            the regular expression to compile
      * @return an RPattern that will match this regex
      */
-    private static RPattern pattern(final String regex) {
+    private static RangePattern pattern(final String regex) {
         final boolean startsWith = regex.startsWith("^");
         final boolean endsWith = regex.endsWith("$");
         final String content = regex.substring(startsWith ? 1 : 0, endsWith ? regex.length() - 1 : regex.length());
@@ -494,36 +579,36 @@ public class Rule {
                 // exact match
                 if (content.length() == 0) {
                     // empty
-                    return new RPattern() {
+                    return new RangePattern() {
                         @Override
-                        public boolean isMatch(final CharSequence input) {
-                            return input.length() == 0;
+                        boolean isMatch(final CharSequence input, final int start, final int end) {
+                            return start == end;
                         }
                     };
                 }
-                return new RPattern() {
+                return new RangePattern() {
                     @Override
-                    public boolean isMatch(final CharSequence input) {
-                        return input.equals(content);
+                    boolean isMatch(final CharSequence input, final int start, final int end) {
+                        return end - start == content.length() && regionMatches(input, start, content);
                     }
                 };
             } else if ((startsWith || endsWith) && content.length() == 0) {
                 // matches every string
-                return ALL_STRINGS_RMATCHER;
+                return (RangePattern) ALL_STRINGS_RMATCHER;
             } else if (startsWith) {
                 // matches from start
-                return new RPattern() {
+                return new RangePattern() {
                     @Override
-                    public boolean isMatch(final CharSequence input) {
-                        return startsWith(input, content);
+                    boolean isMatch(final CharSequence input, final int start, final int end) {
+                        return startsWith(input, start, end, content);
                     }
                 };
             } else if (endsWith) {
                 // matches from start
-                return new RPattern() {
+                return new RangePattern() {
                     @Override
-                    public boolean isMatch(final CharSequence input) {
-                        return endsWith(input, content);
+                    boolean isMatch(final CharSequence input, final int start, final int end) {
+                        return endsWith(input, start, end, content);
                     }
                 };
             }
@@ -544,27 +629,26 @@ public class Rule {
 
                     if (startsWith && endsWith) {
                         // exact match
-                        return new RPattern() {
+                        return new RangePattern() {
                             @Override
-                            public boolean isMatch(final CharSequence input) {
-                                return input.length() == 1 && contains(bContent, input.charAt(0)) == shouldMatch;
+                            boolean isMatch(final CharSequence input, final int start, final int end) {
+                                return end - start == 1 && contains(bContent, input.charAt(start)) == shouldMatch;
                             }
                         };
                     } else if (startsWith) {
                         // first char
-                        return new RPattern() {
+                        return new RangePattern() {
                             @Override
-                            public boolean isMatch(final CharSequence input) {
-                                return input.length() > 0 && contains(bContent, input.charAt(0)) == shouldMatch;
+                            boolean isMatch(final CharSequence input, final int start, final int end) {
+                                return end > start && contains(bContent, input.charAt(start)) == shouldMatch;
                             }
                         };
                     } else if (endsWith) {
                         // last char
-                        return new RPattern() {
+                        return new RangePattern() {
                             @Override
-                            public boolean isMatch(final CharSequence input) {
-                                return input.length() > 0 &&
-                                       contains(bContent, input.charAt(input.length() - 1)) == shouldMatch;
+                            boolean isMatch(final CharSequence input, final int start, final int end) {
+                                return end > start && contains(bContent, input.charAt(end - 1)) == shouldMatch;
                             }
                         };
                     }
@@ -572,29 +656,35 @@ public class Rule {
             }
         }
 
-        return new RPattern() {
+        return new RangePattern() {
             Pattern pattern = Pattern.compile(regex);
 
             @Override
-            public boolean isMatch(final CharSequence input) {
-                final Matcher matcher = pattern.matcher(input);
+            boolean isMatch(final CharSequence input, final int start, final int end) {
+                // the anchors match at the bounds of the region, as they would for a sub-sequence
+                final Matcher matcher = pattern.matcher(input).region(start, end);
                 return matcher.find();
             }
         };
     }
 
-    private static boolean startsWith(final CharSequence input, final CharSequence prefix) {
-        if (prefix.length() > input.length()) {
-            return false;
-        }
-        for (int i = 0; i < prefix.length(); i++) {
-            if (input.charAt(i) != prefix.charAt(i)) {
+    /**
+     * Decides if the input contains a sequence of characters at an offset, which must leave room for it.
+     */
+    private static boolean regionMatches(final CharSequence input, final int offset, final CharSequence chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            if (input.charAt(offset + i) != chars.charAt(i)) {
                 return false;
             }
         }
         return true;
     }
 
+    private static boolean startsWith(final CharSequence input, final int start, final int end,
+                                      final CharSequence prefix) {
+        return prefix.length() <= end - start && regionMatches(input, start, prefix);
+    }
+
     private static String stripQuotes(String str) {
         if (str.startsWith(DOUBLE_QUOTE)) {
             str = str.substring(1);
@@ -607,13 +697,13 @@ public class Rule {
         return str;
     }
 
-    private final RPattern lContext;
+    private final RangePattern lContext;
 
     private final String pattern;
 
     private final PhonemeExpr phoneme;
 
-    private final RPattern rContext;
+    private final RangePattern rContext;
 
     /**
      * Creates a new rule.
@@ -694,13 +784,13 @@ public class Rule {
             return false;
         }
 
-        // evaluate the pattern, left context and right context
+        // evaluate the pattern, left context and right context, without copying the input
         // fail early if any of the evaluations is not successful
-        if (!input.subSequence(i, ipl).equals(this.pattern)) {
+        if (!regionMatches(input, i, this.pattern)) {
             return false;
-        } else if (!this.rContext.isMatch(input.subSequence(ipl, input.length()))) {
+        } else if (!this.rContext.isMatch(input, ipl, input.length())) {
             return false;
         }
-        return this.lContext.isMatch(input.subSequence(0, i));
+        return this.lContext.isMatch(input, 0, i);
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.codec.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares encoding and decoding Base64 and Hex into new arrays and into buffers supplied by the caller.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1024M", "-Xmx1024M"})
+@Threads(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class Base64Benchmark {
+
+    /** The size of the input. */
+    @Param({"64", "4096", "1048576"})
+    private int size;
+
+    /** The line length of the Base64 output, 0 for no lines. */
+    @Param({"0", "76"})
+    private int lineLength;
+
+    private Base64 base64;
+
+    private byte[] bytes;
+
+    private byte[] encoded;
+
+    private ByteBuffer src;
+
+    private ByteBuffer encodedSrc;
+
+    private ByteBuffer dst;
+
+    private CharBuffer chars;
+
+    @Setup
+    public void init() {
+        base64 = new Base64(lineLength);
+        bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        encoded = base64.encode(bytes);
+        src = ByteBuffer.allocateDirect(size);
+        src.put(bytes).flip();
+        encodedSrc = ByteBuffer.allocateDirect(encoded.length);
+        encodedSrc.put(encoded).flip();
+        dst = ByteBuffer.allocateDirect(encoded.length);
+        chars = CharBuffer.allocate(8192);
+    }
+
+    @Benchmark
+    public byte[] encodeArray() {
+        return base64.encode(bytes);
+    }
+
+    @Benchmark
+    public int encodeBuffer() {
+        src.rewind();
+        dst.clear();
+        return base64.encode(src, dst);
+    }
+
+    @Benchmark
+    public byte[] decodeArray() {
+        return base64.decode(encoded);
+    }
+
+    @Benchmark
+    public int decodeBuffer() {
+        encodedSrc.rewind();
+        dst.clear();
+        return base64.decode(encodedSrc, dst);
+    }
+
+    @Benchmark
+    public char[] encodeHexArray() {
+        return Hex.encodeHex(bytes);
+    }
+
+    @Benchmark
+    public int encodeHexBuffer() {
+        src.rewind();
+        int count = 0;
+        while (src.hasRemaining()) {
+            chars.clear();
+            count += Hex.encodeHex(src, chars, true);
+        }
+        return count;
+    }
+}
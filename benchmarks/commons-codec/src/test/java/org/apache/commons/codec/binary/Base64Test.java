@@ -25,6 +25,8 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
@@ -1440,4 +1442,132 @@ public class Base64Test {
         final byte[] encoded = Base64.encodeBase64(bytes);
         assertEquals(expectedLength, encoded.length);
     }
+
+    private static ByteBuffer copyOf(final byte[] data, final boolean direct) {
+        final ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(data.length + 3) : ByteBuffer.allocate(data.length + 3);
+        // Start after a position of the buffer
+        buffer.position(3);
+        buffer.put(data).flip().position(3);
+        return buffer;
+    }
+
+    private static byte[] toArray(final ByteBuffer buffer, final int position, final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + i);
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testEncodeDecodeByteBuffer() {
+        final Base64[] codecs = {new Base64(), new Base64(true), new Base64(BaseNCodec.MIME_CHUNK_SIZE),
+            new Base64(8, new byte[] {'\n'}), new Base64(10, new byte[] {'\r', '\n', '\t'}, true),
+            new Base64(BaseNCodec.PEM_CHUNK_SIZE, BaseNCodec.CHUNK_SEPARATOR, false, CodecPolicy.STRICT)};
+        for (final Base64 codec : codecs) {
+            for (int length = 0; length < 100; length++) {
+                final byte[] data = new byte[length];
+                getRandom().nextBytes(data);
+                final byte[] encoded = codec.encode(data);
+                for (final boolean direct : new boolean[] {false, true}) {
+                    final ByteBuffer src = copyOf(data, direct);
+                    final ByteBuffer dst = direct ? ByteBuffer.allocateDirect(encoded.length + 1)
+                            : ByteBuffer.allocate(encoded.length + 1);
+                    dst.position(1);
+                    assertEquals(encoded.length, codec.encode(src, dst));
+                    assertFalse(src.hasRemaining());
+                    assertEquals(encoded.length + 1, dst.position());
+                    assertArrayEquals(encoded, toArray(dst, 1, encoded.length));
+
+                    final ByteBuffer decoded = ByteBuffer.allocate(length + 1);
+                    decoded.position(1);
+                    final ByteBuffer encodedSrc = copyOf(encoded, direct);
+                    assertEquals(length, codec.decode(encodedSrc, decoded));
+                    assertFalse(encodedSrc.hasRemaining());
+                    assertArrayEquals(data, toArray(decoded, 1, length));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDecodeByteBufferSameAsArray() {
+        final String[] samples = {"", "Zg", "Zg==", "Zm8", "Zm9v", "Zm9vYg=", "Zm 9v\r\nYmFy", "Zm9v=YmFy", "Zm9v\u00e9YmFy",
+            "*Zm9vYmFy!", "Zm9vYmFyZm9vYmFy", "Zm9v-_-_", "Zm9vYmFyZ", "ZE=="};
+        final Base64 codec = new Base64();
+        for (final String sample : samples) {
+            final byte[] encoded = sample.getBytes(CHARSET_UTF8);
+            final byte[] expected = codec.decode(encoded);
+            final ByteBuffer dst = ByteBuffer.allocate(encoded.length);
+            assertEquals(sample, expected.length, codec.decode(ByteBuffer.wrap(encoded), dst));
+            assertArrayEquals(sample, expected, toArray(dst, 0, expected.length));
+        }
+    }
+
+    @Test
+    public void testByteBufferOverflow() {
+        final Base64 codec = new Base64(BaseNCodec.MIME_CHUNK_SIZE);
+        final byte[] data = new byte[100];
+        final byte[] encoded = codec.encode(data);
+        final ByteBuffer src = ByteBuffer.wrap(data);
+        final ByteBuffer dst = ByteBuffer.allocate(encoded.length - 1);
+        try {
+            codec.encode(src, dst);
+            fail("BufferOverflowException expected");
+        } catch (final BufferOverflowException e) {
+            assertEquals(0, src.position());
+            assertEquals(0, dst.position());
+        }
+
+        final ByteBuffer encodedSrc = ByteBuffer.wrap(encoded);
+        for (final int size : new int[] {data.length - 1, data.length - 2, data.length - 3}) {
+            try {
+                codec.decode(encodedSrc, ByteBuffer.allocate(size));
+                fail("BufferOverflowException expected");
+            } catch (final BufferOverflowException e) {
+                assertEquals(0, encodedSrc.position());
+            }
+        }
+    }
+
+    @Test
+    public void testByteBufferStrictDecoding() {
+        final Base64 codec = new Base64(0, null, false, CodecPolicy.STRICT);
+        for (final String s : BASE64_IMPOSSIBLE_CASES) {
+            final ByteBuffer src = ByteBuffer.wrap(StringUtils.getBytesUtf8(s));
+            try {
+                codec.decode(src, ByteBuffer.allocate(s.length()));
+                fail();
+            } catch (final IllegalArgumentException ex) {
+                assertEquals(0, src.position());
+            }
+        }
+    }
+
+    @Test
+    public void testEncodeInPartsSameAsWhole() {
+        final Base64 codec = new Base64(BaseNCodec.MIME_CHUNK_SIZE);
+        final byte[] data = new byte[1000];
+        getRandom().nextBytes(data);
+        final byte[] expected = codec.encode(data);
+        for (final int partSize : new int[] {1, 2, 5, 76, 301}) {
+            final BaseNCodec.Context context = new BaseNCodec.Context();
+            for (int i = 0; i < data.length; i += partSize) {
+                codec.encode(data, i, Math.min(partSize, data.length - i), context);
+            }
+            codec.encode(data, 0, BaseNCodec.EOF, context);
+            final byte[] encoded = new byte[codec.available(context)];
+            codec.readResults(encoded, 0, encoded.length, context);
+            assertArrayEquals("part size " + partSize, expected, encoded);
+
+            final BaseNCodec.Context decodeContext = new BaseNCodec.Context();
+            for (int i = 0; i < encoded.length; i += partSize) {
+                codec.decode(encoded, i, Math.min(partSize, encoded.length - i), decodeContext);
+            }
+            codec.decode(encoded, 0, BaseNCodec.EOF, decodeContext);
+            final byte[] decoded = new byte[codec.available(decodeContext)];
+            codec.readResults(decoded, 0, decoded.length, decodeContext);
+            assertArrayEquals("part size " + partSize, data, decoded);
+        }
+    }
 }
@@ -24,6 +24,7 @@ import static org.junit.Assert.fail;
 
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
@@ -623,6 +624,63 @@ public class HexTest {
      * Test encoding of a read only byte buffer.
      * See CODEC-261.
      */
+    @Test
+    public void testDecodeHexCharArrayToArray() throws DecoderException {
+        final byte[] out = new byte[6];
+        assertEquals(3, Hex.decodeHex("0aFf80".toCharArray(), out, 2));
+        assertTrue(Arrays.equals(new byte[] {0, 0, 10, -1, -128, 0}, out));
+        assertEquals(0, Hex.decodeHex(new char[0], out, 6));
+        try {
+            Hex.decodeHex("0a0b".toCharArray(), out, 5);
+            fail("An exception wasn't thrown when the output was too small");
+        } catch (final DecoderException e) {
+            // Expected exception
+        }
+        try {
+            Hex.decodeHex("0a0".toCharArray(), out, 0);
+            fail("An exception wasn't thrown when trying to decode an odd number of characters");
+        } catch (final DecoderException e) {
+            // Expected exception
+        }
+    }
+
+    @Test
+    public void testEncodeHexByteArrayToArray() {
+        final byte[] data = {-1, 10, 11, 0, -128};
+        final char[] out = new char[8];
+        Arrays.fill(out, '.');
+        Hex.encodeHex(data, 1, 3, true, out, 1);
+        assertEquals(".0a0b00.", String.valueOf(out));
+        Hex.encodeHex(data, 0, 1, false, out, 0);
+        assertEquals("FFa0b00.", String.valueOf(out));
+    }
+
+    @Test
+    public void testEncodeHexByteBufferToCharBuffer() {
+        final byte[] data = new byte[100];
+        new Random().nextBytes(data);
+        final String expected = Hex.encodeHexString(data, false);
+        final CharBuffer[] outputs = {CharBuffer.allocate(7), ByteBuffer.allocateDirect(14).asCharBuffer()};
+        for (final CharBuffer out : outputs) {
+            final ByteBuffer buffer = allocate(data.length);
+            buffer.put(data).flip();
+            final StringBuilder sb = new StringBuilder();
+            while (buffer.hasRemaining()) {
+                out.clear();
+                final int remaining = buffer.remaining();
+                final int encoded = Hex.encodeHex(buffer, out, false);
+                assertEquals(Math.min(remaining, out.capacity() / 2), encoded);
+                assertEquals(remaining - encoded, buffer.remaining());
+                out.flip();
+                sb.append(out);
+            }
+            assertEquals(expected, sb.toString());
+        }
+        final CharBuffer full = CharBuffer.allocate(1);
+        assertEquals(0, Hex.encodeHex(ByteBuffer.wrap(data), full, true));
+        assertEquals(0, full.position());
+    }
+
     @Test
     public void testEncodeHexReadOnlyByteBuffer() {
         final char[] chars = Hex.encodeHex(ByteBuffer.wrap(new byte[]{10}).asReadOnlyBuffer());
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.codec.digest;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the CRC32 and CRC32C implementations on arrays and direct buffers of different sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1024M", "-Xmx1024M"})
+@Threads(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ChecksumBenchmark {
+
+    /** The size of the input. */
+    @Param({"16", "256", "4096", "1048576"})
+    private int size;
+
+    /**
+     * The implementation: CRC32 and CRC32C are the checksums of the runtime, CRC32C falling back to PureJavaCrc32C
+     * before Java 9.
+     */
+    @Param({"CRC32", "PureJavaCrc32", "CRC32C", "PureJavaCrc32C"})
+    private String checksum;
+
+    private Checksum crc;
+
+    private byte[] bytes;
+
+    private ByteBuffer direct;
+
+    /** The checksums of the two halves of the input. */
+    private long crc1;
+
+    private long crc2;
+
+    @Setup
+    public void init() {
+        if ("CRC32".equals(checksum)) {
+            crc = new CRC32();
+        } else if ("PureJavaCrc32".equals(checksum)) {
+            crc = new PureJavaCrc32();
+        } else if ("CRC32C".equals(checksum)) {
+            crc = ChecksumUtils.newCrc32C();
+        } else {
+            crc = new PureJavaCrc32C();
+        }
+        bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        direct = ByteBuffer.allocateDirect(size);
+        direct.put(bytes).flip();
+
+        final int half = size / 2;
+        crc.reset();
+        crc.update(bytes, 0, half);
+        crc1 = crc.getValue();
+        crc.reset();
+        crc.update(bytes, half, size - half);
+        crc2 = crc.getValue();
+    }
+
+    @Benchmark
+    public long updateArray() {
+        crc.reset();
+        crc.update(bytes, 0, bytes.length);
+        return crc.getValue();
+    }
+
+    @Benchmark
+    public long updateDirectBuffer() {
+        crc.reset();
+        direct.rewind();
+        ChecksumUtils.update(crc, direct);
+        return crc.getValue();
+    }
+
+    @Benchmark
+    public long combine() {
+        final long len2 = size - size / 2;
+        return checksum.endsWith("C") ? PureJavaCrc32C.combine(crc1, crc2, len2)
+                                      : PureJavaCrc32.combine(crc1, crc2, len2);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.codec.digest;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link ChecksumUtils}.
+ */
+public class ChecksumUtilsTest {
+
+    private static final byte[] BYTES = new byte[10000];
+
+    static {
+        new Random(42).nextBytes(BYTES);
+    }
+
+    private static long checksum(final Checksum checksum, final int offset, final int length) {
+        checksum.reset();
+        checksum.update(BYTES, offset, length);
+        return checksum.getValue();
+    }
+
+    @Test
+    public void testNewCrc32C() {
+        final Checksum crc = ChecksumUtils.newCrc32C();
+        Assert.assertNotSame(crc, ChecksumUtils.newCrc32C());
+        Assert.assertEquals(checksum(new PureJavaCrc32C(), 5, 9000), checksum(crc, 5, 9000));
+    }
+
+    @Test
+    public void testUpdateByteBuffer() {
+        final Checksum[] checksums = {new CRC32(), new Adler32(), new PureJavaCrc32(), new PureJavaCrc32C(),
+            new XXHash32(), ChecksumUtils.newCrc32C()};
+        final ByteBuffer direct = ByteBuffer.allocateDirect(BYTES.length);
+        direct.put(BYTES);
+        for (final Checksum checksum : checksums) {
+            for (final int length : new int[] {0, 1, 15, 16, 17, 4095, 4096, 9000}) {
+                final long expected = checksum(checksum, 5, length);
+
+                checksum.reset();
+                direct.limit(5 + length).position(5);
+                ChecksumUtils.update(checksum, direct);
+                Assert.assertEquals(checksum.getClass().getName(), expected, checksum.getValue());
+                Assert.assertFalse(direct.hasRemaining());
+
+                checksum.reset();
+                final ByteBuffer heap = ByteBuffer.wrap(BYTES, 5, length);
+                ChecksumUtils.update(checksum, heap);
+                Assert.assertEquals(checksum.getClass().getName(), expected, checksum.getValue());
+                Assert.assertFalse(heap.hasRemaining());
+            }
+        }
+    }
+
+    @Test
+    public void testCombineParts() {
+        // Checksum a large input in parts, as different threads would
+        final int parts = 7;
+        final int partLength = BYTES.length / parts;
+        long crc32 = 0;
+        long crc32c = 0;
+        int offset = 0;
+        for (int i = 0; i < parts; i++) {
+            final int length = i == parts - 1 ? BYTES.length - offset : partLength;
+            crc32 = PureJavaCrc32.combine(crc32, checksum(new CRC32(), offset, length), length);
+            crc32c = PureJavaCrc32C.combine(crc32c, checksum(ChecksumUtils.newCrc32C(), offset, length), length);
+            offset += length;
+        }
+        Assert.assertEquals(checksum(new CRC32(), 0, BYTES.length), crc32);
+        Assert.assertEquals(checksum(new PureJavaCrc32C(), 0, BYTES.length), crc32c);
+    }
+}
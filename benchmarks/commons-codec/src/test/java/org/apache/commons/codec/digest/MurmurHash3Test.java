@@ -21,10 +21,12 @@ import org.junit.Assert;
 import org.junit.Assume;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.apache.commons.codec.binary.StringUtils;
+import org.apache.commons.codec.digest.MurmurHash3.IncrementalHash128x64;
 import org.apache.commons.codec.digest.MurmurHash3.IncrementalHash32;
 import org.apache.commons.codec.digest.MurmurHash3.IncrementalHash32x86;
 import org.junit.Test;
@@ -930,6 +932,221 @@ public class MurmurHash3Test {
         return Arrays.copyOf(blocks, count);
     }
 
+    /**
+     * Creates a direct buffer with the bytes between the position and the limit, preceded by
+     * some other bytes.
+     *
+     * @param bytes the bytes
+     * @param offset the offset of the bytes
+     * @param length the length of the bytes
+     * @return the buffer
+     */
+    private static ByteBuffer createDirectBuffer(final byte[] bytes, final int offset, final int length) {
+        final int padding = 3;
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(padding + length + padding);
+        buffer.put(new byte[padding]).put(bytes, offset, length).put(new byte[padding]);
+        buffer.position(padding);
+        buffer.limit(padding + length);
+        return buffer;
+    }
+
+    /**
+     * Test {@link MurmurHash3#hash32x86(ByteBuffer, int)} returns the same values as
+     * {@link MurmurHash3#hash32x86(byte[], int, int, int)} for heap and direct buffers.
+     */
+    @Test
+    public void testHash32x86ByteBuffer() {
+        final int offset = 5;
+        for (int length = 0; length < 70; length++) {
+            for (final int seed : new int[] {-567, 0, 6787990}) {
+                final int expected = MurmurHash3.hash32x86(RANDOM_BYTES, offset, length, seed);
+                final ByteBuffer heap = ByteBuffer.wrap(RANDOM_BYTES, offset, length);
+                Assert.assertEquals(expected, MurmurHash3.hash32x86(heap, seed));
+                Assert.assertEquals(expected, MurmurHash3.hash32x86(heap.slice(), seed));
+                final ByteBuffer direct = createDirectBuffer(RANDOM_BYTES, offset, length);
+                Assert.assertEquals(expected, MurmurHash3.hash32x86(direct, seed));
+                Assert.assertEquals(expected, MurmurHash3.hash32x86(direct.asReadOnlyBuffer(), seed));
+                Assert.assertEquals("Position should not change", offset, heap.position());
+                Assert.assertEquals("Position should not change", 3, direct.position());
+            }
+        }
+    }
+
+    /**
+     * Test {@link MurmurHash3#hash128x64(ByteBuffer, int)} returns the same values as
+     * {@link MurmurHash3#hash128x64(byte[], int, int, int)} for heap and direct buffers.
+     */
+    @Test
+    public void testHash128x64ByteBuffer() {
+        final int offset = 5;
+        for (int length = 0; length < 70; length++) {
+            for (final int seed : new int[] {-567, 0, 6787990}) {
+                final long[] expected = MurmurHash3.hash128x64(RANDOM_BYTES, offset, length, seed);
+                final ByteBuffer heap = ByteBuffer.wrap(RANDOM_BYTES, offset, length);
+                Assert.assertArrayEquals(expected, MurmurHash3.hash128x64(heap, seed));
+                final ByteBuffer direct = createDirectBuffer(RANDOM_BYTES, offset, length);
+                Assert.assertArrayEquals(expected, MurmurHash3.hash128x64(direct, seed));
+                Assert.assertArrayEquals(expected, MurmurHash3.hash128x64(direct.asReadOnlyBuffer(), seed));
+                Assert.assertEquals("Position should not change", offset, heap.position());
+                Assert.assertEquals("Position should not change", 3, direct.position());
+            }
+        }
+    }
+
+    /**
+     * Test {@link MurmurHash3#hash128x64(long[], int, long[])} returns the same values as
+     * {@link MurmurHash3#hash128x64(byte[], int, int, int)} on the little-endian bytes of the keys.
+     */
+    @Test
+    public void testHash128x64Keys() {
+        final long[] keys = createLongTestData();
+        final ByteBuffer bytes = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        for (final int seed : new int[] {-567, 0, 6787990}) {
+            final long[] hashes = new long[keys.length * 2 + 1];
+            MurmurHash3.hash128x64(keys, seed, hashes);
+            for (int i = 0; i < keys.length; i++) {
+                bytes.putLong(0, keys[i]);
+                final long[] expected = MurmurHash3.hash128x64(bytes.array(), 0, 8, seed);
+                Assert.assertEquals(expected[0], hashes[2 * i]);
+                Assert.assertEquals(expected[1], hashes[2 * i + 1]);
+            }
+            Assert.assertEquals("Output array should not be written after the hashes", 0, hashes[keys.length * 2]);
+        }
+        try {
+            MurmurHash3.hash128x64(keys, 0, new long[keys.length * 2 - 1]);
+            Assert.fail("Output array is too small");
+        } catch (final IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Test {@link MurmurHash3#hash128x64(ByteBuffer, int, int, long[])} returns the same values as
+     * {@link MurmurHash3#hash128x64(byte[], int, int, int)} for each key.
+     */
+    @Test
+    public void testHash128x64PackedKeys() {
+        final int seed = 6787990;
+        for (int keyLength = 1; keyLength <= 33; keyLength++) {
+            final int count = RANDOM_BYTES.length / keyLength;
+            for (final ByteBuffer data : new ByteBuffer[] {ByteBuffer.wrap(RANDOM_BYTES),
+                    createDirectBuffer(RANDOM_BYTES, 0, RANDOM_BYTES.length)}) {
+                final long[] hashes = new long[count * 2];
+                Assert.assertEquals(count, MurmurHash3.hash128x64(data, keyLength, seed, hashes));
+                for (int i = 0; i < count; i++) {
+                    final long[] expected = MurmurHash3.hash128x64(RANDOM_BYTES, i * keyLength, keyLength, seed);
+                    Assert.assertEquals(expected[0], hashes[2 * i]);
+                    Assert.assertEquals(expected[1], hashes[2 * i + 1]);
+                }
+                // The output array limits the number of keys
+                Assert.assertEquals(1, MurmurHash3.hash128x64(data, keyLength, seed, new long[3]));
+            }
+        }
+        try {
+            MurmurHash3.hash128x64(ByteBuffer.wrap(RANDOM_BYTES), 0, seed, new long[2]);
+            Assert.fail("Key length is not positive");
+        } catch (final IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Test {@link IncrementalHash32x86#add(ByteBuffer)} returns the same values as
+     * {@link MurmurHash3#hash32x86(byte[], int, int, int)}, mixing heap and direct buffers.
+     */
+    @Test
+    public void testIncrementalHash32x86ByteBuffer() {
+        final byte[] bytes = new byte[1023];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        for (int i = 0; i < 10; i++) {
+            final int[] blocks = createRandomBlocks(bytes.length);
+            int offset = 0;
+            final IncrementalHash32x86 inc = new IncrementalHash32x86();
+            inc.start(i);
+            for (int j = 0; j < blocks.length; j++) {
+                final ByteBuffer buffer = j % 2 == 0 ? createDirectBuffer(bytes, offset, blocks[j])
+                        : ByteBuffer.wrap(bytes, offset, blocks[j]);
+                inc.add(buffer);
+                Assert.assertFalse("Buffer should be consumed", buffer.hasRemaining());
+                offset += blocks[j];
+                Assert.assertEquals("Hashes differ", MurmurHash3.hash32x86(bytes, 0, offset, i), inc.end());
+            }
+        }
+    }
+
+    /**
+     * Test {@link IncrementalHash128x64} returns the same values as
+     * {@link MurmurHash3#hash128x64(byte[], int, int, int)}.
+     */
+    @Test
+    public void testIncrementalHash128x64() {
+        final byte[] bytes = new byte[1023];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        // The seed does not matter
+        for (final int seed : new int[] {-567, 0, 6787990}) {
+            // Cases are constructed to hit all edge cases of processing:
+            // Nothing added
+            assertIncrementalHash128x64(bytes, seed, 0, 0);
+            // Add single bytes
+            assertIncrementalHash128x64(bytes, seed, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1);
+            // Leading unprocessed 1, 8, 15
+            assertIncrementalHash128x64(bytes, seed, 1, 16);
+            assertIncrementalHash128x64(bytes, seed, 8, 16);
+            assertIncrementalHash128x64(bytes, seed, 15, 16);
+            // Trailing unprocessed 1, 8, 9, 15
+            assertIncrementalHash128x64(bytes, seed, 16, 1);
+            assertIncrementalHash128x64(bytes, seed, 16, 8);
+            assertIncrementalHash128x64(bytes, seed, 16, 9);
+            assertIncrementalHash128x64(bytes, seed, 16, 15);
+            // Complete blocks
+            assertIncrementalHash128x64(bytes, seed, 16, 64, 256);
+            // Some random blocks
+            for (int i = 0; i < 10; i++) {
+                final int[] blocks = createRandomBlocks(bytes.length);
+                // Make some blocks larger than the block size
+                for (int j = 0; j < blocks.length; j += 3) {
+                    blocks[j] *= 5;
+                }
+                assertIncrementalHash128x64(bytes, seed, blocks);
+            }
+        }
+    }
+
+    /**
+     * Assert {@link IncrementalHash128x64} returns the same values as
+     * {@link MurmurHash3#hash128x64(byte[], int, int, int)}.
+     *
+     * <p>The bytes are added to the incremental hash in the given blocks, in turn as an array,
+     * a direct buffer and a heap buffer.</p>
+     *
+     * @param bytes the bytes
+     * @param seed the seed
+     * @param blocks the blocks
+     */
+    private static void assertIncrementalHash128x64(final byte[] bytes, final int seed, final int... blocks) {
+        int offset = 0;
+        final IncrementalHash128x64 inc = new IncrementalHash128x64();
+        inc.start(seed);
+        for (int i = 0; i < blocks.length; i++) {
+            final int block = blocks[i];
+            switch (i % 3) {
+            case 0:
+                inc.add(bytes, offset, block);
+                break;
+            case 1:
+                inc.add(createDirectBuffer(bytes, offset, block));
+                break;
+            default:
+                inc.add(ByteBuffer.wrap(bytes, offset, block));
+                break;
+            }
+            offset += block;
+            final long[] h1 = MurmurHash3.hash128x64(bytes, 0, offset, seed);
+            Assert.assertArrayEquals("Hashes differ", h1, inc.end());
+            Assert.assertArrayEquals("Hashes differ after no additional data", h1, inc.end());
+        }
+    }
+
     /**
      * This test hits an edge case where a very large number of bytes is added to the incremental
      * hash. The data is constructed so that an integer counter of unprocessed bytes will
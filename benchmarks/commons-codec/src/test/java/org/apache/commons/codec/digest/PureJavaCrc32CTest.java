@@ -16,6 +16,9 @@
  */
 package org.apache.commons.codec.digest;
 
+import java.nio.ByteBuffer;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -62,6 +65,72 @@ public class PureJavaCrc32CTest {
         check(0x113fdb5c); // 5c db 3f 11
     }
 
+    @Test
+    public void testSameAsBytewise() {
+        final Random random = new Random(42);
+        final PureJavaCrc32C bytewise = new PureJavaCrc32C();
+        for (int i = 0; i < 1000; i++) {
+            final byte[] bytes = new byte[random.nextInt(200)];
+            random.nextBytes(bytes);
+            final int offset = bytes.length == 0 ? 0 : random.nextInt(bytes.length);
+            crc.reset();
+            crc.update(bytes, offset, bytes.length - offset);
+            bytewise.reset();
+            for (int j = offset; j < bytes.length; j++) {
+                bytewise.update(bytes[j]);
+            }
+            Assert.assertEquals(bytewise.getValue(), crc.getValue());
+        }
+    }
+
+    @Test
+    public void testCombine() {
+        final byte[] bytes = new byte[3000];
+        new Random(42).nextBytes(bytes);
+        crc.reset();
+        crc.update(bytes, 0, bytes.length);
+        final long expected = crc.getValue();
+        for (final int split : new int[] {0, 1, 7, 16, 1000, 2999, 3000}) {
+            final PureJavaCrc32C first = new PureJavaCrc32C();
+            first.update(bytes, 0, split);
+            final PureJavaCrc32C second = new PureJavaCrc32C();
+            second.update(bytes, split, bytes.length - split);
+            Assert.assertEquals("split " + split, expected,
+                PureJavaCrc32C.combine(first.getValue(), second.getValue(), bytes.length - split));
+        }
+        try {
+            PureJavaCrc32C.combine(0, 0, -1);
+            Assert.fail("Negative length");
+        } catch (final IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testByteBuffer() {
+        final byte[] bytes = new byte[100];
+        new Random(42).nextBytes(bytes);
+        for (int length = 0; length < 40; length++) {
+            final int offset = 3;
+            crc.reset();
+            crc.update(bytes, offset, length);
+            final long expected = crc.getValue();
+
+            final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+            direct.put(bytes).position(offset).limit(offset + length);
+            crc.reset();
+            crc.update(direct);
+            Assert.assertEquals(expected, crc.getValue());
+            Assert.assertFalse(direct.hasRemaining());
+
+            final ByteBuffer heap = ByteBuffer.wrap(bytes, offset, length);
+            crc.reset();
+            crc.update(heap);
+            Assert.assertEquals(expected, crc.getValue());
+            Assert.assertFalse(heap.hasRemaining());
+        }
+    }
+
     // Using int because only want 32 bits
     private void check(final int expected) {
         crc.reset();
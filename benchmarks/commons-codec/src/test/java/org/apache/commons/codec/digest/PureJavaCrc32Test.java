@@ -21,6 +21,7 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
 import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -64,6 +65,57 @@ public class PureJavaCrc32Test {
 
   }
 
+  @Test
+  public void testByteBuffer() {
+    final byte[] bytes = new byte[100];
+    new Random(42).nextBytes(bytes);
+    for (int len = 0; len < 60; len++) {
+      theirs.reset();
+      theirs.update(bytes, 3, len);
+
+      final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+      direct.put(bytes).position(3).limit(3 + len);
+      ours.reset();
+      ours.update(direct);
+      checkSame();
+      Assert.assertFalse(direct.hasRemaining());
+
+      ours.reset();
+      ours.update(ByteBuffer.wrap(bytes, 3, len));
+      checkSame();
+    }
+  }
+
+  @Test
+  public void testCombine() {
+    final byte[] bytes = new byte[3000];
+    new Random(42).nextBytes(bytes);
+    for (final int split : new int[] {0, 1, 7, 16, 1000, 2999, 3000}) {
+      theirs.reset();
+      theirs.update(bytes, 0, bytes.length);
+      final long expected = theirs.getValue();
+
+      final PureJavaCrc32 first = new PureJavaCrc32();
+      first.update(bytes, 0, split);
+      final PureJavaCrc32 second = new PureJavaCrc32();
+      second.update(bytes, split, bytes.length - split);
+      Assert.assertEquals("split " + split, expected,
+          PureJavaCrc32.combine(first.getValue(), second.getValue(), bytes.length - split));
+    }
+    // The CRC of a large number of zeros can be appended
+    final byte[] zeros = new byte[1 << 20];
+    theirs.reset();
+    theirs.update(bytes, 0, 10);
+    final long crc1 = theirs.getValue();
+    theirs.reset();
+    theirs.update(zeros, 0, zeros.length);
+    final long crc2 = theirs.getValue();
+    theirs.reset();
+    theirs.update(bytes, 0, 10);
+    theirs.update(zeros, 0, zeros.length);
+    Assert.assertEquals(theirs.getValue(), PureJavaCrc32.combine(crc1, crc2, zeros.length));
+  }
+
   private void checkOnBytes(final byte[] bytes, final boolean print) {
     theirs.reset();
     ours.reset();
@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collection;
 
@@ -96,6 +97,30 @@ public class XXHash32Test {
         Assert.assertEquals("checksum for " + file.getName(), expectedChecksum, Long.toHexString(h.getValue()));
     }
 
+    @Test
+    public void verifyByteBufferChecksum() throws IOException {
+        final XXHash32 h = new XXHash32();
+        try (final FileInputStream s = new FileInputStream(file)) {
+            final byte[] b = toByteArray(s);
+            final ByteBuffer direct = ByteBuffer.allocateDirect(b.length);
+            direct.put(b).flip();
+            // Pass in chunks, as direct and heap buffers
+            int off = 0;
+            for (int chunk = 1; off < b.length; chunk = chunk * 3 + 1) {
+                final int len = Math.min(chunk, b.length - off);
+                if (chunk % 2 == 0) {
+                    h.update(ByteBuffer.wrap(b, off, len));
+                } else {
+                    direct.limit(off + len).position(off);
+                    h.update(direct);
+                    Assert.assertEquals(off + len, direct.position());
+                }
+                off += len;
+            }
+        }
+        Assert.assertEquals("checksum for " + file.getName(), expectedChecksum, Long.toHexString(h.getValue()));
+    }
+
     private static byte[] toByteArray(final InputStream input) throws IOException {
         final ByteArrayOutputStream output = new ByteArrayOutputStream();
         copy(input, output, 10240);
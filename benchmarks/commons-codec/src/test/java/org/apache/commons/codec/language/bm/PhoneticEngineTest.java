@@ -20,8 +20,12 @@ package org.apache.commons.codec.language.bm;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -98,4 +102,37 @@ public class PhoneticEngineTest {
             }
         }
     }
+
+    @Test(timeout = 10000L)
+    public void testEncodeAll() throws InterruptedException {
+        final PhoneticEngine engine = new PhoneticEngine(this.nameType, this.ruleType, this.concat, this.maxPhonemes,
+                16);
+        final List<String> names = new ArrayList<>(Collections.nCopies(100, this.name));
+        names.add(0, "Other");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<String> encodings = engine.encodeAll(names, executor);
+            assertEquals(names.size(), encodings.size());
+            assertEquals(engine.encode("Other"), encodings.get(0));
+            for (final String encoding : encodings.subList(1, encodings.size())) {
+                assertEquals("phoneme incorrect", this.phoneticExpected, encoding);
+            }
+            assertTrue(engine.encodeAll(Collections.<String>emptyList(), executor).isEmpty());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void testEncodeWithCache() {
+        final PhoneticEngine engine = new PhoneticEngine(this.nameType, this.ruleType, this.concat, this.maxPhonemes,
+                1);
+        assertEquals(1, engine.getCacheSize());
+        assertEquals("phoneme incorrect", this.phoneticExpected, engine.encode(this.name));
+        // the cached encoding
+        assertEquals("phoneme incorrect", this.phoneticExpected, engine.encode(this.name));
+        engine.encode("Other");
+        // evicted from the cache
+        assertEquals("phoneme incorrect", this.phoneticExpected, engine.encode(this.name));
+    }
 }
@@ -146,4 +146,34 @@ public class RuleTest {
         assertEquals("bcd", a_b_cd.getPhonemeText().subSequence(1, 4).toString());
         assertEquals("abcd", a_b_cd.getPhonemeText().subSequence(0, 4).toString());
     }
+
+    @Test
+    public void testPatternAndContextMatches() {
+        final Rule.Phoneme phoneme = new Rule.Phoneme("x", Languages.ANY_LANGUAGE);
+        // pattern, left context, right context, then inputs with a match at the 'b', and inputs without a match
+        final String[][] rules = {
+            { "b", "^", "$", "b", "", "ab", "bc" },
+            { "b", "a", "cd", "abcd", "xabcdx", "", "abce", "bcd" },
+            { "b", "^a", "c", "abc", "abcd", "", "xabc", "abd" },
+            { "b", "[ax]", "[^d]", "abc", "xbe", "", "abd", "cbc", "ab" },
+            { "b", "^[ax]", "[cd]$", "abc", "xbd", "", "aabc", "abcc" },
+            { "b", "a[ax]", "[cx]d", "aabcd", "axbxd", "", "xabcd", "aabd", "aabce" },
+        };
+        for (final String[] r : rules) {
+            final Rule rule = new Rule(r[0], r[1], r[2], phoneme);
+            boolean expected = true;
+            for (int j = 3; j < r.length; j++) {
+                final String input = r[j];
+                if (input.isEmpty()) {
+                    expected = false;
+                    continue;
+                }
+                final int i = input.indexOf('b');
+                final String message = r[1] + " b " + r[2] + " on " + input;
+                assertEquals(message, expected, rule.patternAndContextMatches(input, i));
+                assertEquals(message, expected, rule.getLContext().isMatch(input.substring(0, i)) &&
+                        rule.getRContext().isMatch(input.substring(i + 1)));
+            }
+        }
+    }
 }
@@ -1353,6 +1353,17 @@ public final class CSVFormat implements Serializable {
         println(out);
     }
 
+    /**
+     * Prints the given {@code values} as a single record followed by the record separator, through the given value
+     * printer.
+     */
+    void printRecord(final ValuePrinter printer, final Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            printer.print(values[i], i == 0);
+        }
+        printer.println();
+    }
+
     /*
      * Note: must only be called if escaping is enabled, otherwise will generate NPE
      */
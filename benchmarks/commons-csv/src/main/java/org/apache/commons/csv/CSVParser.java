@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
@@ -40,7 +41,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Parses CSV files according to the specified format.
@@ -60,6 +67,9 @@ import java.util.TreeMap;
  *     <li>{@link #parse(java.net.URL, java.nio.charset.Charset, CSVFormat)}</li>
  * </ul>
  * <p>
+ * Large files can be parsed in parallel with {@link #parallelStream(Path, Charset, CSVFormat)}.
+ * </p>
+ * <p>
  * Alternatively parsers can also be created by passing a {@link Reader} directly to the sole constructor.
  *
  * For those who like fluent APIs, parsers can be created using {@link CSVFormat#parse(java.io.Reader)} as a shortcut:
@@ -204,6 +214,125 @@ public final class CSVParser implements Iterable<CSVRecord>, Closeable {
         }
     }
 
+    /**
+     * Parses a CSV file in parallel, handing the records of each split of the file to the given consumer.
+     *
+     * <p>
+     * The file is cut into splits of about {@code splitSize} bytes, each split starting at the start of a record. The
+     * splits are parsed concurrently on the given pool, and the consumer is called on the calling thread with the
+     * records of each split, in file order. The records are numbered and positioned as if the file had been parsed
+     * by a single parser, and share the header mapping read from the start of the file.
+     * </p>
+     * <p>
+     * The delimiter, quote, escape and comment characters must be ASCII characters, and the charset must be UTF-8,
+     * US-ASCII or ISO-8859-1.
+     * </p>
+     *
+     * @param path
+     *            a CSV file. Must not be null.
+     * @param charset
+     *            The Charset to decode the given file.
+     * @param format
+     *            the CSVFormat used for CSV parsing. Must not be null.
+     * @param pool
+     *            the pool parsing the splits. Must not be null.
+     * @param splitSize
+     *            the minimum size of a split, in bytes.
+     * @param consumer
+     *            called with the records of each split, in file order. Must not be null.
+     * @throws IllegalArgumentException
+     *             If the format or the charset cannot be parsed in parallel, or if the split size is not positive.
+     * @throws IOException
+     *             If an I/O error occurs, or on a parse error
+     * @since 1.9
+     */
+    public static void parallelParse(final Path path, final Charset charset, final CSVFormat format,
+        final ForkJoinPool pool, final long splitSize, final Consumer<List<CSVRecord>> consumer) throws IOException {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(format, "format");
+        Objects.requireNonNull(pool, "pool");
+        Objects.requireNonNull(consumer, "consumer");
+        try (final ParallelCSVParser parser = new ParallelCSVParser(path, charset, format, pool, splitSize)) {
+            while (parser.hasNext()) {
+                consumer.accept(parser.next());
+            }
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses a CSV file in parallel on the common pool and returns its records as an ordered stream, which the caller
+     * MUST close.
+     *
+     * @param path
+     *            a CSV file. Must not be null.
+     * @param charset
+     *            The Charset to decode the given file.
+     * @param format
+     *            the CSVFormat used for CSV parsing. Must not be null.
+     * @return the records of the file, in file order
+     * @throws IllegalArgumentException
+     *             If the format or the charset cannot be parsed in parallel.
+     * @throws IOException
+     *             If an I/O error occurs
+     * @see #parallelStream(Path, Charset, CSVFormat, ForkJoinPool, long)
+     * @since 1.9
+     */
+    public static Stream<CSVRecord> parallelStream(final Path path, final Charset charset, final CSVFormat format)
+        throws IOException {
+        return parallelStream(path, charset, format, ForkJoinPool.commonPool(), ParallelCSVParser.DEFAULT_SPLIT_SIZE);
+    }
+
+    /**
+     * Parses a CSV file in parallel and returns its records as an ordered stream, which the caller MUST close.
+     *
+     * <p>
+     * The file is cut into splits of about {@code splitSize} bytes, each split starting at the start of a record. The
+     * splits are parsed concurrently on the given pool, a few splits ahead of the stream consumer. The records are
+     * numbered and positioned as if the file had been parsed by a single parser, and share the header mapping read
+     * from the start of the file. A parse error is thrown by the stream as an {@link UncheckedIOException}.
+     * </p>
+     * <p>
+     * The delimiter, quote, escape and comment characters must be ASCII characters, and the charset must be UTF-8,
+     * US-ASCII or ISO-8859-1.
+     * </p>
+     *
+     * @param path
+     *            a CSV file. Must not be null.
+     * @param charset
+     *            The Charset to decode the given file.
+     * @param format
+     *            the CSVFormat used for CSV parsing. Must not be null.
+     * @param pool
+     *            the pool parsing the splits. Must not be null.
+     * @param splitSize
+     *            the minimum size of a split, in bytes.
+     * @return the records of the file, in file order
+     * @throws IllegalArgumentException
+     *             If the format or the charset cannot be parsed in parallel, or if the split size is not positive.
+     * @throws IOException
+     *             If an I/O error occurs
+     * @since 1.9
+     */
+    @SuppressWarnings("resource")
+    public static Stream<CSVRecord> parallelStream(final Path path, final Charset charset, final CSVFormat format,
+        final ForkJoinPool pool, final long splitSize) throws IOException {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(format, "format");
+        Objects.requireNonNull(pool, "pool");
+        final ParallelCSVParser parser = new ParallelCSVParser(path, charset, format, pool, splitSize);
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(parser, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .flatMap(List::stream).onClose(() -> {
+                try {
+                    parser.close();
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
     /**
      * Creates a parser for the given {@link File}.
      *
@@ -529,6 +658,30 @@ public final class CSVParser implements Iterable<CSVRecord>, Closeable {
         return new Headers(hdrMap, headerNames);
     }
 
+    /**
+     * Returns a cursor over the records, which reuses a single mutable record and gives access to the values without
+     * creating objects for every record.
+     *
+     * <p>
+     * The cursor reads from the current position of the parser, as the iterator does.
+     * </p>
+     *
+     * @return a new cursor over the records of this parser.
+     * @since 1.9
+     */
+    public CSVRecordCursor cursor() {
+        return new CSVRecordCursor(this);
+    }
+
+    /**
+     * Returns the number of characters read so far by the lexer, not counting the character offset.
+     *
+     * @return the number of characters read
+     */
+    long getCharacterPosition() {
+        return this.lexer.getCharacterPosition();
+    }
+
     /**
      * Returns the current line number in the input stream.
      *
@@ -712,4 +865,55 @@ public final class CSVParser implements Iterable<CSVRecord>, Closeable {
         return result;
     }
 
+    /**
+     * Parses the next record from the current point in the stream into the given cursor.
+     *
+     * @param cursor the cursor receiving the values of the record
+     * @return false if the end of the stream has been reached
+     * @throws IOException
+     *             on parse error or input read-failure
+     */
+    boolean nextRecord(final CSVRecordCursor cursor) throws IOException {
+        cursor.clear();
+        StringBuilder sb = null;
+        final long startCharPosition = lexer.getCharacterPosition() + this.characterOffset;
+        do {
+            this.reusableToken.reset();
+            this.lexer.nextToken(this.reusableToken);
+            switch (this.reusableToken.type) {
+            case TOKEN:
+                cursor.addValue(this.reusableToken.content, false, this.format);
+                break;
+            case EORECORD:
+                cursor.addValue(this.reusableToken.content, true, this.format);
+                break;
+            case EOF:
+                if (this.reusableToken.isReady) {
+                    cursor.addValue(this.reusableToken.content, true, this.format);
+                }
+                break;
+            case INVALID:
+                throw new IOException("(line " + this.getCurrentLineNumber() + ") invalid parse sequence");
+            case COMMENT: // Ignored currently
+                if (sb == null) { // first comment for this record
+                    sb = new StringBuilder();
+                } else {
+                    sb.append(Constants.LF);
+                }
+                sb.append(this.reusableToken.content);
+                this.reusableToken.type = TOKEN; // Read another token
+                break;
+            default:
+                throw new IllegalStateException("Unexpected Token type: " + this.reusableToken.type);
+            }
+        } while (this.reusableToken.type == TOKEN);
+
+        if (cursor.size() == 0) {
+            return false;
+        }
+        this.recordNumber++;
+        cursor.setRecord(sb == null ? null : sb.toString(), this.recordNumber, startCharPosition);
+        return true;
+    }
+
 }
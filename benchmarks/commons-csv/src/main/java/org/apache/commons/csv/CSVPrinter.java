@@ -66,13 +66,27 @@ import java.util.Objects;
  *
  * 2,mary,Mary,Meyer,1985-03-29
  * </pre>
+ *
+ * <p>For large outputs, a printer created with {@link #CSVPrinter(Appendable, CSVFormat, int) a buffer size} prepares
+ * the output in a reusable buffer and writes it in large chunks, and numbers can be printed without boxing with
+ * {@link #printLong(long)} and {@link #printDouble(double)}.
+ * </p>
  */
 public final class CSVPrinter implements Flushable, Closeable {
 
+    /** The size of the buffer of a printer which writes every value to the output, used for the numbers. */
+    private static final int UNBUFFERED_SIZE = 256;
+
     /** The place that the values get written. */
     private final Appendable out;
     private final CSVFormat format;
 
+    /** Prepares the output following the format. */
+    private final ValuePrinter printer;
+
+    /** True if the output is written at once at the end of each call, false if it is written when the buffer is full. */
+    private final boolean unbuffered;
+
     /** True if we just began a new record. */
     private boolean newRecord = true;
 
@@ -93,11 +107,43 @@ public final class CSVPrinter implements Flushable, Closeable {
      *             thrown if the parameters of the format are inconsistent or if either out or format are null.
      */
     public CSVPrinter(final Appendable out, final CSVFormat format) throws IOException {
+        this(out, format, 0);
+    }
+
+    /**
+     * Creates a printer that will print values to the given stream following the CSVFormat, through a buffer of the
+     * given size.
+     *
+     * <p>
+     * The values are prepared in a buffer which is reused for the whole output, and written to the given stream when
+     * the buffer is full, and on {@link #flush()} and {@link #close()}. Until then, {@link #getOut()} does not contain
+     * the last values printed.
+     * </p>
+     *
+     * @param out
+     *            stream to which to print. Must not be null.
+     * @param format
+     *            the CSV format. Must not be null.
+     * @param bufferSize
+     *            the size of the buffer in characters, or 0 to write every value to the stream at once.
+     * @throws IOException
+     *             thrown if the optional header cannot be printed.
+     * @throws IllegalArgumentException
+     *             thrown if the parameters of the format are inconsistent, if either out or format are null, or if the
+     *             buffer size is negative.
+     * @since 1.9
+     */
+    public CSVPrinter(final Appendable out, final CSVFormat format, final int bufferSize) throws IOException {
         Objects.requireNonNull(out, "out");
         Objects.requireNonNull(format, "format");
+        if (bufferSize < 0) {
+            throw new IllegalArgumentException("bufferSize must not be negative: " + bufferSize);
+        }
 
         this.out = out;
         this.format = format;
+        this.unbuffered = bufferSize == 0;
+        this.printer = new ValuePrinter(format, out, unbuffered ? UNBUFFERED_SIZE : bufferSize);
         // TODO: Is it a good idea to do this here instead of on the first call to a print method?
         // It seems a pain to have to track whether the header has already been printed or not.
         if (format.getHeaderComments() != null) {
@@ -130,6 +176,7 @@ public final class CSVPrinter implements Flushable, Closeable {
      * @since 1.6
      */
     public void close(final boolean flush) throws IOException {
+        printer.flushBuffer();
         if (flush || format.getAutoFlush()) {
             flush();
         }
@@ -138,6 +185,15 @@ public final class CSVPrinter implements Flushable, Closeable {
         }
     }
 
+    /**
+     * Writes the output of a call to the stream, unless the printer is buffered.
+     */
+    private void endOfCall() throws IOException {
+        if (unbuffered) {
+            printer.flushBuffer();
+        }
+    }
+
     /**
      * Flushes the underlying stream.
      *
@@ -146,6 +202,7 @@ public final class CSVPrinter implements Flushable, Closeable {
      */
     @Override
     public void flush() throws IOException {
+        printer.flushBuffer();
         if (out instanceof Flushable) {
             ((Flushable) out).flush();
         }
@@ -169,8 +226,9 @@ public final class CSVPrinter implements Flushable, Closeable {
      *             If an I/O error occurs
      */
     public void print(final Object value) throws IOException {
-        format.print(value, out, newRecord);
+        printer.print(value, newRecord);
         newRecord = false;
+        endOfCall();
     }
 
     /**
@@ -201,8 +259,8 @@ public final class CSVPrinter implements Flushable, Closeable {
         if (!newRecord) {
             println();
         }
-        out.append(format.getCommentMarker().charValue());
-        out.append(SP);
+        printer.append(format.getCommentMarker().charValue());
+        printer.append(SP);
         for (int i = 0; i < comment.length(); i++) {
             final char c = comment.charAt(i);
             switch (c) {
@@ -212,18 +270,50 @@ public final class CSVPrinter implements Flushable, Closeable {
                 }
                 //$FALL-THROUGH$ break intentionally excluded.
             case LF:
-                println();
-                out.append(format.getCommentMarker().charValue());
-                out.append(SP);
+                printer.println();
+                printer.append(format.getCommentMarker().charValue());
+                printer.append(SP);
                 break;
             default:
-                out.append(c);
+                printer.append(c);
                 break;
             }
         }
         println();
     }
 
+    /**
+     * Prints a double as the next value on the line, as {@code print(Double.valueOf(value))} does, without boxing
+     * the value.
+     *
+     * @param value
+     *            value to be output.
+     * @throws IOException
+     *             If an I/O error occurs
+     * @since 1.9
+     */
+    public void printDouble(final double value) throws IOException {
+        printer.printDouble(value, newRecord);
+        newRecord = false;
+        endOfCall();
+    }
+
+    /**
+     * Prints a long as the next value on the line, as {@code print(Long.valueOf(value))} does, without boxing the
+     * value or converting it to a String.
+     *
+     * @param value
+     *            value to be output.
+     * @throws IOException
+     *             If an I/O error occurs
+     * @since 1.9
+     */
+    public void printLong(final long value) throws IOException {
+        printer.printLong(value, newRecord);
+        newRecord = false;
+        endOfCall();
+    }
+
     /**
      * Outputs the record separator.
      *
@@ -231,8 +321,9 @@ public final class CSVPrinter implements Flushable, Closeable {
      *             If an I/O error occurs
      */
     public void println() throws IOException {
-        format.println(out);
+        printer.println();
         newRecord = true;
+        endOfCall();
     }
 
     /**
@@ -269,8 +360,9 @@ public final class CSVPrinter implements Flushable, Closeable {
      *             If an I/O error occurs
      */
     public void printRecord(final Object... values) throws IOException {
-        format.printRecord(out, values);
+        format.printRecord(printer, values);
         newRecord = true;
+        endOfCall();
     }
 
     /**
@@ -0,0 +1,540 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.csv;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A mutable view of the current record of a {@link CSVParser}, reused for every record.
+ *
+ * <p>
+ * The values of a record are copied into a single character buffer owned by the cursor, and exposed as
+ * {@link CharSequence} views over that buffer. Moving to the next record does not allocate any object once the buffer
+ * has grown to the size of the largest record, so that large inputs can be read without creating garbage for every
+ * record and value. The views returned by {@link #get(int)} are only valid until the next call to {@link #next()}:
+ * use {@link #getString(int)} or {@link #toRecord()} to keep a value or a record.
+ * </p>
+ *
+ * <pre>
+ * try (CSVParser parser = CSVParser.parse(file, StandardCharsets.UTF_8, CSVFormat.DEFAULT.withFirstRecordAsHeader())) {
+ *     final CSVRecordCursor cursor = parser.cursor();
+ *     while (cursor.next()) {
+ *         total += cursor.getLong(&quot;amount&quot;);
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>
+ * A cursor reads from the same position as the parser iterator, mixing both reads the records alternately.
+ * </p>
+ *
+ * @since 1.9
+ */
+public final class CSVRecordCursor {
+
+    /**
+     * A value of the current record, as a view over the buffer of the cursor.
+     */
+    private final class Value implements CharSequence {
+
+        private int start;
+
+        private int end;
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + (end - start));
+            }
+            return buffer[start + index];
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public CharSequence subSequence(final int from, final int to) {
+            if (from < 0 || to > end - start || from > to) {
+                throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + (end - start));
+            }
+            return new String(buffer, start + from, to - from);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, start, end - start);
+        }
+    }
+
+    /** The largest power of ten that is exactly represented by a double. */
+    private static final int MAX_EXACT_POWER_OF_TEN = 22;
+
+    /** The largest integer that is exactly represented by a double. */
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    private static final double[] POWERS_OF_TEN = new double[MAX_EXACT_POWER_OF_TEN + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final CSVParser parser;
+
+    /** The characters of all the values of the current record. */
+    private char[] buffer = new char[256];
+
+    /** The length of the buffer in use. */
+    private int length;
+
+    /** The values of the current record; the elements past {@code size} are kept for the next records. */
+    private Value[] values = new Value[16];
+
+    /** Whether the value at the same index is null, see {@link CSVFormat#getNullString()}. */
+    private boolean[] nulls = new boolean[16];
+
+    private int size;
+
+    private String comment;
+
+    private long recordNumber;
+
+    private long characterPosition;
+
+    CSVRecordCursor(final CSVParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Adds a value to the current record. Called by the parser.
+     *
+     * @param content the value as read by the lexer
+     * @param lastRecord whether this is the last value of the record
+     * @param format the format of the parser
+     */
+    void addValue(final StringBuilder content, final boolean lastRecord, final CSVFormat format) {
+        int from = 0;
+        int to = content.length();
+        if (format.getTrim()) {
+            // same as String.trim()
+            while (from < to && content.charAt(from) <= ' ') {
+                from++;
+            }
+            while (to > from && content.charAt(to - 1) <= ' ') {
+                to--;
+            }
+        }
+        if (lastRecord && from == to && format.getTrailingDelimiter()) {
+            return;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            nulls = Arrays.copyOf(nulls, size * 2);
+        }
+        Value value = values[size];
+        if (value == null) {
+            value = values[size] = new Value();
+        }
+        final int len = to - from;
+        if (length + len > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + len));
+        }
+        content.getChars(from, to, buffer, length);
+        value.start = length;
+        value.end = length + len;
+        length += len;
+        nulls[size] = isNullString(value, format.getNullString());
+        size++;
+    }
+
+    /**
+     * Clears the current record. Called by the parser before reading a record.
+     */
+    void clear() {
+        length = 0;
+        size = 0;
+        comment = null;
+    }
+
+    /**
+     * Returns a value by index.
+     *
+     * @param i
+     *            a column index (0-based)
+     * @return a view of the value, which is only valid until the next record is read, maybe null depending on
+     *         {@link CSVFormat#getNullString()}.
+     * @throws ArrayIndexOutOfBoundsException
+     *             if the record has no such value
+     */
+    public CharSequence get(final int i) {
+        checkIndex(i);
+        return nulls[i] ? null : values[i];
+    }
+
+    /**
+     * Returns a value by name.
+     *
+     * @param name
+     *            the name of the column to be retrieved.
+     * @return a view of the value, which is only valid until the next record is read, maybe null depending on
+     *         {@link CSVFormat#getNullString()}.
+     * @throws IllegalStateException
+     *             if no header mapping was provided
+     * @throws IllegalArgumentException
+     *             if {@code name} is not mapped or if the record is inconsistent
+     * @see CSVRecord#get(String)
+     */
+    public CharSequence get(final String name) {
+        return get(indexOf(name));
+    }
+
+    /**
+     * Returns the start position of the current record as a character position in the source stream.
+     *
+     * @return the position of the current record in the source stream.
+     * @see CSVRecord#getCharacterPosition()
+     */
+    public long getCharacterPosition() {
+        return characterPosition;
+    }
+
+    /**
+     * Returns the comment for the current record, if any.
+     *
+     * @return the comment for the current record, or null if no comment for this record is available.
+     * @see CSVRecord#getComment()
+     */
+    public String getComment() {
+        return comment;
+    }
+
+    /**
+     * Parses a value as a {@code double}, without creating a {@code String} for the common decimal notations.
+     *
+     * @param i
+     *            a column index (0-based)
+     * @return the value as a double
+     * @throws NumberFormatException
+     *             if the value is null or is not a number
+     * @see Double#parseDouble(String)
+     */
+    public double getDouble(final int i) {
+        final CharSequence value = get(i);
+        if (value == null) {
+            throw new NumberFormatException("null");
+        }
+        final int len = value.length();
+        int pos = 0;
+        final boolean negative = len > 0 && value.charAt(0) == '-';
+        if (negative || len > 0 && value.charAt(0) == '+') {
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean point = false;
+        for (; pos < len; pos++) {
+            final char c = value.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (point) {
+                    scale++;
+                }
+                if (mantissa >= MAX_EXACT_LONG) {
+                    break;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (pos < len || digits == 0 || scale > MAX_EXACT_POWER_OF_TEN) {
+            // exponents, special values, more digits than a double holds exactly, or not a number
+            return Double.parseDouble(value.toString());
+        }
+        // both the mantissa and the power of ten are exact, so a single division is correctly rounded
+        final double result = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -result : result;
+    }
+
+    /**
+     * Parses a value as a {@code double}.
+     *
+     * @param name
+     *            the name of the column to be retrieved.
+     * @return the value as a double
+     * @throws NumberFormatException
+     *             if the value is null or is not a number
+     * @throws IllegalStateException
+     *             if no header mapping was provided
+     * @throws IllegalArgumentException
+     *             if {@code name} is not mapped or if the record is inconsistent
+     */
+    public double getDouble(final String name) {
+        return getDouble(indexOf(name));
+    }
+
+    /**
+     * Parses a value as an {@code int}, without creating a {@code String}.
+     *
+     * @param i
+     *            a column index (0-based)
+     * @return the value as an int
+     * @throws NumberFormatException
+     *             if the value is null, is not a decimal integer or does not fit in an int
+     * @see Integer#parseInt(String)
+     */
+    public int getInt(final int i) {
+        final long value = parseLong(i, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return (int) value;
+    }
+
+    /**
+     * Parses a value as an {@code int}, without creating a {@code String}.
+     *
+     * @param name
+     *            the name of the column to be retrieved.
+     * @return the value as an int
+     * @throws NumberFormatException
+     *             if the value is null, is not a decimal integer or does not fit in an int
+     * @throws IllegalStateException
+     *             if no header mapping was provided
+     * @throws IllegalArgumentException
+     *             if {@code name} is not mapped or if the record is inconsistent
+     */
+    public int getInt(final String name) {
+        return getInt(indexOf(name));
+    }
+
+    /**
+     * Parses a value as a {@code long}, without creating a {@code String}.
+     *
+     * @param i
+     *            a column index (0-based)
+     * @return the value as a long
+     * @throws NumberFormatException
+     *             if the value is null, is not a decimal integer or does not fit in a long
+     * @see Long#parseLong(String)
+     */
+    public long getLong(final int i) {
+        return parseLong(i, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Parses a value as a {@code long}, without creating a {@code String}.
+     *
+     * @param name
+     *            the name of the column to be retrieved.
+     * @return the value as a long
+     * @throws NumberFormatException
+     *             if the value is null, is not a decimal integer or does not fit in a long
+     * @throws IllegalStateException
+     *             if no header mapping was provided
+     * @throws IllegalArgumentException
+     *             if {@code name} is not mapped or if the record is inconsistent
+     */
+    public long getLong(final String name) {
+        return getLong(indexOf(name));
+    }
+
+    /**
+     * Returns the number of the current record.
+     *
+     * @return the number of the current record.
+     * @see CSVRecord#getRecordNumber()
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Returns a value by index as a new String, which remains valid after the next record is read.
+     *
+     * @param i
+     *            a column index (0-based)
+     * @return the value, maybe null depending on {@link CSVFormat#getNullString()}.
+     * @throws ArrayIndexOutOfBoundsException
+     *             if the record has no such value
+     */
+    public String getString(final int i) {
+        final CharSequence value = get(i);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Returns a value by name as a new String, which remains valid after the next record is read.
+     *
+     * @param name
+     *            the name of the column to be retrieved.
+     * @return the value, maybe null depending on {@link CSVFormat#getNullString()}.
+     * @throws IllegalStateException
+     *             if no header mapping was provided
+     * @throws IllegalArgumentException
+     *             if {@code name} is not mapped or if the record is inconsistent
+     */
+    public String getString(final String name) {
+        return getString(indexOf(name));
+    }
+
+    /**
+     * Checks whether a given column is mapped, i.e. its name has been defined to the parser.
+     *
+     * @param name
+     *            the name of the column to be retrieved.
+     * @return whether a given column is mapped.
+     */
+    public boolean isMapped(final String name) {
+        final Map<String, Integer> headerMap = parser.getHeaderMapRaw();
+        return headerMap != null && headerMap.containsKey(name);
+    }
+
+    /**
+     * Moves to the next record.
+     *
+     * @return false if the end of the input has been reached, and there is no current record anymore
+     * @throws IOException
+     *             on parse error or input read-failure
+     */
+    public boolean next() throws IOException {
+        return parser.nextRecord(this);
+    }
+
+    /**
+     * Returns the number of values in the current record.
+     *
+     * @return the number of values in the current record.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the current record into a new {@link CSVRecord}, which remains valid after the next record is read.
+     *
+     * @return a copy of the current record
+     */
+    public CSVRecord toRecord() {
+        final String[] strings = new String[size];
+        for (int i = 0; i < size; i++) {
+            strings[i] = getString(i);
+        }
+        return new CSVRecord(parser, strings, comment, recordNumber, characterPosition);
+    }
+
+    /**
+     * Returns a string representation of the current record. The format of this string representation may change in
+     * future releases.
+     *
+     * @return a String representation of the current record.
+     */
+    @Override
+    public String toString() {
+        return "CSVRecordCursor [comment='" + comment + "', recordNumber=" + recordNumber + ", values="
+            + Arrays.toString(Arrays.copyOf(values, size)) + "]";
+    }
+
+    /**
+     * Sets the details of the record read. Called by the parser once all the values have been added.
+     */
+    void setRecord(final String comment, final long recordNumber, final long characterPosition) {
+        this.comment = comment;
+        this.recordNumber = recordNumber;
+        this.characterPosition = characterPosition;
+    }
+
+    private void checkIndex(final int i) {
+        if (i < 0 || i >= size) {
+            throw new ArrayIndexOutOfBoundsException(i);
+        }
+    }
+
+    private int indexOf(final String name) {
+        final Map<String, Integer> headerMap = parser.getHeaderMapRaw();
+        if (headerMap == null) {
+            throw new IllegalStateException(
+                "No header mapping was specified, the record values can't be accessed by name");
+        }
+        final Integer index = headerMap.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException(String.format("Mapping for %s not found, expected one of %s", name,
+                headerMap.keySet()));
+        }
+        if (index.intValue() >= size) {
+            throw new IllegalArgumentException(String.format(
+                "Index for header '%s' is %d but CSVRecordCursor only has %d values!", name, index,
+                Integer.valueOf(size)));
+        }
+        return index.intValue();
+    }
+
+    private boolean isNullString(final Value value, final String nullString) {
+        if (nullString == null || nullString.length() != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < nullString.length(); i++) {
+            if (nullString.charAt(i) != buffer[value.start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long parseLong(final int i, final long min, final long max) {
+        final CharSequence value = get(i);
+        if (value == null) {
+            throw new NumberFormatException("null");
+        }
+        final int len = value.length();
+        if (len == 0) {
+            throw new NumberFormatException("For input string: \"\"");
+        }
+        int pos = 0;
+        final char first = value.charAt(0);
+        final boolean negative = first == '-';
+        if (negative || first == '+') {
+            if (len == 1) {
+                throw new NumberFormatException("For input string: \"" + value + "\"");
+            }
+            pos++;
+        }
+        // accumulate negatively, as the range of negative values is the larger one
+        final long limit = negative ? min : -max;
+        final long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; pos < len; pos++) {
+            final int digit = Character.digit(value.charAt(pos), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                throw new NumberFormatException("For input string: \"" + value + "\"");
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw new NumberFormatException("For input string: \"" + value + "\"");
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.csv;
+
+import static org.apache.commons.csv.Constants.CR;
+import static org.apache.commons.csv.Constants.LF;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parses a CSV file in parallel.
+ *
+ * <p>
+ * The file is cut into byte ranges ("splits") of about the requested size. Each split boundary is moved forward to
+ * the start of a record by a quote aware scan of the bytes, so that no quoted value, escaped line break or comment is
+ * cut in two. The splits are then parsed concurrently on a {@link ForkJoinPool}, and handed back in file order with
+ * their record numbers and character positions adjusted as if the file had been parsed by a single
+ * {@link CSVParser}.
+ * </p>
+ * <p>
+ * The first split is parsed with the given format, so that the header record is read from it. The other splits are
+ * parsed without a header, and their records share the header mapping of the first split.
+ * </p>
+ * <p>
+ * The delimiter, quote, escape and comment characters of the format must be ASCII characters, and the charset must
+ * encode them as single bytes that never appear inside a multi-byte sequence (US-ASCII, ISO-8859-1 or UTF-8).
+ * </p>
+ */
+final class ParallelCSVParser implements Closeable, Iterator<List<CSVRecord>> {
+
+    /**
+     * The records of a parsed split.
+     */
+    private static final class Split {
+
+        /** The parser of the split, which holds the header mapping for the first split. */
+        final CSVParser parser;
+
+        /** The records, numbered from the start of the split. */
+        final List<CSVRecord> records;
+
+        /** The number of characters read from the split. */
+        final long characters;
+
+        Split(final CSVParser parser, final List<CSVRecord> records, final long characters) {
+            this.parser = parser;
+            this.records = records;
+            this.characters = characters;
+        }
+    }
+
+    /**
+     * An input stream over a byte range of a channel, using positional reads so that the splits do not share the
+     * channel position.
+     */
+    private static final class ChannelInputStream extends InputStream {
+
+        private final FileChannel channel;
+
+        private long position;
+
+        private final long end;
+
+        ChannelInputStream(final FileChannel channel, final long start, final long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            final int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+    }
+
+    /** The default size of a split, in bytes. */
+    static final long DEFAULT_SPLIT_SIZE = 8 * 1024 * 1024;
+
+    /** The size of the blocks read by the boundary scan. */
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    /** Value of a format character which is not set, and thus never matches a byte. */
+    private static final int UNSET = -2;
+
+    // States of the boundary scan
+    private static final int LINE_START = 0;
+    private static final int FIELD_START = 1;
+    private static final int UNQUOTED = 2;
+    private static final int QUOTED = 3;
+    private static final int AFTER_QUOTE = 4;
+    private static final int COMMENT = 5;
+    private static final int AFTER_CR = 6;
+
+    /**
+     * Finds the split boundaries of the given channel. A boundary is the start of a record, or the start of the
+     * comments and empty lines that precede it, so that a comment stays with the record it belongs to.
+     *
+     * @param channel the channel to scan
+     * @param format the format of the file
+     * @param splitSize the minimum size of a split
+     * @return the start positions of the splits followed by the size of the file
+     * @throws IOException if the channel cannot be read
+     */
+    static long[] findBoundaries(final FileChannel channel, final CSVFormat format, final long splitSize)
+        throws IOException {
+        final long size = channel.size();
+        final int delimiter = asciiOf(Character.valueOf(format.getDelimiter()), "delimiter");
+        final int quote = asciiOf(format.getQuoteCharacter(), "quote character");
+        final int escape = asciiOf(format.getEscapeCharacter(), "escape character");
+        final int comment = asciiOf(format.getCommentMarker(), "comment marker");
+        final boolean ignoreSpaces = format.getIgnoreSurroundingSpaces();
+
+        final List<Long> boundaries = new ArrayList<>();
+        boundaries.add(Long.valueOf(0));
+        long next = splitSize;
+        if (next < size) {
+            final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            final byte[] bytes = buffer.array();
+            int state = LINE_START;
+            boolean escaped = false;
+            // start of the comments and empty lines before the current line, or -1
+            long blockStart = -1;
+            long position = 0;
+            while (position < size) {
+                buffer.clear();
+                final int n = channel.read(buffer, position);
+                if (n <= 0) {
+                    break;
+                }
+                for (int i = 0; i < n; i++) {
+                    final int b = bytes[i] & 0xFF;
+                    if (escaped) {
+                        escaped = false;
+                        continue;
+                    }
+                    if (state == AFTER_CR) {
+                        if (b == LF) {
+                            state = LINE_START;
+                            continue;
+                        }
+                        state = LINE_START;
+                    }
+                    if (state == LINE_START) {
+                        final long lineStart = position + i;
+                        if (b == comment || b == LF || b == CR) {
+                            if (blockStart < 0) {
+                                blockStart = lineStart;
+                            }
+                        } else {
+                            if (lineStart >= next) {
+                                final long boundary = blockStart < 0 ? lineStart : blockStart;
+                                if (boundary > boundaries.get(boundaries.size() - 1).longValue()) {
+                                    boundaries.add(Long.valueOf(boundary));
+                                    next = boundary + splitSize;
+                                }
+                            }
+                            blockStart = -1;
+                        }
+                        if (b == comment) {
+                            state = COMMENT;
+                            continue;
+                        }
+                        state = FIELD_START;
+                    }
+                    switch (state) {
+                    case FIELD_START:
+                        if (b == delimiter) {
+                            // empty value, still at the start of a field
+                        } else if (b == quote) {
+                            state = QUOTED;
+                        } else if (!(ignoreSpaces && isSpace(b))) {
+                            state = endOfUnquoted(b, delimiter, UNQUOTED);
+                            escaped = b == escape;
+                        }
+                        break;
+                    case UNQUOTED:
+                        state = endOfUnquoted(b, delimiter, UNQUOTED);
+                        escaped = b == escape;
+                        break;
+                    case QUOTED:
+                        if (b == escape) {
+                            escaped = true;
+                        } else if (b == quote) {
+                            state = AFTER_QUOTE;
+                        }
+                        break;
+                    case AFTER_QUOTE:
+                        // a doubled quote character, or the end of the quoted value
+                        state = b == quote ? QUOTED : endOfUnquoted(b, delimiter, AFTER_QUOTE);
+                        break;
+                    case COMMENT:
+                        state = b == LF ? LINE_START : b == CR ? AFTER_CR : COMMENT;
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected scan state: " + state);
+                    }
+                }
+                position += n;
+            }
+        }
+        final long[] result = new long[boundaries.size() + 1];
+        for (int i = 0; i < boundaries.size(); i++) {
+            result[i] = boundaries.get(i).longValue();
+        }
+        result[boundaries.size()] = size;
+        return result;
+    }
+
+    private static int asciiOf(final Character c, final String name) {
+        if (c == null) {
+            return UNSET;
+        }
+        if (c.charValue() >= 0x80) {
+            throw new IllegalArgumentException("The " + name + " must be an ASCII character to parse in parallel: "
+                + c);
+        }
+        return c.charValue();
+    }
+
+    private static int endOfUnquoted(final int b, final int delimiter, final int state) {
+        if (b == delimiter) {
+            return FIELD_START;
+        }
+        if (b == LF) {
+            return LINE_START;
+        }
+        if (b == CR) {
+            return AFTER_CR;
+        }
+        return state;
+    }
+
+    private static boolean isSpace(final int b) {
+        return b == ' ' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    private static Charset checkCharset(final Charset charset) {
+        if (!StandardCharsets.UTF_8.equals(charset) && !StandardCharsets.US_ASCII.equals(charset)
+            && !StandardCharsets.ISO_8859_1.equals(charset)) {
+            throw new IllegalArgumentException("Cannot parse " + charset + " in parallel, use UTF-8, US-ASCII or "
+                + "ISO-8859-1");
+        }
+        return charset;
+    }
+
+    private final FileChannel channel;
+
+    private final Charset charset;
+
+    private final CSVFormat format;
+
+    /** The format of all the splits but the first one. */
+    private final CSVFormat splitFormat;
+
+    private final ForkJoinPool pool;
+
+    private final long[] boundaries;
+
+    /** The splits being parsed, in file order. */
+    private final ArrayDeque<ForkJoinTask<Split>> pending = new ArrayDeque<>();
+
+    /** The maximum number of splits parsed ahead of the consumer. */
+    private final int window;
+
+    /** The index of the next split to submit. */
+    private int nextSplit;
+
+    /** The parser of the first split, holding the header mapping. */
+    private CSVParser headerParser;
+
+    /** The number of records in the splits already returned. */
+    private long recordsBefore;
+
+    /** The number of characters in the splits already returned. */
+    private long charactersBefore;
+
+    ParallelCSVParser(final Path path, final Charset charset, final CSVFormat format, final ForkJoinPool pool,
+        final long splitSize) throws IOException {
+        if (splitSize <= 0) {
+            throw new IllegalArgumentException("splitSize must be positive: " + splitSize);
+        }
+        this.charset = checkCharset(charset);
+        this.format = format;
+        this.splitFormat = format.withHeader((String[]) null).withSkipHeaderRecord(false);
+        this.pool = pool;
+        this.window = Math.max(2, 2 * pool.getParallelism());
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.boundaries = findBoundaries(channel, format, splitSize);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (final ForkJoinTask<Split> task : pending) {
+            task.cancel(false);
+        }
+        pending.clear();
+        channel.close();
+    }
+
+    /**
+     * Gets the number of splits of the file.
+     *
+     * @return the number of splits
+     */
+    int getSplitCount() {
+        return boundaries.length - 1;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextSplit < getSplitCount() || !pending.isEmpty();
+    }
+
+    /**
+     * Returns the records of the next split, in file order, with their final record numbers and character positions.
+     *
+     * @return the records of the next split
+     * @throws UncheckedIOException if the split cannot be read or parsed
+     */
+    @Override
+    public List<CSVRecord> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        while (nextSplit < getSplitCount() && pending.size() < window) {
+            final int index = nextSplit++;
+            pending.add(pool.submit(() -> parseSplit(index)));
+        }
+        final Split split = join(pending.poll());
+        List<CSVRecord> records = split.records;
+        if (headerParser == null) {
+            headerParser = split.parser;
+        } else {
+            final CSVRecord[] adjusted = new CSVRecord[records.size()];
+            for (int i = 0; i < adjusted.length; i++) {
+                final CSVRecord record = records.get(i);
+                adjusted[i] = new CSVRecord(headerParser, record.values(), record.getComment(),
+                    record.getRecordNumber() + recordsBefore, record.getCharacterPosition() + charactersBefore);
+            }
+            records = Arrays.asList(adjusted);
+        }
+        recordsBefore += records.size();
+        charactersBefore += split.characters;
+        return records;
+    }
+
+    private Split join(final ForkJoinTask<Split> task) {
+        try {
+            return task.join();
+        } catch (final UncheckedIOException e) {
+            // rethrow in this thread so that the caller appears in the stack trace
+            throw new UncheckedIOException(e.getMessage(), e.getCause());
+        }
+    }
+
+    private Split parseSplit(final int index) {
+        final long start = boundaries[index];
+        final long end = boundaries[index + 1];
+        try (final CSVParser parser = new CSVParser(
+            new InputStreamReader(new ChannelInputStream(channel, start, end), charset),
+            index == 0 ? format : splitFormat)) {
+            final List<CSVRecord> records = new ArrayList<>();
+            // the position after the last record, where a single parser would start the next split: the lexer
+            // counts the end of stream read as a character
+            long characters = parser.getCharacterPosition();
+            CSVRecord record;
+            while ((record = parser.nextRecord()) != null) {
+                records.add(record);
+                characters = parser.getCharacterPosition();
+            }
+            return new Split(parser, records, characters);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Cannot parse the bytes " + start + " to " + end, e);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.csv;
+
+import static org.apache.commons.csv.Constants.COMMENT;
+import static org.apache.commons.csv.Constants.CR;
+import static org.apache.commons.csv.Constants.EMPTY;
+import static org.apache.commons.csv.Constants.LF;
+import static org.apache.commons.csv.Constants.SP;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Prints values following a {@link CSVFormat}, into a character buffer which is written to the output in chunks.
+ *
+ * <p>
+ * The output is the same as {@link CSVFormat#print(Object, Appendable, boolean)}, but the format is inspected once:
+ * the characters which cause a value to be quoted or escaped are looked up in a table built from the format, and
+ * numbers are formatted without creating a {@code String}.
+ * </p>
+ */
+final class ValuePrinter {
+
+    /** The character causes a value to be quoted with {@link QuoteMode#MINIMAL}. */
+    private static final byte QUOTE_TRIGGER = 1;
+
+    /** The character is escaped inside a quoted value. */
+    private static final byte QUOTE_ESCAPED = 2;
+
+    /** The character is escaped in a value which is not quoted. */
+    private static final byte ESCAPED = 4;
+
+    /** Doubles in this range with no fraction are printed by {@link Double#toString(double)} as digits and ".0". */
+    private static final double MAX_PLAIN_DOUBLE = 1e7;
+
+    private final CSVFormat format;
+
+    private final Appendable out;
+
+    /** The output if it is a Writer, which takes the buffer without copy. */
+    private final Writer writer;
+
+    /** The output if it is a StringBuilder, which takes the buffer without copy. */
+    private final StringBuilder builder;
+
+    private final char[] buffer;
+
+    /** A view of the buffer for the other outputs. */
+    private final CharBuffer bufferView;
+
+    private int count;
+
+    /** The {@link #QUOTE_TRIGGER}, {@link #QUOTE_ESCAPED} and {@link #ESCAPED} flags of the special characters. */
+    private final byte[] flags;
+
+    private final char delimiter;
+
+    private final boolean quoting;
+
+    private final char quoteChar;
+
+    /** The escape character inside a quoted value, which is the quote character if no escape is set. */
+    private final char quoteEscapeChar;
+
+    private final boolean escaping;
+
+    private final char escapeChar;
+
+    private final QuoteMode quoteMode;
+
+    private final boolean trim;
+
+    /** The text printed for a null value. */
+    private final String nullValue;
+
+    private final String recordSeparator;
+
+    private final boolean trailingDelimiter;
+
+    /** A buffer to format numbers, which are written at its end. */
+    private final char[] digits = new char[24];
+
+    private final CharBuffer digitsView = CharBuffer.wrap(digits);
+
+    ValuePrinter(final CSVFormat format, final Appendable out, final int bufferSize) {
+        this.format = format;
+        this.out = out;
+        this.writer = out instanceof Writer ? (Writer) out : null;
+        this.builder = out instanceof StringBuilder ? (StringBuilder) out : null;
+        this.buffer = new char[bufferSize];
+        this.bufferView = CharBuffer.wrap(buffer);
+        this.delimiter = format.getDelimiter();
+        this.quoting = format.isQuoteCharacterSet();
+        this.quoteChar = quoting ? format.getQuoteCharacter().charValue() : 0;
+        this.escaping = format.isEscapeCharacterSet();
+        this.escapeChar = escaping ? format.getEscapeCharacter().charValue() : 0;
+        this.quoteEscapeChar = escaping ? escapeChar : quoteChar;
+        this.quoteMode = format.getQuoteMode() == null ? QuoteMode.MINIMAL : format.getQuoteMode();
+        this.trim = format.getTrim();
+        final String nullString = format.getNullString();
+        final String nullText;
+        if (nullString == null) {
+            nullText = EMPTY;
+        } else if (quoteMode == QuoteMode.ALL) {
+            nullText = format.getQuoteCharacter() + nullString + format.getQuoteCharacter();
+        } else {
+            nullText = nullString;
+        }
+        this.nullValue = trim ? nullText.trim() : nullText;
+        this.recordSeparator = format.getRecordSeparator();
+        this.trailingDelimiter = format.getTrailingDelimiter();
+
+        int max = Math.max(Math.max(delimiter, LF), CR);
+        if (quoting) {
+            max = Math.max(max, Math.max(quoteChar, quoteEscapeChar));
+        }
+        if (escaping) {
+            max = Math.max(max, escapeChar);
+        }
+        this.flags = new byte[Math.max(128, max + 1)];
+        if (quoting) {
+            flags[LF] |= QUOTE_TRIGGER;
+            flags[CR] |= QUOTE_TRIGGER;
+            flags[delimiter] |= QUOTE_TRIGGER;
+            flags[quoteChar] |= QUOTE_TRIGGER | QUOTE_ESCAPED;
+            flags[quoteEscapeChar] |= QUOTE_TRIGGER | QUOTE_ESCAPED;
+        }
+        if (escaping) {
+            flags[LF] |= ESCAPED;
+            flags[CR] |= ESCAPED;
+            flags[delimiter] |= ESCAPED;
+            flags[escapeChar] |= ESCAPED;
+        }
+    }
+
+    /**
+     * Appends a character as is.
+     */
+    void append(final char c) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = c;
+    }
+
+    /**
+     * Appends characters as is.
+     */
+    void append(final CharSequence value) throws IOException {
+        append(value, 0, value.length());
+    }
+
+    private void append(final CharSequence value, final int start, final int end) throws IOException {
+        final int len = end - start;
+        if (len == 0) {
+            return;
+        }
+        if (count + len > buffer.length) {
+            flushBuffer();
+            if (len > buffer.length) {
+                out.append(value, start, end);
+                return;
+            }
+        }
+        if (value instanceof String) {
+            ((String) value).getChars(start, end, buffer, count);
+        } else if (value instanceof StringBuilder) {
+            ((StringBuilder) value).getChars(start, end, buffer, count);
+        } else {
+            for (int i = start; i < end; i++) {
+                buffer[count + i - start] = value.charAt(i);
+            }
+        }
+        count += len;
+    }
+
+    private int flags(final char c) {
+        return c < flags.length ? flags[c] : 0;
+    }
+
+    /**
+     * Writes the buffered characters to the output.
+     */
+    void flushBuffer() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        if (writer != null) {
+            writer.write(buffer, 0, count);
+        } else if (builder != null) {
+            builder.append(buffer, 0, count);
+        } else {
+            out.append(bufferView, 0, count);
+        }
+        count = 0;
+    }
+
+    /**
+     * Formats a long at the end of the digits buffer.
+     *
+     * @return the position of the first character
+     */
+    private int formatLong(final long value, final int end) {
+        int pos = end;
+        // work with negative numbers, as the range of negative values is the larger one
+        long q = value < 0 ? value : -value;
+        do {
+            digits[--pos] = (char) ('0' - (int) (q % 10));
+            q /= 10;
+        } while (q != 0);
+        if (value < 0) {
+            digits[--pos] = '-';
+        }
+        return pos;
+    }
+
+    /**
+     * Prints a value as {@link CSVFormat#print(Object, Appendable, boolean)} does.
+     */
+    void print(final Object value, final boolean newRecord) throws IOException {
+        if (value == null) {
+            if (!newRecord) {
+                append(delimiter);
+            }
+            append(nullValue);
+        } else if (value instanceof CharSequence) {
+            final CharSequence charSequence = (CharSequence) value;
+            print(false, charSequence, 0, charSequence.length(), newRecord);
+        } else if (value instanceof Reader) {
+            flushBuffer();
+            format.print(value, out, newRecord);
+        } else {
+            final String string = value.toString();
+            print(value instanceof Number, string, 0, string.length(), newRecord);
+        }
+    }
+
+    private void print(final boolean number, final CharSequence value, int start, int end, final boolean newRecord)
+        throws IOException {
+        if (trim) {
+            while (start < end && value.charAt(start) <= SP) {
+                start++;
+            }
+            while (start < end && value.charAt(end - 1) <= SP) {
+                end--;
+            }
+        }
+        if (!newRecord) {
+            append(delimiter);
+        }
+        if (quoting) {
+            printWithQuotes(number, value, start, end, newRecord);
+        } else if (escaping) {
+            printWithEscapes(value, start, end);
+        } else {
+            append(value, start, end);
+        }
+    }
+
+    /**
+     * Prints a double as {@code print(Double.valueOf(value), newRecord)} does.
+     */
+    void printDouble(final double value, final boolean newRecord) throws IOException {
+        if (value == (long) value && value > -MAX_PLAIN_DOUBLE && value < MAX_PLAIN_DOUBLE
+            && (value != 0 || 1 / value > 0)) {
+            final int end = digits.length;
+            digits[end - 2] = '.';
+            digits[end - 1] = '0';
+            print(true, digitsView, formatLong((long) value, end - 2), end, newRecord);
+        } else {
+            final String string = Double.toString(value);
+            print(true, string, 0, string.length(), newRecord);
+        }
+    }
+
+    /**
+     * Prints a long as {@code print(Long.valueOf(value), newRecord)} does.
+     */
+    void printLong(final long value, final boolean newRecord) throws IOException {
+        final int end = digits.length;
+        print(true, digitsView, formatLong(value, end), end, newRecord);
+    }
+
+    /**
+     * Prints the end of a record as {@link CSVFormat#println(Appendable)} does.
+     */
+    void println() throws IOException {
+        if (trailingDelimiter) {
+            append(delimiter);
+        }
+        if (recordSeparator != null) {
+            append(recordSeparator);
+        }
+    }
+
+    private void printWithEscapes(final CharSequence value, final int start, final int end) throws IOException {
+        int segment = start;
+        for (int pos = start; pos < end; pos++) {
+            final char c = value.charAt(pos);
+            if ((flags(c) & ESCAPED) != 0) {
+                append(value, segment, pos);
+                append(escapeChar);
+                append(c == LF ? 'n' : c == CR ? 'r' : c);
+                segment = pos + 1;
+            }
+        }
+        append(value, segment, end);
+    }
+
+    private void printWithQuotes(final boolean number, final CharSequence value, final int start, final int end,
+        final boolean newRecord) throws IOException {
+        int pos = start;
+        boolean quote = false;
+        switch (quoteMode) {
+        case ALL:
+        case ALL_NON_NULL:
+            quote = true;
+            break;
+        case NON_NUMERIC:
+            quote = !number;
+            break;
+        case NONE:
+            printWithEscapes(value, start, end);
+            return;
+        case MINIMAL:
+            if (start == end) {
+                // always quote an empty token that is the first on the line, see CSVFormat
+                quote = newRecord;
+            } else if (value.charAt(start) <= COMMENT) {
+                quote = true;
+            } else {
+                while (pos < end) {
+                    if ((flags(value.charAt(pos)) & QUOTE_TRIGGER) != 0) {
+                        quote = true;
+                        break;
+                    }
+                    pos++;
+                }
+                if (!quote) {
+                    pos = end - 1;
+                    quote = value.charAt(pos) <= SP;
+                }
+            }
+            break;
+        default:
+            throw new IllegalStateException("Unexpected Quote value: " + quoteMode);
+        }
+
+        if (!quote) {
+            append(value, start, end);
+            return;
+        }
+
+        append(quoteChar);
+        // pos is on the first character that may need an escape
+        int segment = start;
+        for (; pos < end; pos++) {
+            if ((flags(value.charAt(pos)) & QUOTE_ESCAPED) != 0) {
+                append(value, segment, pos);
+                append(quoteEscapeChar);
+                segment = pos;
+            }
+        }
+        append(value, segment, end);
+        append(quoteChar);
+    }
+}
@@ -23,12 +23,15 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPInputStream;
 
 import com.generationjava.io.CsvReader;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -54,8 +57,17 @@ import org.supercsv.prefs.CsvPreference;
 @State(Scope.Benchmark)
 public class CSVBenchmark {
 
+    /** The number of records printed by the printer benchmarks. */
+    private static final int PRINTED_RECORDS = 100_000;
+
     private String data;
 
+    /** The first records of the data, for the printer benchmarks. */
+    private List<String[]> records;
+
+    /** The latitudes of the records, for the printer benchmarks. */
+    private double[] latitudes;
+
     /**
      * Load the data in memory before running the benchmarks, this takes out IO from the results.
      */
@@ -65,6 +77,20 @@ public class CSVBenchmark {
         final InputStream in = new GZIPInputStream(new FileInputStream(file));
         this.data = IOUtils.toString(in, "ISO-8859-1");
         in.close();
+
+        this.records = new ArrayList<>(PRINTED_RECORDS);
+        try (final CSVParser parser = CSVFormat.DEFAULT.withHeader().parse(getReader())) {
+            for (final CSVRecord record : parser) {
+                records.add(record.values());
+                if (records.size() == PRINTED_RECORDS) {
+                    break;
+                }
+            }
+        }
+        this.latitudes = new double[records.size()];
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = Double.parseDouble(records.get(i)[5]);
+        }
     }
 
     private BufferedReader getReader() {
@@ -116,6 +142,25 @@ public class CSVBenchmark {
         return count;
     }
 
+    @Benchmark
+    public int parseCommonsCSVCursor(final Blackhole bh) throws Exception {
+        final BufferedReader in = getReader();
+
+        final CSVFormat format = CSVFormat.DEFAULT.withHeader();
+
+        int count = 0;
+        try (final CSVParser parser = format.parse(in)) {
+            final CSVRecordCursor cursor = parser.cursor();
+            while (cursor.next()) {
+                bh.consume(cursor.get(0));
+                count++;
+            }
+        }
+
+        bh.consume(count);
+        return count;
+    }
+
     @Benchmark
     public int parseGenJavaCSV(final Blackhole bh) throws Exception {
         final BufferedReader in = getReader();
@@ -207,4 +252,58 @@ public class CSVBenchmark {
         in.close();
         return count;
     }
+
+    private int printRecords(final CSVPrinter printer) throws IOException {
+        for (final String[] record : records) {
+            printer.printRecord((Object[]) record);
+        }
+        printer.flush();
+        return records.size();
+    }
+
+    @Benchmark
+    public int printCommonsCSV(final Blackhole bh) throws Exception {
+        final Writer out = new NullWriter();
+        final int count = printRecords(new CSVPrinter(out, CSVFormat.DEFAULT));
+
+        bh.consume(count);
+        return count;
+    }
+
+    @Benchmark
+    public int printCommonsCSVBuffered(final Blackhole bh) throws Exception {
+        final Writer out = new NullWriter();
+        final int count = printRecords(new CSVPrinter(out, CSVFormat.DEFAULT, 64 * 1024));
+
+        bh.consume(count);
+        return count;
+    }
+
+    @Benchmark
+    public int printCommonsCSVNumbers(final Blackhole bh) throws Exception {
+        final Writer out = new NullWriter();
+        final CSVPrinter printer = new CSVPrinter(out, CSVFormat.DEFAULT);
+        for (int i = 0; i < latitudes.length; i++) {
+            printer.printRecord(Integer.valueOf(i), Double.valueOf(latitudes[i]));
+        }
+        printer.flush();
+
+        bh.consume(latitudes.length);
+        return latitudes.length;
+    }
+
+    @Benchmark
+    public int printCommonsCSVPrimitives(final Blackhole bh) throws Exception {
+        final Writer out = new NullWriter();
+        final CSVPrinter printer = new CSVPrinter(out, CSVFormat.DEFAULT, 64 * 1024);
+        for (int i = 0; i < latitudes.length; i++) {
+            printer.printLong(i);
+            printer.printDouble(latitudes[i]);
+            printer.println();
+        }
+        printer.flush();
+
+        bh.consume(latitudes.length);
+        return latitudes.length;
+    }
 }
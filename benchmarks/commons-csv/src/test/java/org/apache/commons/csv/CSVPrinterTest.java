@@ -231,6 +231,56 @@ public class CSVPrinterTest {
         }
     }
 
+    @Test
+    public void testBufferedSameAsUnbuffered() throws IOException {
+        final Object[] values = {"a", "", " b ", "c,d", "e\"f", "g\nh", "i\r\nj", "#k", "l\\m", "n\t", null,
+            Integer.valueOf(-12), Double.valueOf(1.5), "\u20ACo", new StringBuilder(" p,q "), "NULL"};
+        final CSVFormat[] formats = {CSVFormat.DEFAULT, CSVFormat.EXCEL, CSVFormat.MYSQL, CSVFormat.TDF,
+            CSVFormat.POSTGRESQL_CSV, CSVFormat.POSTGRESQL_TEXT, CSVFormat.INFORMIX_UNLOAD,
+            CSVFormat.DEFAULT.withQuoteMode(QuoteMode.ALL).withNullString("NULL"),
+            CSVFormat.DEFAULT.withQuoteMode(QuoteMode.NON_NUMERIC).withTrailingDelimiter(),
+            CSVFormat.DEFAULT.withEscape('!').withQuoteMode(QuoteMode.NONE),
+            CSVFormat.DEFAULT.withEscape('\\').withTrim().withRecordSeparator(null),
+            CSVFormat.DEFAULT.withQuote(null).withDelimiter('\u00A7')};
+        for (final CSVFormat format : formats) {
+            final StringWriter expected = new StringWriter();
+            try (final CSVPrinter printer = new CSVPrinter(expected, format)) {
+                printer.printRecord(values);
+                printer.printComment("comment");
+                printer.print("x");
+                printer.print(null);
+                printer.println();
+                printer.printRecord(Arrays.asList(values));
+            }
+            for (final int bufferSize : new int[] {1, 5, 8192}) {
+                final StringWriter actual = new StringWriter();
+                try (final CSVPrinter printer = new CSVPrinter(actual, format, bufferSize)) {
+                    printer.printRecord(values);
+                    printer.printComment("comment");
+                    printer.print("x");
+                    printer.print(null);
+                    printer.println();
+                    printer.printRecord(Arrays.asList(values));
+                }
+                assertEquals(expected.toString(), actual.toString(), format + ", buffer " + bufferSize);
+            }
+        }
+    }
+
+    @Test
+    public void testBufferedWritesOnFlush() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        try (final CSVPrinter printer = new CSVPrinter(sb, CSVFormat.DEFAULT, 1024)) {
+            printer.printRecord("a", "b");
+            assertEquals("", sb.toString());
+            printer.flush();
+            assertEquals("a,b" + recordSeparator, sb.toString());
+            printer.printRecord("c", "d");
+        }
+        assertEquals("a,b" + recordSeparator + "c,d" + recordSeparator, sb.toString());
+        assertThrows(IllegalArgumentException.class, () -> new CSVPrinter(new StringBuilder(), CSVFormat.DEFAULT, -1));
+    }
+
     @Test
     public void testCloseBackwardCompatibility() throws IOException {
         try (final Writer writer = mock(Writer.class)) {
@@ -1254,6 +1304,36 @@ public class CSVPrinterTest {
         }
     }
 
+    @Test
+    public void testPrintLongAndDouble() throws IOException {
+        final long[] longs = {0, 1, -1, 42, -2147483648L, Long.MAX_VALUE, Long.MIN_VALUE};
+        final double[] doubles = {0.0, -0.0, 1.0, -3.0, 9999999.0, 1e7, -1e7, 0.1, 1.5e-5, 123.456, Double.NaN,
+            Double.NEGATIVE_INFINITY, Double.MAX_VALUE, Double.MIN_VALUE};
+        final CSVFormat[] formats = {CSVFormat.DEFAULT, CSVFormat.DEFAULT.withQuoteMode(QuoteMode.ALL),
+            CSVFormat.DEFAULT.withQuoteMode(QuoteMode.NON_NUMERIC), CSVFormat.DEFAULT.withDelimiter('.'),
+            CSVFormat.MYSQL.withDelimiter('-')};
+        for (final CSVFormat format : formats) {
+            final StringWriter expected = new StringWriter();
+            final StringWriter actual = new StringWriter();
+            try (final CSVPrinter boxed = new CSVPrinter(expected, format);
+                final CSVPrinter primitive = new CSVPrinter(actual, format, 16)) {
+                for (final long value : longs) {
+                    boxed.print(Long.valueOf(value));
+                    primitive.printLong(value);
+                }
+                boxed.println();
+                primitive.println();
+                for (final double value : doubles) {
+                    boxed.print(Double.valueOf(value));
+                    primitive.printDouble(value);
+                }
+                boxed.println();
+                primitive.println();
+            }
+            assertEquals(expected.toString(), actual.toString(), format.toString());
+        }
+    }
+
     @Test
     public void testPrintNullValues() throws IOException {
         final StringWriter sw = new StringWriter();
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.csv;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CSVRecordCursorTest {
+
+    private static final String CSV = "# first\na,b,c\n1, \"x\ny\" ,NULL\n\n\"\"\"q\"\"\",,3\n# last\n-7,2.5,\n";
+
+    private void assertSameAsRecords(final CSVFormat format, final String csv) throws IOException {
+        final List<CSVRecord> records;
+        try (final CSVParser parser = CSVParser.parse(csv, format)) {
+            records = parser.getRecords();
+        }
+        try (final CSVParser parser = CSVParser.parse(csv, format)) {
+            final CSVRecordCursor cursor = parser.cursor();
+            for (final CSVRecord record : records) {
+                assertTrue(cursor.next());
+                assertEquals(record.size(), cursor.size());
+                for (int i = 0; i < record.size(); i++) {
+                    assertEquals(record.get(i), cursor.getString(i));
+                }
+                assertEquals(record.getComment(), cursor.getComment());
+                assertEquals(record.getRecordNumber(), cursor.getRecordNumber());
+                assertEquals(record.getCharacterPosition(), cursor.getCharacterPosition());
+                assertArrayEquals(record.values(), cursor.toRecord().values());
+            }
+            assertFalse(cursor.next());
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    public void testGetByName() throws IOException {
+        try (final CSVParser parser = CSVParser.parse("id,name\n1,a\n2\n", CSVFormat.DEFAULT.withFirstRecordAsHeader())) {
+            final CSVRecordCursor cursor = parser.cursor();
+            assertTrue(cursor.next());
+            assertEquals(1, cursor.getInt("id"));
+            assertEquals("a", cursor.getString("name"));
+            assertTrue(cursor.isMapped("name"));
+            assertFalse(cursor.isMapped("other"));
+            assertThrows(IllegalArgumentException.class, () -> cursor.get("other"));
+            assertEquals("id", cursor.toRecord().getParser().getHeaderNames().get(0));
+            assertTrue(cursor.next());
+            assertThrows(IllegalArgumentException.class, () -> cursor.get("name"));
+        }
+        try (final CSVParser parser = CSVParser.parse("1,a\n", CSVFormat.DEFAULT)) {
+            final CSVRecordCursor cursor = parser.cursor();
+            assertTrue(cursor.next());
+            assertThrows(IllegalStateException.class, () -> cursor.get("id"));
+        }
+    }
+
+    @Test
+    public void testLargeRecord() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(i).append(",");
+        }
+        for (int i = 0; i < 1000; i++) {
+            sb.append("long value ");
+        }
+        sb.append("\nx\n");
+        assertSameAsRecords(CSVFormat.DEFAULT, sb.toString());
+    }
+
+    @Test
+    public void testNumbers() throws IOException {
+        final String csv = "0,-2147483648,2147483647,-9223372036854775808,9223372036854775807,+12,007\n"
+            + "2147483648,-2147483649,9223372036854775808,1a,,-,+\n"
+            + "1.5,-0.1,.25,3.,1e3,123456789.123456789,0.30000000000000004,NaN,-Infinity,0x1p3,1.5d\n";
+        try (final CSVParser parser = CSVParser.parse(csv, CSVFormat.DEFAULT)) {
+            final CSVRecordCursor cursor = parser.cursor();
+            assertTrue(cursor.next());
+            for (int i = 0; i < cursor.size(); i++) {
+                final String value = cursor.getString(i);
+                assertEquals(Long.parseLong(value), cursor.getLong(i), value);
+                if (i != 3 && i != 4) {
+                    assertEquals(Integer.parseInt(value), cursor.getInt(i), value);
+                }
+                assertEquals(Double.parseDouble(value), cursor.getDouble(i), 0, value);
+            }
+            assertThrows(NumberFormatException.class, () -> cursor.getInt(3));
+            assertThrows(NumberFormatException.class, () -> cursor.getInt(4));
+
+            assertTrue(cursor.next());
+            assertThrows(NumberFormatException.class, () -> cursor.getInt(0));
+            assertThrows(NumberFormatException.class, () -> cursor.getInt(1));
+            assertEquals(2147483648L, cursor.getLong(0));
+            assertEquals(-2147483649L, cursor.getLong(1));
+            for (int i = 2; i < cursor.size(); i++) {
+                final int index = i;
+                assertThrows(NumberFormatException.class, () -> cursor.getLong(index));
+            }
+
+            assertTrue(cursor.next());
+            for (int i = 0; i < cursor.size(); i++) {
+                final String value = cursor.getString(i);
+                assertEquals(Double.doubleToLongBits(Double.parseDouble(value)),
+                    Double.doubleToLongBits(cursor.getDouble(i)), value);
+            }
+        }
+    }
+
+    @Test
+    public void testReusesValues() throws IOException {
+        try (final CSVParser parser = CSVParser.parse("a,b\nc,d\n", CSVFormat.DEFAULT)) {
+            final CSVRecordCursor cursor = parser.cursor();
+            assertTrue(cursor.next());
+            final CharSequence first = cursor.get(1);
+            assertEquals("b", first.toString());
+            assertTrue(cursor.next());
+            assertSame(first, cursor.get(1));
+            assertEquals("d", first.toString());
+            assertEquals('d', first.charAt(0));
+            assertEquals("", first.subSequence(1, 1));
+            assertThrows(IndexOutOfBoundsException.class, () -> first.charAt(1));
+            assertThrows(ArrayIndexOutOfBoundsException.class, () -> cursor.get(2));
+        }
+    }
+
+    @Test
+    public void testSameAsRecords() throws IOException {
+        final CSVFormat format = CSVFormat.DEFAULT.withCommentMarker('#');
+        assertSameAsRecords(format, CSV);
+        assertSameAsRecords(format.withIgnoreEmptyLines(false), CSV);
+        assertSameAsRecords(format.withTrim().withNullString("NULL"), CSV);
+        assertSameAsRecords(format.withIgnoreSurroundingSpaces().withTrailingDelimiter(), CSV);
+        assertSameAsRecords(format.withFirstRecordAsHeader(), CSV);
+        assertSameAsRecords(CSVFormat.MYSQL, "a\\tb\t\\N\tc\n\\N\n");
+    }
+
+    @Test
+    public void testNullString() throws IOException {
+        try (final CSVParser parser = CSVParser.parse("NULL,NUL,\n", CSVFormat.DEFAULT.withNullString("NULL"))) {
+            final CSVRecordCursor cursor = parser.cursor();
+            assertTrue(cursor.next());
+            assertNull(cursor.get(0));
+            assertNull(cursor.getString(0));
+            assertThrows(NumberFormatException.class, () -> cursor.getLong(0));
+            assertEquals("NUL", cursor.getString(1));
+            assertEquals("", cursor.getString(2));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.csv;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ParallelCSVParserTest {
+
+    private static ForkJoinPool pool;
+
+    private Path file;
+
+    @BeforeAll
+    public static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    public static void stopPool() {
+        pool.shutdown();
+    }
+
+    @BeforeEach
+    public void createFile() throws IOException {
+        file = Files.createTempFile("parallel", ".csv");
+    }
+
+    @AfterEach
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private void assertSameRecords(final CSVFormat format, final long splitSize) throws IOException {
+        final List<CSVRecord> expected;
+        try (final CSVParser parser = CSVParser.parse(file, StandardCharsets.UTF_8, format)) {
+            expected = parser.getRecords();
+        }
+        final List<CSVRecord> actual;
+        try (final Stream<CSVRecord> stream = CSVParser.parallelStream(file, StandardCharsets.UTF_8, format, pool,
+            splitSize)) {
+            actual = stream.collect(Collectors.toList());
+        }
+        assertEquals(expected.size(), actual.size(), "splitSize " + splitSize);
+        for (int i = 0; i < expected.size(); i++) {
+            final CSVRecord e = expected.get(i);
+            final CSVRecord a = actual.get(i);
+            assertArrayEquals(e.values(), a.values(), "splitSize " + splitSize + ", record " + i);
+            assertEquals(e.getComment(), a.getComment());
+            assertEquals(e.getRecordNumber(), a.getRecordNumber());
+            assertEquals(e.getCharacterPosition(), a.getCharacterPosition());
+            assertEquals(e.toMap(), a.toMap());
+        }
+    }
+
+    private void write(final String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testBoundariesAreRecordStarts() throws IOException {
+        write("a,\"b\nc\"\r\nd,e\r\n# comment\n\"\"\"f\n\",g\n");
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long[] boundaries = ParallelCSVParser.findBoundaries(channel,
+                CSVFormat.DEFAULT.withCommentMarker('#'), 1);
+            // after the first record, then before the comment of the third record, then the end of the file
+            assertArrayEquals(new long[] {0, 9, 14, 33}, boundaries);
+        }
+    }
+
+    @Test
+    public void testCallback() throws IOException {
+        final StringBuilder sb = new StringBuilder("id,name\n");
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i).append(",name ").append(i).append('\n');
+        }
+        write(sb.toString());
+        final List<Integer> sizes = new ArrayList<>();
+        final List<CSVRecord> records = new ArrayList<>();
+        CSVParser.parallelParse(file, StandardCharsets.UTF_8, CSVFormat.DEFAULT.withFirstRecordAsHeader(), pool, 1000,
+            split -> {
+                sizes.add(Integer.valueOf(split.size()));
+                records.addAll(split);
+            });
+        assertTrue(sizes.size() > 1);
+        assertEquals(1000, records.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.toString(i), records.get(i).get("id"));
+            assertEquals(i + 1, records.get(i).getRecordNumber());
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        write("");
+        try (final Stream<CSVRecord> stream = CSVParser.parallelStream(file, StandardCharsets.UTF_8,
+            CSVFormat.DEFAULT)) {
+            assertEquals(0, stream.count());
+        }
+    }
+
+    @Test
+    public void testParseError() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sb.append(i).append(",x\n");
+        }
+        write(sb.append("\"unterminated\n").toString());
+        assertThrows(IOException.class, () -> CSVParser.parallelParse(file, StandardCharsets.UTF_8,
+            CSVFormat.DEFAULT, pool, 16, split -> {
+                // nothing to do
+            }));
+        try (final Stream<CSVRecord> stream = CSVParser.parallelStream(file, StandardCharsets.UTF_8,
+            CSVFormat.DEFAULT, pool, 16)) {
+            assertThrows(UncheckedIOException.class, stream::count);
+        }
+    }
+
+    @Test
+    public void testSameAsSequential() throws IOException {
+        final StringBuilder sb = new StringBuilder("# header comment\nid,text,more\n");
+        for (int i = 0; i < 500; i++) {
+            switch (i % 5) {
+            case 0:
+                sb.append(i).append(",\"multi\nline, \"\"quoted\"\"\r\nvalue\",x\r\n");
+                break;
+            case 1:
+                sb.append("# a comment\n").append(i).append(",caf\u00e9 \u20ac,y\n");
+                break;
+            case 2:
+                sb.append(i).append(",\"\",\n\n");
+                break;
+            case 3:
+                sb.append(i).append(",\"a\"\"\nb\",\"\"\"\"\r");
+                break;
+            default:
+                sb.append(i).append(",plain,z\n");
+                break;
+            }
+        }
+        write(sb.toString());
+        final CSVFormat format = CSVFormat.DEFAULT.withFirstRecordAsHeader().withCommentMarker('#');
+        for (final long splitSize : new long[] {1, 7, 64, 1000, 1 << 20}) {
+            assertSameRecords(format, splitSize);
+            assertSameRecords(format.withIgnoreEmptyLines(false), splitSize);
+        }
+    }
+
+    @Test
+    public void testSameAsSequentialWithEscape() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            sb.append(i).append(i % 2 == 0 ? ",a\\\nb, \"c\nd\" \n" : ",\\\"x,'\\'y\n");
+        }
+        write(sb.toString());
+        for (final long splitSize : new long[] {1, 13, 256}) {
+            assertSameRecords(CSVFormat.MYSQL, splitSize);
+            assertSameRecords(CSVFormat.DEFAULT.withEscape('\\').withIgnoreSurroundingSpaces(), splitSize);
+        }
+    }
+
+    @Test
+    public void testUnsupportedCharset() throws IOException {
+        write("a,b\n");
+        assertThrows(IllegalArgumentException.class,
+            () -> CSVParser.parallelStream(file, StandardCharsets.UTF_16, CSVFormat.DEFAULT));
+        assertThrows(IllegalArgumentException.class,
+            () -> CSVParser.parallelStream(file, StandardCharsets.UTF_8, CSVFormat.DEFAULT.withDelimiter('\u00a7')));
+    }
+}
@@ -236,6 +236,23 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
      */
     private int maxOpenPreparedStatements = GenericKeyedObjectPoolConfig.DEFAULT_MAX_TOTAL;
 
+    /**
+     * True means that the keys of the pooled statements are interned and counted by a {@link StatementRegistry} shared
+     * by all the connections. Only used when statements are pooled.
+     */
+    private boolean registerPreparedStatements;
+
+    /**
+     * The maximum number of the most requested statements prepared on each new connection. Only used when statements
+     * are pooled and registered.
+     */
+    private int prewarmPreparedStatements;
+
+    /**
+     * The registry of the statement keys, created with the first connection factory which registers them.
+     */
+    private volatile StatementRegistry statementRegistry;
+
     /**
      * The indication of whether objects will be validated as soon as they have been created by the pool. If the object
      * fails to validate, the borrow operation that triggered the creation will fail.
@@ -346,6 +363,39 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
 
     private boolean fastFailValidation;
 
+    /**
+     * True means that the connection pool is a {@link FastBorrowObjectPool}, which parks the returned connections in a
+     * lock-free bag.
+     */
+    private boolean fastBorrow;
+
+    /**
+     * The times spent in {@link #getConnection()}.
+     */
+    private final WaitTimeHistogram borrowWaitTimeHistogram = new WaitTimeHistogram();
+
+    /**
+     * True means that connections are created by a background thread, which keeps minIdle plus
+     * {@link #asyncFillHeadroom} idle connections ready.
+     */
+    private boolean asyncConnectionFill;
+
+    /**
+     * The number of idle connections kept ready on top of minIdle when {@link #asyncConnectionFill} is set.
+     */
+    private int asyncFillHeadroom = 1;
+
+    /**
+     * The time in milliseconds after a connection is created or returned during which validation does not run the
+     * validation query. Zero or less validates every connection.
+     */
+    private long validationSkipWindowMillis = -1;
+
+    /**
+     * The background creator of connections, null unless {@link #asyncConnectionFill} is set.
+     */
+    private volatile ConnectionFiller connectionFiller;
+
     /**
      * The object pool that internally manages our connections.
      */
@@ -419,6 +469,7 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
             registeredJmxObjectName = null;
         }
         closed = true;
+        stopConnectionFiller();
         final GenericObjectPool<?> oldPool = connectionPool;
         connectionPool = null;
         dataSource = null;
@@ -437,6 +488,7 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
      * Closes the connection pool, silently swallowing any exception that occurs.
      */
     private void closeConnectionPool() {
+        stopConnectionFiller();
         final GenericObjectPool<?> oldPool = connectionPool;
         connectionPool = null;
         try {
@@ -591,6 +643,12 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
             // task
             startPoolMaintenance();
 
+            // If asyncConnectionFill, create the idle connections in the background
+            if (asyncConnectionFill) {
+                connectionFiller = new ConnectionFiller(connectionPool, asyncFillHeadroom);
+                connectionFiller.fill();
+            }
+
             dataSource = newDataSource;
             return dataSource;
         }
@@ -623,9 +681,11 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         GenericObjectPool<PoolableConnection> gop;
         if (abandonedConfig != null && (abandonedConfig.getRemoveAbandonedOnBorrow()
                 || abandonedConfig.getRemoveAbandonedOnMaintenance())) {
-            gop = new GenericObjectPool<>(factory, poolConfig, abandonedConfig);
+            gop = fastBorrow ? new FastBorrowObjectPool<>(factory, poolConfig, abandonedConfig)
+                    : new GenericObjectPool<>(factory, poolConfig, abandonedConfig);
         } else {
-            gop = new GenericObjectPool<>(factory, poolConfig);
+            gop = fastBorrow ? new FastBorrowObjectPool<>(factory, poolConfig)
+                    : new GenericObjectPool<>(factory, poolConfig);
         }
         return gop;
     }
@@ -656,7 +716,9 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
             connectionFactory.setCacheState(cacheState);
             connectionFactory.setPoolStatements(poolPreparedStatements);
             connectionFactory.setMaxOpenPreparedStatements(maxOpenPreparedStatements);
+            configureStatementRegistry(connectionFactory);
             connectionFactory.setMaxConnLifetimeMillis(maxConnLifetimeMillis);
+            connectionFactory.setValidationSkipWindowMillis(validationSkipWindowMillis);
             connectionFactory.setRollbackOnReturn(getRollbackOnReturn());
             connectionFactory.setAutoCommitOnReturn(getAutoCommitOnReturn());
             connectionFactory.setDefaultQueryTimeout(getDefaultQueryTimeout());
@@ -671,6 +733,24 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return connectionFactory;
     }
 
+    /**
+     * Sets the statement registry of this data source, created on first use, and the number of statements to prewarm
+     * on a connection factory, when prepared statements are pooled and registered. Subclasses replacing
+     * {@link #createPoolableConnectionFactory(ConnectionFactory)} call it to honor these properties.
+     *
+     * @param connectionFactory the connection factory to configure
+     * @since 2.8.0
+     */
+    protected void configureStatementRegistry(final PoolableConnectionFactory connectionFactory) {
+        if (poolPreparedStatements && registerPreparedStatements) {
+            if (statementRegistry == null) {
+                statementRegistry = new StatementRegistry();
+            }
+            connectionFactory.setStatementRegistry(statementRegistry);
+            connectionFactory.setPrewarmStatementCount(prewarmPreparedStatements);
+        }
+    }
+
     /**
      * Manually evicts idle connections
      *
@@ -720,6 +800,34 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return autoCommitOnReturn;
     }
 
+    /**
+     * Returns true if connections are created by a background thread, which keeps {@link #getMinIdle() minIdle} plus
+     * {@link #getAsyncFillHeadroom() asyncFillHeadroom} idle connections ready so that borrowing threads seldom wait for
+     * the database. A fill is requested when the pool is initialized and after each borrow. Connections are still
+     * created by the borrowing threads when the pool runs out of idle connections. Set {@link #setTestOnCreate(boolean)
+     * testOnCreate} to validate the new connections on the background thread too.
+     *
+     * @return true if connections are created in the background
+     * @see #setAsyncConnectionFill(boolean)
+     * @since 2.8.0
+     */
+    @Override
+    public boolean getAsyncConnectionFill() {
+        return asyncConnectionFill;
+    }
+
+    /**
+     * Returns the number of idle connections kept ready on top of {@link #getMinIdle() minIdle} when
+     * {@link #getAsyncConnectionFill() asyncConnectionFill} is set. The default is 1.
+     *
+     * @return the number of idle connections kept ready on top of minIdle
+     * @since 2.8.0
+     */
+    @Override
+    public int getAsyncFillHeadroom() {
+        return asyncFillHeadroom;
+    }
+
     /**
      * Returns the state caching flag.
      *
@@ -738,10 +846,12 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
      */
     @Override
     public Connection getConnection() throws SQLException {
+        final long startNanos = System.nanoTime();
+        final Connection connection;
         if (Utils.IS_SECURITY_ENABLED) {
             final PrivilegedExceptionAction<Connection> action = new PaGetConnection();
             try {
-                return AccessController.doPrivileged(action);
+                connection = AccessController.doPrivileged(action);
             } catch (final PrivilegedActionException e) {
                 final Throwable cause = e.getCause();
                 if (cause instanceof SQLException) {
@@ -749,8 +859,15 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
                 }
                 throw new SQLException(e);
             }
+        } else {
+            connection = createDataSource().getConnection();
+        }
+        borrowWaitTimeHistogram.record(System.nanoTime() - startNanos);
+        final ConnectionFiller filler = connectionFiller;
+        if (filler != null) {
+            filler.fill();
         }
-        return createDataSource().getConnection();
+        return connection;
     }
 
     /**
@@ -770,6 +887,34 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         throw new UnsupportedOperationException("Not supported by BasicDataSource");
     }
 
+    /**
+     * Returns the histogram of the times spent borrowing connections with {@link #getConnection()}, including the
+     * creation and validation of the connections. Element {@code 0} counts the borrows shorter than one microsecond,
+     * element {@code i} the borrows of at least 2<sup>i-1</sup> and less than 2<sup>i</sup> microseconds, and the last
+     * element the longer borrows. Failed borrows are not counted.
+     *
+     * @return a new array of counts
+     * @since 2.8.0
+     */
+    @Override
+    public long[] getBorrowWaitTimeHistogram() {
+        return borrowWaitTimeHistogram.getCounts();
+    }
+
+    /**
+     * Estimates a percentile of the times spent borrowing connections, from {@link #getBorrowWaitTimeHistogram()}.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the upper bound in microseconds of the histogram element holding the percentile, 0 if no connection was
+     *         borrowed, or {@link Long#MAX_VALUE} if the percentile is in the last element
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100
+     * @since 2.8.0
+     */
+    @Override
+    public long getBorrowWaitTimePercentileMicros(final double percentile) {
+        return borrowWaitTimeHistogram.getPercentileMicros(percentile);
+    }
+
     /**
      * Returns the ConnectionFactoryClassName that has been configured for use by this pool.
      * <p>
@@ -978,6 +1123,20 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return fastFailValidation;
     }
 
+    /**
+     * True means that the connection pool parks the returned connections in a lock-free bag, and that a thread
+     * borrowing a connection first tries the connection it returned last, then the other parked connections, before
+     * the idle connections of the underlying pool.
+     *
+     * @return true if the connection pool is a {@link FastBorrowObjectPool}.
+     * @see #setFastBorrow(boolean)
+     * @since 2.8.0
+     */
+    @Override
+    public boolean getFastBorrow() {
+        return fastBorrow;
+    }
+
     /**
      * Returns the initial size of the connection pool.
      *
@@ -1218,6 +1377,18 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return this.password;
     }
 
+    /**
+     * Returns the maximum number of the most requested statements prepared on each new connection.
+     *
+     * @return the maximum number of statements prepared on each new connection
+     * @see #setPrewarmPreparedStatements(int)
+     * @since 2.8.0
+     */
+    @Override
+    public synchronized int getPrewarmPreparedStatements() {
+        return prewarmPreparedStatements;
+    }
+
     protected ObjectName getRegisteredJmxName() {
         return ObjectNameWrapper.unwrap(registeredJmxObjectName);
     }
@@ -1337,6 +1508,17 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return softMinEvictableIdleTimeMillis;
     }
 
+    /**
+     * Gets the registry interning the keys of the pooled statements and counting their hit rates.
+     *
+     * @return the registry, or null if the pool has not been initialized with statements pooled and registered
+     * @see #setRegisterPreparedStatements(boolean)
+     * @since 2.8.0
+     */
+    public StatementRegistry getStatementRegistry() {
+        return statementRegistry;
+    }
+
     /**
      * Returns the {@link #testOnBorrow} property.
      *
@@ -1433,6 +1615,20 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return validationQueryTimeoutSeconds;
     }
 
+    /**
+     * Returns the time in milliseconds after a connection is created or returned to the pool during which its
+     * validation only checks that it is open and within its lifetime, without running the validation query. A value of
+     * zero or less, the default, validates every connection.
+     *
+     * @return the validation skip window in milliseconds
+     * @see PoolableConnectionFactory#setValidationSkipWindowMillis(long)
+     * @since 2.8.0
+     */
+    @Override
+    public long getValidationSkipWindowMillis() {
+        return validationSkipWindowMillis;
+    }
+
     /**
      * Manually invalidates a connection, effectively requesting the pool to try to close it, remove it from the pool
      * and reclaim pool capacity.
@@ -1509,6 +1705,18 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         return this.poolPreparedStatements;
     }
 
+    /**
+     * Returns true if the keys of the pooled statements are interned and counted by a {@link StatementRegistry}.
+     *
+     * @return true if the keys of the pooled statements are registered
+     * @see #getStatementRegistry()
+     * @since 2.8.0
+     */
+    @Override
+    public synchronized boolean isRegisterPreparedStatements() {
+        return this.registerPreparedStatements;
+    }
+
     @Override
     public boolean isWrapperFor(final Class<?> iface) throws SQLException {
         return false;
@@ -1657,6 +1865,36 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         this.autoCommitOnReturn = autoCommitOnReturn;
     }
 
+    /**
+     * Sets the {@link #getAsyncConnectionFill()} property.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: <code>getConnection, setLogwriter,
+     * setLoginTimeout, getLoginTimeout, getLogWriter.</code>
+     * </p>
+     *
+     * @param asyncConnectionFill true means that connections are created by a background thread
+     * @since 2.8.0
+     */
+    public void setAsyncConnectionFill(final boolean asyncConnectionFill) {
+        this.asyncConnectionFill = asyncConnectionFill;
+    }
+
+    /**
+     * Sets the {@link #getAsyncFillHeadroom()} property.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: <code>getConnection, setLogwriter,
+     * setLoginTimeout, getLoginTimeout, getLogWriter.</code>
+     * </p>
+     *
+     * @param asyncFillHeadroom the number of idle connections kept ready on top of minIdle
+     * @since 2.8.0
+     */
+    public void setAsyncFillHeadroom(final int asyncFillHeadroom) {
+        this.asyncFillHeadroom = asyncFillHeadroom;
+    }
+
     // ----------------------------------------------------- DataSource Methods
 
     /**
@@ -1964,6 +2202,21 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         this.fastFailValidation = fastFailValidation;
     }
 
+    /**
+     * Sets the {@link #getFastBorrow()} property.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: <code>getConnection, setLogwriter,
+     * setLoginTimeout, getLoginTimeout, getLogWriter.</code>
+     * </p>
+     *
+     * @param fastBorrow true means that the connection pool parks the returned connections in a lock-free bag
+     * @since 2.8.0
+     */
+    public void setFastBorrow(final boolean fastBorrow) {
+        this.fastBorrow = fastBorrow;
+    }
+
     /**
      * <p>
      * Sets the initial size of the connection pool.
@@ -2218,6 +2471,42 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         this.poolPreparedStatements = poolingStatements;
     }
 
+    /**
+     * <p>
+     * Sets the maximum number of the most requested statements of the {@link #getStatementRegistry() statement
+     * registry} prepared on each new connection. Only used when statements are pooled and registered.
+     * </p>
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: <code>getConnection, setLogwriter,
+     * setLoginTimeout, getLoginTimeout, getLogWriter.</code>
+     * </p>
+     *
+     * @param prewarmPreparedStatements the maximum number of statements, 0 not to prepare any
+     * @since 2.8.0
+     */
+    public synchronized void setPrewarmPreparedStatements(final int prewarmPreparedStatements) {
+        this.prewarmPreparedStatements = prewarmPreparedStatements;
+    }
+
+    /**
+     * <p>
+     * Sets whether the keys of the pooled statements are interned and counted by a {@link StatementRegistry} shared by
+     * all the connections. Only used when statements are pooled.
+     * </p>
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: <code>getConnection, setLogwriter,
+     * setLoginTimeout, getLoginTimeout, getLogWriter.</code>
+     * </p>
+     *
+     * @param registerPreparedStatements registration on or off
+     * @since 2.8.0
+     */
+    public synchronized void setRegisterPreparedStatements(final boolean registerPreparedStatements) {
+        this.registerPreparedStatements = registerPreparedStatements;
+    }
+
     /**
      * @param removeAbandonedOnBorrow true means abandoned connections may be removed when connections are borrowed from
      *                                the pool.
@@ -2433,6 +2722,29 @@ public class BasicDataSource implements DataSource, BasicDataSourceMXBean, MBean
         this.validationQueryTimeoutSeconds = validationQueryTimeoutSeconds;
     }
 
+    /**
+     * Sets the {@link #getValidationSkipWindowMillis()} property.
+     * <p>
+     * Note: this method currently has no effect once the pool has been initialized. The pool is initialized the first
+     * time one of the following methods is invoked: <code>getConnection, setLogwriter,
+     * setLoginTimeout, getLoginTimeout, getLogWriter.</code>
+     * </p>
+     *
+     * @param validationSkipWindowMillis the validation skip window in milliseconds
+     * @since 2.8.0
+     */
+    public void setValidationSkipWindowMillis(final long validationSkipWindowMillis) {
+        this.validationSkipWindowMillis = validationSkipWindowMillis;
+    }
+
+    private void stopConnectionFiller() {
+        final ConnectionFiller filler = connectionFiller;
+        connectionFiller = null;
+        if (filler != null) {
+            filler.close();
+        }
+    }
+
     /**
      * Starts the connection pool maintenance task, if configured.
      */
@@ -108,6 +108,12 @@ public class BasicDataSourceFactory implements ObjectFactory {
     private static final String PROP_ENABLE_AUTO_COMMIT_ON_RETURN = "enableAutoCommitOnReturn";
     private static final String PROP_DEFAULT_QUERY_TIMEOUT = "defaultQueryTimeout";
     private static final String PROP_FAST_FAIL_VALIDATION = "fastFailValidation";
+    private static final String PROP_FAST_BORROW = "fastBorrow";
+    private static final String PROP_REGISTER_PREPARED_STATEMENTS = "registerPreparedStatements";
+    private static final String PROP_PREWARM_PREPARED_STATEMENTS = "prewarmPreparedStatements";
+    private static final String PROP_ASYNC_CONNECTION_FILL = "asyncConnectionFill";
+    private static final String PROP_ASYNC_FILL_HEADROOM = "asyncFillHeadroom";
+    private static final String PROP_VALIDATION_SKIP_WINDOW_MILLIS = "validationSkipWindowMillis";
 
     /**
      * Value string must be of the form [STATE_CODE,]*
@@ -143,7 +149,9 @@ public class BasicDataSourceFactory implements ObjectFactory {
             PROP_MAX_OPEN_PREPARED_STATEMENTS, PROP_CONNECTION_PROPERTIES, PROP_MAX_CONN_LIFETIME_MILLIS,
             PROP_LOG_EXPIRED_CONNECTIONS, PROP_ROLLBACK_ON_RETURN, PROP_ENABLE_AUTO_COMMIT_ON_RETURN,
             PROP_DEFAULT_QUERY_TIMEOUT, PROP_FAST_FAIL_VALIDATION, PROP_DISCONNECTION_SQL_CODES, PROP_JMX_NAME,
-            PROP_CONNECTION_FACTORY_CLASS_NAME };
+            PROP_CONNECTION_FACTORY_CLASS_NAME, PROP_FAST_BORROW, PROP_REGISTER_PREPARED_STATEMENTS,
+            PROP_PREWARM_PREPARED_STATEMENTS, PROP_ASYNC_CONNECTION_FILL, PROP_ASYNC_FILL_HEADROOM,
+            PROP_VALIDATION_SKIP_WINDOW_MILLIS };
 
     /**
      * Obsolete properties from DBCP 1.x. with warning strings suggesting new properties. LinkedHashMap will guarantee
@@ -495,6 +503,16 @@ public class BasicDataSourceFactory implements ObjectFactory {
             dataSource.setMaxOpenPreparedStatements(Integer.parseInt(value));
         }
 
+        value = properties.getProperty(PROP_REGISTER_PREPARED_STATEMENTS);
+        if (value != null) {
+            dataSource.setRegisterPreparedStatements(Boolean.valueOf(value).booleanValue());
+        }
+
+        value = properties.getProperty(PROP_PREWARM_PREPARED_STATEMENTS);
+        if (value != null) {
+            dataSource.setPrewarmPreparedStatements(Integer.parseInt(value));
+        }
+
         value = properties.getProperty(PROP_CONNECTION_INIT_SQLS);
         if (value != null) {
             dataSource.setConnectionInitSqls(parseList(value, ';'));
@@ -545,6 +563,26 @@ public class BasicDataSourceFactory implements ObjectFactory {
             dataSource.setFastFailValidation(Boolean.valueOf(value).booleanValue());
         }
 
+        value = properties.getProperty(PROP_FAST_BORROW);
+        if (value != null) {
+            dataSource.setFastBorrow(Boolean.valueOf(value).booleanValue());
+        }
+
+        value = properties.getProperty(PROP_ASYNC_CONNECTION_FILL);
+        if (value != null) {
+            dataSource.setAsyncConnectionFill(Boolean.valueOf(value).booleanValue());
+        }
+
+        value = properties.getProperty(PROP_ASYNC_FILL_HEADROOM);
+        if (value != null) {
+            dataSource.setAsyncFillHeadroom(Integer.parseInt(value));
+        }
+
+        value = properties.getProperty(PROP_VALIDATION_SKIP_WINDOW_MILLIS);
+        if (value != null) {
+            dataSource.setValidationSkipWindowMillis(Long.parseLong(value));
+        }
+
         value = properties.getProperty(PROP_DISCONNECTION_SQL_CODES);
         if (value != null) {
             dataSource.setDisconnectionSqlCodes(parseList(value, ','));
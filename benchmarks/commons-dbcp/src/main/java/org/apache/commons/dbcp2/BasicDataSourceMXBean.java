@@ -308,6 +308,87 @@ public interface BasicDataSourceMXBean {
      */
     boolean getFastFailValidation();
 
+    /**
+     * See {@link BasicDataSource#getFastBorrow()}
+     *
+     * @return {@link BasicDataSource#getFastBorrow()}
+     * @since 2.8.0
+     */
+    default boolean getFastBorrow() {
+        return false;
+    }
+
+    /**
+     * See {@link BasicDataSource#getBorrowWaitTimeHistogram()}
+     *
+     * @return {@link BasicDataSource#getBorrowWaitTimeHistogram()}
+     * @since 2.8.0
+     */
+    default long[] getBorrowWaitTimeHistogram() {
+        return new long[0];
+    }
+
+    /**
+     * See {@link BasicDataSource#getBorrowWaitTimePercentileMicros(double)}
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return {@link BasicDataSource#getBorrowWaitTimePercentileMicros(double)}
+     * @since 2.8.0
+     */
+    default long getBorrowWaitTimePercentileMicros(final double percentile) {
+        return 0;
+    }
+
+    /**
+     * See {@link BasicDataSource#isRegisterPreparedStatements()}
+     *
+     * @return {@link BasicDataSource#isRegisterPreparedStatements()}
+     * @since 2.8.0
+     */
+    default boolean isRegisterPreparedStatements() {
+        return false;
+    }
+
+    /**
+     * See {@link BasicDataSource#getPrewarmPreparedStatements()}
+     *
+     * @return {@link BasicDataSource#getPrewarmPreparedStatements()}
+     * @since 2.8.0
+     */
+    default int getPrewarmPreparedStatements() {
+        return 0;
+    }
+
+    /**
+     * See {@link BasicDataSource#getAsyncConnectionFill()}
+     *
+     * @return {@link BasicDataSource#getAsyncConnectionFill()}
+     * @since 2.8.0
+     */
+    default boolean getAsyncConnectionFill() {
+        return false;
+    }
+
+    /**
+     * See {@link BasicDataSource#getAsyncFillHeadroom()}
+     *
+     * @return {@link BasicDataSource#getAsyncFillHeadroom()}
+     * @since 2.8.0
+     */
+    default int getAsyncFillHeadroom() {
+        return 0;
+    }
+
+    /**
+     * See {@link BasicDataSource#getValidationSkipWindowMillis()}
+     *
+     * @return {@link BasicDataSource#getValidationSkipWindowMillis()}
+     * @since 2.8.0
+     */
+    default long getValidationSkipWindowMillis() {
+        return -1;
+    }
+
     /**
      * See {@link BasicDataSource#getDisconnectionSqlCodesAsArray()}
      *
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.pool2.SwallowedExceptionListener;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+/**
+ * Creates the connections of a pool on a background thread, so that {@code minIdle} plus a headroom of idle
+ * connections are ready for the borrowing threads.
+ * <p>
+ * A fill is requested by {@link #fill()}, typically after each borrow. It is ignored when the pool already holds enough
+ * idle connections, and requests made while a fill is pending are merged. A fill adds connections to the pool until it
+ * holds enough idle connections or reaches {@code maxTotal}, and stops at the first failure, which is reported to the
+ * swallowed exception listener of the pool. The thread is only kept while filling.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+final class ConnectionFiller implements Runnable {
+
+    private static final long KEEP_ALIVE_SECONDS = 10;
+
+    private final GenericObjectPool<PoolableConnection> pool;
+
+    private final int headroom;
+
+    private final ThreadPoolExecutor executor;
+
+    /** Whether a fill is pending, the requests made meanwhile being merged into it. */
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a filler.
+     *
+     * @param pool the pool to fill
+     * @param headroom the number of idle connections to keep ready on top of {@code minIdle}
+     */
+    ConnectionFiller(final GenericObjectPool<PoolableConnection> pool, final int headroom) {
+        this.pool = pool;
+        this.headroom = Math.max(0, headroom);
+        this.executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    final Thread thread = new Thread(r, "commons-dbcp2-connection-filler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Stops filling the pool. A fill in progress ends after the connection it is creating.
+     */
+    void close() {
+        closed = true;
+        executor.shutdown();
+    }
+
+    /**
+     * Requests a fill of the pool, unless it does not need connections or a fill is already pending.
+     */
+    void fill() {
+        if (!closed && needsConnection() && pending.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (final RuntimeException e) {
+                // Closed concurrently
+                pending.set(false);
+            }
+        }
+    }
+
+    int getHeadroom() {
+        return headroom;
+    }
+
+    /**
+     * Tests whether the pool needs another connection.
+     *
+     * @return whether the pool holds less than {@code minIdle} plus the headroom idle connections and less than
+     *         {@code maxTotal} connections
+     */
+    boolean needsConnection() {
+        final int numIdle = pool.getNumIdle();
+        if (numIdle >= pool.getMinIdle() + headroom) {
+            return false;
+        }
+        final int maxTotal = pool.getMaxTotal();
+        return maxTotal < 0 || numIdle + pool.getNumActive() < maxTotal;
+    }
+
+    @Override
+    public void run() {
+        // Cleared first, so that a borrow made while filling requests another fill
+        pending.set(false);
+        while (!closed && !pool.isClosed() && needsConnection()) {
+            final int numIdle = pool.getNumIdle();
+            try {
+                pool.addObject();
+            } catch (final Exception e) {
+                final SwallowedExceptionListener listener = pool.getSwallowedExceptionListener();
+                if (listener != null && !pool.isClosed()) {
+                    listener.onSwallowException(e);
+                }
+                return;
+            }
+            if (pool.getNumIdle() <= numIdle) {
+                // Created connections borrowed at once, or maxTotal reached: the next borrow requests another fill
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionFiller [headroom=" + headroom + ", pending=" + pending + ", closed=" + closed + "]";
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import java.lang.ref.WeakReference;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.apache.commons.pool2.SwallowedExceptionListener;
+import org.apache.commons.pool2.impl.AbandonedConfig;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+
+/**
+ * A {@link GenericObjectPool} which keeps the objects returned to it in a lock-free bag, so that they can be borrowed
+ * again without taking the locks of the underlying pool.
+ * <p>
+ * A returned object is passivated and parked: it stays allocated in the underlying pool, and is remembered both by the
+ * returning thread and in a shared bag. A borrowing thread first tries to claim the object it returned last, which
+ * keeps a connection on the thread using it, then the most recently parked objects of the bag. Objects are claimed with
+ * a compare-and-set, and only fall back to {@link GenericObjectPool#borrowObject(long)} when the bag is empty.
+ * </p>
+ * <p>
+ * Parked objects are counted as idle by {@link #getNumIdle()}, and {@link #getMaxIdle()} bounds the parked and idle
+ * objects together. They are handed to the underlying pool when a thread waits on it. Each eviction run checks all the
+ * parked objects in place, with the idle eviction times and {@code testWhileIdle} of the pool, before running the
+ * eviction of the underlying pool; {@link #getNumTestsPerEvictionRun()} only applies to the latter. The borrow, return
+ * and timing statistics of the underlying pool do not include the objects borrowed from the bag.
+ * </p>
+ *
+ * @param <T> Type of element pooled.
+ * @since 2.8.0
+ */
+public class FastBorrowObjectPool<T> extends GenericObjectPool<T> {
+
+    /**
+     * An object of the pool with its parking state.
+     */
+    private static final class Entry<T> {
+
+        private final PooledObject<T> pooledObject;
+
+        /** True while the object is parked and may be claimed. */
+        private final AtomicBoolean parked = new AtomicBoolean();
+
+        /** True while the entry is in the shared bag, which holds each entry at most once. */
+        private final AtomicBoolean inBag = new AtomicBoolean();
+
+        private volatile long parkedTimeMillis;
+
+        Entry(final PooledObject<T> pooledObject) {
+            this.pooledObject = pooledObject;
+        }
+
+        boolean claim() {
+            return parked.get() && parked.compareAndSet(true, false);
+        }
+    }
+
+    /**
+     * Identifies an object by reference, whatever its {@code equals} method.
+     */
+    private static final class IdentityKey {
+
+        private final Object object;
+
+        IdentityKey(final Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof IdentityKey && ((IdentityKey) other).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+
+    /**
+     * Delegates to the factory of the pool, and keeps the entries of the objects it creates.
+     */
+    private static final class TrackingFactory<T> implements PooledObjectFactory<T> {
+
+        private final PooledObjectFactory<T> factory;
+
+        private final ConcurrentHashMap<IdentityKey, Entry<T>> entries = new ConcurrentHashMap<>();
+
+        TrackingFactory(final PooledObjectFactory<T> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public void activateObject(final PooledObject<T> p) throws Exception {
+            factory.activateObject(p);
+        }
+
+        @Override
+        public void destroyObject(final PooledObject<T> p) throws Exception {
+            entries.remove(new IdentityKey(p.getObject()));
+            factory.destroyObject(p);
+        }
+
+        Entry<T> getEntry(final T object) {
+            return entries.get(new IdentityKey(object));
+        }
+
+        @Override
+        public PooledObject<T> makeObject() throws Exception {
+            final PooledObject<T> p = factory.makeObject();
+            entries.put(new IdentityKey(p.getObject()), new Entry<>(p));
+            return p;
+        }
+
+        @Override
+        public void passivateObject(final PooledObject<T> p) throws Exception {
+            factory.passivateObject(p);
+        }
+
+        @Override
+        public boolean validateObject(final PooledObject<T> p) {
+            return factory.validateObject(p);
+        }
+    }
+
+    private final TrackingFactory<T> trackingFactory;
+
+    /** The parked entries, most recently parked first, and entries claimed since they were added. */
+    private final ConcurrentLinkedDeque<Entry<T>> bag = new ConcurrentLinkedDeque<>();
+
+    /**
+     * The entry each thread returned last. It is weakly referenced, so that a destroyed object or a closed pool is not
+     * kept reachable by the threads which used them.
+     */
+    private final ThreadLocal<WeakReference<Entry<T>>> lastReturned = new ThreadLocal<>();
+
+    private final AtomicInteger numParked = new AtomicInteger();
+
+    /** The number of threads borrowing from the underlying pool, which may wait for an object. */
+    private final AtomicInteger numBorrowers = new AtomicInteger();
+
+    /**
+     * Creates a new pool using defaults from {@link GenericObjectPoolConfig}.
+     *
+     * @param factory The object factory to be used to create object instances used by this pool
+     */
+    public FastBorrowObjectPool(final PooledObjectFactory<T> factory) {
+        this(new TrackingFactory<>(factory), new GenericObjectPoolConfig<T>());
+    }
+
+    /**
+     * Creates a new pool using a specific configuration.
+     *
+     * @param factory The object factory to be used to create object instances used by this pool
+     * @param config  The configuration to use for this pool instance. The configuration is used by value. Subsequent
+     *                changes to the configuration object will not be reflected in the pool.
+     */
+    public FastBorrowObjectPool(final PooledObjectFactory<T> factory, final GenericObjectPoolConfig<T> config) {
+        this(new TrackingFactory<>(factory), config);
+    }
+
+    /**
+     * Creates a new pool that tracks and destroys objects that are checked out, but never returned to the pool. The
+     * returned objects are not parked when abandoned objects are tracked.
+     *
+     * @param factory         The object factory to be used to create object instances used by this pool
+     * @param config          The base pool configuration to use for this pool instance. The configuration is used by
+     *                        value. Subsequent changes to the configuration object will not be reflected in the pool.
+     * @param abandonedConfig Configuration for abandoned object identification and removal. The configuration is used
+     *                        by value.
+     */
+    public FastBorrowObjectPool(final PooledObjectFactory<T> factory, final GenericObjectPoolConfig<T> config,
+            final AbandonedConfig abandonedConfig) {
+        this(new TrackingFactory<>(factory), config);
+        setAbandonedConfig(abandonedConfig);
+    }
+
+    private FastBorrowObjectPool(final TrackingFactory<T> trackingFactory, final GenericObjectPoolConfig<T> config) {
+        super(trackingFactory, config);
+        this.trackingFactory = trackingFactory;
+    }
+
+    private Entry<T> activate(final Entry<T> entry) {
+        try {
+            trackingFactory.activateObject(entry.pooledObject);
+            if (!getTestOnBorrow() || trackingFactory.validateObject(entry.pooledObject)) {
+                return entry;
+            }
+        } catch (final Exception e) {
+            // Destroyed below
+        }
+        destroy(entry);
+        return null;
+    }
+
+    /**
+     * Borrows an object, from the objects parked by this thread or the other threads if one can be claimed, else from
+     * the underlying pool.
+     *
+     * @param borrowMaxWaitMillis The time to wait in milliseconds for an object of the underlying pool to become
+     *                            available
+     * @return object instance from the pool
+     * @throws IllegalStateException  if the pool is closed
+     * @throws NoSuchElementException if an instance cannot be returned
+     * @throws Exception              if an object instance cannot be returned due to an error
+     */
+    @Override
+    public T borrowObject(final long borrowMaxWaitMillis) throws Exception {
+        if (isClosed()) {
+            throw new IllegalStateException("Pool not open");
+        }
+        Entry<T> entry = claimParked();
+        if (entry != null) {
+            return entry.pooledObject.getObject();
+        }
+        numBorrowers.incrementAndGet();
+        try {
+            // An object parked after the bag was found empty is either seen here, or handed to the pool by its
+            // returning thread which sees this borrower
+            entry = claimParked();
+            if (entry != null) {
+                return entry.pooledObject.getObject();
+            }
+            return super.borrowObject(borrowMaxWaitMillis);
+        } finally {
+            numBorrowers.decrementAndGet();
+        }
+    }
+
+    private Entry<T> claimParked() {
+        final WeakReference<Entry<T>> lastRef = lastReturned.get();
+        final Entry<T> last = lastRef != null ? lastRef.get() : null;
+        if (last != null && unpark(last)) {
+            final Entry<T> entry = activate(last);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        Entry<T> candidate;
+        while ((candidate = bag.pollFirst()) != null) {
+            // Leave the bag before claiming, so that an entry parked again meanwhile is added back
+            candidate.inBag.set(false);
+            if (unpark(candidate)) {
+                final Entry<T> entry = activate(candidate);
+                if (entry != null) {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Destroys the parked objects, then clears the idle objects of the underlying pool.
+     */
+    @Override
+    public void clear() {
+        destroyParked();
+        super.clear();
+    }
+
+    /**
+     * Closes the pool, and destroys the parked objects.
+     */
+    @Override
+    public void close() {
+        super.close();
+        destroyParked();
+    }
+
+    private void destroy(final Entry<T> entry) {
+        try {
+            super.invalidateObject(entry.pooledObject.getObject());
+        } catch (final Exception e) {
+            // Reported as the underlying pool reports the exceptions of the objects it destroys
+            final SwallowedExceptionListener listener = getSwallowedExceptionListener();
+            if (listener != null) {
+                listener.onSwallowException(e);
+            }
+        }
+    }
+
+    private void destroyParked() {
+        for (final Entry<T> entry : bag) {
+            if (unpark(entry)) {
+                destroy(entry);
+            }
+        }
+    }
+
+    /**
+     * Evicts the parked objects idle for longer than {@link #getMinEvictableIdleTimeMillis()}, or longer than
+     * {@link #getSoftMinEvictableIdleTimeMillis()} while more than {@link #getMinIdle()} objects are idle, and
+     * validates the other parked objects if {@link #getTestWhileIdle()} is set. Then runs the eviction of the
+     * underlying pool.
+     *
+     * @throws Exception when there is a problem evicting idle objects.
+     */
+    @Override
+    public void evict() throws Exception {
+        final long now = System.currentTimeMillis();
+        final long minEvictableIdleTimeMillis = getMinEvictableIdleTimeMillis();
+        final long softMinEvictableIdleTimeMillis = getSoftMinEvictableIdleTimeMillis();
+        for (final Entry<T> entry : bag) {
+            final long idleTimeMillis = now - entry.parkedTimeMillis;
+            final boolean evict = minEvictableIdleTimeMillis > 0 && idleTimeMillis > minEvictableIdleTimeMillis
+                    || softMinEvictableIdleTimeMillis > 0 && idleTimeMillis > softMinEvictableIdleTimeMillis
+                            && getNumIdle() > getMinIdle();
+            if (!evict && !getTestWhileIdle() || !unpark(entry)) {
+                continue;
+            }
+            if (evict || !validateParked(entry)) {
+                destroy(entry);
+            }
+        }
+        super.evict();
+    }
+
+    /**
+     * Returns the factory of the objects of this pool.
+     *
+     * @return the factory given to the constructor
+     */
+    @Override
+    public PooledObjectFactory<T> getFactory() {
+        return trackingFactory.factory;
+    }
+
+    /**
+     * Returns the number of objects borrowed from the pool and not returned.
+     *
+     * @return the number of active objects, which excludes the parked objects
+     */
+    @Override
+    public int getNumActive() {
+        return Math.max(0, super.getNumActive() - numParked.get());
+    }
+
+    /**
+     * Returns the number of idle objects, parked or in the underlying pool.
+     *
+     * @return the number of idle objects
+     */
+    @Override
+    public int getNumIdle() {
+        return super.getNumIdle() + numParked.get();
+    }
+
+    /**
+     * Returns the number of objects parked in the bag of this pool.
+     *
+     * @return the number of parked objects
+     */
+    public int getNumParked() {
+        return numParked.get();
+    }
+
+    private boolean park(final Entry<T> entry) {
+        final PooledObject<T> p = entry.pooledObject;
+        try {
+            if (getTestOnReturn() && !trackingFactory.validateObject(p)) {
+                return false;
+            }
+            trackingFactory.passivateObject(p);
+        } catch (final Exception e) {
+            return false;
+        }
+        offer(entry, System.currentTimeMillis());
+        final WeakReference<Entry<T>> lastRef = lastReturned.get();
+        if (lastRef == null || lastRef.get() != entry) {
+            lastReturned.set(new WeakReference<>(entry));
+        }
+        return true;
+    }
+
+    private void offer(final Entry<T> entry, final long parkedTimeMillis) {
+        entry.parkedTimeMillis = parkedTimeMillis;
+        numParked.incrementAndGet();
+        entry.parked.set(true);
+        if (entry.inBag.compareAndSet(false, true)) {
+            bag.offerFirst(entry);
+        }
+    }
+
+    /**
+     * Returns an object to the pool. The object is parked unless the pool is closed or a thread waits on the underlying
+     * pool, in which cases it is returned to the underlying pool, or unless the idle objects already reach
+     * {@link #getMaxIdle()}, in which case it is destroyed.
+     *
+     * @param obj instance to return to the pool
+     * @throws IllegalStateException if an object is returned to the pool that was not borrowed from it
+     */
+    @Override
+    public void returnObject(final T obj) {
+        final Entry<T> entry = trackingFactory.getEntry(obj);
+        if (entry != null && entry.parked.get()) {
+            throw new IllegalStateException("Object has already been returned to this pool or is invalid");
+        }
+        if (entry == null || isClosed() || numBorrowers.get() > 0 || isAbandonedConfig()) {
+            super.returnObject(obj);
+            return;
+        }
+        final int maxIdle = getMaxIdle();
+        if (maxIdle >= 0 && getNumIdle() >= maxIdle) {
+            destroy(entry);
+            return;
+        }
+        if (!park(entry)) {
+            // The underlying pool validates, passivates, keeps or destroys the object
+            super.returnObject(obj);
+            return;
+        }
+        // A thread may have started waiting on the underlying pool before the object was parked
+        if (numBorrowers.get() > 0 && unpark(entry)) {
+            // The underlying pool passivates the object again
+            if (activate(entry) != null) {
+                super.returnObject(obj);
+            }
+        }
+    }
+
+    private boolean unpark(final Entry<T> entry) {
+        if (entry.claim()) {
+            numParked.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Validates a claimed parked object as the underlying pool does for its idle objects, and parks it again if it
+     * is valid.
+     */
+    private boolean validateParked(final Entry<T> entry) {
+        final PooledObject<T> p = entry.pooledObject;
+        try {
+            trackingFactory.activateObject(p);
+            if (!trackingFactory.validateObject(p)) {
+                return false;
+            }
+            trackingFactory.passivateObject(p);
+        } catch (final Exception e) {
+            return false;
+        }
+        offer(entry, entry.parkedTimeMillis);
+        return true;
+    }
+}
@@ -182,6 +182,9 @@ public class PStmtKey {
     /** Statement builder */
     private transient StatementBuilder builder;
 
+    /** The hash code, computed once as the fields are final; 0 until computed. */
+    private int hashCode;
+
     /**
      * Constructs a key to uniquely identify a prepared statement.
      *
@@ -798,6 +801,9 @@ public class PStmtKey {
             return false;
         }
         final PStmtKey other = (PStmtKey) obj;
+        if (hashCode() != other.hashCode()) {
+            return false;
+        }
         if (autoGeneratedKeys == null) {
             if (other.autoGeneratedKeys != null) {
                 return false;
@@ -955,6 +961,15 @@ public class PStmtKey {
 
     @Override
     public int hashCode() {
+        int result = hashCode;
+        if (result == 0) {
+            result = computeHashCode();
+            hashCode = result;
+        }
+        return result;
+    }
+
+    private int computeHashCode() {
         final int prime = 31;
         int result = 1;
         result = prime * result + ((autoGeneratedKeys == null) ? 0 : autoGeneratedKeys.hashCode());
@@ -345,4 +345,11 @@ public class PoolableConnection extends DelegatingConnection<Connection> impleme
     public boolean isFastFailValidation() {
         return fastFailValidation;
     }
+
+    /**
+     * @return Whether an unrecoverable SQLException was thrown when using this connection.
+     */
+    boolean isFatalSqlExceptionThrown() {
+        return fatalSqlExceptionThrown;
+    }
 }
@@ -86,8 +86,14 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
 
     private int maxOpenPreparedStatements = GenericKeyedObjectPoolConfig.DEFAULT_MAX_TOTAL_PER_KEY;
 
+    private StatementRegistry statementRegistry;
+
+    private int prewarmStatementCount;
+
     private long maxConnLifetimeMillis = -1;
 
+    private long validationSkipWindowMillis = -1;
+
     private final AtomicLong connectionIndex = new AtomicLong(0);
 
     private Integer defaultQueryTimeoutSeconds;
@@ -284,6 +290,22 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
     public boolean getPoolStatements() {
         return poolStatements;
     }
+
+    /**
+     * @return The maximum number of statements prepared on each new connection.
+     * @since 2.8.0
+     */
+    public int getPrewarmStatementCount() {
+        return prewarmStatementCount;
+    }
+
+    /**
+     * @return The registry of the statement keys shared by the connections, may be null.
+     * @since 2.8.0
+     */
+    public StatementRegistry getStatementRegistry() {
+        return statementRegistry;
+    }
     /**
      * @return Validation query.
      * @since 2.6.0
@@ -298,6 +320,15 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
     public int getValidationQueryTimeoutSeconds() {
         return validationQueryTimeoutSeconds;
     }
+
+    /**
+     * @return Time in milliseconds after a connection is created or returned during which its validation is skipped.
+     * @since 2.8.0
+     */
+    public long getValidationSkipWindowMillis() {
+        return validationSkipWindowMillis;
+    }
+
     protected void initializeConnection(final Connection conn) throws SQLException {
         final Collection<String> sqls = connectionInitSqls;
         if (conn.isClosed()) {
@@ -393,6 +424,10 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
                     poolingConn, config);
             poolingConn.setStatementPool(stmtPool);
             poolingConn.setCacheState(cacheState);
+            if (statementRegistry != null) {
+                poolingConn.setStatementRegistry(statementRegistry);
+                poolingConn.prewarmStatements(prewarmStatementCount);
+            }
         }
 
         // Register this connection with JMX
@@ -597,10 +632,33 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         this.poolStatements = poolStatements;
     }
 
+    /**
+     * Sets the maximum number of the most requested statements of the {@link #setStatementRegistry(StatementRegistry)
+     * statement registry} prepared on each new connection. Only used when statements are pooled and registered.
+     *
+     * @param prewarmStatementCount
+     *            The maximum number of statements, 0 not to prepare any.
+     * @since 2.8.0
+     */
+    public void setPrewarmStatementCount(final int prewarmStatementCount) {
+        this.prewarmStatementCount = prewarmStatementCount;
+    }
+
     public void setRollbackOnReturn(final boolean rollbackOnReturn) {
         this.rollbackOnReturn = rollbackOnReturn;
     }
 
+    /**
+     * Sets the registry of the statement keys shared by the connections. Only used when statements are pooled.
+     *
+     * @param statementRegistry
+     *            The registry, or null not to register the statement keys.
+     * @since 2.8.0
+     */
+    public void setStatementRegistry(final StatementRegistry statementRegistry) {
+        this.statementRegistry = statementRegistry;
+    }
+
     /**
      * Sets the query I use to {@link #validateObject validate} {@link Connection}s. Should return at least one row. If
      * not specified, {@link Connection#isValid(int)} will be used to validate connections.
@@ -623,6 +681,20 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         this.validationQueryTimeoutSeconds = validationQueryTimeoutSeconds;
     }
 
+    /**
+     * Sets the time in milliseconds after a connection is created or returned to the pool during which
+     * {@link #validateObject(PooledObject) validation} only checks that it is open and within its lifetime, without
+     * running the validation query. A connection which threw a fatal SQLException is always validated. A value of zero
+     * or less validates every connection. The default value is -1.
+     *
+     * @param validationSkipWindowMillis
+     *            The validation skip window in milliseconds.
+     * @since 2.8.0
+     */
+    public void setValidationSkipWindowMillis(final long validationSkipWindowMillis) {
+        this.validationSkipWindowMillis = validationSkipWindowMillis;
+    }
+
     public void validateConnection(final PoolableConnection conn) throws SQLException {
         if (conn.isClosed()) {
             throw new SQLException("validateConnection: connection closed");
@@ -630,6 +702,19 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         conn.validate(validationQuery, validationQueryTimeoutSeconds);
     }
 
+    /**
+     * Tests whether the validation of a connection can be skipped, as it was created or returned to the pool within the
+     * {@link #setValidationSkipWindowMillis(long) validation skip window} and is not known to be broken.
+     */
+    private boolean isValidationSkipped(final PooledObject<PoolableConnection> p) {
+        if (validationSkipWindowMillis <= 0) {
+            return false;
+        }
+        final long lastUsed = Math.max(p.getCreateTime(), p.getLastReturnTime());
+        return System.currentTimeMillis() - lastUsed < validationSkipWindowMillis
+                && !p.getObject().isFatalSqlExceptionThrown();
+    }
+
     private void validateLifetime(final PooledObject<PoolableConnection> p) throws Exception {
         if (maxConnLifetimeMillis > 0) {
             final long lifetime = System.currentTimeMillis() - p.getCreateTime();
@@ -645,6 +730,9 @@ public class PoolableConnectionFactory implements PooledObjectFactory<PoolableCo
         try {
             validateLifetime(p);
 
+            if (isValidationSkipped(p)) {
+                return !p.getObject().isClosed();
+            }
             validateConnection(p.getObject());
             return true;
         } catch (final Exception e) {
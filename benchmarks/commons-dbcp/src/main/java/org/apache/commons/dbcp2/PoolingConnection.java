@@ -65,6 +65,12 @@ public class PoolingConnection extends DelegatingConnection<Connection>
     /** Pool of {@link PreparedStatement}s. and {@link CallableStatement}s */
     private KeyedObjectPool<PStmtKey, DelegatingPreparedStatement> pstmtPool;
 
+    /** Registry of the statement keys shared with other connections, may be null. */
+    private StatementRegistry statementRegistry;
+
+    /** Whether the statements made now are prepared by {@link #prewarmStatements(int)}. */
+    private boolean prewarming;
+
     /**
      * Constructor.
      *
@@ -286,6 +292,16 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         return catalog;
     }
 
+    /**
+     * Gets the registry of the statement keys shared with other connections.
+     *
+     * @return the registry, or null if the keys are not registered
+     * @since 2.8.0
+     */
+    public StatementRegistry getStatementRegistry() {
+        return statementRegistry;
+    }
+
     /**
      * {@link KeyedPooledObjectFactory} method for creating {@link PoolablePreparedStatement}s or
      * {@link PoolableCallableStatement}s. The <code>stmtType</code> field in the key determines whether a
@@ -301,6 +317,13 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         if (null == key) {
             throw new IllegalArgumentException("Prepared statement key is null or invalid.");
         }
+        if (statementRegistry != null) {
+            if (prewarming) {
+                statementRegistry.prewarmed(key);
+            } else {
+                statementRegistry.prepared(key);
+            }
+        }
         if (key.getStmtType() == StatementType.PREPARED_STATEMENT) {
             final PreparedStatement statement = (PreparedStatement) key.createStatement(getDelegate());
             @SuppressWarnings({"rawtypes", "unchecked" }) // Unable to find way to avoid this
@@ -341,6 +364,41 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         dps.passivate();
     }
 
+    /**
+     * Prepares the most requested statements of the {@link #getStatementRegistry() statement registry} and keeps them
+     * idle in the statement pool. Statements which cannot be prepared are skipped.
+     *
+     * @param count
+     *            the maximum number of statements to prepare
+     * @return the number of statements prepared
+     * @since 2.8.0
+     */
+    public int prewarmStatements(final int count) {
+        final StatementRegistry registry = statementRegistry;
+        final KeyedObjectPool<PStmtKey, DelegatingPreparedStatement> pool = pstmtPool;
+        if (registry == null || pool == null || count <= 0) {
+            return 0;
+        }
+        int prepared = 0;
+        prewarming = true;
+        try {
+            for (final PStmtKey key : registry.getHottestKeys(count)) {
+                try {
+                    final int numIdle = pool.getNumIdle(key);
+                    pool.addObject(key);
+                    if (pool.getNumIdle(key) > numIdle) {
+                        prepared++;
+                    }
+                } catch (final Exception e) {
+                    // Prepared on demand instead
+                }
+            }
+        } finally {
+            prewarming = false;
+        }
+        return prepared;
+    }
+
     /**
      * Creates or obtains a {@link CallableStatement} from the pool.
      *
@@ -353,7 +411,8 @@ public class PoolingConnection extends DelegatingConnection<Connection>
     @Override
     public CallableStatement prepareCall(final String sql) throws SQLException {
         try {
-            return (CallableStatement) pstmtPool.borrowObject(createKey(sql, StatementType.CALLABLE_STATEMENT));
+            return (CallableStatement) pstmtPool
+                    .borrowObject(register(createKey(sql, StatementType.CALLABLE_STATEMENT)));
         } catch (final NoSuchElementException e) {
             throw new SQLException("MaxOpenCallableStatements limit reached", e);
         } catch (final RuntimeException e) {
@@ -381,7 +440,7 @@ public class PoolingConnection extends DelegatingConnection<Connection>
             throws SQLException {
         try {
             return (CallableStatement) pstmtPool.borrowObject(
-                    createKey(sql, resultSetType, resultSetConcurrency, StatementType.CALLABLE_STATEMENT));
+                    register(createKey(sql, resultSetType, resultSetConcurrency, StatementType.CALLABLE_STATEMENT)));
         } catch (final NoSuchElementException e) {
             throw new SQLException("MaxOpenCallableStatements limit reached", e);
         } catch (final RuntimeException e) {
@@ -410,8 +469,8 @@ public class PoolingConnection extends DelegatingConnection<Connection>
     public CallableStatement prepareCall(final String sql, final int resultSetType, final int resultSetConcurrency,
             final int resultSetHoldability) throws SQLException {
         try {
-            return (CallableStatement) pstmtPool.borrowObject(createKey(sql, resultSetType, resultSetConcurrency,
-                    resultSetHoldability, StatementType.CALLABLE_STATEMENT));
+            return (CallableStatement) pstmtPool.borrowObject(register(createKey(sql, resultSetType,
+                    resultSetConcurrency, resultSetHoldability, StatementType.CALLABLE_STATEMENT)));
         } catch (final NoSuchElementException e) {
             throw new SQLException("MaxOpenCallableStatements limit reached", e);
         } catch (final RuntimeException e) {
@@ -434,7 +493,7 @@ public class PoolingConnection extends DelegatingConnection<Connection>
             throw new SQLException("Statement pool is null - closed or invalid PoolingConnection.");
         }
         try {
-            return pstmtPool.borrowObject(createKey(sql));
+            return pstmtPool.borrowObject(register(createKey(sql)));
         } catch (final NoSuchElementException e) {
             throw new SQLException("MaxOpenPreparedStatements limit reached", e);
         } catch (final RuntimeException e) {
@@ -450,7 +509,7 @@ public class PoolingConnection extends DelegatingConnection<Connection>
             throw new SQLException("Statement pool is null - closed or invalid PoolingConnection.");
         }
         try {
-            return pstmtPool.borrowObject(createKey(sql, autoGeneratedKeys));
+            return pstmtPool.borrowObject(register(createKey(sql, autoGeneratedKeys)));
         } catch (final NoSuchElementException e) {
             throw new SQLException("MaxOpenPreparedStatements limit reached", e);
         } catch (final RuntimeException e) {
@@ -475,7 +534,7 @@ public class PoolingConnection extends DelegatingConnection<Connection>
             throw new SQLException("Statement pool is null - closed or invalid PoolingConnection.");
         }
         try {
-            return pstmtPool.borrowObject(createKey(sql, columnIndexes));
+            return pstmtPool.borrowObject(register(createKey(sql, columnIndexes)));
         } catch (final NoSuchElementException e) {
             throw new SQLException("MaxOpenPreparedStatements limit reached", e);
         } catch (final RuntimeException e) {
@@ -503,7 +562,7 @@ public class PoolingConnection extends DelegatingConnection<Connection>
             throw new SQLException("Statement pool is null - closed or invalid PoolingConnection.");
         }
         try {
-            return pstmtPool.borrowObject(createKey(sql, resultSetType, resultSetConcurrency));
+            return pstmtPool.borrowObject(register(createKey(sql, resultSetType, resultSetConcurrency)));
         } catch (final NoSuchElementException e) {
             throw new SQLException("MaxOpenPreparedStatements limit reached", e);
         } catch (final RuntimeException e) {
@@ -533,7 +592,8 @@ public class PoolingConnection extends DelegatingConnection<Connection>
             throw new SQLException("Statement pool is null - closed or invalid PoolingConnection.");
         }
         try {
-            return pstmtPool.borrowObject(createKey(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+            return pstmtPool.borrowObject(
+                    register(createKey(sql, resultSetType, resultSetConcurrency, resultSetHoldability)));
         } catch (final NoSuchElementException e) {
             throw new SQLException("MaxOpenPreparedStatements limit reached", e);
         } catch (final RuntimeException e) {
@@ -558,7 +618,7 @@ public class PoolingConnection extends DelegatingConnection<Connection>
             throw new SQLException("Statement pool is null - closed or invalid PoolingConnection.");
         }
         try {
-            return pstmtPool.borrowObject(createKey(sql, columnNames));
+            return pstmtPool.borrowObject(register(createKey(sql, columnNames)));
         } catch (final NoSuchElementException e) {
             throw new SQLException("MaxOpenPreparedStatements limit reached", e);
         } catch (final RuntimeException e) {
@@ -568,6 +628,11 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         }
     }
 
+    private PStmtKey register(final PStmtKey key) {
+        final StatementRegistry registry = statementRegistry;
+        return registry == null ? key : registry.intern(key);
+    }
+
     /**
      * Sets the prepared statement pool.
      *
@@ -578,6 +643,18 @@ public class PoolingConnection extends DelegatingConnection<Connection>
         pstmtPool = pool;
     }
 
+    /**
+     * Sets the registry of the statement keys shared with other connections. The keys of the statements requested from
+     * this connection are interned and counted by the registry.
+     *
+     * @param statementRegistry
+     *            the registry, or null not to register the keys
+     * @since 2.8.0
+     */
+    public void setStatementRegistry(final StatementRegistry statementRegistry) {
+        this.statementRegistry = statementRegistry;
+    }
+
     @Override
     public synchronized String toString() {
         if (pstmtPool != null) {
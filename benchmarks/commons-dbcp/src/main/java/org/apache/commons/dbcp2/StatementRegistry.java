@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keys and usage statistics of the prepared statements of all the {@link PoolingConnection}s of a data source.
+ * <p>
+ * The registry interns {@link PStmtKey}s: the connections sharing a registry look up their statement pools with the
+ * same key instances, whose hash code is computed once and which compare equal by reference. For each key, it counts
+ * the statements requested from the connections and the statements the driver prepared for them, so that the hit rate
+ * of the statement pools can be monitored. The most requested statements are prepared on the connections created when
+ * {@link PoolableConnectionFactory#setPrewarmStatementCount(int)} is set; these prepares are counted apart and do not
+ * lower the hit rate.
+ * </p>
+ * <p>
+ * This class is thread-safe. Once it holds {@link #getMaxKeys()} keys, other keys are neither interned nor counted.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+public class StatementRegistry {
+
+    /**
+     * The statistics of a key.
+     */
+    private static final class Entry {
+
+        private final PStmtKey key;
+
+        private final LongAdder requests = new LongAdder();
+
+        private final LongAdder prepares = new LongAdder();
+
+        private final LongAdder prewarms = new LongAdder();
+
+        Entry(final PStmtKey key) {
+            this.key = key;
+        }
+    }
+
+    /** The default maximum number of keys. */
+    public static final int DEFAULT_MAX_KEYS = 1000;
+
+    private final ConcurrentHashMap<PStmtKey, Entry> entries = new ConcurrentHashMap<>();
+
+    private final int maxKeys;
+
+    /**
+     * Creates a registry of at most {@link #DEFAULT_MAX_KEYS} keys.
+     */
+    public StatementRegistry() {
+        this(DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * Creates a registry.
+     *
+     * @param maxKeys the maximum number of keys
+     * @throws IllegalArgumentException if the maximum is negative
+     */
+    public StatementRegistry(final int maxKeys) {
+        if (maxKeys < 0) {
+            throw new IllegalArgumentException("maxKeys must not be negative: " + maxKeys);
+        }
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Removes all the keys and statistics.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the keys of the most requested statements, most requested first.
+     *
+     * @param max the maximum number of keys to return
+     * @return a new list of at most {@code max} keys
+     */
+    public List<PStmtKey> getHottestKeys(final int max) {
+        final List<Entry> list = new ArrayList<>(entries.values());
+        final long[] requests = new long[list.size()];
+        final Integer[] order = new Integer[list.size()];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = list.get(i).requests.sum();
+            order[i] = Integer.valueOf(i);
+        }
+        // Sort a snapshot of the counters, which change concurrently
+        Arrays.sort(order, (a, b) -> Long.compare(requests[b.intValue()], requests[a.intValue()]));
+        final List<PStmtKey> keys = new ArrayList<>(Math.min(Math.max(max, 0), order.length));
+        for (int i = 0; i < order.length && keys.size() < max; i++) {
+            keys.add(list.get(order[i].intValue()).key);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the hit rate of the statement pools for a key: the fraction of the requested statements which were not
+     * prepared by the driver on request.
+     *
+     * @param key the key of the statement
+     * @return the hit rate, from 0 to 1, or 0 if the statement was never requested
+     */
+    public double getHitRate(final PStmtKey key) {
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return 0;
+        }
+        // Prepares read first: each one follows its request
+        final long prepares = entry.prepares.sum();
+        return hitRate(entry.requests.sum(), prepares);
+    }
+
+    /**
+     * Returns the hit rates of the statement pools by SQL statement, for the keys of all the options of each statement.
+     *
+     * @return a new map of the hit rates, from 0 to 1, by SQL
+     * @see #getHitRate(PStmtKey)
+     */
+    public Map<String, Double> getHitRates() {
+        final Map<String, long[]> counts = new HashMap<>();
+        for (final Entry entry : entries.values()) {
+            final long[] sqlCounts = counts.computeIfAbsent(entry.key.getSql(), sql -> new long[2]);
+            // Prepares read first: each one follows its request
+            sqlCounts[1] += entry.prepares.sum();
+            sqlCounts[0] += entry.requests.sum();
+        }
+        final Map<String, Double> hitRates = new HashMap<>(counts.size() * 4 / 3 + 1);
+        for (final Map.Entry<String, long[]> entry : counts.entrySet()) {
+            hitRates.put(entry.getKey(), Double.valueOf(hitRate(entry.getValue()[0], entry.getValue()[1])));
+        }
+        return Collections.unmodifiableMap(hitRates);
+    }
+
+    /**
+     * Returns the maximum number of keys.
+     *
+     * @return the maximum number of keys
+     */
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    /**
+     * Returns the number of statements prepared by the driver on request for a key.
+     *
+     * @param key the key of the statement
+     * @return the number of statements prepared on request, which excludes the prewarmed statements
+     */
+    public long getPrepareCount(final PStmtKey key) {
+        final Entry entry = entries.get(key);
+        return entry == null ? 0 : entry.prepares.sum();
+    }
+
+    /**
+     * Returns the number of statements prepared by the driver for a key when connections were prewarmed.
+     *
+     * @param key the key of the statement
+     * @return the number of statements prepared ahead of the requests
+     * @see PoolableConnectionFactory#setPrewarmStatementCount(int)
+     */
+    public long getPrewarmCount(final PStmtKey key) {
+        final Entry entry = entries.get(key);
+        return entry == null ? 0 : entry.prewarms.sum();
+    }
+
+    /**
+     * Returns the number of statements requested from the connections for a key.
+     *
+     * @param key the key of the statement
+     * @return the number of statements requested
+     */
+    public long getRequestCount(final PStmtKey key) {
+        final Entry entry = entries.get(key);
+        return entry == null ? 0 : entry.requests.sum();
+    }
+
+    private static double hitRate(final long requests, final long prepares) {
+        return requests == 0 ? 0 : 1 - (double) prepares / requests;
+    }
+
+    /**
+     * Returns the registered key equal to a key, registering it if there is room, and counts a statement request.
+     *
+     * @param key the key of the requested statement
+     * @return the registered key, or the given key if it is not registered
+     */
+    PStmtKey intern(final PStmtKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= maxKeys) {
+                return key;
+            }
+            entry = entries.computeIfAbsent(key, Entry::new);
+        }
+        entry.requests.increment();
+        return entry.key;
+    }
+
+    /**
+     * Counts a statement prepared by the driver on request.
+     *
+     * @param key the key of the statement
+     */
+    void prepared(final PStmtKey key) {
+        final Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.prepares.increment();
+        }
+    }
+
+    /**
+     * Counts a statement prepared by the driver ahead of the requests, when a connection is prewarmed.
+     *
+     * @param key the key of the statement
+     */
+    void prewarmed(final PStmtKey key) {
+        final Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.prewarms.increment();
+        }
+    }
+
+    /**
+     * Returns the number of keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "StatementRegistry [size=" + entries.size() + ", maxKeys=" + maxKeys + "]";
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts wait times in buckets of powers of two microseconds.
+ * <p>
+ * Bucket {@code 0} counts the waits shorter than one microsecond, bucket {@code i} the waits of at least
+ * 2<sup>i-1</sup> and less than 2<sup>i</sup> microseconds, and the last bucket the longer waits. The counters are
+ * updated without locks, and a snapshot read while waits are recorded may miss the latest ones.
+ * </p>
+ *
+ * @since 2.8.0
+ */
+final class WaitTimeHistogram {
+
+    /** The number of buckets, the last one counting the waits of 2<sup>25</sup> microseconds (about 33 s) or more. */
+    static final int BUCKETS = 27;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    WaitTimeHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Gets the count of each bucket.
+     *
+     * @return a new array of {@link #BUCKETS} counts
+     */
+    long[] getCounts() {
+        final long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts[i].sum();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Estimates a percentile of the recorded waits, as the upper bound of the bucket holding it.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the estimated wait in microseconds, 0 if no wait is recorded, or {@link Long#MAX_VALUE} if the
+     *         percentile falls in the last bucket
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100
+     */
+    long getPercentileMicros(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        final long[] snapshot = getCounts();
+        long total = 0;
+        for (final long count : snapshot) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return 1L << i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Records a wait.
+     *
+     * @param nanos the wait time in nanoseconds
+     */
+    void record(final long nanos) {
+        final long micros = nanos / 1000;
+        // 0 for less than 1 microsecond, else the bit length of the microseconds
+        final int bucket = micros <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        counts[bucket].increment();
+    }
+}
@@ -238,7 +238,9 @@ public class BasicManagedDataSource extends BasicDataSource {
             connectionFactory.setCacheState(getCacheState());
             connectionFactory.setPoolStatements(isPoolPreparedStatements());
             connectionFactory.setMaxOpenPreparedStatements(getMaxOpenPreparedStatements());
+            configureStatementRegistry(connectionFactory);
             connectionFactory.setMaxConnLifetimeMillis(getMaxConnLifetimeMillis());
+            connectionFactory.setValidationSkipWindowMillis(getValidationSkipWindowMillis());
             connectionFactory.setRollbackOnReturn(getRollbackOnReturn());
             connectionFactory.setAutoCommitOnReturn(getAutoCommitOnReturn());
             connectionFactory.setDefaultQueryTimeout(getDefaultQueryTimeout());
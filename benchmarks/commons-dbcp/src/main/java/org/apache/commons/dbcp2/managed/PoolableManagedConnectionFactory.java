@@ -27,6 +27,7 @@ import org.apache.commons.dbcp2.PStmtKey;
 import org.apache.commons.dbcp2.PoolableConnection;
 import org.apache.commons.dbcp2.PoolableConnectionFactory;
 import org.apache.commons.dbcp2.PoolingConnection;
+import org.apache.commons.dbcp2.StatementRegistry;
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.apache.commons.pool2.PooledObject;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
@@ -100,6 +101,11 @@ public class PoolableManagedConnectionFactory extends PoolableConnectionFactory
                     (PoolingConnection) conn, config);
             ((PoolingConnection) conn).setStatementPool(stmtPool);
             ((PoolingConnection) conn).setCacheState(getCacheState());
+            final StatementRegistry statementRegistry = getStatementRegistry();
+            if (statementRegistry != null) {
+                ((PoolingConnection) conn).setStatementRegistry(statementRegistry);
+                ((PoolingConnection) conn).prewarmStatements(getPrewarmStatementCount());
+            }
         }
         final PoolableManagedConnection pmc = new PoolableManagedConnection(transactionRegistry, conn, getPool(),
                 getDisconnectionSqlCodes(), isFastFailValidation());
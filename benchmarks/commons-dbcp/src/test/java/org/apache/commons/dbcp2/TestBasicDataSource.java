@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -267,6 +268,41 @@ public class TestBasicDataSource extends TestConnectionPool {
         assertNull(ds.getValidationQuery());
     }
 
+    @Test
+    public void testValidationSkipWindow() throws Exception {
+        ds.setTestOnBorrow(true);
+        ds.setValidationSkipWindowMillis(60000);
+        ds.getConnection().close();
+        final PoolableConnectionFactory factory = (PoolableConnectionFactory) ds.getConnectionPool().getFactory();
+        assertEquals(60000, factory.getValidationSkipWindowMillis());
+
+        // Connections created or returned within the window are not validated
+        factory.setValidationQuery("invalid");
+        ds.getConnection().close();
+
+        // Others are
+        factory.setValidationSkipWindowMillis(-1);
+        assertThrows(SQLException.class, () -> ds.getConnection());
+    }
+
+    @Test
+    public void testAsyncConnectionFill() throws Exception {
+        ds.setAsyncConnectionFill(true);
+        ds.setMinIdle(2);
+        ds.setAsyncFillHeadroom(1);
+        try (Connection conn = ds.getConnection()) {
+            // minIdle plus the headroom are created in the background
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (ds.getNumIdle() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(3, ds.getNumIdle());
+            assertEquals(1, ds.getNumActive());
+        }
+        ds.close();
+        assertEquals(0, ds.getNumIdle());
+    }
+
     @Test
     public void testInvalidValidationQuery() {
         ds.setValidationQuery("invalid");
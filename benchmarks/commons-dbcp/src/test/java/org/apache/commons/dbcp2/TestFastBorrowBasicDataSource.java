@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.dbcp2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * TestSuite for BasicDataSource with a {@link FastBorrowObjectPool}
+ */
+public class TestFastBorrowBasicDataSource extends TestBasicDataSource {
+
+    private static Connection getInnermost(final Connection conn) {
+        return ((DelegatingConnection<?>) conn).getInnermostDelegate();
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        // Fast borrow enabled, should not affect the basic tests
+        ds.setFastBorrow(true);
+    }
+
+    @Test
+    public void testBorrowWaitTimeHistogram() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            getConnection().close();
+        }
+        final long[] histogram = ds.getBorrowWaitTimeHistogram();
+        assertEquals(WaitTimeHistogram.BUCKETS, histogram.length);
+        long total = 0;
+        for (final long count : histogram) {
+            total += count;
+        }
+        assertEquals(5, total);
+        final long median = ds.getBorrowWaitTimePercentileMicros(50);
+        assertTrue(median >= 1 && median <= ds.getBorrowWaitTimePercentileMicros(100));
+        assertThrows(IllegalArgumentException.class, () -> ds.getBorrowWaitTimePercentileMicros(101));
+    }
+
+    @Test
+    public void testCountsParkedConnectionsAsIdle() throws Exception {
+        final Connection conn1 = getConnection();
+        final Connection conn2 = getConnection();
+        assertTrue(ds.getConnectionPool() instanceof FastBorrowObjectPool);
+        assertEquals(2, ds.getNumActive());
+        assertEquals(0, ds.getNumIdle());
+        conn1.close();
+        conn2.close();
+        assertEquals(0, ds.getNumActive());
+        assertEquals(2, ds.getNumIdle());
+        assertEquals(2, ((FastBorrowObjectPool<?>) ds.getConnectionPool()).getNumParked());
+
+        // Parked connections are validated by eviction runs
+        ds.setTestWhileIdle(true);
+        ds.evict();
+        assertEquals(2, ((FastBorrowObjectPool<?>) ds.getConnectionPool()).getNumParked());
+
+        // and evicted once idle for long enough
+        ds.setMinEvictableIdleTimeMillis(1);
+        Thread.sleep(10);
+        ds.evict();
+        assertEquals(0, ((FastBorrowObjectPool<?>) ds.getConnectionPool()).getNumParked());
+        assertEquals(0, ds.getNumIdle());
+    }
+
+    @Test
+    public void testDoubleReturnIsRejected() throws Exception {
+        getConnection().close();
+        @SuppressWarnings("unchecked")
+        final FastBorrowObjectPool<PoolableConnection> pool = (FastBorrowObjectPool<PoolableConnection>) ds
+                .getConnectionPool();
+        final PoolableConnection conn = pool.borrowObject();
+        pool.returnObject(conn);
+        assertThrows(IllegalStateException.class, () -> pool.returnObject(conn));
+        assertEquals(1, ds.getNumIdle());
+        assertEquals(1, pool.getNumParked());
+        assertEquals(0, ds.getNumActive());
+    }
+
+    @Test
+    public void testInvalidatedConnectionIsNotReused() throws Exception {
+        ds.setAccessToUnderlyingConnectionAllowed(true);
+        final Connection conn = getConnection();
+        final Connection raw = getInnermost(conn);
+        ds.invalidateConnection(conn);
+        assertEquals(0, ds.getNumActive());
+        final Connection conn2 = getConnection();
+        assertNotSame(raw, getInnermost(conn2));
+        conn2.close();
+    }
+
+    @Test
+    public void testMaxIdleBoundsParkedConnections() throws Exception {
+        ds.setMaxIdle(1);
+        final Connection conn1 = getConnection();
+        final Connection conn2 = getConnection();
+        conn1.close();
+        // Destroyed, as maxIdle connections are already idle
+        conn2.close();
+        assertEquals(1, ((FastBorrowObjectPool<?>) ds.getConnectionPool()).getNumParked());
+        assertEquals(1, ds.getNumIdle());
+        assertEquals(0, ds.getNumActive());
+    }
+
+    @Test
+    public void testReusesLastReturnedConnection() throws Exception {
+        ds.setAccessToUnderlyingConnectionAllowed(true);
+        final Connection conn1 = getConnection();
+        final Connection conn2 = getConnection();
+        final Connection raw1 = getInnermost(conn1);
+        final Connection raw2 = getInnermost(conn2);
+        conn1.close();
+        // Parked after conn1 by another thread
+        final Thread thread = new Thread(() -> {
+            try {
+                conn2.close();
+            } catch (final Exception e) {
+                // conn2 stays active
+            }
+        });
+        thread.start();
+        thread.join();
+        assertEquals(2, ds.getNumIdle());
+
+        // This thread returned conn1 last
+        final Connection conn3 = getConnection();
+        assertSame(raw1, getInnermost(conn3));
+        // Then the other parked connections are taken from the bag
+        final Connection conn4 = getConnection();
+        assertSame(raw2, getInnermost(conn4));
+        assertEquals(2, ds.getNumActive());
+        conn3.close();
+        conn4.close();
+    }
+
+    @Test
+    public void testReturnHandsConnectionToWaitingThread() throws Exception {
+        ds.setMaxTotal(1);
+        ds.setMaxWaitMillis(10000);
+        final Connection conn = getConnection();
+        final CountDownLatch borrowed = new CountDownLatch(1);
+        final Thread thread = new Thread(() -> {
+            try (Connection waiting = getConnection()) {
+                borrowed.countDown();
+            } catch (final Exception e) {
+                // latch not released
+            }
+        });
+        thread.start();
+        // Let the thread wait on the underlying pool
+        while (ds.getConnectionPool().getNumWaiters() == 0) {
+            Thread.sleep(10);
+        }
+        conn.close();
+        assertTrue(borrowed.await(5, TimeUnit.SECONDS));
+        thread.join();
+        assertEquals(0, ds.getNumActive());
+    }
+}
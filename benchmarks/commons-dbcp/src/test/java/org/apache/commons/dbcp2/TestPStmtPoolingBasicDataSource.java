@@ -140,6 +140,36 @@ public class TestPStmtPoolingBasicDataSource extends TestBasicDataSource {
 
     // Bugzilla Bug 27246
     // PreparedStatement cache should be different depending on the Catalog
+    @Test
+    public void testStatementRegistry() throws Exception {
+        ds.setRegisterPreparedStatements(true);
+        ds.setPrewarmPreparedStatements(1);
+        final Connection conn1 = getConnection();
+        for (int i = 0; i < 3; i++) {
+            conn1.prepareStatement("select 'a' from dual").close();
+        }
+        conn1.prepareStatement("select 'b' from dual").close();
+        final StatementRegistry registry = ds.getStatementRegistry();
+        assertNotNull(registry);
+        final PStmtKey key = registry.getHottestKeys(1).get(0);
+        assertEquals("select 'a' from dual", key.getSql());
+        assertEquals(3, registry.getRequestCount(key));
+        assertEquals(1, registry.getPrepareCount(key));
+        assertEquals(2.0 / 3, registry.getHitRates().get("select 'a' from dual").doubleValue(), 1e-9);
+
+        // A new connection prepares the hottest statement when it is created
+        final Connection conn2 = getConnection();
+        assertEquals(1, registry.getPrepareCount(key));
+        assertEquals(1, registry.getPrewarmCount(key));
+        conn2.prepareStatement("select 'a' from dual").close();
+        assertEquals(4, registry.getRequestCount(key));
+        assertEquals(1, registry.getPrepareCount(key));
+        // The prewarmed statement is a hit
+        assertEquals(3.0 / 4, registry.getHitRates().get("select 'a' from dual").doubleValue(), 1e-9);
+        conn1.close();
+        conn2.close();
+    }
+
     @Test
     public void testPStmtCatalog() throws Exception {
         final Connection conn = getConnection();
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.dbcp2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link StatementRegistry}.
+ */
+public class TestStatementRegistry {
+
+    @Test
+    public void testHitRates() {
+        final StatementRegistry registry = new StatementRegistry();
+        final PStmtKey key1 = new PStmtKey("SELECT 1", "catalog", "schema");
+        final PStmtKey key2 = new PStmtKey("SELECT 1", null, null, 1003, 1007);
+        assertEquals(0, registry.getHitRate(key1), 0);
+        for (int i = 0; i < 4; i++) {
+            registry.intern(key1);
+            registry.intern(key2);
+        }
+        registry.prepared(key1);
+        registry.prepared(key2);
+        registry.prepared(key2);
+        registry.prewarmed(key1);
+        assertEquals(4, registry.getRequestCount(key1));
+        assertEquals(1, registry.getPrepareCount(key1));
+        assertEquals(1, registry.getPrewarmCount(key1));
+        assertEquals(0.75, registry.getHitRate(key1), 0);
+        assertEquals(0.5, registry.getHitRate(key2), 0);
+        final Map<String, Double> hitRates = registry.getHitRates();
+        assertEquals(1, hitRates.size());
+        assertEquals(0.625, hitRates.get("SELECT 1").doubleValue(), 0);
+    }
+
+    @Test
+    public void testHottestKeys() {
+        final StatementRegistry registry = new StatementRegistry();
+        final PStmtKey key1 = new PStmtKey("SELECT 1", "catalog", "schema");
+        final PStmtKey key2 = new PStmtKey("SELECT 2", "catalog", "schema");
+        final PStmtKey key3 = new PStmtKey("SELECT 3", "catalog", "schema");
+        registry.intern(key1);
+        for (int i = 0; i < 3; i++) {
+            registry.intern(key2);
+        }
+        registry.intern(key3);
+        registry.intern(key3);
+        assertEquals(Arrays.asList(key2, key3), registry.getHottestKeys(2));
+        assertEquals(Arrays.asList(key2, key3, key1), registry.getHottestKeys(5));
+        assertEquals(0, registry.getHottestKeys(0).size());
+        registry.clear();
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.getHottestKeys(5).size());
+    }
+
+    @Test
+    public void testIntern() {
+        final StatementRegistry registry = new StatementRegistry();
+        final PStmtKey key = new PStmtKey("SELECT 1", "catalog", "schema");
+        assertSame(key, registry.intern(key));
+        assertSame(key, registry.intern(new PStmtKey("SELECT 1", "catalog", "schema")));
+        assertEquals(1, registry.size());
+        assertEquals(2, registry.getRequestCount(key));
+    }
+
+    @Test
+    public void testMaxKeys() {
+        assertThrows(IllegalArgumentException.class, () -> new StatementRegistry(-1));
+        final StatementRegistry registry = new StatementRegistry(1);
+        final PStmtKey key1 = new PStmtKey("SELECT 1", "catalog", "schema");
+        final PStmtKey key2 = new PStmtKey("SELECT 2", "catalog", "schema");
+        registry.intern(key1);
+        final PStmtKey copy = new PStmtKey("SELECT 2", "catalog", "schema");
+        assertSame(copy, registry.intern(copy));
+        assertEquals(1, registry.size());
+        assertEquals(0, registry.getRequestCount(key2));
+        registry.prepared(key2);
+        assertEquals(0, registry.getPrepareCount(key2));
+    }
+}
@@ -20,6 +20,8 @@ package org.apache.commons.dbcp2.managed;
 import com.arjuna.ats.internal.jta.transaction.arjunacore.TransactionManagerImple;
 import com.arjuna.ats.internal.jta.transaction.arjunacore.TransactionSynchronizationRegistryImple;
 import org.apache.commons.dbcp2.BasicDataSource;
+import org.apache.commons.dbcp2.PStmtKey;
+import org.apache.commons.dbcp2.StatementRegistry;
 import org.apache.commons.dbcp2.TestBasicDataSource;
 import org.apache.geronimo.transaction.manager.TransactionManagerImpl;
 import org.h2.Driver;
@@ -84,6 +86,29 @@ public class TestBasicManagedDataSource extends TestBasicDataSource {
         }
     }
 
+    @Test
+    public void testStatementRegistry() throws Exception {
+        ds.setPoolPreparedStatements(true);
+        ds.setRegisterPreparedStatements(true);
+        ds.setPrewarmPreparedStatements(1);
+        final Connection conn1 = getConnection();
+        for (int i = 0; i < 3; i++) {
+            conn1.prepareStatement("select 'a' from dual").close();
+        }
+        final StatementRegistry registry = ds.getStatementRegistry();
+        assertNotNull(registry);
+        final PStmtKey key = registry.getHottestKeys(1).get(0);
+        assertEquals("select 'a' from dual", key.getSql());
+        assertEquals(3, registry.getRequestCount(key));
+        assertEquals(1, registry.getPrepareCount(key));
+
+        // A new connection prepares the hottest statement when it is created
+        final Connection conn2 = getConnection();
+        assertEquals(1, registry.getPrewarmCount(key));
+        conn1.close();
+        conn2.close();
+    }
+
     @Test
     public void testXADataSource() throws SQLException {
         try (final BasicManagedDataSource basicManagedDataSource = new BasicManagedDataSource()) {
@@ -194,7 +194,17 @@ public class Digester
     /**
      * The current match pattern for nested element processing.
      */
-    private String match = "";
+    private final StringBuilder match = new StringBuilder();
+
+    /**
+     * The current match pattern as a string, or <code>null</code> if it has not been computed since it changed.
+     */
+    private String matchString = "";
+
+    /**
+     * The cursor advanced along the match pattern, when the rules are {@link TrieRules}.
+     */
+    private TrieRules.Cursor matchCursor = null;
 
     /**
      * Do we want a "namespace aware" parser.
@@ -396,7 +406,7 @@ public class Digester
      */
     public String getCurrentElementName()
     {
-        String elementName = match;
+        String elementName = getMatch();
         int lastSlash = elementName.lastIndexOf( '/' );
         if ( lastSlash >= 0 )
         {
@@ -529,7 +539,11 @@ public class Digester
      */
     public String getMatch()
     {
-        return match;
+        if ( matchString == null )
+        {
+            matchString = match.toString();
+        }
+        return matchString;
     }
 
     /**
@@ -1065,7 +1079,7 @@ public class Digester
             {
                 saxLog.debug( "endElement(" + namespaceURI + "," + localName + "," + qName + ")" );
             }
-            log.debug( "  match='" + match + "'" );
+            log.debug( "  match='" + getMatch() + "'" );
             log.debug( "  bodyText='" + bodyText + "'" );
         }
 
@@ -1114,7 +1128,7 @@ public class Digester
         {
             if ( debug )
             {
-                log.debug( "  No rules found matching '" + match + "'." );
+                log.debug( "  No rules found matching '" + getMatch() + "'." );
             }
         }
 
@@ -1154,14 +1168,12 @@ public class Digester
         }
 
         // Recover the previous match expression
-        int slash = match.lastIndexOf( '/' );
-        if ( slash >= 0 )
-        {
-            match = match.substring( 0, slash );
-        }
-        else
+        int slash = match.lastIndexOf( "/" );
+        match.setLength( slash >= 0 ? slash : 0 );
+        matchString = null;
+        if ( matchCursor != null )
         {
-            match = "";
+            matchCursor.pop();
         }
     }
 
@@ -1329,20 +1341,37 @@ public class Digester
         }
 
         // Compute the current matching rule
-        StringBuilder sb = new StringBuilder( match );
         if ( match.length() > 0 )
         {
-            sb.append( '/' );
+            match.append( '/' );
         }
-        sb.append( name );
-        match = sb.toString();
+        match.append( name );
+        matchString = null;
         if ( debug )
         {
-            log.debug( "  New match='" + match + "'" );
+            log.debug( "  New match='" + getMatch() + "'" );
         }
 
         // Fire "begin" events for all relevant rules
-        List<Rule> rules = getRules().match( namespaceURI, match, localName, list );
+        List<Rule> rules;
+        Rules currentRules = getRules();
+        if ( matchCursor != null )
+        {
+            matchCursor.push( name );
+        }
+        if ( currentRules instanceof TrieRules )
+        {
+            // advance along the compiled patterns rather than matching the path string
+            if ( matchCursor == null || matchCursor.getRules() != currentRules )
+            {
+                matchCursor = ( (TrieRules) currentRules ).newCursor( getMatch() );
+            }
+            rules = matchCursor.match( namespaceURI );
+        }
+        else
+        {
+            rules = currentRules.match( namespaceURI, getMatch(), localName, list );
+        }
         matches.push( rules );
         if ( ( rules != null ) && ( rules.size() > 0 ) )
         {
@@ -1378,7 +1407,7 @@ public class Digester
         {
             if ( debug )
             {
-                log.debug( "  No rules found matching '" + match + "'." );
+                log.debug( "  No rules found matching '" + getMatch() + "'." );
             }
         }
     }
@@ -2598,7 +2627,9 @@ public class Digester
      */
     public void clear()
     {
-        match = "";
+        match.setLength( 0 );
+        matchString = "";
+        matchCursor = null;
         bodyTexts.clear();
         params.clear();
         publicId = null;
@@ -0,0 +1,504 @@
+package org.apache.commons.digester3;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.xml.sax.Attributes;
+
+/**
+ * <p>
+ * <code>Rules</code> implementation with the matching behavior of {@link RulesBase}, which compiles the registered
+ * patterns into a trie over element names instead of comparing strings.
+ * </p>
+ * <p>
+ * Exact patterns "a/b/c" are stored in a trie rooted at the document element, and tail patterns "&#42;/a/b" in an
+ * Aho-Corasick automaton, whose state tells the longest tail pattern matching the current path. As with
+ * <code>RulesBase</code>, wildcard patterns are ignored if an explicit match can be found, and only the longest
+ * matching wildcard pattern is considered a match.
+ * </p>
+ * <p>
+ * When the <code>Digester</code> uses an instance of this class, it does not build match path strings to find the
+ * rules of an element: it advances a cursor, one transition when an element starts and one when it ends. The
+ * {@link #match(String, String, String, Attributes)} method remains available for wrappers and other callers, and
+ * walks the trie along the pattern.
+ * </p>
+ * <p>
+ * The trie is compiled again on the first match after a rule is added. Once compiled, it is immutable, so matching is
+ * thread-safe as long as no rule is added.
+ * </p>
+ *
+ * @since 3.3
+ */
+public final class TrieRules
+    extends AbstractRulesImpl
+{
+
+    // ----------------------------------------------------- Instance Variables
+
+    /**
+     * The registered Rule instances, keyed by the matching pattern in the order the patterns were registered. Each
+     * value is a List containing the Rules for that pattern, in the order that they were originally registered.
+     */
+    private final Map<String, List<Rule>> patterns = new LinkedHashMap<String, List<Rule>>();
+
+    /**
+     * The set of registered Rule instances, in the order that they were originally registered.
+     */
+    private final List<Rule> rules = new ArrayList<Rule>();
+
+    /**
+     * The compiled patterns, or null if a rule was added since they were compiled.
+     */
+    private volatile Automaton automaton;
+
+    // ------------------------------------------------------------- Properties
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDigester( Digester digester )
+    {
+        super.setDigester( digester );
+        for ( Rule rule : rules )
+        {
+            rule.setDigester( digester );
+        }
+    }
+
+    // --------------------------------------------------------- Public Methods
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void registerRule( String pattern, Rule rule )
+    {
+        // to help users who accidently add '/' to the end of their patterns
+        int patternLength = pattern.length();
+        if ( patternLength > 1 && pattern.endsWith( "/" ) )
+        {
+            pattern = pattern.substring( 0, patternLength - 1 );
+        }
+
+        List<Rule> list = patterns.get( pattern );
+        if ( list == null )
+        {
+            list = new ArrayList<Rule>();
+            patterns.put( pattern, list );
+        }
+        list.add( rule );
+        rules.add( rule );
+        automaton = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void clear()
+    {
+        patterns.clear();
+        rules.clear();
+        automaton = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<Rule> match( String namespaceURI, String pattern, String name, Attributes attributes )
+    {
+        Automaton current = getAutomaton();
+        State exact = current.exactRoot;
+        State tail = current.tailRoot;
+        int start = 0;
+        int length = pattern.length();
+        while ( start <= length )
+        {
+            int end = pattern.indexOf( '/', start );
+            if ( end < 0 )
+            {
+                end = length;
+            }
+            String element = pattern.substring( start, end );
+            exact = exact == null ? null : exact.getChild( element );
+            tail = tail.next( element );
+            start = end + 1;
+        }
+        return select( namespaceURI, exact, tail );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<Rule> rules()
+    {
+        return ( this.rules );
+    }
+
+    // ------------------------------------------------------ Package Methods
+
+    /**
+     * Creates a cursor positioned on a path.
+     *
+     * @param path the match path of the current element, as returned by {@link Digester#getMatch()}
+     * @return a new cursor, which matches the element at the end of the path
+     */
+    Cursor newCursor( String path )
+    {
+        Cursor cursor = new Cursor( this );
+        if ( path.length() > 0 )
+        {
+            int start = 0;
+            while ( start <= path.length() )
+            {
+                int end = path.indexOf( '/', start );
+                if ( end < 0 )
+                {
+                    end = path.length();
+                }
+                cursor.push( path.substring( start, end ) );
+                start = end + 1;
+            }
+        }
+        return cursor;
+    }
+
+    // ------------------------------------------------------ Private Methods
+
+    /**
+     * Returns the compiled patterns, compiling them if needed.
+     *
+     * @return the compiled patterns
+     */
+    private Automaton getAutomaton()
+    {
+        Automaton current = automaton;
+        if ( current == null )
+        {
+            current = new Automaton( patterns );
+            automaton = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the rules of the exact match state if they match the namespace URI, otherwise the rules of the longest
+     * tail pattern matched in the tail state.
+     *
+     * @param namespaceURI Namespace URI to match, or <code>null</code> to select matching rules regardless of namespace
+     *            URI
+     * @param exact the exact match state of the element, or null if no exact pattern starts with its path
+     * @param tail the tail match state of the element
+     * @return the matching rules, which must not be modified
+     */
+    private static List<Rule> select( String namespaceURI, State exact, State tail )
+    {
+        if ( exact != null && exact.rules != null )
+        {
+            List<Rule> list = lookup( namespaceURI, exact.rules );
+            if ( !list.isEmpty() )
+            {
+                return list;
+            }
+        }
+        if ( tail.output != null )
+        {
+            return lookup( namespaceURI, tail.output.rules );
+        }
+        return emptyList();
+    }
+
+    /**
+     * Selects the rules that match a namespace URI.
+     *
+     * @param namespaceURI Namespace URI to match, or <code>null</code> to select matching rules regardless of namespace
+     *            URI
+     * @param list the rules of a pattern
+     * @return the given list if all its rules match, otherwise a new list of the matching rules
+     */
+    private static List<Rule> lookup( String namespaceURI, List<Rule> list )
+    {
+        if ( ( namespaceURI == null ) || ( namespaceURI.length() == 0 ) )
+        {
+            return list;
+        }
+        for ( int i = 0; i < list.size(); i++ )
+        {
+            String ruleNamespaceURI = list.get( i ).getNamespaceURI();
+            if ( ruleNamespaceURI != null && !namespaceURI.equals( ruleNamespaceURI ) )
+            {
+                // Select only Rules that match on the specified namespace URI
+                List<Rule> results = new ArrayList<Rule>( list.subList( 0, i ) );
+                for ( Rule item : list.subList( i + 1, list.size() ) )
+                {
+                    if ( ( namespaceURI.equals( item.getNamespaceURI() ) ) || ( item.getNamespaceURI() == null ) )
+                    {
+                        results.add( item );
+                    }
+                }
+                return results;
+            }
+        }
+        return list;
+    }
+
+    // ------------------------------------------------------ Nested Classes
+
+    /**
+     * A state of the exact match trie or of the tail match automaton.
+     */
+    private static final class State
+    {
+
+        /**
+         * The next states, by element name.
+         */
+        private final Map<String, State> children = new HashMap<String, State>();
+
+        /**
+         * The state reached from the root by the longest proper suffix of the path of this state, for tail states.
+         */
+        private State fail;
+
+        /**
+         * The state of the longest tail pattern which is a suffix of the path of this state, or null if there is none.
+         */
+        private State output;
+
+        /**
+         * The rules of the pattern ending in this state, or null if no pattern ends here.
+         */
+        private List<Rule> rules;
+
+        State getChild( String name )
+        {
+            return children.get( name );
+        }
+
+        State getOrAddChild( String name )
+        {
+            State child = children.get( name );
+            if ( child == null )
+            {
+                child = new State();
+                children.put( name, child );
+            }
+            return child;
+        }
+
+        /**
+         * Returns the tail state reached by pushing an element on the path of this tail state.
+         *
+         * @param name the element name
+         * @return the next tail state
+         */
+        State next( String name )
+        {
+            State state = this;
+            while ( true )
+            {
+                State child = state.children.get( name );
+                if ( child != null )
+                {
+                    return child;
+                }
+                if ( state.fail == null )
+                {
+                    // the root
+                    return state;
+                }
+                state = state.fail;
+            }
+        }
+
+    }
+
+    /**
+     * The compiled patterns.
+     */
+    private static final class Automaton
+    {
+
+        /**
+         * The root of the exact match trie, matching the empty path.
+         */
+        private final State exactRoot = new State();
+
+        /**
+         * The root of the tail match automaton, matching no tail pattern.
+         */
+        private final State tailRoot = new State();
+
+        Automaton( Map<String, List<Rule>> patterns )
+        {
+            for ( Map.Entry<String, List<Rule>> entry : patterns.entrySet() )
+            {
+                String pattern = entry.getKey();
+                State state;
+                String path;
+                if ( pattern.startsWith( "*/" ) )
+                {
+                    state = tailRoot;
+                    path = pattern.substring( 2 );
+                }
+                else
+                {
+                    state = exactRoot;
+                    path = pattern;
+                }
+                for ( String name : path.split( "/", -1 ) )
+                {
+                    state = state.getOrAddChild( name );
+                }
+                state.rules = entry.getValue();
+            }
+
+            // Link the tail states breadth first, so the links of the shorter paths are known
+            LinkedList<State> queue = new LinkedList<State>();
+            for ( State child : tailRoot.children.values() )
+            {
+                child.fail = tailRoot;
+                child.output = child.rules != null ? child : null;
+                queue.add( child );
+            }
+            while ( !queue.isEmpty() )
+            {
+                State state = queue.removeFirst();
+                for ( Map.Entry<String, State> entry : state.children.entrySet() )
+                {
+                    State child = entry.getValue();
+                    child.fail = state.fail.next( entry.getKey() );
+                    child.output = child.rules != null ? child : child.fail.output;
+                    queue.add( child );
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The position of a parse in the compiled patterns, advanced as elements start and end.
+     */
+    static final class Cursor
+    {
+
+        private final TrieRules owner;
+
+        private Automaton automaton;
+
+        private String[] names = new String[16];
+
+        private State[] exactStates = new State[16];
+
+        private State[] tailStates = new State[16];
+
+        private int depth;
+
+        Cursor( TrieRules owner )
+        {
+            this.owner = owner;
+            this.automaton = owner.getAutomaton();
+            exactStates[0] = automaton.exactRoot;
+            tailStates[0] = automaton.tailRoot;
+        }
+
+        /**
+         * Returns the rules this cursor matches against.
+         *
+         * @return the rules this cursor matches against
+         */
+        TrieRules getRules()
+        {
+            return owner;
+        }
+
+        /**
+         * Moves to a child element of the current element.
+         *
+         * @param name the element name
+         */
+        void push( String name )
+        {
+            if ( depth + 1 == names.length )
+            {
+                int length = names.length * 2;
+                String[] newNames = new String[length];
+                System.arraycopy( names, 0, newNames, 0, names.length );
+                names = newNames;
+                State[] newExactStates = new State[length];
+                System.arraycopy( exactStates, 0, newExactStates, 0, exactStates.length );
+                exactStates = newExactStates;
+                State[] newTailStates = new State[length];
+                System.arraycopy( tailStates, 0, newTailStates, 0, tailStates.length );
+                tailStates = newTailStates;
+            }
+            State exact = exactStates[depth];
+            names[++depth] = name;
+            exactStates[depth] = exact == null ? null : exact.getChild( name );
+            tailStates[depth] = tailStates[depth - 1].next( name );
+        }
+
+        /**
+         * Moves back to the parent of the current element.
+         */
+        void pop()
+        {
+            if ( depth > 0 )
+            {
+                names[depth--] = null;
+            }
+        }
+
+        /**
+         * Returns the rules matching the current element.
+         *
+         * @param namespaceURI the namespace URI of the current element
+         * @return the matching rules, which must not be modified
+         */
+        List<Rule> match( String namespaceURI )
+        {
+            Automaton current = owner.getAutomaton();
+            if ( current != automaton )
+            {
+                // Rules were added: replay the path on the new patterns
+                automaton = current;
+                exactStates[0] = current.exactRoot;
+                tailStates[0] = current.tailRoot;
+                for ( int i = 1; i <= depth; i++ )
+                {
+                    State exact = exactStates[i - 1];
+                    exactStates[i] = exact == null ? null : exact.getChild( names[i] );
+                    tailStates[i] = tailStates[i - 1].next( names[i] );
+                }
+            }
+            return select( namespaceURI, exactStates[depth], tailStates[depth] );
+        }
+
+    }
+
+}
@@ -606,6 +606,31 @@ public final class DigesterLoader
         return digester;
     }
 
+    /**
+     * Creates a new thread-safe {@link DigesterTemplate}, which keeps at most twice as many idle {@link Digester}
+     * instances as there are available processors.
+     *
+     * @return a new {@link DigesterTemplate} instance
+     * @since 3.3
+     */
+    public DigesterTemplate newDigesterTemplate()
+    {
+        return newDigesterTemplate( 2 * Runtime.getRuntime().availableProcessors() );
+    }
+
+    /**
+     * Creates a new thread-safe {@link DigesterTemplate}, which parses documents with {@link Digester} instances
+     * created by this loader and reused across parses. This loader must not be configured any more.
+     *
+     * @param maxIdle the maximum number of idle {@link Digester} instances kept for the next parses
+     * @return a new {@link DigesterTemplate} instance
+     * @since 3.3
+     */
+    public DigesterTemplate newDigesterTemplate( int maxIdle )
+    {
+        return new DigesterTemplate( this, maxIdle );
+    }
+
     /**
      * Add rules to an already created Digester instance, analyzing the digester annotations in the target class.
      *
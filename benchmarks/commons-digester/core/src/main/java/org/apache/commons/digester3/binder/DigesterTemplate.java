@@ -0,0 +1,266 @@
+package org.apache.commons.digester3.binder;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URL;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.digester3.Digester;
+import org.apache.commons.digester3.TrieRules;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * A thread-safe template to parse many documents with the rules of a {@link DigesterLoader}.
+ *
+ * A {@link Digester} holds the state of a single parse, so each parse needs its own instance; creating one requires a
+ * new {@code SAXParser} and new {@code Rule} instances. The template keeps the {@link Digester} instances, together
+ * with their {@code XMLReader} and {@link TrieRules}, which completed a parse, and hands them to the next parses, so
+ * concurrent parses only create new instances when all the idle ones are in use.
+ *
+ * A {@link Digester} is reused only after a successful parse, which clears its stacks; a {@link Digester} whose parse
+ * failed is discarded, since its rules may be left in the middle of the document. The rules are matched with
+ * {@link TrieRules}, which has the matching behavior of {@link org.apache.commons.digester3.RulesBase}; use
+ * {@link DigesterLoader#newDigester(org.apache.commons.digester3.Rules)} for the other {@code Rules} implementations.
+ *
+ * The loader must not be configured any more once the template is created.
+ *
+ * @since 3.3
+ */
+public final class DigesterTemplate
+{
+
+    /**
+     * The loader creating new {@link Digester} instances, which is not thread-safe.
+     */
+    private final DigesterLoader loader;
+
+    /**
+     * The maximum number of idle {@link Digester} instances.
+     */
+    private final int maxIdle;
+
+    /**
+     * The idle {@link Digester} instances.
+     */
+    private final Queue<Digester> idle = new ConcurrentLinkedQueue<Digester>();
+
+    /**
+     * The number of idle {@link Digester} instances, kept apart since the size of the queue is computed in linear time.
+     */
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    /**
+     * Creates a new template.
+     *
+     * @param loader the loader creating new {@link Digester} instances
+     * @param maxIdle the maximum number of idle {@link Digester} instances
+     */
+    DigesterTemplate( DigesterLoader loader, int maxIdle )
+    {
+        if ( maxIdle < 0 )
+        {
+            throw new IllegalArgumentException( "Parameter 'maxIdle' must not be negative: " + maxIdle );
+        }
+        // report the binding errors now rather than on the first parse
+        loader.createRuleSet();
+        this.loader = loader;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Returns the maximum number of idle {@link Digester} instances kept for the next parses.
+     *
+     * @return the maximum number of idle {@link Digester} instances
+     */
+    public int getMaxIdle()
+    {
+        return maxIdle;
+    }
+
+    /**
+     * Returns the number of idle {@link Digester} instances.
+     *
+     * @return the number of idle {@link Digester} instances
+     */
+    public int getIdleCount()
+    {
+        return idleCount.get();
+    }
+
+    /**
+     * Discards the idle {@link Digester} instances.
+     */
+    public void clear()
+    {
+        while ( idle.poll() != null )
+        {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Parse the content of the specified file using an idle or a new {@link Digester}.
+     *
+     * @param <T> the type used to auto-cast the returned object to the assigned variable type
+     * @param file File containing the XML data to be parsed
+     * @return the root element from the object stack (if any)
+     * @throws IOException if an input/output error occurs
+     * @throws SAXException if a parsing exception occurs
+     * @see Digester#parse(File)
+     */
+    public <T> T parse( File file )
+        throws IOException, SAXException
+    {
+        Digester digester = borrowDigester();
+        T root = digester.<T> parse( file );
+        returnDigester( digester );
+        return root;
+    }
+
+    /**
+     * Parse the content of the specified input source using an idle or a new {@link Digester}.
+     *
+     * @param <T> the type used to auto-cast the returned object to the assigned variable type
+     * @param input Input source containing the XML data to be parsed
+     * @return the root element from the object stack (if any)
+     * @throws IOException if an input/output error occurs
+     * @throws SAXException if a parsing exception occurs
+     * @see Digester#parse(InputSource)
+     */
+    public <T> T parse( InputSource input )
+        throws IOException, SAXException
+    {
+        Digester digester = borrowDigester();
+        T root = digester.<T> parse( input );
+        returnDigester( digester );
+        return root;
+    }
+
+    /**
+     * Parse the content of the specified input stream using an idle or a new {@link Digester}.
+     *
+     * @param <T> the type used to auto-cast the returned object to the assigned variable type
+     * @param input Input stream containing the XML data to be parsed
+     * @return the root element from the object stack (if any)
+     * @throws IOException if an input/output error occurs
+     * @throws SAXException if a parsing exception occurs
+     * @see Digester#parse(InputStream)
+     */
+    public <T> T parse( InputStream input )
+        throws IOException, SAXException
+    {
+        Digester digester = borrowDigester();
+        T root = digester.<T> parse( input );
+        returnDigester( digester );
+        return root;
+    }
+
+    /**
+     * Parse the content of the specified reader using an idle or a new {@link Digester}.
+     *
+     * @param <T> the type used to auto-cast the returned object to the assigned variable type
+     * @param reader Reader containing the XML data to be parsed
+     * @return the root element from the object stack (if any)
+     * @throws IOException if an input/output error occurs
+     * @throws SAXException if a parsing exception occurs
+     * @see Digester#parse(Reader)
+     */
+    public <T> T parse( Reader reader )
+        throws IOException, SAXException
+    {
+        Digester digester = borrowDigester();
+        T root = digester.<T> parse( reader );
+        returnDigester( digester );
+        return root;
+    }
+
+    /**
+     * Parse the content of the specified URL using an idle or a new {@link Digester}.
+     *
+     * @param <T> the type used to auto-cast the returned object to the assigned variable type
+     * @param url URL containing the XML data to be parsed
+     * @return the root element from the object stack (if any)
+     * @throws IOException if an input/output error occurs
+     * @throws SAXException if a parsing exception occurs
+     * @see Digester#parse(URL)
+     */
+    public <T> T parse( URL url )
+        throws IOException, SAXException
+    {
+        Digester digester = borrowDigester();
+        T root = digester.<T> parse( url );
+        returnDigester( digester );
+        return root;
+    }
+
+    /**
+     * Returns an idle {@link Digester}, or a new one if there is none.
+     *
+     * @return a {@link Digester} ready to parse a document
+     */
+    private Digester borrowDigester()
+    {
+        Digester digester = idle.poll();
+        if ( digester != null )
+        {
+            idleCount.decrementAndGet();
+            return digester;
+        }
+        synchronized ( loader )
+        {
+            return loader.newDigester( new TrieRules() );
+        }
+    }
+
+    /**
+     * Keeps a {@link Digester} which successfully parsed a document for the next parses, if there is room.
+     *
+     * @param digester the {@link Digester}, cleared at the end of the document
+     */
+    private void returnDigester( Digester digester )
+    {
+        digester.resetRoot();
+        if ( idleCount.incrementAndGet() <= maxIdle )
+        {
+            idle.offer( digester );
+        }
+        else
+        {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return "DigesterTemplate [maxIdle=" + maxIdle + ", idleCount=" + idleCount.get() + "]";
+    }
+
+}
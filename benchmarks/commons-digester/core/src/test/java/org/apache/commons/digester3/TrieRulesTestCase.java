@@ -0,0 +1,181 @@
+/* $Id$
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.digester3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * <p>
+ * Runs standard tests for RulesBase against TrieRules, and checks that the cursor used by the Digester matches the
+ * same rules as RulesBase.
+ */
+public class TrieRulesTestCase
+    extends RulesBaseTestCase
+{
+
+    private static final String[] NAMES = { "a", "b", "c" };
+
+    private static final String[] PATTERNS = { "a", "a/b", "a/b/c", "b/a", "*/a", "*/b", "*/a/b", "*/b/a/b", "*/c/c",
+        "c/*", "*" };
+
+    // --------------------------------------------------- Overall Test Methods
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Rules createMatchingRulesForTest()
+    {
+        return new TrieRules();
+    }
+
+    // ------------------------------------------------ Individual Test Methods
+
+    /**
+     * Tests that the longest tail pattern is selected when there is no exact match.
+     */
+    @Test
+    public void testLongestTailMatch()
+    {
+        digester.getRules().clear();
+
+        digester.addRule( "*/b", new TestRule( "tail" ) );
+        digester.addRule( "*/a/b", new TestRule( "longTail" ) );
+        digester.addRule( "x/a/b", new TestRule( "exact" ) );
+
+        assertEquals( "exact", identifiers( "x/a/b" ) );
+        assertEquals( "longTail", identifiers( "y/a/b" ) );
+        assertEquals( "longTail", identifiers( "a/b" ) );
+        assertEquals( "tail", identifiers( "x/b" ) );
+        assertEquals( "tail", identifiers( "b" ) );
+        assertEquals( "", identifiers( "a/c" ) );
+        assertEquals( "", identifiers( "x/a/b/c" ) );
+
+        digester.getRules().clear();
+    }
+
+    /**
+     * Tests that the cursor and string matching select the same rules as RulesBase for every path of up to four
+     * elements.
+     */
+    @Test
+    public void testSameMatchesAsRulesBase()
+    {
+        TrieRules trieRules = new TrieRules();
+        RulesBase baseRules = new RulesBase();
+        for ( int i = 0; i < PATTERNS.length; i++ )
+        {
+            String namespaceURI = i % 3 == 0 ? "urn:x" : null;
+            trieRules.add( PATTERNS[i], new TestRule( PATTERNS[i], namespaceURI ) );
+            baseRules.add( PATTERNS[i], new TestRule( PATTERNS[i], namespaceURI ) );
+        }
+
+        TrieRules.Cursor cursor = trieRules.newCursor( "" );
+        assertSameMatches( trieRules, baseRules, cursor, "", 4 );
+    }
+
+    /**
+     * Tests parsing with rules added while the document is parsed, which need the cursor to replay its path.
+     */
+    @Test
+    public void testParseWithRulesAddedDuringParse()
+        throws Exception
+    {
+        final List<Rule> order = new ArrayList<Rule>();
+        digester.getRules().clear();
+        final TestRule late = new TestRule( "late" );
+        late.setOrder( order );
+        TestRule early = new TestRule( "early" )
+        {
+            @Override
+            public void begin( String namespace, String name, org.xml.sax.Attributes attributes )
+                throws Exception
+            {
+                super.begin( namespace, name, attributes );
+                if ( !getDigester().getRules().rules().contains( late ) )
+                {
+                    getDigester().addRule( "*/beta/gamma", late );
+                }
+            }
+        };
+        early.setOrder( order );
+        digester.addRule( "alpha/beta", early );
+
+        digester.parse( new StringReader( "<alpha><beta><gamma/></beta><beta><gamma/></beta></alpha>" ) );
+
+        // begin, body and end of each element
+        assertEquals( 12, order.size() );
+        assertSame( early, order.get( 0 ) );
+        assertSame( late, order.get( 1 ) );
+        assertEquals( "", digester.getMatch() );
+
+        digester.getRules().clear();
+    }
+
+    // ------------------------------------------------ Utility Support Methods
+
+    private void assertSameMatches( TrieRules trieRules, RulesBase baseRules, TrieRules.Cursor cursor, String path,
+                                    int depth )
+    {
+        for ( String name : NAMES )
+        {
+            String child = path.length() == 0 ? name : path + "/" + name;
+            cursor.push( name );
+            for ( String namespaceURI : new String[] { null, "urn:x", "urn:y" } )
+            {
+                String expected = identifiers( baseRules.match( namespaceURI, child, name, null ) );
+                assertEquals( child + " in " + namespaceURI, expected,
+                              identifiers( trieRules.match( namespaceURI, child, name, null ) ) );
+                assertEquals( child + " in " + namespaceURI, expected, identifiers( cursor.match( namespaceURI ) ) );
+            }
+            if ( depth > 1 )
+            {
+                assertSameMatches( trieRules, baseRules, cursor, child, depth - 1 );
+            }
+            cursor.pop();
+        }
+    }
+
+    private String identifiers( String pattern )
+    {
+        return identifiers( digester.getRules().match( null, pattern, null, null ) );
+    }
+
+    private static String identifiers( List<Rule> rules )
+    {
+        StringBuilder sb = new StringBuilder();
+        for ( Rule rule : rules )
+        {
+            if ( sb.length() > 0 )
+            {
+                sb.append( ',' );
+            }
+            sb.append( ( (TestRule) rule ).getIdentifier() );
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,160 @@
+package org.apache.commons.digester3.binder;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.digester3.binder.DigesterLoader.newLoader;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.digester3.Employee;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+public final class DigesterTemplateTestCase
+{
+
+    private static final RulesModule EMPLOYEE_MODULE = new AbstractRulesModule()
+    {
+
+        @Override
+        protected void configure()
+        {
+            forPattern( "employee" ).createObject().ofType( Employee.class ).then().setProperties();
+        }
+
+    };
+
+    private static Employee parse( DigesterTemplate template, String firstName )
+        throws Exception
+    {
+        return template.parse( new StringReader( "<employee firstName='" + firstName + "' lastName='Doe'/>" ) );
+    }
+
+    @Test
+    public void parseReusesDigester()
+        throws Exception
+    {
+        DigesterTemplate template = newLoader( EMPLOYEE_MODULE ).newDigesterTemplate( 2 );
+
+        Employee first = parse( template, "John" );
+        assertEquals( 1, template.getIdleCount() );
+        Employee second = parse( template, "Jane" );
+        assertEquals( 1, template.getIdleCount() );
+
+        assertNotSame( first, second );
+        assertEquals( "John", first.getFirstName() );
+        assertEquals( "Jane", second.getFirstName() );
+        assertEquals( "Doe", second.getLastName() );
+    }
+
+    @Test
+    public void failedParseDiscardsDigester()
+        throws Exception
+    {
+        DigesterTemplate template = newLoader( EMPLOYEE_MODULE ).newDigesterTemplate( 2 );
+
+        try
+        {
+            template.parse( new StringReader( "<employee firstName='John'><address>" ) );
+            fail( "The document is not well-formed" );
+        }
+        catch ( SAXException e )
+        {
+            // expected
+        }
+        assertEquals( 0, template.getIdleCount() );
+
+        assertEquals( "Jane", parse( template, "Jane" ).getFirstName() );
+        assertEquals( 1, template.getIdleCount() );
+    }
+
+    @Test
+    public void idleDigestersAreBounded()
+        throws Exception
+    {
+        DigesterTemplate template = newLoader( EMPLOYEE_MODULE ).newDigesterTemplate( 0 );
+
+        assertEquals( "John", parse( template, "John" ).getFirstName() );
+        assertEquals( 0, template.getIdleCount() );
+    }
+
+    @Test
+    public void concurrentParses()
+        throws Exception
+    {
+        final DigesterTemplate template = newLoader( EMPLOYEE_MODULE ).newDigesterTemplate( 4 );
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        try
+        {
+            List<Future<Employee>> results = new ArrayList<Future<Employee>>();
+            for ( int i = 0; i < 400; i++ )
+            {
+                final String firstName = "Employee" + i;
+                results.add( executor.submit( new Callable<Employee>()
+                {
+
+                    public Employee call()
+                        throws Exception
+                    {
+                        return parse( template, firstName );
+                    }
+
+                } ) );
+            }
+            for ( int i = 0; i < results.size(); i++ )
+            {
+                assertEquals( "Employee" + i, results.get( i ).get().getFirstName() );
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+        assertEquals( true, template.getIdleCount() <= 4 );
+
+        template.clear();
+        assertEquals( 0, template.getIdleCount() );
+    }
+
+    @Test( expected = DigesterLoadingException.class )
+    public void bindingErrorsReportedOnCreation()
+    {
+        newLoader( new AbstractRulesModule()
+        {
+
+            @Override
+            protected void configure()
+            {
+                forPattern( "employee" ).createObject().ofType( "org.apache.commons.digester3.DoesNotExist" );
+            }
+
+        } ).newDigesterTemplate();
+    }
+
+}
@@ -579,6 +579,12 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
             return 0;
         }
 
+        // The long keys are compared without being boxed
+        if ( ( key != null ) && ( keys[0] instanceof PersistedLongKeyHolder ) )
+        {
+            return findLongPos( ( Long ) key );
+        }
+
         int min = 0;
         int max = nbElems - 1;
 
@@ -627,6 +633,57 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
     }
 
 
+    /**
+     * Finds the position of the given long key in a page storing its keys in
+     * {@link PersistedLongKeyHolder}s. The returned value is the same as the one
+     * returned by {@link #findPos(Object)}.
+     *
+     * @param key The key to find
+     * @return The position in the page.
+     */
+    private int findLongPos( long key )
+    {
+        int min = 0;
+        int max = nbElems - 1;
+
+        // binary search
+        while ( min < max )
+        {
+            int middle = ( min + max + 1 ) >> 1;
+
+            long middleKey = ( ( PersistedLongKeyHolder ) keys[middle] ).getLongKey();
+
+            if ( middleKey < key )
+            {
+                min = middle + 1;
+            }
+            else if ( middleKey > key )
+            {
+                max = middle - 1;
+            }
+            else
+            {
+                return -( middle + 1 );
+            }
+        }
+
+        long maxKey = ( ( PersistedLongKeyHolder ) keys[max] ).getLongKey();
+
+        if ( maxKey == key )
+        {
+            return -( max + 1 );
+        }
+        else if ( maxKey < key )
+        {
+            return max + 1;
+        }
+        else
+        {
+            return max;
+        }
+    }
+
+
     /**
      * {@inheritDoc}
      */
@@ -23,6 +23,7 @@ package org.apache.directory.mavibot.btree;
 import java.util.LinkedList;
 
 import org.apache.directory.mavibot.btree.serializer.ElementSerializer;
+import org.apache.directory.mavibot.btree.serializer.LongSerializer;
 
 
 /**
@@ -525,6 +526,51 @@ public class BTreeFactory<K, V>
     }
 
 
+    //--------------------------------------------------------------------------------------------
+    // Create keys
+    //--------------------------------------------------------------------------------------------
+    /**
+     * Create a KeyHolder for a persisted B-tree. The long keys are stored in a
+     * {@link PersistedLongKeyHolder}, as primitive longs.
+     *
+     * @param keySerializer The B-tree key serializer
+     * @param key The key to store
+     * @return The created KeyHolder
+     */
+    @SuppressWarnings("unchecked")
+    /* no qualifier*/static <K> PersistedKeyHolder<K> createPersistedKeyHolder( ElementSerializer<K> keySerializer,
+        K key )
+    {
+        if ( keySerializer == LongSerializer.INSTANCE )
+        {
+            return ( PersistedKeyHolder ) new PersistedLongKeyHolder( ( Long ) key );
+        }
+
+        return new PersistedKeyHolder<K>( keySerializer, key );
+    }
+
+
+    /**
+     * Create a KeyHolder for a persisted B-tree, from a serialized key. The long keys are
+     * stored in a {@link PersistedLongKeyHolder}, as primitive longs.
+     *
+     * @param keySerializer The B-tree key serializer
+     * @param raw The serialized key
+     * @return The created KeyHolder
+     */
+    @SuppressWarnings("unchecked")
+    /* no qualifier*/static <K> PersistedKeyHolder<K> createPersistedKeyHolder( ElementSerializer<K> keySerializer,
+        byte[] raw )
+    {
+        if ( keySerializer == LongSerializer.INSTANCE )
+        {
+            return ( PersistedKeyHolder ) new PersistedLongKeyHolder( LongSerializer.deserializeLong( raw, 0 ) );
+        }
+
+        return new PersistedKeyHolder<K>( keySerializer, raw );
+    }
+
+
     //--------------------------------------------------------------------------------------------
     // Update pages
     //--------------------------------------------------------------------------------------------
@@ -542,7 +588,7 @@ public class BTreeFactory<K, V>
 
         if ( btree.getType() != BTreeTypeEnum.IN_MEMORY )
         {
-            keyHolder = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+            keyHolder = createPersistedKeyHolder( btree.getKeySerializer(), key );
         }
         else
         {
@@ -845,7 +891,7 @@ public class BTreeFactory<K, V>
     {
         if ( btree instanceof PersistedBTree )
         {
-            KeyHolder<K> keyHolder = new PersistedKeyHolder<K>( btree.getKeySerializer(), buffer );
+            KeyHolder<K> keyHolder = createPersistedKeyHolder( btree.getKeySerializer(), buffer );
             ( ( AbstractPage<K, V> ) page ).setKey( pos, keyHolder );
         }
         else
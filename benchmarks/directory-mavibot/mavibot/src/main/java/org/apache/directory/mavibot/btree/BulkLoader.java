@@ -21,11 +21,16 @@
 package org.apache.directory.mavibot.btree;
 
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -37,6 +42,10 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.apache.directory.mavibot.btree.comparator.IntComparator;
 import org.apache.directory.mavibot.btree.exception.EndOfFileExceededException;
@@ -55,6 +64,12 @@ import org.apache.directory.mavibot.btree.serializer.IntSerializer;
  */
 public class BulkLoader<K, V>
 {
+    /** The default number of chunks sorted in parallel */
+    public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /** The size of the buffers used to read and write the sorted files (64 Kb) */
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
     private BulkLoader()
     {
     };
@@ -87,20 +102,141 @@ public class BulkLoader<K, V>
     }
 
 
+    /**
+     * A private class used to sort the chunks and to flush them on disk in parallel,
+     * while the next chunk is being read. At most <code>parallelism</code> chunks are
+     * pending at the same time, so the memory used by the bulkLoader remains bounded
+     * to ( parallelism + 1 ) * chunkSize elements, whatever the size of the data.
+     */
+    private static class ChunkSorter<K, V>
+    {
+        /** The BTree we are loading */
+        private BTree<K, V> btree;
+
+        /** The maximum number of chunks being sorted at the same time */
+        private int parallelism;
+
+        /** The pool used to sort the chunks. It's created when the first chunk is submitted */
+        private ForkJoinPool pool;
+
+        /** The sorted files, in the order the chunks have been read */
+        private List<Future<File>> sortedFiles = new ArrayList<Future<File>>();
+
+        /** The number of sorted files we have already waited for */
+        private int nbDone = 0;
+
+
+        /** A constructor for this class */
+        /*No Qualifier*/ChunkSorter( BTree<K, V> btree, int parallelism )
+        {
+            this.btree = btree;
+            this.parallelism = parallelism;
+        }
+
+
+        /**
+         * Submit a chunk to be sorted and flushed on disk. We wait for the oldest pending
+         * chunk if we already have <code>parallelism</code> of them.
+         */
+        /*No Qualifier*/void submit( final int fileNb, final List<Tuple<K, V>> tuples ) throws IOException
+        {
+            if ( pool == null )
+            {
+                pool = new ForkJoinPool( parallelism );
+            }
+
+            while ( sortedFiles.size() - nbDone >= parallelism )
+            {
+                getFile( nbDone );
+                nbDone++;
+            }
+
+            sortedFiles.add( pool.submit( new Callable<File>()
+            {
+                @Override
+                public File call() throws IOException
+                {
+                    return flushToDisk( fileNb, tuples, btree );
+                }
+            } ) );
+        }
+
+
+        /**
+         * Wait for all the chunks to be sorted, and return the sorted files
+         */
+        /*No Qualifier*/List<File> getFiles() throws IOException
+        {
+            List<File> files = new ArrayList<File>( sortedFiles.size() );
+
+            for ( int i = 0; i < sortedFiles.size(); i++ )
+            {
+                files.add( getFile( i ) );
+            }
+
+            return files;
+        }
+
+
+        private File getFile( int fileNb ) throws IOException
+        {
+            try
+            {
+                return sortedFiles.get( fileNb ).get();
+            }
+            catch ( InterruptedException ie )
+            {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException( "Interrupted while sorting the chunks" );
+            }
+            catch ( ExecutionException ee )
+            {
+                Throwable cause = ee.getCause();
+
+                if ( cause instanceof IOException )
+                {
+                    throw ( IOException ) cause;
+                }
+
+                if ( cause instanceof RuntimeException )
+                {
+                    throw ( RuntimeException ) cause;
+                }
+
+                throw new RuntimeException( cause );
+            }
+        }
+
+
+        /**
+         * Stop the sorting threads
+         */
+        /*No Qualifier*/void close()
+        {
+            if ( pool != null )
+            {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+
     /**
      * Process the data, and creates files to store them sorted if necessary, or store them
      * TODO readElements.
      *
+     * The full chunks are sorted and flushed on disk by the chunkSorter, in parallel.
+     *
      * @param btree
      * @param iterator
-     * @param sortedFiles
+     * @param chunkSorter
      * @param tuples
      * @param chunkSize
      * @return
      * @throws IOException
      */
-    private static <K, V> int readElements( BTree<K, V> btree, Iterator<Tuple<K, V>> iterator, List<File> sortedFiles,
-        List<Tuple<K, V>> tuples, int chunkSize ) throws IOException
+    private static <K, V> int readElements( BTree<K, V> btree, Iterator<Tuple<K, V>> iterator,
+        ChunkSorter<K, V> chunkSorter, List<Tuple<K, V>> tuples, int chunkSize ) throws IOException
     {
         int nbRead = 0;
         int nbIteration = 0;
@@ -134,7 +270,7 @@ public class BulkLoader<K, V>
                     // Flush the sorted data on disk and exit
                     inMemory = false;
 
-                    sortedFiles.add( flushToDisk( nbIteration, tuples, btree ) );
+                    chunkSorter.submit( nbIteration, new ArrayList<Tuple<K, V>>( tuples ) );
                 }
 
                 // Update the number of read elements
@@ -151,7 +287,7 @@ public class BulkLoader<K, V>
                     {
                         // Flush the sorted data on disk and exit
                         inMemory = false;
-                        sortedFiles.add( flushToDisk( nbIteration, tuples, btree ) );
+                        chunkSorter.submit( nbIteration, new ArrayList<Tuple<K, V>>( tuples ) );
                     }
 
                     // We have read all the data in one round trip, let's get out, no need
@@ -166,7 +302,7 @@ public class BulkLoader<K, V>
                 // We have read chunkSize elements, we have to sort them on disk
                 nbElems += nbRead;
                 nbRead = 0;
-                sortedFiles.add( flushToDisk( nbIteration, tuples, btree ) );
+                chunkSorter.submit( nbIteration, new ArrayList<Tuple<K, V>>( tuples ) );
             }
         }
 
@@ -189,7 +325,7 @@ public class BulkLoader<K, V>
     {
         File file = File.createTempFile( "sortedUnique", "data" );
         file.deleteOnExit();
-        FileOutputStream fos = new FileOutputStream( file );
+        OutputStream fos = new BufferedOutputStream( new FileOutputStream( file ), IO_BUFFER_SIZE );
 
         // Number of read elements
         int nbReads = 0;
@@ -225,7 +361,7 @@ public class BulkLoader<K, V>
         fos.flush();
         fos.close();
 
-        FileInputStream fis = new FileInputStream( file );
+        DataInputStream fis = openSortedFile( file );
         Iterator<Tuple<K, Set<V>>> uniqueIterator = createUniqueFileIterator( btree, fis );
         SortedFile sortedFile = new SortedFile( file, nbReads );
 
@@ -247,6 +383,29 @@ public class BulkLoader<K, V>
     public static <K, V> BTree<K, V> load( BTree<K, V> btree, Iterator<Tuple<K, V>> iterator, int chunkSize )
         throws IOException
     {
+        return load( btree, iterator, chunkSize, DEFAULT_PARALLELISM );
+    }
+
+
+    /**
+     * Bulk Load data into a persisted BTree. When the data don't fit in a chunk, the chunks
+     * are sorted and flushed on disk in parallel, then merged while the BTree pages are
+     * written. At most ( parallelism + 1 ) chunks are kept in memory.
+     *
+     * @param btree The persisted BTree in which we want to load the data
+     * @param iterator The iterator over the data to bulkload
+     * @param chunkSize The number of elements we may store in memory at each iteration
+     * @param parallelism The maximum number of chunks sorted at the same time
+     * @throws IOException If there is a problem while processing the data
+     */
+    public static <K, V> BTree<K, V> load( BTree<K, V> btree, Iterator<Tuple<K, V>> iterator, int chunkSize,
+        int parallelism ) throws IOException
+    {
+        if ( parallelism < 1 )
+        {
+            throw new IllegalArgumentException( "Invalid parallelism : " + parallelism );
+        }
+
         if ( btree == null )
         {
             throw new RuntimeException( "Invalid BTree : it's null" );
@@ -262,14 +421,25 @@ public class BulkLoader<K, V>
         boolean inMemory = true;
 
         // The list of files we will use to store the sorted chunks
-        List<File> sortedFiles = new ArrayList<File>();
+        List<File> sortedFiles = null;
 
         // An array of chukSize tuple max
         List<Tuple<K, V>> tuples = new ArrayList<Tuple<K, V>>( chunkSize );
 
         // Now, start to read all the tuples to sort them. We may use intermediate files
-        // for that purpose if we hit the threshold.
-        int nbElems = readElements( btree, iterator, sortedFiles, tuples, chunkSize );
+        // for that purpose if we hit the threshold, they are sorted in parallel.
+        ChunkSorter<K, V> chunkSorter = new ChunkSorter<K, V>( btree, parallelism );
+        int nbElems;
+
+        try
+        {
+            nbElems = readElements( btree, iterator, chunkSorter, tuples, chunkSize );
+            sortedFiles = chunkSorter.getFiles();
+        }
+        finally
+        {
+            chunkSorter.close();
+        }
 
         // If the tuple list is empty, we have to process the load based on files, not in memory
         if ( nbElems > 0 )
@@ -279,7 +449,7 @@ public class BulkLoader<K, V>
 
         // Now that we have processed all the data, we can start storing them in the btree
         Iterator<Tuple<K, Set<V>>> dataIterator = null;
-        FileInputStream[] streams = null;
+        DataInputStream[] streams = null;
         BTree<K, V> resultBTree = null;
 
         if ( inMemory )
@@ -293,11 +463,11 @@ public class BulkLoader<K, V>
         {
             // We first have to build an iterator over the files
             int nbFiles = sortedFiles.size();
-            streams = new FileInputStream[nbFiles];
+            streams = new DataInputStream[nbFiles];
 
             for ( int i = 0; i < nbFiles; i++ )
             {
-                streams[i] = new FileInputStream( sortedFiles.get( i ) );
+                streams[i] = openSortedFile( sortedFiles.get( i ) );
             }
 
             dataIterator = createIterator( btree, streams );
@@ -471,7 +641,7 @@ public class BulkLoader<K, V>
     {
         PersistedLeaf<K, V> leaf = ( PersistedLeaf<K, V> ) leafLevel.getCurrentPage();
 
-        KeyHolder<K> keyHolder = new PersistedKeyHolder<K>( btree.getKeySerializer(), tuple.getKey() );
+        KeyHolder<K> keyHolder = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), tuple.getKey() );
         leaf.setKey( leafLevel.getCurrentPos(), keyHolder );
 
         if ( btree.getType() != BTreeTypeEnum.PERSISTED_SUB )
@@ -552,7 +722,8 @@ public class BulkLoader<K, V>
         {
             // Inject the pageHolder and the page leftmost key
             node.setPageHolder( level.getCurrentPos() + 1, pageHolder );
-            KeyHolder<K> keyHolder = new PersistedKeyHolder<K>( btree.getKeySerializer(), page.getLeftMostKey() );
+            KeyHolder<K> keyHolder = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
+                page.getLeftMostKey() );
             node.setKey( level.getCurrentPos(), keyHolder );
             level.incCurrentPos();
             level.incNbAddedElems();
@@ -612,7 +783,8 @@ public class BulkLoader<K, V>
             {
                 // Inject the pageHolder and the page leftmost key
                 node.setPageHolder( level.getCurrentPos(), pageHolder );
-                KeyHolder<K> keyHolder = new PersistedKeyHolder<K>( btree.getKeySerializer(), page.getLeftMostKey() );
+                KeyHolder<K> keyHolder = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
+                    page.getLeftMostKey() );
                 node.setKey( level.getCurrentPos() - 1, keyHolder );
             }
 
@@ -684,7 +856,7 @@ public class BulkLoader<K, V>
                     {
                         // Inject the pageHolder and the page leftmost key
                         node.setPageHolder( level.getCurrentPos(), pageHolder );
-                        KeyHolder<K> keyHolder = new PersistedKeyHolder<K>( btree.getKeySerializer(),
+                        KeyHolder<K> keyHolder = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
                             page.getLeftMostKey() );
                         node.setKey( level.getCurrentPos() - 1, keyHolder );
                     }
@@ -713,7 +885,7 @@ public class BulkLoader<K, V>
                         // Any other following elements
                         // Inject the pageHolder and the page leftmost key
                         node.setPageHolder( level.getCurrentPos(), pageHolder );
-                        KeyHolder<K> keyHolder = new PersistedKeyHolder<K>( btree.getKeySerializer(),
+                        KeyHolder<K> keyHolder = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
                             page.getLeftMostKey() );
                         node.setKey( level.getCurrentPos() - 1, keyHolder );
                     }
@@ -756,7 +928,7 @@ public class BulkLoader<K, V>
                         // Any other following elements
                         // Inject the pageHolder and the page leftmost key
                         node.setPageHolder( level.getCurrentPos(), pageHolder );
-                        KeyHolder<K> keyHolder = new PersistedKeyHolder<K>( btree.getKeySerializer(),
+                        KeyHolder<K> keyHolder = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
                             page.getLeftMostKey() );
                         node.setKey( level.getCurrentPos() - 1, keyHolder );
                     }
@@ -812,7 +984,7 @@ public class BulkLoader<K, V>
             Tuple<K, Set<V>> tuple = dataIterator.next();
 
             // Store the current element in the rootPage
-            KeyHolder<K> keyHolder = new PersistedKeyHolder<K>( btree.getKeySerializer(), tuple.getKey() );
+            KeyHolder<K> keyHolder = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), tuple.getKey() );
             keys[pos] = keyHolder;
 
             switch ( btree.getType() )
@@ -988,7 +1160,7 @@ public class BulkLoader<K, V>
 
         File file = File.createTempFile( "sorted", Integer.toString( fileNb ) );
         file.deleteOnExit();
-        FileOutputStream fos = new FileOutputStream( file );
+        OutputStream fos = new BufferedOutputStream( new FileOutputStream( file ), IO_BUFFER_SIZE );
 
         // Flush the tuples on disk
         for ( Tuple<K, Set<V>> tuple : sortedTuples )
@@ -1122,7 +1294,16 @@ public class BulkLoader<K, V>
     }
 
 
-    private static <K, V> Tuple<K, Set<V>> fetchTuple( BTree<K, V> btree, FileInputStream fis )
+    /**
+     * Open a sorted file, with a buffer : the tuples are read a few bytes at a time
+     */
+    private static DataInputStream openSortedFile( File file ) throws FileNotFoundException
+    {
+        return new DataInputStream( new BufferedInputStream( new FileInputStream( file ), IO_BUFFER_SIZE ) );
+    }
+
+
+    private static <K, V> Tuple<K, Set<V>> fetchTuple( BTree<K, V> btree, DataInputStream fis )
     {
         try
         {
@@ -1134,32 +1315,27 @@ public class BulkLoader<K, V>
             Tuple<K, Set<V>> tuple = new Tuple<K, Set<V>>();
             tuple.value = new TreeSet<V>();
 
-            byte[] intBytes = new byte[4];
-
             // Read the key length
-            fis.read( intBytes );
-            int keyLength = IntSerializer.deserialize( intBytes );
+            int keyLength = fis.readInt();
 
             // Read the key
             byte[] keyBytes = new byte[keyLength];
-            fis.read( keyBytes );
+            fis.readFully( keyBytes );
             K key = btree.getKeySerializer().fromBytes( keyBytes );
             tuple.key = key;
 
             // get the number of values
-            fis.read( intBytes );
-            int nbValues = IntSerializer.deserialize( intBytes );
+            int nbValues = fis.readInt();
 
             // Serialize the values
             for ( int i = 0; i < nbValues; i++ )
             {
                 // Read the value length
-                fis.read( intBytes );
-                int valueLength = IntSerializer.deserialize( intBytes );
+                int valueLength = fis.readInt();
 
                 // Read the value
                 byte[] valueBytes = new byte[valueLength];
-                fis.read( valueBytes );
+                fis.readFully( valueBytes );
                 V value = btree.getValueSerializer().fromBytes( valueBytes );
                 tuple.value.add( value );
             }
@@ -1178,7 +1354,7 @@ public class BulkLoader<K, V>
      * @throws FileNotFoundException 
      */
     private static <K, V> Iterator<Tuple<K, Set<V>>> createIterator( final BTree<K, V> btree,
-        final FileInputStream[] streams )
+        final DataInputStream[] streams )
         throws FileNotFoundException
     {
         // The number of files we have to read from
@@ -1298,7 +1474,7 @@ public class BulkLoader<K, V>
      * @throws FileNotFoundException 
      */
     private static <K, V> Iterator<Tuple<K, Set<V>>> createUniqueFileIterator( final BTree<K, V> btree,
-        final FileInputStream stream )
+        final DataInputStream stream )
         throws FileNotFoundException
     {
         Iterator<Tuple<K, Set<V>>> tupleIterator = new Iterator<Tuple<K, Set<V>>>()
@@ -1320,10 +1496,18 @@ public class BulkLoader<K, V>
             @Override
             public boolean hasNext()
             {
-                // Check that we have at least one element to read
+                // Check that we have at least one element to read. The stream is closed
+                // when we have read all of them
                 try
                 {
-                    return stream.available() > 0;
+                    if ( stream.available() > 0 )
+                    {
+                        return true;
+                    }
+
+                    stream.close();
+
+                    return false;
                 }
                 catch ( IOException e )
                 {
@@ -0,0 +1,207 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.apache.directory.mavibot.btree;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import org.apache.directory.mavibot.btree.exception.EndOfFileExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * A view of the RecordManager file as a set of memory mapped regions. Each region has
+ * the same size, which is a multiple of the page size, so that a {@link PageIO} never
+ * spans two regions. The last region only covers the existing part of the file, and is
+ * mapped again when the file grows.<br/>
+ * The pages are returned as slices of the mapped regions, without any copy : a modification
+ * of a slice is visible in the file, so it must always be followed by a write of the very
+ * same page through the FileChannel, as the RecordManager does.<br/>
+ * The regions are never unmapped explicitly, as slices of them may still be read by other
+ * threads, even once the file is closed : unmapping them would crash the JVM on such a read.
+ * A region is released when it, and all its slices, are garbage collected.
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+/* No qualifier*/class MappedFile
+{
+    /** The LoggerFactory used by this class */
+    protected static final Logger LOG = LoggerFactory.getLogger( MappedFile.class );
+
+    /** The default size of a mapped region (64 Mb) */
+    /* no qualifier */static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+    /** The channel of the mapped file */
+    private FileChannel fileChannel;
+
+    /** The size of a mapped region */
+    private int regionSize;
+
+    /** The mapped regions. A null element is a region that has not been mapped yet */
+    private volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+
+    /** Tells if the file has been closed */
+    private volatile boolean closed;
+
+
+    /**
+     * Creates a new MappedFile instance. The regions are mapped lazily.
+     *
+     * @param fileChannel The channel of the file to map
+     * @param pageSize The RecordManager page size
+     */
+    /* no qualifier */MappedFile( FileChannel fileChannel, int pageSize )
+    {
+        this( fileChannel, pageSize, DEFAULT_REGION_SIZE );
+    }
+
+
+    /**
+     * Creates a new MappedFile instance. The regions are mapped lazily.
+     *
+     * @param fileChannel The channel of the file to map
+     * @param pageSize The RecordManager page size
+     * @param regionSize The size of a mapped region, rounded down to a multiple of the page size
+     */
+    /* no qualifier */MappedFile( FileChannel fileChannel, int pageSize, int regionSize )
+    {
+        this.fileChannel = fileChannel;
+
+        if ( regionSize < pageSize )
+        {
+            this.regionSize = pageSize;
+        }
+        else
+        {
+            this.regionSize = ( regionSize / pageSize ) * pageSize;
+        }
+    }
+
+
+    /**
+     * Get a slice of the mapped file. The slice must not cross a region boundary, which
+     * is always the case for a PageIO.
+     *
+     * @param offset The position in the file
+     * @param length The number of bytes to get
+     * @return A ByteBuffer sharing its content with the file
+     * @throws EndOfFileExceededException If the slice goes beyond the end of the file
+     * @throws IOException If the region can't be mapped
+     */
+    /* no qualifier */ByteBuffer slice( long offset, int length ) throws IOException
+    {
+        int regionIndex = ( int ) ( offset / regionSize );
+        int position = ( int ) ( offset % regionSize );
+        MappedByteBuffer[] current = regions;
+        MappedByteBuffer region = null;
+
+        if ( regionIndex < current.length )
+        {
+            region = current[regionIndex];
+        }
+
+        if ( ( region == null ) || ( region.capacity() < position + length ) )
+        {
+            // The region does not exist yet, or the file has grown since it was mapped
+            region = map( regionIndex );
+
+            if ( region.capacity() < position + length )
+            {
+                throw new EndOfFileExceededException( "We are fetching " + length + " bytes on " + offset +
+                    " when the file's size is " + fileChannel.size() );
+            }
+        }
+
+        ByteBuffer data = region.duplicate();
+        data.limit( position + length );
+        data.position( position );
+
+        return data.slice();
+    }
+
+
+    /**
+     * Map a region. It covers at most the current file size, as mapping a region beyond the
+     * end of the file would extend it.
+     */
+    private synchronized MappedByteBuffer map( int regionIndex ) throws IOException
+    {
+        if ( closed )
+        {
+            throw new IOException( "The mapped file is closed" );
+        }
+
+        MappedByteBuffer[] current = regions;
+        long start = ( long ) regionIndex * regionSize;
+        long fileSize = fileChannel.size();
+
+        if ( start >= fileSize )
+        {
+            throw new EndOfFileExceededException( "We are mapping a region on " + start +
+                " when the file's size is " + fileSize );
+        }
+
+        long size = Math.min( regionSize, fileSize - start );
+
+        if ( ( regionIndex < current.length ) && ( current[regionIndex] != null )
+            && ( current[regionIndex].capacity() == size ) )
+        {
+            // Another thread has already mapped it
+            return current[regionIndex];
+        }
+
+        LOG.debug( "Mapping the region {}, {} bytes at offset {}", regionIndex, size, start );
+
+        MappedByteBuffer region = fileChannel.map( MapMode.READ_WRITE, start, size );
+
+        MappedByteBuffer[] newRegions;
+
+        if ( regionIndex >= current.length )
+        {
+            newRegions = new MappedByteBuffer[regionIndex + 1];
+            System.arraycopy( current, 0, newRegions, 0, current.length );
+        }
+        else
+        {
+            newRegions = current.clone();
+        }
+
+        newRegions[regionIndex] = region;
+        regions = newRegions;
+
+        return region;
+    }
+
+
+    /**
+     * Release the regions. They are unmapped when garbage collected, once the slices still
+     * in use are released as well.
+     */
+    /* no qualifier */synchronized void close()
+    {
+        closed = true;
+        regions = new MappedByteBuffer[0];
+    }
+}
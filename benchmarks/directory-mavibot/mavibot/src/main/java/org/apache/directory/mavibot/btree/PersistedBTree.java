@@ -26,7 +26,9 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
-import org.apache.commons.collections.map.LRUMap;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,13 +49,16 @@ public class PersistedBTree<K, V> extends AbstractBTree<K, V> implements Closeab
 
     protected static final Logger LOG_PAGES = LoggerFactory.getLogger( "org.apache.directory.mavibot.LOG_PAGES" );
 
-    /** The cache associated with this B-tree */
-    protected LRUMap cache;
+    /** The cache associated with this B-tree. It's the RecordManager one when the B-tree is managed */
+    protected Cache<Long, Page<?, ?>> cache;
 
     /** The default number of pages to keep in memory */
     public static final int DEFAULT_CACHE_SIZE = 1000;
 
-    /** The cache size, default to 1000 elements */
+    /**
+     * The cache size, default to 1000 elements. It's only used until the B-tree is managed
+     * by a RecordManager, which shares its own size-bounded cache with all its B-trees.
+     */
     protected int cacheSize = DEFAULT_CACHE_SIZE;
 
     /** The number of stored Values before we switch to a B-tree */
@@ -162,12 +167,19 @@ public class PersistedBTree<K, V> extends AbstractBTree<K, V> implements Closeab
             // Create the queue containing the pending read transactions
             readTransactions = new ConcurrentLinkedQueue<ReadTransaction<K, V>>();
 
-            if ( cacheSize < 1 )
+            if ( recordManager != null )
             {
-                cacheSize = DEFAULT_CACHE_SIZE;
+                cache = recordManager.getPageCache();
             }
+            else
+            {
+                if ( cacheSize < 1 )
+                {
+                    cacheSize = DEFAULT_CACHE_SIZE;
+                }
 
-            cache = new LRUMap( cacheSize );
+                cache = Caffeine.newBuilder().maximumSize( cacheSize ).build();
+            }
         }
         else
         {
@@ -184,7 +196,7 @@ public class PersistedBTree<K, V> extends AbstractBTree<K, V> implements Closeab
     /**
      * Return the cache we use in this BTree
      */
-    /* No qualifier */LRUMap getCache()
+    /* No qualifier */Cache<Long, Page<?, ?>> getCache()
     {
         return cache;
     }
@@ -208,8 +220,11 @@ public class PersistedBTree<K, V> extends AbstractBTree<K, V> implements Closeab
         // readTransactionsThread.interrupt();
         // readTransactions.clear();
 
-        // Clean the cache
-        cache.clear();
+        // Clean the cache, unless it's shared with the other B-trees
+        if ( recordManager == null )
+        {
+            cache.invalidateAll();
+        }
     }
 
 
@@ -261,6 +276,9 @@ public class PersistedBTree<K, V> extends AbstractBTree<K, V> implements Closeab
         // The RecordManager is also the TransactionManager
         transactionManager = recordManager;
         this.recordManager = recordManager;
+
+        // The pages are now cached in the RecordManager cache
+        cache = recordManager.getPageCache();
     }
 
 
@@ -54,6 +54,17 @@ import org.apache.directory.mavibot.btree.serializer.ElementSerializer;
     }
 
 
+    /**
+     * Create a new KeyHolder instance, for the subclasses which store the key their own way
+     * @param keySerializer The KeySerializer instance
+     */
+    /* no qualifier */PersistedKeyHolder( ElementSerializer<K> keySerializer )
+    {
+        super( null );
+        this.keySerializer = keySerializer;
+    }
+
+
     /**
      * Create a new KeyHolder instance
      * @param keySerializer The KeySerializer instance
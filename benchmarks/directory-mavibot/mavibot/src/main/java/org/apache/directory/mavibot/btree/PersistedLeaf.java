@@ -431,7 +431,7 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
         PersistedLeaf<K, V> newLeaf = new PersistedLeaf<K, V>( btree, revision, nbElems );
 
         // Insert the borrowed element
-        newLeaf.keys[0] = new PersistedKeyHolder<K>( btree.getKeySerializer(), siblingKey );
+        newLeaf.keys[0] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), siblingKey );
         if ( isNotSubTree )
         {
             newLeaf.values[0] = siblingValue;
@@ -501,7 +501,7 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
         PersistedLeaf<K, V> newLeaf = new PersistedLeaf<K, V>( btree, revision, nbElems );
 
         // Insert the borrowed element at the end
-        newLeaf.keys[nbElems - 1] = new PersistedKeyHolder<K>( btree.getKeySerializer(), siblingKey );
+        newLeaf.keys[nbElems - 1] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), siblingKey );
         if ( isNotSubTree )
         {
             newLeaf.values[nbElems - 1] = siblingHolder;
@@ -1003,7 +1003,7 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
         // Deal with the special case of an empty page
         if ( nbElems == 0 )
         {
-            newLeaf.keys[0] = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+            newLeaf.keys[0] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), key );
 
             newLeaf.values[0] = valueHolder;
         }
@@ -1014,7 +1014,7 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
             System.arraycopy( values, 0, newLeaf.values, 0, pos );
 
             // Add the new element
-            newLeaf.keys[pos] = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+            newLeaf.keys[pos] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), key );
             newLeaf.values[pos] = valueHolder;
 
             // And copy the remaining elements
@@ -1059,7 +1059,7 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
             System.arraycopy( values, 0, leftLeaf.values, 0, pos );
 
             // Add the new element
-            leftLeaf.keys[pos] = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+            leftLeaf.keys[pos] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), key );
             leftLeaf.values[pos] = valueHolder;
 
             // And copy the remaining elements
@@ -1092,7 +1092,7 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
             System.arraycopy( values, middle, rightLeaf.values, 0, rightPos );
 
             // Add the new element
-            rightLeaf.keys[rightPos] = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+            rightLeaf.keys[rightPos] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), key );
             rightLeaf.values[rightPos] = valueHolder;
 
             // And copy the remaining elements
@@ -1280,7 +1280,7 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
         // Deal with the special case of an empty page
         if ( nbElems == 0 )
         {
-            newLeaf.keys[0] = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+            newLeaf.keys[0] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), key );
         }
         else
         {
@@ -1288,7 +1288,7 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
             System.arraycopy( keys, 0, newLeaf.keys, 0, pos );
 
             // Add the new element
-            newLeaf.keys[pos] = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+            newLeaf.keys[pos] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), key );
 
             // And copy the remaining elements
             System.arraycopy( keys, pos, newLeaf.keys, pos + 1, keys.length - pos );
@@ -1318,7 +1318,7 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
             System.arraycopy( keys, 0, leftLeaf.keys, 0, pos );
 
             // Add the new element
-            leftLeaf.keys[pos] = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+            leftLeaf.keys[pos] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), key );
 
             // And copy the remaining elements
             System.arraycopy( keys, pos, leftLeaf.keys, pos + 1, middle - pos );
@@ -1346,7 +1346,7 @@ import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
             System.arraycopy( keys, middle, rightLeaf.keys, 0, rightPos );
 
             // Add the new element
-            rightLeaf.keys[rightPos] = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+            rightLeaf.keys[rightPos] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), key );
 
             // And copy the remaining elements
             System.arraycopy( keys, pos, rightLeaf.keys, rightPos + 1, nbElems - pos );
@@ -0,0 +1,93 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.apache.directory.mavibot.btree;
+
+
+import org.apache.directory.mavibot.btree.serializer.LongSerializer;
+
+
+/**
+ * A KeyHolder for the B-trees using the {@link LongSerializer} for their keys. The key is
+ * stored as a primitive long : we don't keep the serialized key nor a Long instance, and the
+ * pages can be searched without boxing the keys (see AbstractPage.findPos()).
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+/* No qualifier */class PersistedLongKeyHolder extends PersistedKeyHolder<Long>
+{
+    /** The key */
+    private long longKey;
+
+
+    /**
+     * Create a new PersistedLongKeyHolder instance
+     * @param longKey The key to store
+     */
+    /* no qualifier */PersistedLongKeyHolder( long longKey )
+    {
+        super( LongSerializer.INSTANCE );
+        this.longKey = longKey;
+    }
+
+
+    /**
+     * @return the key, as a primitive long
+     */
+    /* no qualifier */long getLongKey()
+    {
+        return longKey;
+    }
+
+
+    /**
+     * @return the key
+     */
+    /* no qualifier */Long getKey()
+    {
+        return longKey;
+    }
+
+
+    /**
+     * @param key the Key to store in into the KeyHolder
+     */
+    /* no qualifier */void setKey( Long key )
+    {
+        longKey = key;
+    }
+
+
+    /**
+     * @return The serialized key, created on demand
+     */
+    /* No qualifier */byte[] getRaw()
+    {
+        return LongSerializer.serialize( longKey );
+    }
+
+
+    /**
+     * @see Object#toString()
+     */
+    public String toString()
+    {
+        return "PersistedLongKeyHolder[" + longKey + ", 8]";
+    }
+}
@@ -83,7 +83,7 @@ import java.util.List;
         // Yes, this is an hack...
         keys = ( KeyHolder<K>[] ) Array.newInstance( PersistedKeyHolder.class, btree.getPageSize() );
 
-        keys[0] = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+        keys[0] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), key );
     }
 
 
@@ -113,7 +113,7 @@ import java.util.List;
         // Create the keys array and store the pivot into it
         keys = ( KeyHolder[] ) Array.newInstance( KeyHolder.class, btree.getPageSize() );
 
-        keys[0] = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+        keys[0] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), key );
     }
 
 
@@ -285,7 +285,7 @@ import java.util.List;
         int index = Math.abs( pos );
 
         // Copy the key and children from sibling
-        newNode.keys[nbElems - 1] = new PersistedKeyHolder<K>( btree.getKeySerializer(), siblingKey ); // 1
+        newNode.keys[nbElems - 1] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), siblingKey ); // 1
         newNode.children[nbElems] = sibling.children[0]; // 8
 
         if ( index < 2 )
@@ -309,7 +309,7 @@ import java.util.List;
             }
 
             // Inject the new modified page key
-            newNode.keys[index - 2] = new PersistedKeyHolder<K>( btree.getKeySerializer(), mergedResult
+            newNode.keys[index - 2] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), mergedResult
                 .getModifiedPage()
                 .getLeftMostKey() ); // 2
 
@@ -376,8 +376,8 @@ import java.util.List;
 
         if ( index < 2 )
         {
-            newNode.keys[0] = new PersistedKeyHolder<K>( btree.getKeySerializer(), mergedResult.getModifiedPage()
-                .getLeftMostKey() );
+            newNode.keys[0] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
+                mergedResult.getModifiedPage().getLeftMostKey() );
             System.arraycopy( keys, 1, newNode.keys, 1, nbElems - 1 );
 
             Page<K, V> modifiedPage = mergedResult.getModifiedPage();
@@ -387,7 +387,7 @@ import java.util.List;
         else
         {
             // Set the first key
-            newNode.keys[0] = new PersistedKeyHolder<K>( btree.getKeySerializer(), children[0].getValue()
+            newNode.keys[0] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), children[0].getValue()
                 .getLeftMostKey() ); //2
 
             if ( index > 2 )
@@ -397,7 +397,7 @@ import java.util.List;
             }
 
             // Inject the modified key
-            newNode.keys[index - 1] = new PersistedKeyHolder<K>( btree.getKeySerializer(), mergedResult
+            newNode.keys[index - 1] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), mergedResult
                 .getModifiedPage()
                 .getLeftMostKey() ); // 3
 
@@ -461,7 +461,7 @@ import java.util.List;
             // Then copy all the elements up to the deletion point
             if ( index < 2 )
             {
-                newNode.keys[half] = new PersistedKeyHolder<K>( btree.getKeySerializer(), mergedResult
+                newNode.keys[half] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), mergedResult
                     .getModifiedPage()
                     .getLeftMostKey() );
                 System.arraycopy( keys, 1, newNode.keys, half + 1, half - 1 );
@@ -474,8 +474,8 @@ import java.util.List;
             {
                 // Copy the left part of the node keys up to the deletion point
                 // Insert the new key
-                newNode.keys[half] = new PersistedKeyHolder<K>( btree.getKeySerializer(), children[0].getValue()
-                    .getLeftMostKey() ); // 3
+                newNode.keys[half] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
+                    children[0].getValue().getLeftMostKey() ); // 3
 
                 if ( index > 2 )
                 {
@@ -483,8 +483,8 @@ import java.util.List;
                 }
 
                 // Inject the new merged key
-                newNode.keys[half + index - 1] = new PersistedKeyHolder<K>( btree.getKeySerializer(), mergedResult
-                    .getModifiedPage().getLeftMostKey() ); //5
+                newNode.keys[half + index - 1] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
+                    mergedResult.getModifiedPage().getLeftMostKey() ); //5
 
                 if ( index < half )
                 {
@@ -528,7 +528,7 @@ import java.util.List;
                 System.arraycopy( children, 0, newNode.children, 0, index - 1 ); //6
 
                 // Inject the modified key
-                newNode.keys[index - 2] = new PersistedKeyHolder<K>( btree.getKeySerializer(), mergedResult
+                newNode.keys[index - 2] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), mergedResult
                     .getModifiedPage()
                     .getLeftMostKey() ); //2
 
@@ -547,8 +547,8 @@ import java.util.List;
             }
 
             // Inject the new key from sibling
-            newNode.keys[half - 1] = new PersistedKeyHolder<K>( btree.getKeySerializer(), sibling.findLeftMost()
-                .getKey() ); //3
+            newNode.keys[half - 1] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
+                sibling.findLeftMost().getKey() ); //3
 
             // Copy the sibling keys
             System.arraycopy( sibling.keys, 0, newNode.keys, half, half );
@@ -714,9 +714,9 @@ import java.util.List;
             if ( borrowedResult.isFromRight() )
             {
                 // Update the keys
-                newPage.keys[pos] = new PersistedKeyHolder<K>( btree.getKeySerializer(), modifiedPage.findLeftMost()
-                    .getKey() );
-                newPage.keys[pos + 1] = new PersistedKeyHolder<K>( btree.getKeySerializer(), modifiedSibling
+                newPage.keys[pos] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
+                    modifiedPage.findLeftMost().getKey() );
+                newPage.keys[pos + 1] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), modifiedSibling
                     .findLeftMost()
                     .getKey() );
 
@@ -727,8 +727,8 @@ import java.util.List;
             else
             {
                 // Update the keys
-                newPage.keys[pos] = new PersistedKeyHolder<K>( btree.getKeySerializer(), modifiedPage.findLeftMost()
-                    .getKey() );
+                newPage.keys[pos] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
+                    modifiedPage.findLeftMost().getKey() );
 
                 // Update the children
                 newPage.children[pos] = createHolder( modifiedSibling );
@@ -740,8 +740,8 @@ import java.util.List;
             if ( borrowedResult.isFromRight() )
             {
                 // Update the keys
-                newPage.keys[pos] = new PersistedKeyHolder<K>( btree.getKeySerializer(), modifiedSibling.findLeftMost()
-                    .getKey() );
+                newPage.keys[pos] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
+                    modifiedSibling.findLeftMost().getKey() );
 
                 // Update the children
                 newPage.children[pos] = createHolder( modifiedPage );
@@ -750,7 +750,7 @@ import java.util.List;
             else
             {
                 // Update the keys
-                newPage.keys[pos - 1] = new PersistedKeyHolder<K>( btree.getKeySerializer(), modifiedPage
+                newPage.keys[pos - 1] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), modifiedPage
                     .findLeftMost()
                     .getKey() );
 
@@ -804,8 +804,8 @@ import java.util.List;
                 System.arraycopy( keys, 0, newNode.keys, 0, index );
             }
 
-            newNode.keys[index] = new PersistedKeyHolder<K>( btree.getKeySerializer(), mergedResult.getModifiedPage()
-                .findLeftMost().getKey() );
+            newNode.keys[index] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
+                mergedResult.getModifiedPage().findLeftMost().getKey() );
 
             if ( index < nbElems - 2 )
             {
@@ -939,7 +939,7 @@ import java.util.List;
         }
 
         // Add the new key and children
-        newNode.keys[pos] = new PersistedKeyHolder<K>( btree.getKeySerializer(), key );
+        newNode.keys[pos] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), key );
 
         // If the BTree is managed, we now have to write the modified page on disk
         // and to add this page to the list of modified pages
@@ -998,7 +998,7 @@ import java.util.List;
             System.arraycopy( children, 0, newLeftPage.children, 0, pos );
 
             // Add the new element
-            newLeftPage.keys[pos] = new PersistedKeyHolder<K>( btree.getKeySerializer(), pivot );
+            newLeftPage.keys[pos] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(), pivot );
             newLeftPage.children[pos] = createHolder( leftPage );
             newLeftPage.children[pos + 1] = createHolder( rightPage );
 
@@ -1055,7 +1055,8 @@ import java.util.List;
             System.arraycopy( children, middle + 1, newRightPage.children, 0, pos - middle - 1 );
 
             // Add the new element
-            newRightPage.keys[pos - middle - 1] = new PersistedKeyHolder<K>( btree.getKeySerializer(), pivot );
+            newRightPage.keys[pos - middle - 1] = BTreeFactory.createPersistedKeyHolder( btree.getKeySerializer(),
+                pivot );
             newRightPage.children[pos - middle - 1] = createHolder( leftPage );
             newRightPage.children[pos - middle] = createHolder( rightPage );
 
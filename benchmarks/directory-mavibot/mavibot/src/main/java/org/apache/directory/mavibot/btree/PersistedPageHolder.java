@@ -22,7 +22,8 @@ package org.apache.directory.mavibot.btree;
 
 import java.io.IOException;
 
-import org.apache.commons.collections.map.LRUMap;
+import com.github.benmanes.caffeine.cache.Cache;
+
 import org.apache.directory.mavibot.btree.exception.BTreeOperationException;
 import org.apache.directory.mavibot.btree.exception.EndOfFileExceededException;
 
@@ -44,7 +45,7 @@ import org.apache.directory.mavibot.btree.exception.EndOfFileExceededException;
     private RecordManager recordManager;
 
     /** The cache */
-    private LRUMap cache;
+    private Cache<Long, Page<?, ?>> cache;
 
     /** The offset of the first {@link PageIO} storing the page on disk */
     private long offset;
@@ -92,9 +93,14 @@ import org.apache.directory.mavibot.btree.exception.EndOfFileExceededException;
         {
             ( ( AbstractPage<K, V> ) page ).setOffset( offset );
             ( ( AbstractPage<K, V> ) page ).setLastOffset( lastOffset );
-        }
 
-        cache.put( offset, page );
+            cache.put( offset, page );
+        }
+        else
+        {
+            // The page will be read from disk when needed : discard any stale cached version
+            cache.invalidate( offset );
+        }
     }
 
 
@@ -103,9 +109,10 @@ import org.apache.directory.mavibot.btree.exception.EndOfFileExceededException;
      * @throws IOException
      * @throws EndOfFileExceededException
      */
+    @SuppressWarnings("unchecked")
     public Page<K, V> getValue()
     {
-        Page<K, V> page = ( Page<K, V> ) cache.get( offset );
+        Page<K, V> page = ( Page<K, V> ) cache.getIfPresent( offset );
 
         if ( page == null )
         {
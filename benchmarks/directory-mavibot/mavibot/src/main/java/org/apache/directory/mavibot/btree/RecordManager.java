@@ -33,12 +33,24 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
 import org.apache.directory.mavibot.btree.exception.BTreeAlreadyManagedException;
 import org.apache.directory.mavibot.btree.exception.BTreeCreationException;
 import org.apache.directory.mavibot.btree.exception.EndOfFileExceededException;
@@ -84,6 +96,9 @@ public class RecordManager extends AbstractTransactionManager
     /** The channel used to read and write data */
     /* no qualifier */FileChannel fileChannel;
 
+    /** The memory mapped view of the file, used to read the pages. Null if we don't map the file */
+    private MappedFile mappedFile;
+
     /** The number of managed B-trees */
     /* no qualifier */int nbBtree;
 
@@ -97,6 +112,7 @@ public class RecordManager extends AbstractTransactionManager
     public AtomicLong nbUpdateRMHeader = new AtomicLong( 0 );
     public AtomicLong nbUpdateBtreeHeader = new AtomicLong( 0 );
     public AtomicLong nbUpdatePageIOs = new AtomicLong( 0 );
+    public AtomicLong nbGroupCommits = new AtomicLong( 0 );
 
     /** The offset of the end of the file */
     private long endOfFileOffset;
@@ -127,6 +143,15 @@ public class RecordManager extends AbstractTransactionManager
     /** The minimal page size. Can't be below 64, as we have to store many thing sin the RMHeader */
     private static final int MIN_PAGE_SIZE = 64;
 
+    /** The default page cache size, in bytes (32 Mb) */
+    public static final long DEFAULT_PAGE_CACHE_SIZE = 32L * 1024L * 1024L;
+
+    /** The estimated memory footprint of a cached page, without its elements */
+    private static final int PAGE_WEIGHT = 64;
+
+    /** The estimated memory footprint of a page element (key holder, key and child or value holder) */
+    private static final int ELEMENT_WEIGHT = 96;
+
     /** The RecordManager header size */
     /* no qualifier */static int RECORD_MANAGER_HEADER_SIZE = DEFAULT_PAGE_SIZE;
 
@@ -146,6 +171,9 @@ public class RecordManager extends AbstractTransactionManager
     /** The set of managed B-trees */
     private Map<String, BTree<Object, Object>> managedBtrees;
 
+    /** The page cache shared by all the managed B-trees, indexed by the page offset */
+    private Cache<Long, Page<?, ?>> pageCache;
+
     /** The queue of recently closed transactions */
     private Queue<RevisionName> closedTransactionsQueue = new LinkedBlockingQueue<RevisionName>();
 
@@ -225,6 +253,21 @@ public class RecordManager extends AbstractTransactionManager
 
     public Map<Long, Integer> writeCounter = new HashMap<Long, Integer>();
 
+    /** A completed Future, returned when a commit does not have to wait for a group commit */
+    private static final Future<Void> COMMITTED = CompletableFuture.completedFuture( null );
+
+    /** The group commit window, in milliseconds. If 0, each commit writes the RMHeader immediately */
+    private long groupCommitWindow = 0L;
+
+    /** The commits waiting for the next group commit to be durable */
+    private List<CompletableFuture<Void>> pendingCommits = new ArrayList<CompletableFuture<Void>>();
+
+    /** The PageIOs freed by the pending commits. They can only be reused once the group commit is done */
+    private List<PageIO> pendingFreedPages = new ArrayList<PageIO>();
+
+    /** The thread writing the pending commits when the group commit window is over */
+    private ScheduledExecutorService groupCommitExecutor;
+
 
     /**
      * Create a Record manager which will either create the underlying file
@@ -248,8 +291,43 @@ public class RecordManager extends AbstractTransactionManager
      * @param pageSize the size of a page on disk, in bytes
      */
     public RecordManager( String fileName, int pageSize )
+    {
+        this( fileName, pageSize, DEFAULT_PAGE_CACHE_SIZE );
+    }
+
+
+    /**
+     * Create a Record manager which will either create the underlying file
+     * or load an existing one. If a folder is provider, then we will create
+     * a file with a default name : mavibot.db
+     *
+     * @param name The file name, or a folder name
+     * @param pageSize the size of a page on disk, in bytes
+     * @param pageCacheSize the maximum amount of memory, in bytes, used by the pages
+     * cached for all the managed B-trees
+     */
+    public RecordManager( String fileName, int pageSize, long pageCacheSize )
+    {
+        this( fileName, pageSize, pageCacheSize, false );
+    }
+
+
+    /**
+     * Create a Record manager which will either create the underlying file
+     * or load an existing one. If a folder is provider, then we will create
+     * a file with a default name : mavibot.db
+     *
+     * @param name The file name, or a folder name
+     * @param pageSize the size of a page on disk, in bytes
+     * @param pageCacheSize the maximum amount of memory, in bytes, used by the pages
+     * cached for all the managed B-trees
+     * @param memoryMapped if true, the pages are read from a memory mapped view of the file
+     * instead of being copied from the FileChannel
+     */
+    public RecordManager( String fileName, int pageSize, long pageCacheSize, boolean memoryMapped )
     {
         managedBtrees = new LinkedHashMap<String, BTree<Object, Object>>();
+        pageCache = createPageCache( pageCacheSize );
 
         if ( pageSize < MIN_PAGE_SIZE )
         {
@@ -281,6 +359,11 @@ public class RecordManager extends AbstractTransactionManager
             RandomAccessFile randomFile = new RandomAccessFile( file, "rw" );
             fileChannel = randomFile.getChannel();
 
+            if ( memoryMapped )
+            {
+                mappedFile = new MappedFile( fileChannel, this.pageSize );
+            }
+
             // get the current end of file offset
             endOfFileOffset = fileChannel.size();
 
@@ -305,6 +388,52 @@ public class RecordManager extends AbstractTransactionManager
     }
 
 
+    /**
+     * Creates the cache used to keep the deserialized pages in memory. It is bounded by
+     * the estimated memory footprint of the stored pages, not by their number.
+     *
+     * @param pageCacheSize The maximum cache weight, in bytes
+     * @return The page cache
+     */
+    /* no qualifier */static Cache<Long, Page<?, ?>> createPageCache( long pageCacheSize )
+    {
+        if ( pageCacheSize < 1L )
+        {
+            pageCacheSize = DEFAULT_PAGE_CACHE_SIZE;
+        }
+
+        return Caffeine.newBuilder()
+            .maximumWeight( pageCacheSize )
+            .weigher( new Weigher<Long, Page<?, ?>>()
+            {
+                public int weigh( Long offset, Page<?, ?> page )
+                {
+                    return PAGE_WEIGHT + page.getNbElems() * ELEMENT_WEIGHT;
+                }
+            } )
+            .recordStats()
+            .build();
+    }
+
+
+    /**
+     * @return The page cache shared by all the managed B-trees
+     */
+    /* no qualifier */Cache<Long, Page<?, ?>> getPageCache()
+    {
+        return pageCache;
+    }
+
+
+    /**
+     * @return A snapshot of the page cache statistics : hits, misses and evictions
+     */
+    public CacheStats getPageCacheStats()
+    {
+        return pageCache.stats();
+    }
+
+
     /**
      * runs the PageReclaimer to free the copied pages
      */
@@ -643,9 +772,40 @@ public class RecordManager extends AbstractTransactionManager
 
 
     /**
-     * Commits a transaction
+     * Commits a transaction. If the group commit is enabled, wait until the RMHeader
+     * containing the modifications has been written and synced on disk.
      */
     public void commit()
+    {
+        Future<Void> commitDone = commitAsync();
+
+        if ( !commitDone.isDone() )
+        {
+            try
+            {
+                commitDone.get();
+            }
+            catch ( InterruptedException ie )
+            {
+                Thread.currentThread().interrupt();
+                throw new RecordManagerException( "Interrupted while waiting for the group commit", ie );
+            }
+            catch ( ExecutionException ee )
+            {
+                throw new RecordManagerException( ee.getCause() );
+            }
+        }
+    }
+
+
+    /**
+     * Commits a transaction, without waiting for the group commit. The modifications are
+     * visible as soon as this method returns, the returned Future tells when they are durable.
+     * When the group commit is disabled, the returned Future is already done.
+     *
+     * @return A Future completed when the commit has been written on disk
+     */
+    public Future<Void> commitAsync()
     {
         // We *must* own the transactionLock
         if ( !transactionLock.isHeldByCurrentThread() )
@@ -674,7 +834,7 @@ public class RecordManager extends AbstractTransactionManager
                 transactionLock.unlock();
             }
 
-            return;
+            return COMMITTED;
         }
 
         int nbTxnStarted = CONTEXT.get();
@@ -685,9 +845,14 @@ public class RecordManager extends AbstractTransactionManager
                 // The transaction was rollbacked, quit immediatelly
                 transactionLock.unlock();
 
-                return;
+                return COMMITTED;
 
             case 1:
+                if ( groupCommitWindow > 0L )
+                {
+                    return groupCommit();
+                }
+
                 // We are done with the transaction, we can update the RMHeader and swap the BTreeHeaders
                 // First update the RMHeader to be sure that we have a way to restore from a crash
                 updateRecordManagerHeader();
@@ -732,7 +897,7 @@ public class RecordManager extends AbstractTransactionManager
                     transactionLock.unlock();
                 }
 
-                return;
+                return COMMITTED;
 
             default:
                 // We are inner an existing transaction. Just update the necessary elements
@@ -742,16 +907,24 @@ public class RecordManager extends AbstractTransactionManager
                 // Swap the BtreeHeaders maps
                 //swapCurrentBtreeHeaders();
 
-                // We can now free pages
-                for ( PageIO pageIo : freedPages )
+                // We can now free pages, unless some group commit is pending : the RMHeader
+                // on disk may still reference them
+                if ( groupCommitWindow > 0L )
                 {
-                    try
-                    {
-                        free( pageIo );
-                    }
-                    catch ( IOException ioe )
+                    pendingFreedPages.addAll( freedPages );
+                }
+                else
+                {
+                    for ( PageIO pageIo : freedPages )
                     {
-                        throw new RecordManagerException( ioe.getMessage() );
+                        try
+                        {
+                            free( pageIo );
+                        }
+                        catch ( IOException ioe )
+                        {
+                            throw new RecordManagerException( ioe.getMessage() );
+                        }
                     }
                 }
 
@@ -765,7 +938,8 @@ public class RecordManager extends AbstractTransactionManager
 
                 commitCount++;
 
-                if ( commitCount >= pageReclaimerThreshold )
+                // With the group commit, the reclaimer will run when the outer transaction is committed
+                if ( ( commitCount >= pageReclaimerThreshold ) && ( groupCommitWindow == 0L ) )
                 {
                     runReclaimer();
                 }
@@ -779,11 +953,184 @@ public class RecordManager extends AbstractTransactionManager
                     transactionLock.unlock();
                 }
 
-                return;
+                return COMMITTED;
+        }
+    }
+
+
+    /**
+     * Commits the current transaction, deferring the RMHeader update to the group commit. The
+     * pages freed by this transaction are kept aside until the group commit is done : until
+     * then, the RMHeader on disk may still reference them.
+     */
+    private Future<Void> groupCommit()
+    {
+        // Swap the BtreeHeaders maps, the modifications are now visible
+        swapCurrentBtreeHeaders();
+
+        CompletableFuture<Void> commitDone = new CompletableFuture<Void>();
+
+        if ( pendingCommits.isEmpty() )
+        {
+            // This is the first commit of the group : the group will be written when the window is over
+            groupCommitExecutor.schedule( new Runnable()
+            {
+                public void run()
+                {
+                    transactionLock.lock();
+
+                    try
+                    {
+                        flushGroupCommit();
+                    }
+                    finally
+                    {
+                        transactionLock.unlock();
+                    }
+                }
+            }, groupCommitWindow, TimeUnit.MILLISECONDS );
+        }
+
+        pendingCommits.add( commitDone );
+        pendingFreedPages.addAll( freedPages );
+
+        // Release the allocated and freed pages list
+        freedPages.clear();
+        allocatedPages.clear();
+
+        commitCount++;
+
+        if ( commitCount >= pageReclaimerThreshold )
+        {
+            // The reclaimer frees pages : we must not have pending commits
+            flushGroupCommit();
+            runReclaimer();
+        }
+
+        // Finally, decrement the number of started transactions
+        // and release the global lock if possible
+        int txnLevel = decrementTxnLevel();
+
+        if ( txnLevel == 0 )
+        {
+            transactionLock.unlock();
+        }
+
+        return commitDone;
+    }
+
+
+    /**
+     * Write the RMHeader for all the pending commits, sync the file, and then free the pages
+     * those commits have released. The transactionLock must be held.
+     */
+    private void flushGroupCommit()
+    {
+        if ( ( pendingCommits.isEmpty() && pendingFreedPages.isEmpty() ) || !fileChannel.isOpen() )
+        {
+            return;
+        }
+
+        try
+        {
+            // One single RMHeader update and sync for all the pending commits
+            updateRecordManagerHeader();
+            fileChannel.force( false );
+
+            // Now, the old revisions are not referenced anymore on disk : we can free their pages
+            for ( PageIO pageIo : pendingFreedPages )
+            {
+                free( pageIo );
+            }
+
+            // And update the RMHeader again, with the new free pages
+            updateRecordManagerHeader();
+
+            nbGroupCommits.incrementAndGet();
+
+            for ( CompletableFuture<Void> commitDone : pendingCommits )
+            {
+                commitDone.complete( null );
+            }
+        }
+        catch ( IOException ioe )
+        {
+            LOG.error( "Cannot write the group commit : {}", ioe.getMessage() );
+
+            for ( CompletableFuture<Void> commitDone : pendingCommits )
+            {
+                commitDone.completeExceptionally( ioe );
+            }
+        }
+        finally
+        {
+            pendingCommits.clear();
+            pendingFreedPages.clear();
+        }
+    }
+
+
+    /**
+     * Sets the group commit window. When it's above 0, the commits done within this window are
+     * written and synced on disk at once, when the window is over. The commit() method waits
+     * for this write to be done, and the commitAsync() method returns a Future.
+     *
+     * @param groupCommitWindow The group commit window, in milliseconds. 0 disables the group commit
+     */
+    public void setGroupCommitWindow( long groupCommitWindow )
+    {
+        transactionLock.lock();
+
+        try
+        {
+            if ( groupCommitWindow <= 0L )
+            {
+                // Write the pending commits before switching back to the immediate commits
+                flushGroupCommit();
+
+                if ( groupCommitExecutor != null )
+                {
+                    groupCommitExecutor.shutdown();
+                    groupCommitExecutor = null;
+                }
+
+                this.groupCommitWindow = 0L;
+            }
+            else
+            {
+                if ( groupCommitExecutor == null )
+                {
+                    groupCommitExecutor = Executors.newSingleThreadScheduledExecutor( new ThreadFactory()
+                    {
+                        public Thread newThread( Runnable runnable )
+                        {
+                            Thread thread = new Thread( runnable, "MavibotGroupCommit" );
+                            thread.setDaemon( true );
+
+                            return thread;
+                        }
+                    } );
+                }
+
+                this.groupCommitWindow = groupCommitWindow;
+            }
+        }
+        finally
+        {
+            transactionLock.unlock();
         }
     }
 
 
+    /**
+     * @return The group commit window, in milliseconds. 0 if the group commit is disabled
+     */
+    public long getGroupCommitWindow()
+    {
+        return groupCommitWindow;
+    }
+
+
     public boolean isContextOk()
     {
         return ( CONTEXT == null ? true : ( CONTEXT.get() == 0 ) );
@@ -3223,12 +3570,22 @@ public class RecordManager extends AbstractTransactionManager
         }
         else
         {
-            // Read the page
-            fileChannel.position( offset );
+            ByteBuffer data;
+
+            if ( mappedFile != null )
+            {
+                // Get the page directly from the mapped file, no copy needed
+                data = mappedFile.slice( offset, pageSize );
+            }
+            else
+            {
+                // Read the page
+                fileChannel.position( offset );
 
-            ByteBuffer data = ByteBuffer.allocate( pageSize );
-            fileChannel.read( data );
-            data.rewind();
+                data = ByteBuffer.allocate( pageSize );
+                fileChannel.read( data );
+                data.rewind();
+            }
 
             PageIO readPage = new PageIO( offset );
             readPage.setData( data );
@@ -3272,6 +3629,14 @@ public class RecordManager extends AbstractTransactionManager
     {
         beginTransaction();
 
+        // Write the pending commits, if any
+        flushGroupCommit();
+
+        if ( groupCommitExecutor != null )
+        {
+            groupCommitExecutor.shutdown();
+        }
+
         // Close all the managed B-trees
         for ( BTree<Object, Object> tree : managedBtrees.values() )
         {
@@ -3284,6 +3649,14 @@ public class RecordManager extends AbstractTransactionManager
 
         managedBtrees.clear();
 
+        // The cached pages are now useless
+        pageCache.invalidateAll();
+
+        if ( mappedFile != null )
+        {
+            mappedFile.close();
+        }
+
         // Write the data
         fileChannel.force( true );
 
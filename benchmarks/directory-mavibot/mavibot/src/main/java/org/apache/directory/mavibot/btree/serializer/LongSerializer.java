@@ -111,6 +111,18 @@ public class LongSerializer extends AbstractElementSerializer<Long>
      * @return An Integer
      */
     public static Long deserialize( byte[] in, int start )
+    {
+        return deserializeLong( in, start );
+    }
+
+
+    /**
+     * A static method used to deserialize a primitive long from a byte array.
+     * @param in The byte array containing the long
+     * @param start the position in the byte[] we will deserialize the long from
+     * @return A long
+     */
+    public static long deserializeLong( byte[] in, int start )
     {
         if ( ( in == null ) || ( in.length < 8 + start ) )
         {
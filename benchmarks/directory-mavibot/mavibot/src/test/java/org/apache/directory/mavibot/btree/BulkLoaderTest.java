@@ -1186,4 +1186,150 @@ public class BulkLoaderTest
             e.printStackTrace();
         }
     }
+
+
+    /**
+     * Create an iterator generating nbElems tuples, with nbKeys distinct keys spread over
+     * all the chunks. The tuples are not kept in memory.
+     */
+    private Iterator<Tuple<Long, String>> createGeneratingIterator( final long nbElems, final long nbKeys )
+    {
+        return new Iterator<Tuple<Long, String>>()
+        {
+            private long pos = 0;
+
+
+            @Override
+            public Tuple<Long, String> next()
+            {
+                // A multiplicative scrambling, so that the keys are not sorted
+                long key = ( pos * 7919L ) % nbKeys;
+                Tuple<Long, String> tuple = new Tuple<Long, String>( key, "V" + pos );
+                pos++;
+
+                return tuple;
+            }
+
+
+            @Override
+            public boolean hasNext()
+            {
+                return pos < nbElems;
+            }
+
+
+            @Override
+            public void remove()
+            {
+            }
+        };
+    }
+
+
+    /**
+     * Test the load of elements which don't fit in a chunk, with keys duplicated across
+     * the chunks, sorted sequentially and in parallel.
+     */
+    @Test
+    public void testPersistedBulkLoadParallelChunks() throws IOException, KeyNotFoundException,
+        BTreeAlreadyManagedException
+    {
+        int nbElems = 20000;
+        int nbKeys = 7000;
+
+        for ( int parallelism : new int[]
+            { 1, 4 } )
+        {
+            File file = File.createTempFile( "managedbtreebuilder", ".data" );
+            file.deleteOnExit();
+
+            try
+            {
+                RecordManager rm = new RecordManager( file.getAbsolutePath() );
+                PersistedBTree<Long, String> btree = ( PersistedBTree<Long, String> ) rm.addBTree( "test",
+                    LongSerializer.INSTANCE, StringSerializer.INSTANCE, true );
+
+                BTree<Long, String> result = BulkLoader.load( btree, createGeneratingIterator( nbElems, nbKeys ),
+                    1000, parallelism );
+
+                assertEquals( nbKeys, result.getNbElems() );
+
+                TupleCursor<Long, String> cursor = result.browse();
+                int nbFetched = 0;
+                Long prevKey = null;
+
+                while ( cursor.hasNext() )
+                {
+                    Tuple<Long, String> elem = cursor.next();
+
+                    if ( prevKey != null )
+                    {
+                        assertTrue( prevKey <= elem.getKey() );
+                    }
+
+                    prevKey = elem.getKey();
+                    nbFetched++;
+                }
+
+                assertEquals( nbElems, nbFetched );
+
+                for ( long i = 0L; i < nbElems; i += 97L )
+                {
+                    assertTrue( result.contains( ( i * 7919L ) % nbKeys, "V" + i ) );
+                }
+
+                rm.close();
+            }
+            finally
+            {
+                file.delete();
+            }
+        }
+    }
+
+
+    /**
+     * Measure the bulk load throughput for a large number of elements, which don't fit in memory
+     * if the chunks are small enough. The number of elements can be set with the
+     * mavibot.bulkload.nbElems system property (10M by default, 100M is also a meaningful
+     * value).
+     */
+    @Ignore
+    @Test
+    public void testPersistedBulkLoadThroughput() throws IOException, KeyNotFoundException,
+        BTreeAlreadyManagedException
+    {
+        long nbElems = Long.getLong( "mavibot.bulkload.nbElems", 10000000L );
+        int chunkSize = 1000000;
+
+        for ( int parallelism : new int[]
+            { 1, BulkLoader.DEFAULT_PARALLELISM } )
+        {
+            File file = File.createTempFile( "managedbtreebuilder", ".data" );
+            file.deleteOnExit();
+
+            try
+            {
+                RecordManager rm = new RecordManager( file.getAbsolutePath() );
+                PersistedBTree<Long, String> btree = ( PersistedBTree<Long, String> ) rm.addBTree( "test",
+                    LongSerializer.INSTANCE, StringSerializer.INSTANCE, false );
+
+                long t0 = System.currentTimeMillis();
+                BTree<Long, String> result = BulkLoader.load( btree, createGeneratingIterator( nbElems, nbElems ),
+                    chunkSize, parallelism );
+                long t1 = System.currentTimeMillis();
+
+                System.out.println( "Bulkload of " + nbElems + " elements, parallelism " + parallelism + " : "
+                    + ( t1 - t0 ) + "ms, " + ( nbElems * 1000L / Math.max( 1L, t1 - t0 ) ) + " elements/s" );
+
+                assertEquals( nbElems, result.getNbElems() );
+
+                rm.close();
+            }
+            finally
+            {
+                file.delete();
+            }
+        }
+    }
 }
@@ -0,0 +1,167 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.apache.directory.mavibot.btree;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.directory.mavibot.btree.serializer.LongSerializer;
+import org.apache.directory.mavibot.btree.serializer.StringSerializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+/**
+ * Test the persisted B-trees using long keys, which are stored as primitive longs
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class PersistedLongKeyBTreeTest
+{
+    private BTree<Long, String> btree = null;
+
+    private RecordManager recordManager = null;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File dataDir = null;
+
+
+    @Before
+    public void createBTree() throws Exception
+    {
+        dataDir = tempFolder.newFolder( UUID.randomUUID().toString() );
+
+        recordManager = new RecordManager( dataDir.getAbsolutePath() );
+        btree = recordManager.addBTree( "test", LongSerializer.INSTANCE, StringSerializer.INSTANCE, false );
+    }
+
+
+    @After
+    public void cleanup() throws IOException
+    {
+        recordManager.close();
+
+        if ( dataDir.exists() )
+        {
+            FileUtils.deleteDirectory( dataDir );
+        }
+    }
+
+
+    /**
+     * Check that the keys of the root page are stored as primitive longs
+     */
+    private void checkLongKeys( Page<Long, String> page )
+    {
+        KeyHolder<Long>[] keys = ( ( AbstractPage<Long, String> ) page ).getKeys();
+
+        for ( int i = 0; i < page.getNbElems(); i++ )
+        {
+            assertTrue( keys[i] instanceof PersistedLongKeyHolder );
+            assertEquals( page.getKey( i ), Long.valueOf( ( ( PersistedLongKeyHolder ) keys[i] ).getLongKey() ) );
+        }
+    }
+
+
+    /**
+     * Test that we can insert, search, delete and reload long keys, including the negative
+     * and the extreme values.
+     */
+    @Test
+    public void testLongKeys() throws Exception
+    {
+        Random random = new Random( 42L );
+        TreeSet<Long> expected = new TreeSet<Long>();
+
+        expected.add( Long.MIN_VALUE );
+        expected.add( Long.MAX_VALUE );
+        expected.add( 0L );
+        expected.add( -1L );
+
+        while ( expected.size() < 2000 )
+        {
+            expected.add( random.nextLong() );
+        }
+
+        for ( Long key : expected )
+        {
+            btree.insert( key, "V" + key );
+        }
+
+        checkLongKeys( btree.getRootPage() );
+
+        for ( Long key : expected )
+        {
+            assertEquals( "V" + key, btree.get( key ) );
+        }
+
+        assertFalse( btree.hasKey( 1L ) );
+
+        // Delete one key out of two
+        boolean delete = true;
+
+        for ( Long key : expected.toArray( new Long[0] ) )
+        {
+            if ( delete )
+            {
+                btree.delete( key );
+                expected.remove( key );
+            }
+
+            delete = !delete;
+        }
+
+        // Reload the B-tree, the keys will be deserialized
+        recordManager.close();
+        recordManager = new RecordManager( dataDir.getAbsolutePath() );
+        btree = recordManager.getManagedTree( "test" );
+
+        checkLongKeys( btree.getRootPage() );
+        assertEquals( expected.size(), btree.getNbElems() );
+
+        TupleCursor<Long, String> cursor = btree.browse();
+
+        for ( Long key : expected )
+        {
+            assertTrue( cursor.hasNext() );
+            Tuple<Long, String> tuple = cursor.next();
+
+            assertEquals( key, tuple.getKey() );
+            assertEquals( "V" + key, tuple.getValue() );
+        }
+
+        assertFalse( cursor.hasNext() );
+        cursor.close();
+    }
+}
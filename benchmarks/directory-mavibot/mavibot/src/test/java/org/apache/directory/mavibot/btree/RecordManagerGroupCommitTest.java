@@ -0,0 +1,186 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.apache.directory.mavibot.btree;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.directory.mavibot.btree.serializer.LongSerializer;
+import org.apache.directory.mavibot.btree.serializer.StringSerializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+/**
+ * Test the RecordManager group commit
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class RecordManagerGroupCommitTest
+{
+    private BTree<Long, String> btree = null;
+
+    private RecordManager recordManager = null;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File dataDir = null;
+
+
+    @Before
+    public void createBTree() throws Exception
+    {
+        dataDir = tempFolder.newFolder( UUID.randomUUID().toString() );
+
+        recordManager = new RecordManager( dataDir.getAbsolutePath() );
+        btree = recordManager.addBTree( "test", LongSerializer.INSTANCE, StringSerializer.INSTANCE, false );
+    }
+
+
+    @After
+    public void cleanup() throws IOException
+    {
+        recordManager.close();
+
+        if ( dataDir.exists() )
+        {
+            FileUtils.deleteDirectory( dataDir );
+        }
+    }
+
+
+    /**
+     * Test that the commits done by concurrent writers are grouped, and that the data
+     * can be read back.
+     */
+    @Test
+    public void testGroupCommitConcurrentWriters() throws Exception
+    {
+        final int nbThreads = 4;
+        final int nbElems = 100;
+        final AtomicReference<Exception> error = new AtomicReference<Exception>();
+
+        recordManager.setGroupCommitWindow( 10L );
+        long nbGroupCommits = recordManager.nbGroupCommits.get();
+
+        Thread[] writers = new Thread[nbThreads];
+
+        for ( int t = 0; t < nbThreads; t++ )
+        {
+            final long base = t * nbElems;
+
+            writers[t] = new Thread()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        for ( long i = base; i < base + nbElems; i++ )
+                        {
+                            btree.insert( i, "V" + i );
+                        }
+                    }
+                    catch ( Exception e )
+                    {
+                        error.set( e );
+                    }
+                }
+            };
+
+            writers[t].start();
+        }
+
+        for ( Thread writer : writers )
+        {
+            writer.join();
+        }
+
+        if ( error.get() != null )
+        {
+            throw error.get();
+        }
+
+        long nbGroups = recordManager.nbGroupCommits.get() - nbGroupCommits;
+        System.out.println( nbThreads * nbElems + " commits written in " + nbGroups + " group commits" );
+
+        assertTrue( nbGroups > 0L );
+        assertTrue( nbGroups < nbThreads * nbElems );
+        assertEquals( nbThreads * nbElems, btree.getNbElems() );
+
+        // Reload the file and check the data
+        recordManager.close();
+        recordManager = new RecordManager( dataDir.getAbsolutePath() );
+        btree = recordManager.getManagedTree( "test" );
+
+        assertEquals( nbThreads * nbElems, btree.getNbElems() );
+
+        for ( long i = 0L; i < nbThreads * nbElems; i++ )
+        {
+            assertEquals( "V" + i, btree.get( i ) );
+        }
+    }
+
+
+    /**
+     * Test that a commit waits for the group commit, and that an asynchronous commit
+     * returns a Future which is done when the group commit has been written.
+     */
+    @Test
+    public void testCommitAsync() throws Exception
+    {
+        recordManager.setGroupCommitWindow( 50L );
+        long nbGroupCommits = recordManager.nbGroupCommits.get();
+
+        // A synchronous commit : the group has been written when we get back
+        btree.insert( 1L, "V1" );
+
+        assertEquals( nbGroupCommits + 1, recordManager.nbGroupCommits.get() );
+        assertEquals( "V1", btree.get( 1L ) );
+
+        // An asynchronous one
+        recordManager.beginTransaction();
+        Future<Void> commitDone = recordManager.commitAsync();
+
+        commitDone.get();
+
+        assertTrue( commitDone.isDone() );
+        assertEquals( nbGroupCommits + 2, recordManager.nbGroupCommits.get() );
+
+        // Back to the immediate commits
+        recordManager.setGroupCommitWindow( 0L );
+        btree.insert( 2L, "V2" );
+
+        assertEquals( nbGroupCommits + 2, recordManager.nbGroupCommits.get() );
+        assertEquals( 2L, btree.getNbElems() );
+        assertEquals( "V2", btree.get( 2L ) );
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package org.apache.directory.mavibot.btree;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.directory.mavibot.btree.exception.BTreeAlreadyManagedException;
+import org.apache.directory.mavibot.btree.exception.EndOfFileExceededException;
+import org.apache.directory.mavibot.btree.exception.KeyNotFoundException;
+import org.apache.directory.mavibot.btree.serializer.LongSerializer;
+import org.apache.directory.mavibot.btree.serializer.StringSerializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+/**
+ * Test the RecordManager when the pages are read from a memory mapped file
+ *
+ * @author <a href="mailto:dev@directory.apache.org">Apache Directory Project</a>
+ */
+public class RecordManagerMappedTest
+{
+    /** A page cache small enough to force the pages to be read from the file */
+    private static final long TINY_PAGE_CACHE = 1L;
+
+    private RecordManager recordManager = null;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File dataDir = null;
+
+
+    @Before
+    public void setup() throws IOException
+    {
+        dataDir = tempFolder.newFolder( UUID.randomUUID().toString() );
+    }
+
+
+    @After
+    public void cleanup() throws IOException
+    {
+        if ( recordManager != null )
+        {
+            recordManager.close();
+        }
+
+        if ( dataDir.exists() )
+        {
+            FileUtils.deleteDirectory( dataDir );
+        }
+    }
+
+
+    private void openRecordManager( boolean memoryMapped ) throws IOException
+    {
+        if ( recordManager != null )
+        {
+            recordManager.close();
+        }
+
+        recordManager = new RecordManager( dataDir.getAbsolutePath(), RecordManager.DEFAULT_PAGE_SIZE,
+            TINY_PAGE_CACHE, memoryMapped );
+    }
+
+
+    /**
+     * Test that we can write and read back some data in a memory mapped file, the
+     * file growing while we add elements.
+     */
+    @Test
+    public void testMappedRecordManager() throws IOException, BTreeAlreadyManagedException,
+        KeyNotFoundException
+    {
+        openRecordManager( true );
+
+        BTree<Long, String> btree = recordManager.addBTree( "test", LongSerializer.INSTANCE,
+            StringSerializer.INSTANCE, false );
+
+        for ( long i = 0L; i < 1000L; i++ )
+        {
+            btree.insert( i, "V" + i );
+        }
+
+        // Check the elements while the file is still being extended
+        for ( long i = 0L; i < 1000L; i++ )
+        {
+            assertEquals( "V" + i, btree.get( i ) );
+        }
+
+        // Delete some of them, the pages will be freed and reused
+        for ( long i = 0L; i < 1000L; i += 2 )
+        {
+            btree.delete( i );
+        }
+
+        for ( long i = 1000L; i < 1500L; i++ )
+        {
+            btree.insert( i, "V" + i );
+        }
+
+        // Reload the file, mapped again, and check the content
+        openRecordManager( true );
+        btree = recordManager.getManagedTree( "test" );
+
+        assertEquals( 1000L, btree.getNbElems() );
+
+        for ( long i = 0L; i < 1500L; i++ )
+        {
+            if ( ( i < 1000L ) && ( ( i % 2 ) == 0 ) )
+            {
+                assertFalse( btree.hasKey( i ) );
+            }
+            else
+            {
+                assertEquals( "V" + i, btree.get( i ) );
+            }
+        }
+
+        // The file must be readable without the mapping too
+        openRecordManager( false );
+        btree = recordManager.getManagedTree( "test" );
+
+        assertEquals( 1000L, btree.getNbElems() );
+        assertTrue( btree.hasKey( 1499L ) );
+    }
+
+
+    /**
+     * Check that the pages read from the memory mapped file and from the FileChannel give
+     * the same values.
+     */
+    @Test
+    public void testMappedReadsMatchChannelReads() throws IOException, BTreeAlreadyManagedException,
+        KeyNotFoundException
+    {
+        int nbElems = 2000;
+
+        openRecordManager( false );
+
+        BTree<Long, String> btree = recordManager.addBTree( "test", LongSerializer.INSTANCE,
+            StringSerializer.INSTANCE, false );
+
+        for ( long i = 0L; i < nbElems; i++ )
+        {
+            btree.insert( i, "V" + i );
+        }
+
+        // Read everything through the FileChannel
+        openRecordManager( false );
+        btree = recordManager.getManagedTree( "test" );
+        String[] channelValues = new String[nbElems];
+
+        for ( int i = 0; i < nbElems; i++ )
+        {
+            channelValues[i] = btree.get( ( long ) i );
+        }
+
+        // Then through the mapped file
+        openRecordManager( true );
+        btree = recordManager.getManagedTree( "test" );
+
+        assertEquals( nbElems, btree.getNbElems() );
+
+        for ( int i = 0; i < nbElems; i++ )
+        {
+            assertEquals( "V" + i, channelValues[i] );
+            assertEquals( channelValues[i], btree.get( ( long ) i ) );
+        }
+    }
+
+
+    /**
+     * Compare the time needed to read the pages from the FileChannel and from the
+     * memory mapped file.
+     */
+    /**
+     * Test that a slice beyond the end of the file is rejected, and that a slice is still
+     * readable once the file is closed.
+     */
+    @Test
+    public void testMappedFileBounds() throws IOException
+    {
+        RandomAccessFile file = new RandomAccessFile( new File( dataDir, "mapped.db" ), "rw" );
+
+        try
+        {
+            FileChannel channel = file.getChannel();
+            channel.write( ByteBuffer.wrap( new byte[1024] ) );
+            channel.write( ByteBuffer.wrap( new byte[]
+                { 1, 2, 3, 4 } ), 512 );
+
+            MappedFile mappedFile = new MappedFile( channel, 512, 512 );
+            ByteBuffer slice = mappedFile.slice( 512L, 512 );
+
+            for ( long offset : new long[]
+                { 1024L, 4096L } )
+            {
+                try
+                {
+                    mappedFile.slice( offset, 512 );
+                    fail( "Expected an EndOfFileExceededException at " + offset );
+                }
+                catch ( EndOfFileExceededException eofee )
+                {
+                    assertTrue( eofee.getMessage().contains( Long.toString( offset ) ) );
+                }
+            }
+
+            mappedFile.close();
+            assertEquals( 0x01020304, slice.getInt( 0 ) );
+        }
+        finally
+        {
+            file.close();
+        }
+    }
+
+
+    @Test
+    @Ignore("This is a performance test")
+    public void testMappedReadPerf() throws IOException, BTreeAlreadyManagedException, KeyNotFoundException
+    {
+        int nbElems = 10000;
+
+        openRecordManager( false );
+
+        BTree<Long, String> btree = recordManager.addBTree( "test", LongSerializer.INSTANCE,
+            StringSerializer.INSTANCE, false );
+
+        for ( long i = 0L; i < nbElems; i++ )
+        {
+            btree.insert( i, "V" + i );
+        }
+
+        for ( boolean memoryMapped : new boolean[]
+            { false, true, false, true } )
+        {
+            openRecordManager( memoryMapped );
+            btree = recordManager.getManagedTree( "test" );
+
+            long t0 = System.currentTimeMillis();
+
+            for ( int j = 0; j < 5; j++ )
+            {
+                for ( long i = 0L; i < nbElems; i++ )
+                {
+                    assertEquals( "V" + i, btree.get( i ) );
+                }
+            }
+
+            long t1 = System.currentTimeMillis();
+
+            System.out.println( ( memoryMapped ? "Mapped" : "FileChannel" ) + " read of " + nbElems
+                + " elements, 5 times : " + ( t1 - t0 ) + "ms" );
+        }
+    }
+}
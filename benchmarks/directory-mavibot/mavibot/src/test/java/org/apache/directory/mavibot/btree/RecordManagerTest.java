@@ -953,6 +953,54 @@ public class RecordManagerTest
     }
 
 
+    /**
+     * Test that the pages of all the managed B-trees are cached in the RecordManager page cache,
+     * and that the hits and misses are counted.
+     */
+    @Test
+    public void testSharedPageCache() throws IOException, BTreeAlreadyManagedException, KeyNotFoundException
+    {
+        BTree<Long, String> btree2 = recordManager.addBTree( "test2", LongSerializer.INSTANCE,
+            StringSerializer.INSTANCE, false );
+
+        for ( long i = 0L; i < 100L; i++ )
+        {
+            btree.insert( i, "V" + i );
+            btree2.insert( i, "W" + i );
+        }
+
+        // Both B-trees use the very same cache
+        assertTrue( ( ( PersistedBTree<Long, String> ) btree ).getCache() == recordManager.getPageCache() );
+        assertTrue( ( ( PersistedBTree<Long, String> ) btree2 ).getCache() == recordManager.getPageCache() );
+
+        // Reload the file : the pages will have to be read from disk once
+        openRecordManagerAndBtree();
+        btree2 = recordManager.getManagedTree( "test2" );
+
+        long missCount = recordManager.getPageCacheStats().missCount();
+
+        for ( long i = 0L; i < 100L; i++ )
+        {
+            assertEquals( "V" + i, btree.get( i ) );
+            assertEquals( "W" + i, btree2.get( i ) );
+        }
+
+        assertTrue( recordManager.getPageCacheStats().missCount() > missCount );
+        missCount = recordManager.getPageCacheStats().missCount();
+        long hitCount = recordManager.getPageCacheStats().hitCount();
+
+        // Second pass : every page is now in the cache
+        for ( long i = 0L; i < 100L; i++ )
+        {
+            assertEquals( "V" + i, btree.get( i ) );
+            assertEquals( "W" + i, btree2.get( i ) );
+        }
+
+        assertEquals( missCount, recordManager.getPageCacheStats().missCount() );
+        assertTrue( recordManager.getPageCacheStats().hitCount() > hitCount );
+    }
+
+
     @Test
     public void testInspector() throws Exception
     {
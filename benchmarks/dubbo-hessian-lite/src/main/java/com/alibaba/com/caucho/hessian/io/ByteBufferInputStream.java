@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.com.caucho.hessian.io;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An input stream reading a sequence of ByteBuffers, heap or direct, as a single
+ * stream. It reads views of the buffers, whose positions are left unchanged.
+ */
+public class ByteBufferInputStream extends InputStream {
+    private static final ByteBuffer[] EMPTY = new ByteBuffer[0];
+
+    private ByteBuffer[] _buffers = EMPTY;
+    private int _index;
+
+    public ByteBufferInputStream(ByteBuffer... buffers) {
+        init(buffers);
+    }
+
+    /**
+     * Restarts the input on new buffers, read from their position to their limit.
+     */
+    public void init(ByteBuffer... buffers) {
+        if (buffers == null)
+            buffers = EMPTY;
+
+        if (_buffers.length < buffers.length)
+            _buffers = new ByteBuffer[buffers.length];
+
+        for (int i = 0; i < _buffers.length; i++)
+            _buffers[i] = i < buffers.length ? buffers[i].duplicate() : null;
+
+        _index = 0;
+    }
+
+    private ByteBuffer current() {
+        ByteBuffer[] buffers = _buffers;
+
+        while (_index < buffers.length) {
+            ByteBuffer buffer = buffers[_index];
+
+            if (buffer == null)
+                return null;
+            else if (buffer.hasRemaining())
+                return buffer;
+
+            buffers[_index++] = null;
+        }
+
+        return null;
+    }
+
+    @Override
+    public int read() {
+        ByteBuffer buffer = current();
+
+        return buffer != null ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (length == 0)
+            return 0;
+
+        int readLength = 0;
+
+        while (readLength < length) {
+            ByteBuffer current = current();
+
+            if (current == null)
+                break;
+
+            int sublen = Math.min(length - readLength, current.remaining());
+            current.get(buffer, offset + readLength, sublen);
+            readLength += sublen;
+        }
+
+        return readLength > 0 ? readLength : -1;
+    }
+
+    @Override
+    public int available() {
+        int available = 0;
+
+        for (int i = _index; i < _buffers.length && _buffers[i] != null; i++)
+            available += _buffers[i].remaining();
+
+        return available;
+    }
+}
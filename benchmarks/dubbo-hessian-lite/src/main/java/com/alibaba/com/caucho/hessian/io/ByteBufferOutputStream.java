@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.com.caucho.hessian.io;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An output stream writing into ByteBuffers, heap or direct. When the current buffer
+ * is full a new one of the same kind and capacity is added, so the bytes already
+ * written are never copied again. The written bytes are returned by {@link #getBuffers()},
+ * for a gathering write to a channel or to be wrapped by a composite buffer.
+ */
+public class ByteBufferOutputStream extends OutputStream {
+    private static final int MIN_CAPACITY = 256;
+
+    private final List<ByteBuffer> _buffers = new ArrayList<ByteBuffer>();
+    private ByteBuffer _current;
+    private int _start;
+    private int _size;
+
+    public ByteBufferOutputStream(ByteBuffer buffer) {
+        init(buffer);
+    }
+
+    /**
+     * Restarts the output with a new first buffer, written from its position.
+     */
+    public void init(ByteBuffer buffer) {
+        _buffers.clear();
+        _current = buffer;
+        _start = buffer != null ? buffer.position() : 0;
+        _size = 0;
+
+        if (buffer != null)
+            _buffers.add(buffer);
+    }
+
+    @Override
+    public void write(int b) {
+        if (!_current.hasRemaining())
+            next();
+
+        _current.put((byte) b);
+        _size++;
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) {
+        _size += length;
+
+        while (length > 0) {
+            if (!_current.hasRemaining())
+                next();
+
+            int sublen = Math.min(length, _current.remaining());
+            _current.put(buffer, offset, sublen);
+
+            offset += sublen;
+            length -= sublen;
+        }
+    }
+
+    private void next() {
+        int capacity = Math.max(MIN_CAPACITY, _current.capacity());
+
+        _current = _current.isDirect() ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        _buffers.add(_current);
+    }
+
+    /**
+     * Returns the number of bytes written since the last init.
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Returns views of the written bytes, ready to be read. The buffers themselves are
+     * left unchanged, so the writes can go on.
+     */
+    public ByteBuffer[] getBuffers() {
+        ByteBuffer[] buffers = new ByteBuffer[_buffers.size()];
+
+        for (int i = 0; i < buffers.length; i++) {
+            ByteBuffer buffer = _buffers.get(i).duplicate();
+            buffer.flip();
+            buffers[i] = buffer;
+        }
+
+        if (buffers.length > 0)
+            buffers[0].position(_start);
+
+        return buffers;
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.com.caucho.hessian.io;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads and writes the value of a field for the {@link JavaSerializer} and the
+ * {@link JavaDeserializer}.
+ * <p>
+ * By default the field is accessed through method handles adapted to the type the
+ * serializer writes, so that the primitive values are never boxed. The reflection
+ * based access is used when the handles can't be created (a final field on some JVMs
+ * for instance), or for all the fields when the <code>hessian.field.accessor</code>
+ * system property is set to <code>reflection</code>.
+ */
+abstract class FieldAccessor {
+    private static final Logger log
+            = Logger.getLogger(FieldAccessor.class.getName());
+
+    static final boolean USE_METHOD_HANDLES
+            = !"reflection".equals(System.getProperty("hessian.field.accessor"));
+
+    protected final Field _field;
+
+    FieldAccessor(Field field) {
+        _field = field;
+    }
+
+    /**
+     * Creates the accessor of an accessible field.
+     */
+    static FieldAccessor create(Field field) {
+        if (USE_METHOD_HANDLES) {
+            try {
+                return new MethodHandleFieldAccessor(field);
+            } catch (IllegalAccessException e) {
+                log.log(Level.FINER, e.toString(), e);
+            }
+        }
+
+        return new ReflectionFieldAccessor(field);
+    }
+
+    Field getField() {
+        return _field;
+    }
+
+    /**
+     * Returns the value of an object or char field, the char being boxed.
+     */
+    abstract Object get(Object obj) throws IllegalAccessException;
+
+    abstract boolean getBoolean(Object obj) throws IllegalAccessException;
+
+    /**
+     * Returns the value of a byte, short or int field.
+     */
+    abstract int getInt(Object obj) throws IllegalAccessException;
+
+    abstract long getLong(Object obj) throws IllegalAccessException;
+
+    /**
+     * Returns the value of a float or double field.
+     */
+    abstract double getDouble(Object obj) throws IllegalAccessException;
+
+    /**
+     * Sets the value of an object or char field, the char being boxed.
+     */
+    abstract void set(Object obj, Object value) throws IllegalAccessException;
+
+    abstract void setBoolean(Object obj, boolean value) throws IllegalAccessException;
+
+    abstract void setByte(Object obj, byte value) throws IllegalAccessException;
+
+    abstract void setShort(Object obj, short value) throws IllegalAccessException;
+
+    abstract void setInt(Object obj, int value) throws IllegalAccessException;
+
+    abstract void setLong(Object obj, long value) throws IllegalAccessException;
+
+    abstract void setFloat(Object obj, float value) throws IllegalAccessException;
+
+    abstract void setDouble(Object obj, double value) throws IllegalAccessException;
+
+    static class ReflectionFieldAccessor extends FieldAccessor {
+        ReflectionFieldAccessor(Field field) {
+            super(field);
+        }
+
+        @Override
+        Object get(Object obj) throws IllegalAccessException {
+            return _field.get(obj);
+        }
+
+        @Override
+        boolean getBoolean(Object obj) throws IllegalAccessException {
+            return _field.getBoolean(obj);
+        }
+
+        @Override
+        int getInt(Object obj) throws IllegalAccessException {
+            return _field.getInt(obj);
+        }
+
+        @Override
+        long getLong(Object obj) throws IllegalAccessException {
+            return _field.getLong(obj);
+        }
+
+        @Override
+        double getDouble(Object obj) throws IllegalAccessException {
+            return _field.getDouble(obj);
+        }
+
+        @Override
+        void set(Object obj, Object value) throws IllegalAccessException {
+            _field.set(obj, value);
+        }
+
+        @Override
+        void setBoolean(Object obj, boolean value) throws IllegalAccessException {
+            _field.setBoolean(obj, value);
+        }
+
+        @Override
+        void setByte(Object obj, byte value) throws IllegalAccessException {
+            _field.setByte(obj, value);
+        }
+
+        @Override
+        void setShort(Object obj, short value) throws IllegalAccessException {
+            _field.setShort(obj, value);
+        }
+
+        @Override
+        void setInt(Object obj, int value) throws IllegalAccessException {
+            _field.setInt(obj, value);
+        }
+
+        @Override
+        void setLong(Object obj, long value) throws IllegalAccessException {
+            _field.setLong(obj, value);
+        }
+
+        @Override
+        void setFloat(Object obj, float value) throws IllegalAccessException {
+            _field.setFloat(obj, value);
+        }
+
+        @Override
+        void setDouble(Object obj, double value) throws IllegalAccessException {
+            _field.setDouble(obj, value);
+        }
+    }
+
+    /**
+     * The getter returns the type written by the serializer: int for the byte, short
+     * and int fields, double for the float and double fields, and Object for the
+     * char and object fields. The setter takes the exact type of the field, or Object.
+     * The handles are invoked with invokeExact, calling an accessor method which does
+     * not match the field type fails with a WrongMethodTypeException.
+     */
+    static class MethodHandleFieldAccessor extends FieldAccessor {
+        private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+        private final MethodHandle _getter;
+        private final MethodHandle _setter;
+
+        MethodHandleFieldAccessor(Field field) throws IllegalAccessException {
+            super(field);
+
+            Class type = field.getType();
+            Class getterType;
+            Class setterType;
+
+            if (boolean.class.equals(type) || long.class.equals(type)) {
+                getterType = type;
+                setterType = type;
+            } else if (byte.class.equals(type) || short.class.equals(type) || int.class.equals(type)) {
+                getterType = int.class;
+                setterType = type;
+            } else if (float.class.equals(type) || double.class.equals(type)) {
+                getterType = double.class;
+                setterType = type;
+            } else {
+                getterType = Object.class;
+                setterType = Object.class;
+            }
+
+            _getter = LOOKUP.unreflectGetter(field)
+                    .asType(MethodType.methodType(getterType, Object.class));
+            _setter = LOOKUP.unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, setterType));
+        }
+
+        private static RuntimeException rethrow(Throwable e) {
+            if (e instanceof RuntimeException)
+                return (RuntimeException) e;
+            else if (e instanceof Error)
+                throw (Error) e;
+            else
+                return new IllegalStateException(e);
+        }
+
+        @Override
+        Object get(Object obj) {
+            try {
+                return (Object) _getter.invokeExact(obj);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        boolean getBoolean(Object obj) {
+            try {
+                return (boolean) _getter.invokeExact(obj);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        int getInt(Object obj) {
+            try {
+                return (int) _getter.invokeExact(obj);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        long getLong(Object obj) {
+            try {
+                return (long) _getter.invokeExact(obj);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        double getDouble(Object obj) {
+            try {
+                return (double) _getter.invokeExact(obj);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        void set(Object obj, Object value) {
+            try {
+                _setter.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        void setBoolean(Object obj, boolean value) {
+            try {
+                _setter.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        void setByte(Object obj, byte value) {
+            try {
+                _setter.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        void setShort(Object obj, short value) {
+            try {
+                _setter.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        void setInt(Object obj, int value) {
+            try {
+                _setter.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        void setLong(Object obj, long value) {
+            try {
+                _setter.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        void setFloat(Object obj, float value) {
+            try {
+                _setter.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        void setDouble(Object obj, double value) {
+            try {
+                _setter.invokeExact(obj, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+    }
+}
@@ -54,6 +54,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
@@ -89,7 +90,6 @@ public class Hessian2Input
     private static final int SIZE = 256;
     private static final int GAP = 16;
     private static Field _detailMessageField;
-    private static boolean _isCloseStreamOnClose;
 
     static {
         try {
@@ -112,6 +112,9 @@ public class Hessian2Input
     private int _length;
     // true for streaming data
     private boolean _isStreaming;
+    private boolean _isCloseStreamOnClose;
+    // true if the serializer factory was set, instead of created by findSerializerFactory
+    private boolean _isSerializerFactorySet;
     // the method for a call
     private String _method;
     private Throwable _replyFault;
@@ -120,6 +123,8 @@ public class Hessian2Input
     private boolean _isLastChunk;
     // the chunk length
     private int _chunkLength;
+    // reused by initByteBuffers
+    private ByteBufferInputStream _byteBufferInput;
 
     /**
      * Creates a new Hessian input stream, initialized with an
@@ -144,6 +149,7 @@ public class Hessian2Input
     @Override
     public void setSerializerFactory(SerializerFactory factory) {
         _serializerFactory = factory;
+        _isSerializerFactorySet = true;
     }
 
     /**
@@ -188,6 +194,39 @@ public class Hessian2Input
         reset();
     }
 
+    /**
+     * Initializes the input to read a sequence of ByteBuffers, heap or direct, from their
+     * position to their limit. The positions of the buffers are left unchanged.
+     */
+    public void initByteBuffers(ByteBuffer... buffers) {
+        if (_byteBufferInput == null)
+            _byteBufferInput = new ByteBufferInputStream(buffers);
+        else
+            _byteBufferInput.init(buffers);
+
+        init(_byteBufferInput);
+    }
+
+    /**
+     * Resets the input and releases the stream or buffers, before being pooled. The
+     * settings of the borrower are reset, only a default serializer factory is kept.
+     */
+    void free() {
+        init(null);
+        _method = null;
+        _replyFault = null;
+        _isStreaming = false;
+        _isCloseStreamOnClose = false;
+
+        if (_isSerializerFactorySet) {
+            _serializerFactory = null;
+            _isSerializerFactorySet = false;
+        }
+
+        if (_byteBufferInput != null)
+            _byteBufferInput.init();
+    }
+
     public void reset() {
         resetReferences();
 
@@ -52,6 +52,7 @@ import com.alibaba.com.caucho.hessian.util.IdentityIntMap;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 
 /**
@@ -91,6 +92,12 @@ public class Hessian2Output
 
     private boolean _isStreaming;
 
+    // true if the serializer factory was set, instead of created by findSerializerFactory
+    private boolean _isSerializerFactorySet;
+
+    // reused by initByteBuffer
+    private ByteBufferOutputStream _byteBufferOutput;
+
     /**
      * Creates a new Hessian output stream, initialized with an
      * underlying output stream.
@@ -108,6 +115,52 @@ public class Hessian2Output
         _os = os;
     }
 
+    /**
+     * Initializes the output to write into a ByteBuffer, heap or direct, from its
+     * position. When the buffer is full the next bytes go to new buffers, the written
+     * bytes are returned by {@link #getByteBuffers()}.
+     */
+    public void initByteBuffer(ByteBuffer buffer) {
+        if (_byteBufferOutput == null)
+            _byteBufferOutput = new ByteBufferOutputStream(buffer);
+        else
+            _byteBufferOutput.init(buffer);
+
+        init(_byteBufferOutput);
+    }
+
+    /**
+     * Flushes the output and returns the bytes written since {@link #initByteBuffer(ByteBuffer)},
+     * as views of the buffers ready to be read.
+     */
+    public ByteBuffer[] getByteBuffers()
+            throws IOException {
+        if (_os == null || _os != _byteBufferOutput)
+            throw new IllegalStateException("the output is not initialized with a ByteBuffer");
+
+        flushBuffer();
+
+        return _byteBufferOutput.getBuffers();
+    }
+
+    /**
+     * Resets the output and releases the stream or buffers, before being pooled. The
+     * settings of the borrower are reset, only a default serializer factory is kept.
+     */
+    void free() {
+        init(null);
+        _isStreaming = false;
+        _isCloseStreamOnClose = false;
+
+        if (_isSerializerFactorySet) {
+            _serializerFactory = null;
+            _isSerializerFactorySet = false;
+        }
+
+        if (_byteBufferOutput != null)
+            _byteBufferOutput.init(null);
+    }
+
     /**
      * Resets all counters and references
      */
@@ -125,6 +178,13 @@ public class Hessian2Output
         _offset = 0;
     }
 
+    @Override
+    public void setSerializerFactory(SerializerFactory factory) {
+        super.setSerializerFactory(factory);
+
+        _isSerializerFactorySet = true;
+    }
+
     public boolean isCloseStreamOnClose() {
         return _isCloseStreamOnClose;
     }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.com.caucho.hessian.io;
+
+/**
+ * A per thread pool of Hessian2Output and Hessian2Input instances, to reuse their
+ * buffers, reference maps and serializer factory from one message to the next.
+ * <pre>
+ * Hessian2Output out = Hessian2Pool.borrowOutput();
+ * try {
+ *     out.initByteBuffer(buffer);
+ *     out.writeObject(value);
+ *     ByteBuffer[] bytes = out.getByteBuffers();
+ * } finally {
+ *     Hessian2Pool.release(out);
+ * }
+ * </pre>
+ * A nested borrow, while the pooled instance is in use, returns a new instance. A released
+ * instance is reset to its defaults: the serializer factory, close on close and streaming
+ * settings of the borrower are not passed on to the next one.
+ */
+public final class Hessian2Pool {
+    private static final ThreadLocal<Hessian2Output> OUTPUTS = new ThreadLocal<Hessian2Output>();
+    private static final ThreadLocal<Hessian2Input> INPUTS = new ThreadLocal<Hessian2Input>();
+
+    private Hessian2Pool() {
+    }
+
+    /**
+     * Returns the output of the current thread, to be initialized with a stream or a buffer.
+     */
+    public static Hessian2Output borrowOutput() {
+        Hessian2Output out = OUTPUTS.get();
+
+        if (out == null)
+            return new Hessian2Output(null);
+
+        OUTPUTS.set(null);
+
+        return out;
+    }
+
+    /**
+     * Returns the input of the current thread, to be initialized with a stream or buffers.
+     */
+    public static Hessian2Input borrowInput() {
+        Hessian2Input in = INPUTS.get();
+
+        if (in == null)
+            return new Hessian2Input(null);
+
+        INPUTS.set(null);
+
+        return in;
+    }
+
+    /**
+     * Resets the output and gives it back to the pool of the current thread. The
+     * output must have been flushed.
+     */
+    public static void release(Hessian2Output out) {
+        out.free();
+        OUTPUTS.set(out);
+    }
+
+    /**
+     * Resets the input and gives it back to the pool of the current thread.
+     */
+    public static void release(Hessian2Input in) {
+        in.free();
+        INPUTS.set(in);
+    }
+}
@@ -397,9 +397,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class ObjectFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         ObjectFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -410,7 +412,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
             try {
                 value = in.readObject(_field.getType());
 
-                _field.set(obj, value);
+                _accessor.set(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -419,9 +421,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class BooleanFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         BooleanFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -432,7 +436,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
             try {
                 value = in.readBoolean();
 
-                _field.setBoolean(obj, value);
+                _accessor.setBoolean(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -441,9 +445,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class ByteFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         ByteFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -454,7 +460,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
             try {
                 value = in.readInt();
 
-                _field.setByte(obj, (byte) value);
+                _accessor.setByte(obj, (byte) value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -463,9 +469,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class ShortFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         ShortFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -476,7 +484,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
             try {
                 value = in.readInt();
 
-                _field.setShort(obj, (short) value);
+                _accessor.setShort(obj, (short) value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -485,9 +493,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class ObjectMapFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         ObjectMapFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -503,7 +513,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
                         isPrimitive(types[1]) ? (Class<?>) types[1] : null
                 );
 
-                _field.set(obj, value);
+                _accessor.set(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -512,9 +522,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class ObjectListFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         ObjectListFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -529,7 +541,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
                         isPrimitive(types[0]) ? (Class<?>) types[0] : null
                 );
 
-                _field.set(obj, value);
+                _accessor.set(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -538,9 +550,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class ObjectSetFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         ObjectSetFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -555,7 +569,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
                         isPrimitive(types[0]) ? (Class<?>) types[0] : null
                 );
 
-                _field.set(obj, value);
+                _accessor.set(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -565,9 +579,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class IntFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         IntFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -578,7 +594,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
             try {
                 value = in.readInt();
 
-                _field.setInt(obj, value);
+                _accessor.setInt(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -587,9 +603,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class LongFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         LongFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -600,7 +618,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
             try {
                 value = in.readLong();
 
-                _field.setLong(obj, value);
+                _accessor.setLong(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -609,9 +627,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class FloatFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         FloatFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -622,7 +642,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
             try {
                 value = in.readDouble();
 
-                _field.setFloat(obj, (float) value);
+                _accessor.setFloat(obj, (float) value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -631,9 +651,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class DoubleFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         DoubleFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -644,7 +666,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
             try {
                 value = in.readDouble();
 
-                _field.setDouble(obj, value);
+                _accessor.setDouble(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -653,9 +675,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class StringFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         StringFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -666,7 +690,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
             try {
                 value = in.readString();
 
-                _field.set(obj, value);
+                _accessor.set(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -675,9 +699,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class SqlDateFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         SqlDateFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -690,7 +716,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
                 if (date != null)
                     value = new java.sql.Date(date.getTime());
 
-                _field.set(obj, value);
+                _accessor.set(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -699,9 +725,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class SqlTimestampFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         SqlTimestampFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -714,7 +742,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
                 if (date != null)
                     value = new java.sql.Timestamp(date.getTime());
 
-                _field.set(obj, value);
+                _accessor.set(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
@@ -723,9 +751,11 @@ public class JavaDeserializer extends AbstractMapDeserializer {
 
     static class SqlTimeFieldDeserializer extends FieldDeserializer {
         private final Field _field;
+        private final FieldAccessor _accessor;
 
         SqlTimeFieldDeserializer(Field field) {
             _field = field;
+            _accessor = FieldAccessor.create(field);
         }
 
         @Override
@@ -737,7 +767,7 @@ public class JavaDeserializer extends AbstractMapDeserializer {
                 java.util.Date date = (java.util.Date) in.readObject();
                 if (date != null) value = new java.sql.Time(date.getTime());
 
-                _field.set(obj, value);
+                _accessor.set(obj, value);
             } catch (Exception e) {
                 logDeserializeError(_field, obj, value, e);
             }
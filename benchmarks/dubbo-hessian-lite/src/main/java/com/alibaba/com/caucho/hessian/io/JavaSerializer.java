@@ -68,6 +68,7 @@ public class JavaSerializer extends AbstractSerializer {
     private static Object[] NULL_ARGS = new Object[0];
 
     private Field[] _fields;
+    private FieldAccessor[] _fieldAccessors;
     private FieldSerializer[] _fieldSerializers;
 
     private Object _writeReplaceFactory;
@@ -111,9 +112,11 @@ public class JavaSerializer extends AbstractSerializer {
         _fields = new Field[fields.size()];
         fields.toArray(_fields);
 
+        _fieldAccessors = new FieldAccessor[_fields.length];
         _fieldSerializers = new FieldSerializer[_fields.length];
 
         for (int i = 0; i < _fields.length; i++) {
+            _fieldAccessors[i] = FieldAccessor.create(_fields[i]);
             _fieldSerializers[i] = getFieldSerializer(_fields[i].getType());
         }
     }
@@ -259,7 +262,7 @@ public class JavaSerializer extends AbstractSerializer {
 
             out.writeString(field.getName());
 
-            _fieldSerializers[i].serialize(out, obj, field);
+            _fieldSerializers[i].serialize(out, obj, _fieldAccessors[i]);
         }
 
         out.writeMapEnd();
@@ -279,16 +282,14 @@ public class JavaSerializer extends AbstractSerializer {
     public void writeInstance(Object obj, AbstractHessianOutput out)
             throws IOException {
         for (int i = 0; i < _fields.length; i++) {
-            Field field = _fields[i];
-
-            _fieldSerializers[i].serialize(out, obj, field);
+            _fieldSerializers[i].serialize(out, obj, _fieldAccessors[i]);
         }
     }
 
     static class FieldSerializer {
         static final FieldSerializer SER = new FieldSerializer();
 
-        void serialize(AbstractHessianOutput out, Object obj, Field field)
+        void serialize(AbstractHessianOutput out, Object obj, FieldAccessor field)
                 throws IOException {
             Object value = null;
 
@@ -301,10 +302,10 @@ public class JavaSerializer extends AbstractSerializer {
             try {
                 out.writeObject(value);
             } catch (RuntimeException e) {
-                throw new RuntimeException(e.getMessage() + "\n Java field: " + field,
+                throw new RuntimeException(e.getMessage() + "\n Java field: " + field.getField(),
                         e);
             } catch (IOException e) {
-                throw new IOExceptionWrapper(e.getMessage() + "\n Java field: " + field,
+                throw new IOExceptionWrapper(e.getMessage() + "\n Java field: " + field.getField(),
                         e);
             }
         }
@@ -314,7 +315,7 @@ public class JavaSerializer extends AbstractSerializer {
         static final FieldSerializer SER = new BooleanFieldSerializer();
 
         @Override
-        void serialize(AbstractHessianOutput out, Object obj, Field field)
+        void serialize(AbstractHessianOutput out, Object obj, FieldAccessor field)
                 throws IOException {
             boolean value = false;
 
@@ -332,7 +333,7 @@ public class JavaSerializer extends AbstractSerializer {
         static final FieldSerializer SER = new IntFieldSerializer();
 
         @Override
-        void serialize(AbstractHessianOutput out, Object obj, Field field)
+        void serialize(AbstractHessianOutput out, Object obj, FieldAccessor field)
                 throws IOException {
             int value = 0;
 
@@ -350,7 +351,7 @@ public class JavaSerializer extends AbstractSerializer {
         static final FieldSerializer SER = new LongFieldSerializer();
 
         @Override
-        void serialize(AbstractHessianOutput out, Object obj, Field field)
+        void serialize(AbstractHessianOutput out, Object obj, FieldAccessor field)
                 throws IOException {
             long value = 0;
 
@@ -368,7 +369,7 @@ public class JavaSerializer extends AbstractSerializer {
         static final FieldSerializer SER = new DoubleFieldSerializer();
 
         @Override
-        void serialize(AbstractHessianOutput out, Object obj, Field field)
+        void serialize(AbstractHessianOutput out, Object obj, FieldAccessor field)
                 throws IOException {
             double value = 0;
 
@@ -386,7 +387,7 @@ public class JavaSerializer extends AbstractSerializer {
         static final FieldSerializer SER = new StringFieldSerializer();
 
         @Override
-        void serialize(AbstractHessianOutput out, Object obj, Field field)
+        void serialize(AbstractHessianOutput out, Object obj, FieldAccessor field)
                 throws IOException {
             String value = null;
 
@@ -404,7 +405,7 @@ public class JavaSerializer extends AbstractSerializer {
         static final FieldSerializer SER = new DateFieldSerializer();
 
         @Override
-        void serialize(AbstractHessianOutput out, Object obj, Field field)
+        void serialize(AbstractHessianOutput out, Object obj, FieldAccessor field)
                 throws IOException {
             java.util.Date value = null;
 
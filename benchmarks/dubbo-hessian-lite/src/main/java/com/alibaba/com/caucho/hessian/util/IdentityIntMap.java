@@ -48,6 +48,8 @@
 
 package com.alibaba.com.caucho.hessian.util;
 
+import java.util.Arrays;
+
 /**
  * The IntMap provides a simple hashmap from keys to integers.  The API is
  * an abbreviation of the HashMap collection API.
@@ -69,6 +71,8 @@ public class IdentityIntMap {
 
     private int _size;
     private int _mask;
+    // true when a key was put since the last clear
+    private boolean _isDirty;
 
     /**
      * Create a new IntMap.  Default size is 16.
@@ -85,15 +89,15 @@ public class IdentityIntMap {
      * Clear the hashmap.
      */
     public void clear() {
-        Object[] keys = _keys;
-        int[] values = _values;
+        // a reused output clears the map for each message, often already empty
+        if (!_isDirty)
+            return;
 
-        for (int i = keys.length - 1; i >= 0; i--) {
-            keys[i] = null;
-            values[i] = 0;
-        }
+        // the values of the null keys are never read
+        Arrays.fill(_keys, null);
 
         _size = 0;
+        _isDirty = false;
     }
 
     /**
@@ -174,6 +178,7 @@ public class IdentityIntMap {
             if (testKey == null || testKey == DELETED) {
                 keys[hash] = key;
                 _values[hash] = value;
+                _isDirty = true;
 
                 _size++;
 
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.com.caucho.hessian.io;
+
+import com.alibaba.com.caucho.hessian.io.beans.PrimitiveBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflection and the method handle field accessors, alone and through a
+ * Hessian2 round trip of a bean. Run with 'mvn test -Pbenchmark -Dbenchmark=FieldAccessorBenchmark'.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class FieldAccessorBenchmark {
+
+    private PrimitiveBean bean;
+
+    private FieldAccessor[] reflectionAccessors;
+
+    private FieldAccessor[] methodHandleAccessors;
+
+    private byte[] serialized;
+
+    private SerializerFactory serializerFactory;
+
+    @Setup
+    public void setup() throws Exception {
+        bean = PrimitiveBean.create(42);
+
+        List<FieldAccessor> reflection = new ArrayList<FieldAccessor>();
+        List<FieldAccessor> methodHandles = new ArrayList<FieldAccessor>();
+        for (String name : new String[]{"intValue", "longValue", "doubleValue", "stringValue"}) {
+            Field field = PrimitiveBean.class.getDeclaredField(name);
+            field.setAccessible(true);
+            reflection.add(new FieldAccessor.ReflectionFieldAccessor(field));
+            methodHandles.add(new FieldAccessor.MethodHandleFieldAccessor(field));
+        }
+        reflectionAccessors = reflection.toArray(new FieldAccessor[reflection.size()]);
+        methodHandleAccessors = methodHandles.toArray(new FieldAccessor[methodHandles.size()]);
+
+        // shared, as the serializers are created once per class
+        serializerFactory = new SerializerFactory();
+        serialized = write(bean);
+    }
+
+    private static void copy(FieldAccessor[] accessors, PrimitiveBean from, PrimitiveBean to)
+            throws IllegalAccessException {
+        accessors[0].setInt(to, accessors[0].getInt(from));
+        accessors[1].setLong(to, accessors[1].getLong(from));
+        accessors[2].setDouble(to, accessors[2].getDouble(from));
+        accessors[3].set(to, accessors[3].get(from));
+    }
+
+    private byte[] write(Object obj) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream(256);
+        Hessian2Output out = new Hessian2Output(bout);
+        out.setSerializerFactory(serializerFactory);
+        out.writeObject(obj);
+        out.flush();
+        return bout.toByteArray();
+    }
+
+    private Object read(byte[] data) throws IOException {
+        Hessian2Input in = new Hessian2Input(new ByteArrayInputStream(data));
+        in.setSerializerFactory(serializerFactory);
+        return in.readObject();
+    }
+
+    @Benchmark
+    public PrimitiveBean reflectionCopy() throws IllegalAccessException {
+        PrimitiveBean to = new PrimitiveBean();
+        copy(reflectionAccessors, bean, to);
+        return to;
+    }
+
+    @Benchmark
+    public PrimitiveBean methodHandleCopy() throws IllegalAccessException {
+        PrimitiveBean to = new PrimitiveBean();
+        copy(methodHandleAccessors, bean, to);
+        return to;
+    }
+
+    @Benchmark
+    public void methodHandleRoundTrip(Blackhole bh) throws IOException {
+        bh.consume(write(bean));
+        bh.consume(read(serialized));
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M", "-Dhessian.field.accessor=reflection"})
+    public void reflectionRoundTrip(Blackhole bh) throws IOException {
+        bh.consume(write(bean));
+        bh.consume(read(serialized));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.com.caucho.hessian.io;
+
+import com.alibaba.com.caucho.hessian.io.base.SerializeTestBase;
+import com.alibaba.com.caucho.hessian.io.beans.PrimitiveBean;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+public class FieldAccessorTest extends SerializeTestBase {
+
+    private static FieldAccessor[] accessors(Field field) throws Exception {
+        field.setAccessible(true);
+        return new FieldAccessor[]{
+                new FieldAccessor.ReflectionFieldAccessor(field),
+                new FieldAccessor.MethodHandleFieldAccessor(field)};
+    }
+
+    private static Field field(String name) throws Exception {
+        return PrimitiveBean.class.getDeclaredField(name);
+    }
+
+    @Test
+    public void testPrimitiveFields() throws Exception {
+        PrimitiveBean bean = PrimitiveBean.create(5);
+
+        for (FieldAccessor accessor : accessors(field("booleanValue"))) {
+            Assert.assertFalse(accessor.getBoolean(bean));
+            accessor.setBoolean(bean, true);
+            Assert.assertTrue(bean.isBooleanValue());
+            accessor.setBoolean(bean, false);
+        }
+        for (FieldAccessor accessor : accessors(field("byteValue"))) {
+            Assert.assertEquals(5, accessor.getInt(bean));
+            accessor.setByte(bean, (byte) -3);
+            Assert.assertEquals(-3, bean.getByteValue());
+            accessor.setByte(bean, (byte) 5);
+        }
+        for (FieldAccessor accessor : accessors(field("shortValue"))) {
+            Assert.assertEquals(15, accessor.getInt(bean));
+            accessor.setShort(bean, (short) 300);
+            Assert.assertEquals(300, bean.getShortValue());
+            accessor.setShort(bean, (short) 15);
+        }
+        for (FieldAccessor accessor : accessors(field("charValue"))) {
+            Assert.assertEquals('f', accessor.get(bean));
+            accessor.set(bean, 'z');
+            Assert.assertEquals('z', bean.getCharValue());
+            accessor.set(bean, 'f');
+        }
+        for (FieldAccessor accessor : accessors(field("intValue"))) {
+            Assert.assertEquals(35, accessor.getInt(bean));
+            accessor.setInt(bean, Integer.MIN_VALUE);
+            Assert.assertEquals(Integer.MIN_VALUE, bean.getIntValue());
+            accessor.setInt(bean, 35);
+        }
+        for (FieldAccessor accessor : accessors(field("longValue"))) {
+            Assert.assertEquals(5000000035L, accessor.getLong(bean));
+            accessor.setLong(bean, Long.MAX_VALUE);
+            Assert.assertEquals(Long.MAX_VALUE, bean.getLongValue());
+            accessor.setLong(bean, 5000000035L);
+        }
+        for (FieldAccessor accessor : accessors(field("floatValue"))) {
+            Assert.assertEquals(5 / 3f, accessor.getDouble(bean), 0);
+            accessor.setFloat(bean, 1.5f);
+            Assert.assertEquals(1.5f, bean.getFloatValue(), 0);
+            accessor.setFloat(bean, 5 / 3f);
+        }
+        for (FieldAccessor accessor : accessors(field("doubleValue"))) {
+            Assert.assertEquals(5 / 7d, accessor.getDouble(bean), 0);
+            accessor.setDouble(bean, -0.25);
+            Assert.assertEquals(-0.25, bean.getDoubleValue(), 0);
+            accessor.setDouble(bean, 5 / 7d);
+        }
+        for (FieldAccessor accessor : accessors(field("stringValue"))) {
+            Assert.assertEquals("value5", accessor.get(bean));
+            accessor.set(bean, null);
+            Assert.assertNull(bean.getStringValue());
+            accessor.set(bean, "value5");
+        }
+    }
+
+    @Test
+    public void testWrongValueType() throws Exception {
+        PrimitiveBean bean = new PrimitiveBean();
+
+        for (FieldAccessor accessor : accessors(field("stringValue"))) {
+            try {
+                accessor.set(bean, 1);
+                Assert.fail();
+            } catch (RuntimeException e) {
+                // IllegalArgumentException for reflection, ClassCastException for the handles
+            }
+        }
+    }
+
+    @Test
+    public void testSerialize() throws Exception {
+        PrimitiveBean bean = PrimitiveBean.create(42);
+
+        for (PrimitiveBean copy : new PrimitiveBean[]{baseHessianSerialize(bean), baseHessian2Serialize(bean)}) {
+            Assert.assertEquals(bean.isBooleanValue(), copy.isBooleanValue());
+            Assert.assertEquals(bean.getByteValue(), copy.getByteValue());
+            Assert.assertEquals(bean.getShortValue(), copy.getShortValue());
+            Assert.assertEquals(bean.getCharValue(), copy.getCharValue());
+            Assert.assertEquals(bean.getIntValue(), copy.getIntValue());
+            Assert.assertEquals(bean.getLongValue(), copy.getLongValue());
+            Assert.assertEquals(bean.getFloatValue(), copy.getFloatValue(), 0);
+            Assert.assertEquals(bean.getDoubleValue(), copy.getDoubleValue(), 0);
+            Assert.assertEquals(bean.getStringValue(), copy.getStringValue());
+            Assert.assertEquals(bean.getDateValue(), copy.getDateValue());
+            Assert.assertEquals(bean.getFinalValue(), copy.getFinalValue());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.com.caucho.hessian.io;
+
+import com.alibaba.com.caucho.hessian.io.beans.PrimitiveBean;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Hessian2ByteBufferTest {
+
+    private static List<Object> values() {
+        List<Object> values = new ArrayList<Object>();
+        for (int i = 0; i < 200; i++) {
+            values.add(PrimitiveBean.create(i));
+        }
+        values.add("a long string to cross the buffers boundaries " + new String(new char[5000]).replace('\0', 'x'));
+        return values;
+    }
+
+    private static void assertValues(Object read) {
+        List<?> values = (List<?>) read;
+        Assert.assertEquals(201, values.size());
+        for (int i = 0; i < 200; i++) {
+            Assert.assertEquals(i * 7, ((PrimitiveBean) values.get(i)).getIntValue());
+        }
+        Assert.assertEquals(values().get(200), values.get(200));
+    }
+
+    private static byte[] toBytes(ByteBuffer[] buffers) {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : buffers) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            bout.write(bytes, 0, bytes.length);
+        }
+        return bout.toByteArray();
+    }
+
+    @Test
+    public void testByteBuffers() throws IOException {
+        for (ByteBuffer first : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(1024)}) {
+            first.put((byte) 42); // the output starts at the position of the buffer
+
+            Hessian2Output out = new Hessian2Output(null);
+            out.initByteBuffer(first);
+            out.writeObject(values());
+            ByteBuffer[] buffers = out.getByteBuffers();
+
+            Assert.assertTrue(buffers.length > 1);
+            Assert.assertEquals(1, buffers[0].position());
+            for (ByteBuffer buffer : buffers) {
+                Assert.assertEquals(first.isDirect(), buffer.isDirect());
+            }
+
+            // same bytes as through an OutputStream
+            ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            Hessian2Output streamOut = new Hessian2Output(bout);
+            streamOut.writeObject(values());
+            streamOut.flush();
+            Assert.assertArrayEquals(bout.toByteArray(), toBytes(out.getByteBuffers()));
+
+            // read as a composite buffer, the buffers are not consumed
+            Hessian2Input in = new Hessian2Input(null);
+            in.initByteBuffers(buffers);
+            assertValues(in.readObject());
+            Assert.assertEquals(1, buffers[0].position());
+
+            // and from a stream
+            in.init(new ByteArrayInputStream(toBytes(buffers)));
+            assertValues(in.readObject());
+        }
+    }
+
+    @Test
+    public void testPool() throws IOException {
+        Hessian2Output out = Hessian2Pool.borrowOutput();
+        Hessian2Output nested = Hessian2Pool.borrowOutput();
+        Assert.assertNotSame(out, nested);
+        Hessian2Pool.release(nested);
+
+        out.initByteBuffer(ByteBuffer.allocate(256));
+        out.writeObject(PrimitiveBean.create(1));
+        ByteBuffer[] buffers = out.getByteBuffers();
+        Hessian2Pool.release(out);
+        Assert.assertSame(out, Hessian2Pool.borrowOutput());
+
+        Hessian2Input in = Hessian2Pool.borrowInput();
+        in.initByteBuffers(buffers);
+        Assert.assertEquals(7, ((PrimitiveBean) in.readObject()).getIntValue());
+        Hessian2Pool.release(in);
+
+        // the references of the previous message are gone
+        for (int i = 0; i < 3; i++) {
+            out.initByteBuffer(ByteBuffer.allocate(256));
+            PrimitiveBean bean = PrimitiveBean.create(i);
+            out.writeObject(bean);
+            buffers = out.getByteBuffers();
+            Hessian2Pool.release(out);
+            Assert.assertSame(out, Hessian2Pool.borrowOutput());
+
+            in = Hessian2Pool.borrowInput();
+            in.initByteBuffers(buffers);
+            Assert.assertEquals(i * 7, ((PrimitiveBean) in.readObject()).getIntValue());
+            Hessian2Pool.release(in);
+        }
+        Hessian2Pool.release(out);
+    }
+
+    @Test
+    public void testPoolResetsSettings() throws IOException {
+        SerializerFactory factory = new SerializerFactory();
+
+        Hessian2Output out = Hessian2Pool.borrowOutput();
+        SerializerFactory defaultFactory = out.findSerializerFactory();
+        Hessian2Pool.release(out);
+        Assert.assertSame(out, Hessian2Pool.borrowOutput());
+        // the default factory is reused
+        Assert.assertSame(defaultFactory, out.getSerializerFactory());
+
+        out.setSerializerFactory(factory);
+        out.setCloseStreamOnClose(true);
+        out.init(new ByteArrayOutputStream());
+        out.startStreamingPacket();
+        Hessian2Pool.release(out);
+        Assert.assertSame(out, Hessian2Pool.borrowOutput());
+        Assert.assertNull(out.getSerializerFactory());
+        Assert.assertFalse(out.isCloseStreamOnClose());
+
+        // not written as a streaming packet
+        out.initByteBuffer(ByteBuffer.allocate(256));
+        out.writeObject(PrimitiveBean.create(1));
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        Hessian2Output streamOut = new Hessian2Output(bout);
+        streamOut.writeObject(PrimitiveBean.create(1));
+        streamOut.flush();
+        Assert.assertArrayEquals(bout.toByteArray(), toBytes(out.getByteBuffers()));
+        Hessian2Pool.release(out);
+
+        Hessian2Input in = Hessian2Pool.borrowInput();
+        in.setSerializerFactory(factory);
+        in.setCloseStreamOnClose(true);
+        Assert.assertFalse(new Hessian2Input(null).isCloseStreamOnClose());
+        Hessian2Pool.release(in);
+        Assert.assertSame(in, Hessian2Pool.borrowInput());
+        Assert.assertNull(in.getSerializerFactory());
+        Assert.assertFalse(in.isCloseStreamOnClose());
+        Hessian2Pool.release(in);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotByteBuffer() throws IOException {
+        Hessian2Output out = new Hessian2Output(new ByteArrayOutputStream());
+        out.getByteBuffers();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.com.caucho.hessian.io.beans;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * a bean with a field of each type handled by a specific field (de)serializer
+ */
+public class PrimitiveBean implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private boolean booleanValue;
+    private byte byteValue;
+    private short shortValue;
+    private char charValue;
+    private int intValue;
+    private long longValue;
+    private float floatValue;
+    private double doubleValue;
+    private String stringValue;
+    private Date dateValue;
+    private final Integer finalValue;
+
+    public PrimitiveBean() {
+        this(0);
+    }
+
+    public PrimitiveBean(Integer finalValue) {
+        this.finalValue = finalValue;
+    }
+
+    public static PrimitiveBean create(int seed) {
+        PrimitiveBean bean = new PrimitiveBean(seed);
+        bean.booleanValue = seed % 2 == 0;
+        bean.byteValue = (byte) seed;
+        bean.shortValue = (short) (seed * 3);
+        bean.charValue = (char) ('a' + seed % 26);
+        bean.intValue = seed * 7;
+        bean.longValue = seed * 1000000007L;
+        bean.floatValue = seed / 3f;
+        bean.doubleValue = seed / 7d;
+        bean.stringValue = "value" + seed;
+        bean.dateValue = new Date(seed * 1000L);
+        return bean;
+    }
+
+    public boolean isBooleanValue() {
+        return booleanValue;
+    }
+
+    public byte getByteValue() {
+        return byteValue;
+    }
+
+    public short getShortValue() {
+        return shortValue;
+    }
+
+    public char getCharValue() {
+        return charValue;
+    }
+
+    public int getIntValue() {
+        return intValue;
+    }
+
+    public long getLongValue() {
+        return longValue;
+    }
+
+    public float getFloatValue() {
+        return floatValue;
+    }
+
+    public double getDoubleValue() {
+        return doubleValue;
+    }
+
+    public String getStringValue() {
+        return stringValue;
+    }
+
+    public Date getDateValue() {
+        return dateValue;
+    }
+
+    public Integer getFinalValue() {
+        return finalValue;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.geronimo.jcache.simple;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import javax.cache.expiry.Duration;
+
+// serialized-bytes storage of the values: serialized once on write, deserialized on read
+class ByteStorage {
+
+    private final Serializations serializations;
+
+    private final ClassLoader loader;
+
+    private final boolean offHeap;
+
+    ByteStorage(final Serializations serializations, final ClassLoader loader, final boolean offHeap) {
+        this.serializations = serializations;
+        this.loader = loader;
+        this.offHeap = offHeap;
+    }
+
+    <V> SimpleElement<V> newElement(final V value, final Duration duration) {
+        if (!offHeap && Serializations.isImmutable(value)) { // no need to pay the deserialization
+            return new SimpleElement<>(value, duration);
+        }
+        return new SerializedElement<>(store(value), this, duration);
+    }
+
+    // byte[] on heap or a direct buffer, released with the element by the garbage collector
+    private Object store(final Object value) {
+        final byte[] bytes;
+        try {
+            bytes = serializations.serialize(value);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        if (!offHeap) {
+            return bytes;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+
+    <T> T load(final Object data) {
+        try {
+            if (offHeap) {
+                return serializations.deSerialize(new ByteBufferInputStream(ByteBuffer.class.cast(data).duplicate()), loader);
+            }
+            return serializations.deSerialize(byte[].class.cast(data), loader);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class SerializedElement<V> extends SimpleElement<V> {
+
+        private final Object data;
+
+        private final ByteStorage storage;
+
+        private SerializedElement(final Object data, final ByteStorage storage, final Duration duration) {
+            super(null, duration);
+            this.data = data;
+            this.storage = storage;
+        }
+
+        @Override
+        public V getElement() {
+            return storage.load(data);
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -29,12 +29,29 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.UUID;
 import java.util.regex.Pattern;
 
-public class Serializations {
+public class Serializations implements Copier {
+
+    // instances a serialization round trip would only duplicate
+    private static final Collection<Class<?>> IMMUTABLES = new HashSet<>(asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class, UUID.class, Class.class,
+            Duration.class, Instant.class, LocalDate.class, LocalTime.class, LocalDateTime.class,
+            OffsetDateTime.class, ZonedDateTime.class));
 
     private final Collection<String> acceptedClasses;
 
@@ -43,7 +60,16 @@ public class Serializations {
                 : new HashSet<>(asList(acceptedClasses.split(",")));
     }
 
+    public static boolean isImmutable(final Object value) {
+        // exact class match, a subclass of BigInteger for instance can be mutable
+        return value == null || IMMUTABLES.contains(value.getClass()) || Enum.class.isInstance(value);
+    }
+
+    @Override
     public <K> K copy(final ClassLoader loader, final K key) {
+        if (isImmutable(key)) {
+            return key;
+        }
         try {
             return deSerialize(serialize(key), loader);
         } catch (final Exception e) {
@@ -51,7 +77,7 @@ public class Serializations {
         }
     }
 
-    private <T> byte[] serialize(final T obj) throws IOException {
+    <T> byte[] serialize(final T obj) throws IOException {
         final ByteArrayOutputStream baos = new ByteArrayOutputStream();
         final ObjectOutputStream oos = new ObjectOutputStream(baos);
         try {
@@ -62,9 +88,12 @@ public class Serializations {
         return baos.toByteArray();
     }
 
-    private <T> T deSerialize(final byte[] data, final ClassLoader loader) throws IOException, ClassNotFoundException {
-        final ByteArrayInputStream bais = new ByteArrayInputStream(data);
-        final BufferedInputStream bis = new BufferedInputStream(bais);
+    <T> T deSerialize(final byte[] data, final ClassLoader loader) throws IOException, ClassNotFoundException {
+        return deSerialize(new ByteArrayInputStream(data), loader);
+    }
+
+    <T> T deSerialize(final InputStream data, final ClassLoader loader) throws IOException, ClassNotFoundException {
+        final BufferedInputStream bis = new BufferedInputStream(data);
         final ObjectInputStream ois = new ObjectInputStreamClassLoaderAware(bis, loader, acceptedClasses);
         try {
             return (T) ois.readObject();
@@ -23,20 +23,26 @@ import static org.apache.geronimo.jcache.simple.Asserts.assertNotNull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.cache.Cache;
@@ -86,10 +92,29 @@ public class SimpleCache<K, V> implements Cache<K, V> {
 
     private final ExecutorService pool;
 
-    private final Serializations serializations;
+    private final Copier copier;
+
+    // null when the values are copied, else they are stored serialized
+    private final ByteStorage byteStorage;
 
     private final Collection<Future<?>> poolTasks = new CopyOnWriteArraySet<>();
 
+    private final long maxSize;
+
+    // keys in insertion order, evicted with a second chance (clock) policy when maxSize is reached
+    private final Queue<SimpleKey<K>> evictionQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger evictionQueueSize = new AtomicInteger();
+
+    private final AtomicBoolean evictionQueueCompaction = new AtomicBoolean();
+
+    private final TimerWheel<K, V> expiryWheel;
+
+    // pending loads (and refreshes) by key, a miss waits for the pending load instead of calling the loader again
+    private final ConcurrentMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+
+    private final double refreshAheadRatio;
+
     private volatile boolean closed = false;
 
     public SimpleCache(final ClassLoader classLoader, final SimpleManager mgr, final String cacheName,
@@ -106,14 +131,40 @@ public class SimpleCache<K, V> implements Cache<K, V> {
         config = configuration;
         pool = executorService;
 
+        maxSize = Long.parseLong(property(properties, cacheName, "maxSize", "-1"));
+        refreshAheadRatio = Double.parseDouble(property(properties, cacheName, "refreshAheadRatio", "0"));
+
         final long evictionPause = Long.parseLong(
                 properties.getProperty(cacheName + ".evictionPause", properties.getProperty("evictionPause", "30000")));
         if (evictionPause > 0) {
             final long maxDeleteByEvictionRun = Long.parseLong(property(properties, cacheName, "maxDeleteByEvictionRun", "100"));
+            final int expiryWheelSlots = Integer.parseInt(property(properties, cacheName, "expiryWheelSlots", "512"));
+            expiryWheel = new TimerWheel<>(TimeUnit.MILLISECONDS.toMicros(evictionPause), expiryWheelSlots, Times.now(false));
             addPoolTask(new EvictionThread(evictionPause, maxDeleteByEvictionRun));
+        } else {
+            expiryWheel = null;
         }
 
-        serializations = new Serializations(property(properties, cacheName, "serialization.whitelist", null));
+        final Serializations serializations = new Serializations(property(properties, cacheName, "serialization.whitelist", null));
+        final String copierClass = property(properties, cacheName, "copier", null);
+        if (copierClass == null) {
+            copier = serializations;
+        } else {
+            try {
+                copier = Copier.class.cast(classLoader.loadClass(copierClass).getDeclaredConstructor().newInstance());
+            } catch (final Exception e) {
+                throw new IllegalArgumentException("Can't create copier " + copierClass, e);
+            }
+        }
+        // copy (default), serialized or offheap
+        final String storeByValueMode = property(properties, cacheName, "storeByValueMode", "copy");
+        if (!config.isStoreByValue() || "copy".equals(storeByValueMode)) {
+            byteStorage = null;
+        } else if ("serialized".equals(storeByValueMode) || "offheap".equals(storeByValueMode)) {
+            byteStorage = new ByteStorage(serializations, manager.getClassLoader(), "offheap".equals(storeByValueMode));
+        } else {
+            throw new IllegalArgumentException("Unknown storeByValueMode: " + storeByValueMode);
+        }
 
         final Factory<CacheLoader<K, V>> cacheLoaderFactory = configuration.getCacheLoaderFactory();
         if (cacheLoaderFactory == null) {
@@ -188,15 +239,204 @@ public class SimpleCache<K, V> implements Cache<K, V> {
         if (v != null) {
             final Duration duration = update ? expiryPolicy.getExpiryForUpdate() : expiryPolicy.getExpiryForCreation();
             if (isNotZero(duration)) {
-                delegate.put(new SimpleKey<>(key), new SimpleElement<>(v, duration));
+                doPut(new SimpleKey<>(key), newElement(v, duration));
             }
         }
         return v;
     }
 
+    // single flight: concurrent loads of the same key only call the loader once
+    private V loadOnce(final K key, final boolean update, final boolean propagateLoadException,
+            final CacheLoader<K, V> loader) {
+        if (loader != this.loader) { // preloaded values, nothing to coalesce
+            return doLoad(key, update, propagateLoadException, loader);
+        }
+        final CompletableFuture<V> load = new CompletableFuture<>();
+        final CompletableFuture<V> pending = loads.putIfAbsent(key, load);
+        if (pending != null) {
+            return awaitLoad(pending, propagateLoadException);
+        }
+        try {
+            final V v = doLoad(key, update, true, loader);
+            load.complete(v);
+            return v;
+        } catch (final RuntimeException e) {
+            load.completeExceptionally(e);
+            if (!propagateLoadException && CacheLoaderException.class.isInstance(e)) {
+                return null;
+            }
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    private V awaitLoad(final CompletableFuture<V> pending, final boolean propagateLoadException) {
+        try {
+            return pending.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheLoaderException(e);
+        } catch (final ExecutionException e) {
+            if (!propagateLoadException) {
+                return null;
+            }
+            final Throwable cause = e.getCause();
+            if (RuntimeException.class.isInstance(cause)) {
+                throw RuntimeException.class.cast(cause);
+            }
+            throw new CacheLoaderException(cause);
+        }
+    }
+
+    // reloads in background an entry close to its expiration, the current value is served meanwhile
+    private void refreshAhead(final K key) {
+        final CompletableFuture<V> refresh = new CompletableFuture<>();
+        if (loads.putIfAbsent(key, refresh) != null) { // already loading
+            return;
+        }
+        final Runnable task = new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    refresh.complete(doLoad(key, true, false, loader));
+                } catch (final RuntimeException e) {
+                    refresh.completeExceptionally(e);
+                } finally {
+                    loads.remove(key, refresh);
+                }
+            }
+        };
+        try {
+            addPoolTask(task);
+        } catch (final RuntimeException e) { // pool rejected the task
+            loads.remove(key, refresh);
+            refresh.completeExceptionally(e);
+        }
+    }
+
+    // single flight as loadOnce: the keys already loading are awaited, a single loader call loads the others
+    private Map<K, V> loadMissing(final Set<K> keys) {
+        final Map<K, CompletableFuture<V>> owned = new HashMap<>();
+        final Map<K, CompletableFuture<V>> pending = new HashMap<>();
+        for (final K key : keys) {
+            final CompletableFuture<V> load = new CompletableFuture<>();
+            final CompletableFuture<V> existing = loads.putIfAbsent(key, load);
+            if (existing == null) {
+                owned.put(key, load);
+            } else {
+                pending.put(key, existing);
+            }
+        }
+
+        final Map<K, V> result = new HashMap<>();
+        if (!owned.isEmpty()) { // loaded before awaiting the other keys, their loads may wait for these ones
+            try {
+                result.putAll(doLoadAll(owned.keySet()));
+            } catch (final RuntimeException e) {
+                for (final CompletableFuture<V> load : owned.values()) {
+                    load.completeExceptionally(e);
+                }
+                if (!CacheLoaderException.class.isInstance(e)) {
+                    throw e;
+                }
+                // as for a single key read through
+            } finally {
+                for (final Map.Entry<K, CompletableFuture<V>> load : owned.entrySet()) {
+                    load.getValue().complete(result.get(load.getKey()));
+                    loads.remove(load.getKey(), load.getValue());
+                }
+            }
+        }
+        for (final Map.Entry<K, CompletableFuture<V>> load : pending.entrySet()) {
+            final V v = awaitLoad(load.getValue(), false);
+            if (v != null) {
+                result.put(load.getKey(), v);
+            }
+        }
+        return result;
+    }
+
+    private Map<K, V> doLoadAll(final Set<K> keys) {
+        final Map<K, V> loaded = loader.loadAll(new HashSet<>(keys));
+        if (loaded == null) {
+            return Collections.emptyMap();
+        }
+        final Map<K, V> result = new HashMap<>();
+        for (final K key : keys) {
+            final V v = loaded.get(key);
+            if (v != null) {
+                result.put(key, v);
+                final Duration duration = expiryPolicy.getExpiryForCreation();
+                if (isNotZero(duration)) {
+                    doPut(new SimpleKey<>(key), newElement(v, duration));
+                }
+            }
+        }
+        return result;
+    }
+
+    private SimpleElement<V> newElement(final V value, final Duration duration) {
+        return byteStorage == null ? new SimpleElement<>(value, duration) : byteStorage.newElement(value, duration);
+    }
+
+    private void doPut(final SimpleKey<K> key, final SimpleElement<V> element) {
+        final SimpleElement<V> old = delegate.put(key, element);
+        if (expiryWheel != null) {
+            expiryWheel.schedule(key, element);
+        }
+        if (maxSize > 0 && old == null) {
+            evictionQueue.add(key);
+            if (evictionQueueSize.incrementAndGet() > 2 * Math.max(maxSize, delegate.size()) + 16) {
+                compactEvictionQueue();
+            }
+            evictIfNeeded();
+        }
+    }
+
+    // O(1) amortized: each key is given a second chance if it was accessed since the last time it was seen
+    private void evictIfNeeded() {
+        while (delegate.size() > maxSize) {
+            final SimpleKey<K> candidate = evictionQueue.poll();
+            if (candidate == null) {
+                return;
+            }
+            final SimpleElement<V> elt = delegate.get(candidate);
+            if (elt == null) { // already removed
+                evictionQueueSize.decrementAndGet();
+            } else if (elt.resetAccess() || !delegate.remove(candidate, elt)) {
+                evictionQueue.add(candidate);
+            } else {
+                evictionQueueSize.decrementAndGet();
+                statistics.increaseEvictions(1);
+            }
+        }
+    }
+
+    // removed keys are only dropped from the queue when polled, clean them up if the queue grows too much
+    private void compactEvictionQueue() {
+        if (!evictionQueueCompaction.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final Set<SimpleKey<K>> seen = new HashSet<>();
+            final Iterator<SimpleKey<K>> iterator = evictionQueue.iterator();
+            while (iterator.hasNext()) {
+                final SimpleKey<K> key = iterator.next();
+                if (!delegate.containsKey(key) || !seen.add(key)) {
+                    iterator.remove();
+                    evictionQueueSize.decrementAndGet();
+                }
+            }
+        } finally {
+            evictionQueueCompaction.set(false);
+        }
+    }
+
     private void touch(final SimpleKey<K> key, final SimpleElement<V> element) {
         if (config.isStoreByValue()) {
-            delegate.put(new SimpleKey<>(serializations.copy(manager.getClassLoader(), key.getKey())), element);
+            delegate.put(new SimpleKey<>(copier.copy(manager.getClassLoader(), key.getKey())), element);
         }
     }
 
@@ -208,17 +448,21 @@ public class SimpleCache<K, V> implements Cache<K, V> {
         }
 
         final Map<K, V> result = new HashMap<>();
+        Set<K> missing = null;
         for (final K key : keys) {
             assertNotNull(key, "key");
 
             final SimpleKey<K> simpleKey = new SimpleKey<>(key);
             final SimpleElement<V> elt = delegate.get(simpleKey);
-            V val = elt != null ? elt.getElement() : null;
+            final V val = elt != null ? elt.getElement() : null;
+            if (elt != null && maxSize > 0) {
+                elt.access();
+            }
             if (val == null && config.isReadThrough()) {
-                val = doLoad(key, false, false, loader);
-                if (val != null) {
-                    result.put(key, val);
+                if (missing == null) {
+                    missing = new HashSet<>();
                 }
+                missing.add(key);
             } else if (elt != null) {
                 final Duration expiryForAccess = expiryPolicy.getExpiryForAccess();
                 if (isNotZero(expiryForAccess)) {
@@ -229,6 +473,9 @@ public class SimpleCache<K, V> implements Cache<K, V> {
                 }
             }
         }
+        if (missing != null) { // a single loader call for all the misses
+            result.putAll(loadMissing(missing));
+        }
         return result;
     }
 
@@ -241,25 +488,47 @@ public class SimpleCache<K, V> implements Cache<K, V> {
 
     @Override
     public void put(final K key, final V rawValue) {
+        put(key, rawValue, true);
+    }
+
+    private void put(final K key, final V rawValue, final boolean writeThrough) {
         assertNotClosed();
         assertNotNull(key, "key");
         assertNotNull(rawValue, "value");
 
-        final boolean storeByValue = config.isStoreByValue();
-        final SimpleKey<K> simpleKey = new SimpleKey<>(storeByValue ? serializations.copy(manager.getClassLoader(), key) : key);
+        final SimpleKey<K> simpleKey = storedKey(key);
         final SimpleElement<V> oldElt = delegate.get(simpleKey);
-        final V old = oldElt != null ? oldElt.getElement() : null;
-        final V value = storeByValue ? serializations.copy(manager.getClassLoader(), rawValue) : rawValue;
+        put(key, simpleKey, storedValue(rawValue), oldElt, expiryForPut(oldElt), writeThrough);
+    }
+
+    private SimpleKey<K> storedKey(final K key) {
+        return new SimpleKey<>(config.isStoreByValue() ? copier.copy(manager.getClassLoader(), key) : key);
+    }
 
-        final boolean created = old == null;
-        final Duration duration = created ? expiryPolicy.getExpiryForCreation() : expiryPolicy.getExpiryForUpdate();
+    // in serialized mode the value is only serialized once when creating the element
+    private V storedValue(final V rawValue) {
+        return config.isStoreByValue() && byteStorage == null ? copier.copy(manager.getClassLoader(), rawValue) : rawValue;
+    }
+
+    private Duration expiryForPut(final SimpleElement<V> oldElt) {
+        return oldElt == null ? expiryPolicy.getExpiryForCreation() : expiryPolicy.getExpiryForUpdate();
+    }
+
+    // puts a value already copied, a zero duration expires the current entry instead
+    private void put(final K key, final SimpleKey<K> simpleKey, final V value, final SimpleElement<V> oldElt,
+            final Duration duration, final boolean writeThrough) {
+        // the old value is only read for the listeners, in serialized mode reading it deserializes it
+        final boolean created = oldElt == null;
         if (isNotZero(duration)) {
             final boolean statisticsEnabled = config.isStatisticsEnabled();
             final long start = Times.now(false);
 
-            writer.write(new SimpleEntry<>(key, value));
-            delegate.put(simpleKey, new SimpleElement<>(value, duration));
+            if (writeThrough) {
+                writer.write(new SimpleEntry<>(key, value));
+            }
+            doPut(simpleKey, newElement(value, duration));
             if (!listeners.isEmpty()) {
+                final V old = created ? null : oldElt.getElement();
                 for (final SimpleListener<K, V> listener : listeners.values()) {
                     if (created) {
                         listener.onCreated(Collections.<CacheEntryEvent<? extends K, ? extends V>> singletonList(
@@ -308,11 +577,45 @@ public class SimpleCache<K, V> implements Cache<K, V> {
     @Override
     public void putAll(final Map<? extends K, ? extends V> map) {
         assertNotClosed();
-        final TempStateCacheView<K, V> view = new TempStateCacheView<K, V>(this);
+        if (map.isEmpty()) {
+            return;
+        }
+        // prepared as put does, the writer gets the stored values and not the entries expiring right away
+        final Collection<PreparedPut<K, V>> puts = new ArrayList<>(map.size());
+        final Collection<Entry<? extends K, ? extends V>> entries = new ArrayList<>(map.size());
         for (final Map.Entry<? extends K, ? extends V> e : map.entrySet()) {
-            view.put(e.getKey(), e.getValue());
+            assertNotNull(e.getKey(), "key");
+            assertNotNull(e.getValue(), "value");
+            final SimpleKey<K> simpleKey = storedKey(e.getKey());
+            final SimpleElement<V> oldElt = delegate.get(simpleKey);
+            final PreparedPut<K, V> put = new PreparedPut<>(e.getKey(), storedValue(e.getValue()), simpleKey, oldElt,
+                    expiryForPut(oldElt));
+            puts.add(put);
+            if (isNotZero(put.duration)) {
+                entries.add(put);
+            }
+        }
+
+        // a single writer call, the entries left in the collection on failure were not written
+        CacheWriterException error = null;
+        try {
+            writer.writeAll(Collection.class.cast(entries)); // writer has a "? super" signature
+        } catch (final CacheWriterException e) {
+            error = e;
+        }
+        final Set<Entry<? extends K, ? extends V>> notWritten = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (error != null) {
+            notWritten.addAll(entries);
+        }
+
+        for (final PreparedPut<K, V> put : puts) {
+            if (!notWritten.contains(put)) {
+                put(put.getKey(), put.simpleKey, put.getValue(), put.oldElt, put.duration, false);
+            }
+        }
+        if (error != null) {
+            throw error;
         }
-        view.merge();
     }
 
     @Override
@@ -334,13 +637,19 @@ public class SimpleCache<K, V> implements Cache<K, V> {
 
     @Override
     public boolean remove(final K key) {
+        return remove(key, true);
+    }
+
+    private boolean remove(final K key, final boolean writeThrough) {
         assertNotClosed();
         assertNotNull(key, "key");
 
         final boolean statisticsEnabled = config.isStatisticsEnabled();
         final long start = Times.now(!statisticsEnabled);
 
-        writer.delete(key);
+        if (writeThrough) {
+            writer.delete(key);
+        }
         final SimpleKey<K> cacheKey = new SimpleKey<>(key);
 
         final SimpleElement<V> v = delegate.remove(cacheKey);
@@ -395,9 +704,16 @@ public class SimpleCache<K, V> implements Cache<K, V> {
         final SimpleKey<K> simpleKey = new SimpleKey<>(key);
         final SimpleElement<V> elt = delegate.get(simpleKey);
         V v = elt != null ? elt.getElement() : null;
+        if (elt != null && maxSize > 0) {
+            elt.access();
+        }
+        if (v != null && refreshAheadRatio > 0 && config.isReadThrough()
+                && elt.shouldRefresh(Times.now(false), refreshAheadRatio)) {
+            refreshAhead(key);
+        }
         if (v == null && (config.isReadThrough() || forceDoLoad)) {
             if (!skipLoad) {
-                v = doLoad(key, false, propagateLoadException, loader);
+                v = loadOnce(key, false, propagateLoadException, loader);
             }
         } else if (statisticsEnabled) {
             if (v != null) {
@@ -466,7 +782,7 @@ public class SimpleCache<K, V> implements Cache<K, V> {
         if (elt != null) {
             V oldValue = elt.getElement();
             if (oldValue == null && config.isReadThrough()) {
-                oldValue = doLoad(key, false, false, loader);
+                oldValue = loadOnce(key, false, false, loader);
             } else if (statisticsEnabled) {
                 statistics.increaseHits(1);
             }
@@ -483,22 +799,57 @@ public class SimpleCache<K, V> implements Cache<K, V> {
         assertNotClosed();
         assertNotNull(keys, "keys");
         for (final K k : keys) {
-            remove(k);
+            assertNotNull(k, "key");
         }
+        doRemoveAll(keys);
     }
 
     @Override
     public void removeAll() {
         assertNotClosed();
+        final Collection<K> keys = new ArrayList<>(delegate.size());
         for (final SimpleKey<K> k : delegate.keySet()) {
-            remove(k.getKey());
+            keys.add(k.getKey());
+        }
+        doRemoveAll(keys);
+    }
+
+    private void doRemoveAll(final Collection<? extends K> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        // a single writer call, the keys left in the collection on failure were not deleted
+        final Collection<K> toDelete = new ArrayList<>(keys);
+        CacheWriterException error = null;
+        try {
+            writer.deleteAll(toDelete);
+        } catch (final CacheWriterException e) {
+            error = e;
+        }
+        final Set<K> notDeleted = error == null ? Collections.<K> emptySet() : new HashSet<>(toDelete);
+        for (final K k : keys) {
+            if (!notDeleted.contains(k)) {
+                remove(k, false);
+            }
+        }
+        if (error != null) {
+            throw error;
         }
     }
 
     @Override
     public void clear() {
         assertNotClosed();
+        doClear();
+    }
+
+    private void doClear() {
         delegate.clear();
+        evictionQueue.clear();
+        evictionQueueSize.set(0);
+        if (expiryWheel != null) {
+            expiryWheel.clear();
+        }
     }
 
     @Override
@@ -722,7 +1073,7 @@ public class SimpleCache<K, V> implements Cache<K, V> {
         listeners.clear();
         JMXs.unregister(cacheConfigObjectName);
         JMXs.unregister(cacheStatsObjectName);
-        delegate.clear();
+        doClear();
         if (ce.getSuppressed().length > 0) {
             throw ce;
         }
@@ -797,15 +1148,30 @@ public class SimpleCache<K, V> implements Cache<K, V> {
         }
     }
 
-    private class EvictionThread implements Runnable {
+    private class EvictionThread implements Runnable, TimerWheel.Handler<K, V> {
 
         private final long pause;
 
-        private final long maxDelete;
+        private final int maxDelete;
 
         private EvictionThread(final long evictionPause, final long maxDelete) {
             this.pause = evictionPause;
-            this.maxDelete = maxDelete;
+            this.maxDelete = (int) Math.min(Integer.MAX_VALUE, maxDelete);
+        }
+
+        @Override
+        public boolean onExpiry(final SimpleKey<K> key, final SimpleElement<V> elt) {
+            if (delegate.remove(key, elt)) { // else updated or removed since it was scheduled
+                statistics.increaseEvictions(1);
+                onExpired(key, elt);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCurrent(final SimpleKey<K> key, final SimpleElement<V> elt) {
+            return delegate.get(key) == elt;
         }
 
         @Override
@@ -822,32 +1188,7 @@ public class SimpleCache<K, V> implements Cache<K, V> {
                 }
 
                 try {
-                    final List<SimpleKey<K>> keys = new ArrayList<>(delegate.keySet());
-                    Collections.sort(keys, new Comparator<SimpleKey<K>>() {
-
-                        @Override
-                        public int compare(final SimpleKey<K> o1, final SimpleKey<K> o2) {
-                            final long l = o1.lastAccess() - o2.lastAccess();
-                            if (l == 0) {
-                                return keys.indexOf(o1) - keys.indexOf(o2);
-                            }
-                            return (int) l;
-                        }
-                    });
-
-                    int delete = 0;
-                    for (final SimpleKey<K> key : keys) {
-                        final SimpleElement<V> elt = delegate.get(key);
-                        if (elt != null && elt.isExpired()) {
-                            delegate.remove(key);
-                            statistics.increaseEvictions(1);
-                            onExpired(key, elt);
-                            delete++;
-                            if (delete >= maxDelete) {
-                                break;
-                            }
-                        }
-                    }
+                    expiryWheel.expire(Times.now(false), maxDelete, this);
                 } catch (final Exception e) {
                     // no-op
                 }
@@ -873,4 +1214,22 @@ public class SimpleCache<K, V> implements Cache<K, V> {
             throw new UnsupportedOperationException();
         }
     }
+
+    // an entry of putAll, with what put needs once the writer wrote it
+    private static class PreparedPut<K, V> extends SimpleEntry<K, V> {
+
+        private final SimpleKey<K> simpleKey;
+
+        private final SimpleElement<V> oldElt;
+
+        private final Duration duration;
+
+        private PreparedPut(final K key, final V value, final SimpleKey<K> simpleKey, final SimpleElement<V> oldElt,
+                final Duration duration) {
+            super(key, value);
+            this.simpleKey = simpleKey;
+            this.oldElt = oldElt;
+            this.duration = duration;
+        }
+    }
 }
@@ -24,18 +24,48 @@ public class SimpleElement<V> {
 
     private final V element;
 
+    private final long start;
+
     private final long end;
 
+    private volatile boolean accessed;
+
     public SimpleElement(final V element, final Duration duration) {
         this.element = element;
+        final long now = System.nanoTime();
+        this.start = now / 1000;
         this.end = duration == null || duration.isEternal() ? Long.MAX_VALUE
-                        : ((System.nanoTime() + duration.getTimeUnit().toNanos(duration.getDurationAmount())) / 1000);
+                        : ((now + duration.getTimeUnit().toNanos(duration.getDurationAmount())) / 1000);
     }
 
     public V getElement() {
         return element;
     }
 
+    public long getEnd() {
+        return end;
+    }
+
+    public void access() {
+        if (!accessed) { // avoids a volatile write on each hit
+            accessed = true;
+        }
+    }
+
+    // second chance flag used by the size eviction, returns the previous state
+    public boolean resetAccess() {
+        if (accessed) {
+            accessed = false;
+            return true;
+        }
+        return false;
+    }
+
+    // refresh-ahead: true when the given ratio of the time to live is elapsed
+    public boolean shouldRefresh(final long now, final double ratio) {
+        return end != Long.MAX_VALUE && now >= start + (long) ((end - start) * ratio);
+    }
+
     public boolean isExpired() {
         return end != -1 && (end == 0 || Times.now(false) > end);
     }
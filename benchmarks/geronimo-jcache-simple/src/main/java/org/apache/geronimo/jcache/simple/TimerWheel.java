@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.geronimo.jcache.simple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// hashed timer wheel: an entry is scheduled in the slot of its expiration tick
+// so an expiration run only visits the slots which are due instead of the whole cache,
+// entries expiring after a full rotation just stay in their slot for the next round
+class TimerWheel<K, V> {
+
+    private final long tick;
+
+    private final Queue<Timeout<K, V>>[] slots;
+
+    private final int mask;
+
+    private long lastTick;
+
+    TimerWheel(final long tick, final int nbSlots, final long now) {
+        this.tick = Math.max(1, tick);
+        final int size = Integer.highestOneBit(Math.max(1, nbSlots - 1)) << 1;
+        this.slots = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = size - 1;
+        this.lastTick = now / this.tick;
+    }
+
+    void schedule(final SimpleKey<K> key, final SimpleElement<V> element) {
+        final long end = element.getEnd();
+        if (end == Long.MAX_VALUE || end < 0) { // eternal
+            return;
+        }
+        slots[(int) ((end / tick) & mask)].add(new Timeout<>(key, element));
+    }
+
+    void clear() {
+        for (final Queue<Timeout<K, V>> slot : slots) {
+            slot.clear();
+        }
+    }
+
+    // only called by the eviction thread, returns the number of expired entries
+    int expire(final long now, final int max, final Handler<K, V> handler) {
+        final long currentTick = now / tick;
+        final long first = Math.max(lastTick + 1, currentTick - mask); // a full rotation visits all slots
+        int expired = 0;
+        for (long t = first; t <= currentTick; t++) {
+            final Queue<Timeout<K, V>> slot = slots[(int) (t & mask)];
+            final List<Timeout<K, V>> later = new ArrayList<>();
+            Timeout<K, V> timeout;
+            while ((timeout = slot.poll()) != null) {
+                if (timeout.element.getEnd() >= now) { // not yet expired, next runs
+                    if (handler.isCurrent(timeout.key, timeout.element)) { // else updated or removed, drop it
+                        later.add(timeout);
+                    }
+                } else if (expired >= max) {
+                    later.add(timeout);
+                    break;
+                } else if (handler.onExpiry(timeout.key, timeout.element)) {
+                    expired++;
+                }
+            }
+            slot.addAll(later);
+            if (expired >= max) { // resume from this slot next time
+                lastTick = t - 1;
+                return expired;
+            }
+        }
+        // the current tick is not over, entries of its slot can still expire during it
+        lastTick = currentTick - 1;
+        return expired;
+    }
+
+    // number of scheduled timeouts, linear time
+    int size() {
+        int size = 0;
+        for (final Queue<Timeout<K, V>> slot : slots) {
+            size += slot.size();
+        }
+        return size;
+    }
+
+    interface Handler<K, V> {
+
+        // returns true if the element was still in the cache and got expired
+        boolean onExpiry(SimpleKey<K> key, SimpleElement<V> element);
+
+        // returns true if the element is still the one of the key in the cache
+        boolean isCurrent(SimpleKey<K> key, SimpleElement<V> element);
+    }
+
+    private static class Timeout<K, V> {
+
+        private final SimpleKey<K> key;
+
+        private final SimpleElement<V> element;
+
+        private Timeout(final SimpleKey<K> key, final SimpleElement<V> element) {
+            this.key = key;
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.geronimo.jcache.simple;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.expiry.Duration;
+
+import org.junit.Test;
+
+public class TimerWheelTest {
+
+    @Test
+    public void expireDuringCurrentTick() {
+        final SimpleKey<String> key = new SimpleKey<>("key");
+        final SimpleElement<String> element = new SimpleElement<>("value", new Duration(TimeUnit.SECONDS, 10));
+        final long end = element.getEnd();
+        long tick = 1000;
+        while (end % tick == 0 || end % tick == tick - 1) { // the entry expires in the middle of its tick
+            tick++;
+        }
+        final Cache cache = new Cache();
+        cache.put(key, element);
+        final TimerWheel<String, String> wheel = new TimerWheel<>(tick, 8, end - 2 * tick);
+        wheel.schedule(key, element);
+
+        final long before = end - 1;
+        assertEquals(0, wheel.expire(before, 100, cache));
+        assertEquals(1, wheel.size());
+
+        // still in the current tick, the entry must not wait for a full rotation
+        assertEquals(1, wheel.expire(end + 1, 100, cache));
+        assertEquals(0, wheel.size());
+        assertEquals(0, cache.values.size());
+    }
+
+    @Test
+    public void dropUpdatedEntries() {
+        final SimpleKey<String> key = new SimpleKey<>("key");
+        final SimpleElement<String> first = new SimpleElement<>("first", new Duration(TimeUnit.SECONDS, 10));
+        final long tick = 1000;
+        final Cache cache = new Cache();
+        final TimerWheel<String, String> wheel = new TimerWheel<>(tick, 8, first.getEnd() - 20 * tick);
+        cache.put(key, first);
+        wheel.schedule(key, first);
+        // updated with a later expiry, scheduled in another slot
+        final SimpleElement<String> second = new SimpleElement<>("second", new Duration(TimeUnit.SECONDS, 20));
+        cache.put(key, second);
+        wheel.schedule(key, second);
+        assertEquals(2, wheel.size());
+
+        // the slot of the first timeout is visited one rotation before it expires
+        assertEquals(0, wheel.expire(first.getEnd() - 8 * tick, 100, cache));
+        assertEquals(1, wheel.size());
+        assertEquals(second, cache.values.get(key));
+    }
+
+    private static class Cache implements TimerWheel.Handler<String, String> {
+
+        private final Map<SimpleKey<String>, SimpleElement<String>> values = new HashMap<>();
+
+        private void put(final SimpleKey<String> key, final SimpleElement<String> element) {
+            values.put(key, element);
+        }
+
+        @Override
+        public boolean onExpiry(final SimpleKey<String> key, final SimpleElement<String> element) {
+            return values.remove(key, element);
+        }
+
+        @Override
+        public boolean isCurrent(final SimpleKey<String> key, final SimpleElement<String> element) {
+            return values.get(key) == element;
+        }
+    }
+}
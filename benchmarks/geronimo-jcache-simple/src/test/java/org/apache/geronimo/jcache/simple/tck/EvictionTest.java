@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.geronimo.jcache.simple.tck;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Properties;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.spi.CachingProvider;
+
+import org.junit.Test;
+
+public class EvictionTest {
+
+    @Test
+    public void maxSize() {
+        final CachingProvider cachingProvider = Caching.getCachingProvider();
+        final CacheManager cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(),
+                cachingProvider.getDefaultClassLoader(),
+                new Properties() {{
+                    setProperty("maxSize", "100");
+                }});
+        try {
+            final Cache<Integer, String> cache = cacheManager.createCache("eviction",
+                    new MutableConfiguration<Integer, String>().setStoreByValue(false));
+            cache.put(-1, "hot");
+            for (int i = 0; i < 1000; i++) {
+                cache.put(i, "value" + i);
+                assertEquals("hot", cache.get(-1));
+                assertTrue(cache.unwrap(Map.class).size() <= 100);
+            }
+            assertEquals(100, cache.unwrap(Map.class).size());
+            assertTrue(cache.containsKey(999));
+
+            // removed keys don't prevent the others to be evicted
+            for (int i = 0; i < 1000; i++) {
+                cache.remove(999 - (i % 50));
+                cache.put(999 - (i % 50), "again" + i);
+                assertTrue(cache.unwrap(Map.class).size() <= 100);
+            }
+            assertEquals("hot", cache.get(-1));
+        } finally {
+            cachingProvider.close();
+        }
+    }
+}
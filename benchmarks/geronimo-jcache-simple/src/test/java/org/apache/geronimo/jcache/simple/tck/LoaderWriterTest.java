@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.geronimo.jcache.simple.tck;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.integration.CacheLoader;
+import javax.cache.integration.CacheLoaderException;
+import javax.cache.integration.CacheWriter;
+import javax.cache.integration.CacheWriterException;
+import javax.cache.spi.CachingProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LoaderWriterTest {
+    private static final AtomicInteger LOADS = new AtomicInteger();
+    private static final AtomicInteger LOAD_ALLS = new AtomicInteger();
+    private static final AtomicInteger LOADED_KEYS = new AtomicInteger();
+    private static final AtomicInteger WRITE_ALLS = new AtomicInteger();
+    private static final AtomicInteger DELETE_ALLS = new AtomicInteger();
+
+    private CachingProvider cachingProvider;
+    private Cache<Integer, String> cache;
+
+    @Before
+    public void createCache() {
+        LOADS.set(0);
+        LOAD_ALLS.set(0);
+        LOADED_KEYS.set(0);
+        WRITE_ALLS.set(0);
+        DELETE_ALLS.set(0);
+
+        cachingProvider = Caching.getCachingProvider();
+        final CacheManager cacheManager = cachingProvider.getCacheManager();
+        cache = cacheManager.createCache("loader-writer", new MutableConfiguration<Integer, String>()
+                .setStoreByValue(false)
+                .setReadThrough(true)
+                .setWriteThrough(true)
+                .setCacheLoaderFactory(FactoryBuilder.factoryOf(SlowLoader.class))
+                .setCacheWriterFactory(FactoryBuilder.factoryOf(CountingWriter.class)));
+    }
+
+    @After
+    public void close() {
+        cachingProvider.close();
+    }
+
+    @Test
+    public void concurrentMissesLoadOnce() throws Exception {
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService es = Executors.newFixedThreadPool(threads);
+        try {
+            final Collection<Future<String>> values = new HashSet<>();
+            for (int i = 0; i < threads; i++) {
+                values.add(es.submit(() -> {
+                    start.await();
+                    return cache.get(1);
+                }));
+            }
+            start.countDown();
+            for (final Future<String> value : values) {
+                assertEquals("loaded1", value.get(1, TimeUnit.MINUTES));
+            }
+            assertEquals(1, LOADS.get());
+        } finally {
+            es.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrentBulkMissesLoadOnce() throws Exception {
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService es = Executors.newFixedThreadPool(threads);
+        try {
+            final Collection<Future<Map<Integer, String>>> values = new HashSet<>();
+            for (int i = 0; i < threads; i++) {
+                final boolean bulk = i % 2 == 0;
+                values.add(es.submit(() -> {
+                    start.await();
+                    if (bulk) {
+                        return cache.getAll(new HashSet<>(asList(1, 2, 3)));
+                    }
+                    final Map<Integer, String> value = new HashMap<>();
+                    value.put(2, cache.get(2));
+                    return value;
+                }));
+            }
+            start.countDown();
+            for (final Future<Map<Integer, String>> value : values) {
+                final Map<Integer, String> all = value.get(1, TimeUnit.MINUTES);
+                assertEquals("loaded2", all.get(2));
+                if (all.size() > 1) {
+                    assertEquals("loaded1", all.get(1));
+                    assertEquals("loaded3", all.get(3));
+                }
+            }
+            // each key was loaded by a single loader call
+            assertEquals(3, LOADS.get() + LOADED_KEYS.get());
+        } finally {
+            es.shutdownNow();
+        }
+    }
+
+    @Test
+    public void bulkOperationsAreBatched() {
+        final Map<Integer, String> all = cache.getAll(new HashSet<>(asList(1, 2, 3)));
+        assertEquals(3, all.size());
+        assertEquals("loaded2", all.get(2));
+        assertEquals(1, LOAD_ALLS.get());
+        assertEquals(0, LOADS.get());
+
+        final Map<Integer, String> values = new HashMap<>();
+        for (int i = 10; i < 20; i++) {
+            values.put(i, "value" + i);
+        }
+        cache.putAll(values);
+        assertEquals(1, WRITE_ALLS.get());
+        assertEquals("value15", cache.get(15));
+
+        cache.removeAll(values.keySet());
+        assertEquals(1, DELETE_ALLS.get());
+        for (final Integer key : values.keySet()) {
+            assertFalse(cache.containsKey(key));
+        }
+
+        cache.removeAll();
+        assertEquals(2, DELETE_ALLS.get());
+        assertEquals(0, cache.unwrap(Map.class).size());
+    }
+
+    public static class SlowLoader implements CacheLoader<Integer, String> {
+        @Override
+        public String load(final Integer key) throws CacheLoaderException {
+            LOADS.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "loaded" + key;
+        }
+
+        @Override
+        public Map<Integer, String> loadAll(final Iterable<? extends Integer> keys) throws CacheLoaderException {
+            LOAD_ALLS.incrementAndGet();
+            final Map<Integer, String> result = new HashMap<>();
+            for (final Integer key : keys) {
+                LOADED_KEYS.incrementAndGet();
+                result.put(key, "loaded" + key);
+            }
+            try {
+                Thread.sleep(200);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        }
+    }
+
+    public static class CountingWriter implements CacheWriter<Integer, String> {
+        @Override
+        public void write(final Cache.Entry<? extends Integer, ? extends String> entry) throws CacheWriterException {
+            // no-op
+        }
+
+        @Override
+        public void writeAll(final Collection<Cache.Entry<? extends Integer, ? extends String>> entries) throws CacheWriterException {
+            WRITE_ALLS.incrementAndGet();
+            entries.clear();
+        }
+
+        @Override
+        public void delete(final Object key) throws CacheWriterException {
+            // no-op
+        }
+
+        @Override
+        public void deleteAll(final Collection<?> keys) throws CacheWriterException {
+            DELETE_ALLS.incrementAndGet();
+            keys.clear();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.geronimo.jcache.simple.tck;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.spi.CachingProvider;
+
+import org.apache.geronimo.jcache.simple.Copier;
+import org.junit.Test;
+
+public class StoreByValueTest {
+
+    @Test
+    public void serialized() {
+        checkMode("serialized");
+    }
+
+    @Test
+    public void offHeap() {
+        checkMode("offheap");
+    }
+
+    @Test
+    public void immutablesAreNotCopied() {
+        final String value = new String("value");
+        final CachingProvider cachingProvider = Caching.getCachingProvider();
+        try {
+            final Cache<String, String> cache = cachingProvider.getCacheManager()
+                    .createCache("immutables", new MutableConfiguration<String, String>());
+            cache.put("key", value);
+            assertSame(value, cache.get("key"));
+        } finally {
+            cachingProvider.close();
+        }
+    }
+
+    @Test
+    public void customCopier() {
+        final CachingProvider cachingProvider = Caching.getCachingProvider();
+        final CacheManager cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(),
+                cachingProvider.getDefaultClassLoader(),
+                new Properties() {{
+                    setProperty("copier", CountingCopier.class.getName());
+                }});
+        try {
+            CountingCopier.COPIES.set(0);
+            final Cache<String, String> cache = cacheManager.createCache("copier", new MutableConfiguration<String, String>());
+            cache.put("key", "value");
+            assertEquals("value", cache.get("key"));
+            assertEquals(2, CountingCopier.COPIES.get());
+        } finally {
+            cachingProvider.close();
+        }
+    }
+
+    private void checkMode(final String mode) {
+        final CachingProvider cachingProvider = Caching.getCachingProvider();
+        final CacheManager cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(),
+                cachingProvider.getDefaultClassLoader(),
+                new Properties() {{
+                    setProperty("storeByValueMode", mode);
+                }});
+        try {
+            final Cache<String, ArrayList<String>> cache = cacheManager.createCache(mode,
+                    new MutableConfiguration<String, ArrayList<String>>());
+            final ArrayList<String> value = new ArrayList<>();
+            value.add("a");
+            cache.put("key", value);
+            value.add("b");
+
+            final List<String> read = cache.get("key");
+            assertEquals(1, read.size());
+            assertNotSame(read, cache.get("key"));
+            read.add("c");
+            assertEquals(1, cache.get("key").size());
+
+            assertEquals(1, cache.getAndPut("key", value).size());
+            assertEquals(2, cache.get("key").size());
+            assertTrue(cache.remove("key"));
+        } finally {
+            cachingProvider.close();
+        }
+    }
+
+    public static class CountingCopier implements Copier {
+        private static final AtomicInteger COPIES = new AtomicInteger();
+
+        @Override
+        public <T> T copy(final ClassLoader loader, final T value) {
+            COPIES.incrementAndGet();
+            return value;
+        }
+    }
+}